@@ -0,0 +1,66 @@
+package com.roommanager.domain.calculator;
+
+import com.roommanager.domain.model.CalendarAvailabilityQuery;
+import com.roommanager.domain.model.NightAvailabilityResult;
+import com.roommanager.domain.model.RoomsAvailabilityQuery;
+import com.roommanager.metrics.PipelineMetrics;
+import com.roommanager.remote.repositories.StayIndex;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Availability of a year of nights, over stays of up to two weeks spread over the year.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CalendarAvailabilityCalculatorBenchmark {
+
+  private static final LocalDate FIRST_NIGHT = LocalDate.of(2024, 1, 1);
+  private static final int NIGHTS = 365;
+
+  @Param({"10000", "1000000", "5000000"})
+  private int size;
+  private CalendarAvailabilityCalculator calculator;
+  private CalendarAvailabilityQuery query;
+
+  @Setup
+  public void setup() {
+    SplittableRandom random = new SplittableRandom(42);
+    long[] prices = random.longs(size, 0, 50_000).toArray();
+    long[] stays = new long[size];
+    for (int i = 0; i < size; i++) {
+      long checkIn = FIRST_NIGHT.toEpochDay() + random.nextInt(NIGHTS);
+      stays[i] = StayIndex.stay(checkIn, checkIn + random.nextInt(1, 15));
+    }
+    StayIndex index = StayIndex.of(prices, stays);
+    var minThresholdCalculator = new MinThresholdCalculator(BigDecimal.valueOf(100), null, PipelineMetrics.DISABLED);
+    calculator = new CalendarAvailabilityCalculator(minThresholdCalculator, index::customersFrom);
+    int roomsPerNight = size / NIGHTS;
+    query = new CalendarAvailabilityQuery(FIRST_NIGHT,
+        Collections.nCopies(NIGHTS, new RoomsAvailabilityQuery(roomsPerNight, roomsPerNight)));
+  }
+
+  @Benchmark
+  public List<NightAvailabilityResult> executeYear() {
+    return calculator.execute(query);
+  }
+}
@@ -0,0 +1,65 @@
+package com.roommanager.domain.calculator;
+
+import com.roommanager.domain.model.RoomsAvailabilityQuery;
+import com.roommanager.domain.model.RoomsAvailabilityResult;
+import com.roommanager.metrics.PipelineMetrics;
+import com.roommanager.remote.repositories.CustomerRepo;
+import com.roommanager.remote.repositories.PriceIndex;
+import com.roommanager.remote.repositories.PriceIndexRepo;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Availability calculation, with economy customers upgraded to free premium rooms and without any upgrade.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MinThresholdCalculatorBenchmark {
+
+  private static final long THRESHOLD_MINOR_UNITS = 10_000;
+
+  @Param({"1000", "1000000", "10000000"})
+  private int size;
+  private CustomerRepo customers;
+  private MinThresholdCalculator calculator;
+  private RoomsAvailabilityQuery upgradeQuery;
+  private RoomsAvailabilityQuery noUpgradeQuery;
+
+  @Setup
+  public void setup() {
+    long[] prices = new SplittableRandom(42).longs(size, 0, 50_000).toArray();
+    customers = new PriceIndexRepo(PriceIndex.of(prices, false), 1);
+    calculator = new MinThresholdCalculator(BigDecimal.valueOf(100), customers, PipelineMetrics.DISABLED);
+    int premiumCustomers = customers.aggregateByPriceOfferGTE(THRESHOLD_MINOR_UNITS).count();
+    int economyCustomers = customers.aggregateByPriceOfferLT(THRESHOLD_MINOR_UNITS).count();
+    upgradeQuery = new RoomsAvailabilityQuery(premiumCustomers + economyCustomers / 2, economyCustomers / 4);
+    noUpgradeQuery = new RoomsAvailabilityQuery(premiumCustomers / 2, economyCustomers / 2);
+  }
+
+  @Benchmark
+  public List<RoomsAvailabilityResult> executeWithUpgrade() {
+    return calculator.execute(upgradeQuery, customers);
+  }
+
+  @Benchmark
+  public List<RoomsAvailabilityResult> executeWithoutUpgrade() {
+    return calculator.execute(noUpgradeQuery, customers);
+  }
+}
@@ -0,0 +1,70 @@
+package com.roommanager.domain.calculator;
+
+import com.roommanager.domain.model.TierAvailabilityResult;
+import com.roommanager.domain.model.TieredAvailabilityQuery;
+import com.roommanager.remote.repositories.CustomerRepo;
+import com.roommanager.remote.repositories.PriceIndex;
+import com.roommanager.remote.repositories.PriceIndexRepo;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tiered allocation with tiers of equal price ranges, every other tier short of rooms, so that overflow of each of
+ * them is upgraded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TieredAvailabilityCalculatorBenchmark {
+
+  private static final long MAX_PRICE_MINOR_UNITS = 50_000;
+
+  @Param({"2", "4", "32"})
+  private int tiers;
+  @Param({"1000000"})
+  private int size;
+  private CustomerRepo customers;
+  private TieredAvailabilityCalculator calculator;
+  private TieredAvailabilityQuery query;
+
+  @Setup
+  public void setup() {
+    long[] prices = new SplittableRandom(42).longs(size, 0, MAX_PRICE_MINOR_UNITS).toArray();
+    customers = new PriceIndexRepo(PriceIndex.of(prices, false), 1);
+    StringBuilder definition = new StringBuilder();
+    List<Integer> availableRooms = new ArrayList<>();
+    int customersPerTier = size / tiers;
+    for (int tier = 0; tier < tiers; tier++) {
+      long minPrice = MAX_PRICE_MINOR_UNITS * (tiers - tier - 1) / tiers;
+      definition.append("TIER").append(tier);
+      if (tier < tiers - 1) {
+        definition.append(':').append(BigDecimal.valueOf(minPrice, 2)).append(',');
+      }
+      availableRooms.add(tier % 2 == 0 ? customersPerTier * 3 / 2 : customersPerTier / 2);
+    }
+    calculator = new TieredAvailabilityCalculator(definition.toString(), customers);
+    query = new TieredAvailabilityQuery(availableRooms);
+  }
+
+  @Benchmark
+  public List<TierAvailabilityResult> execute() {
+    return calculator.execute(query, customers);
+  }
+}
@@ -0,0 +1,59 @@
+package com.roommanager.remote;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ByteArrayResource;
+
+/**
+ * Load of an in memory clients resource, throughput in entries per second is {@code entries / score}. Chunk size
+ * {@code 0} streams the resource on a single thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ClientsResourceParserBenchmark {
+
+  @Param({"100000", "10000000"})
+  private int entries;
+  @Param({"0", "4194304"})
+  private int chunkSize;
+  private ByteArrayResource clientsResource;
+  private ClientsResourceParser parser;
+
+  @Setup
+  public void setup() {
+    SplittableRandom random = new SplittableRandom(42);
+    StringBuilder json = new StringBuilder(entries * 8).append('[');
+    for (int i = 0; i < entries; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      long price = random.nextLong(50_000);
+      long cents = price % 100;
+      json.append(price / 100).append(cents < 10 ? ".0" : ".").append(cents);
+    }
+    clientsResource = new ByteArrayResource(json.append(']').toString().getBytes(StandardCharsets.US_ASCII));
+    parser = new ClientsResourceParser(new ObjectMapper(), chunkSize);
+  }
+
+  @Benchmark
+  public long[] readPrices() {
+    return parser.readPrices(clientsResource);
+  }
+}
@@ -0,0 +1,66 @@
+package com.roommanager.remote.api;
+
+import com.roommanager.RoomManagerApplication;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Round trip of an availability request over a loopback connection, served by the web stack or by the fast path
+ * server. Sample time mode reports latency percentiles, e.g. {@code p0.99}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AvailabilityEndpointBenchmark {
+
+  @Param({"mvc", "fast-path"})
+  private String endpoint;
+  private ConfigurableApplicationContext context;
+  private HttpClient client;
+  private HttpRequest request;
+
+  @Setup
+  public void setup() {
+    context = new SpringApplicationBuilder(RoomManagerApplication.class)
+        .properties("server.port=0", "app.fast-path.enabled=true", "app.fast-path.port=0",
+            "app.metrics.stages.enabled=false", "logging.level.root=WARN")
+        .run();
+    int port = "mvc".equals(endpoint)
+        ? context.getEnvironment().getRequiredProperty("local.server.port", Integer.class)
+        : context.getBean(FastPathAvailabilityServer.class).port();
+    client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    request = HttpRequest.newBuilder(URI.create(String.format(
+        "http://127.0.0.1:%d/rooms/availability?availablePremiumRooms=3&availableEconomyRooms=3", port))).build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public byte[] getRoomsAvailability() throws IOException, InterruptedException {
+    return client.send(request, BodyHandlers.ofByteArray()).body();
+  }
+}
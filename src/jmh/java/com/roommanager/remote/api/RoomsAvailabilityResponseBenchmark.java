@@ -0,0 +1,56 @@
+package com.roommanager.remote.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JSON serialization of an availability response, alone and as a batch of 1000 responses, and hand written encoding
+ * of a response, which is done once per cached response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RoomsAvailabilityResponseBenchmark {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private List<RoomsAvailabilityResponse> response;
+  private List<List<RoomsAvailabilityResponse>> batchResponse;
+
+  @Setup
+  public void setup() {
+    response = List.of(new RoomsAvailabilityResponse("PREMIUM", 7, 1153.99, "EUR"),
+        new RoomsAvailabilityResponse("ECONOMY", 1, 45, "EUR"));
+    batchResponse = Collections.nCopies(1000, response);
+  }
+
+  @Benchmark
+  public byte[] serializeResponse() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(response);
+  }
+
+  @Benchmark
+  public byte[] encodeResponse() {
+    return new RoomsAvailabilityResponses(response).json();
+  }
+
+  @Benchmark
+  public byte[] serializeBatchResponse() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(batchResponse);
+  }
+}
@@ -0,0 +1,75 @@
+package com.roommanager.remote.repositories;
+
+import com.roommanager.domain.model.Customer;
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Lookups of customers around the premium threshold, customers found are iterated, as finders return lazy views.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CustomerRepoBenchmark {
+
+  static final BigDecimal THRESHOLD = BigDecimal.valueOf(100);
+  static final long MAX_PRICE = 50_000;
+
+  @Param({"10", "1000", "100000", "10000000", "100000000"})
+  private int size;
+  @Param({"1", "100", "10000"})
+  private int limit;
+  private CustomerRepo repo;
+
+  @Setup
+  public void setup() {
+    repo = new PriceIndexRepo(PriceIndex.of(randomPrices(size), false), 1);
+  }
+
+  @Benchmark
+  public void findByPriceOfferGTEOrderByPriceOfferDesc(Blackhole blackhole) {
+    for (Customer customer : repo.findByPriceOfferGTEOrderByPriceOfferDesc(THRESHOLD, limit)) {
+      blackhole.consume(customer);
+    }
+  }
+
+  @Benchmark
+  public void findByPriceOfferLTOrderByPriceOfferDesc(Blackhole blackhole) {
+    for (Customer customer : repo.findByPriceOfferLTOrderByPriceOfferDesc(THRESHOLD, limit)) {
+      blackhole.consume(customer);
+    }
+  }
+
+  @Benchmark
+  public Object aggregateByPriceOfferGTEOrderByPriceOfferDesc() {
+    return repo.aggregateByPriceOfferGTEOrderByPriceOfferDesc(10_000, 0, limit);
+  }
+
+  @Benchmark
+  public Object aggregateByPriceOfferLTOrderByPriceOfferDesc() {
+    return repo.aggregateByPriceOfferLTOrderByPriceOfferDesc(10_000, 0, limit);
+  }
+
+  /**
+   * Prices in minor units uniformly distributed up to {@link #MAX_PRICE}, seeded so that runs are comparable.
+   */
+  static long[] randomPrices(int size) {
+    return new SplittableRandom(42).longs(size, 0, MAX_PRICE).toArray();
+  }
+}
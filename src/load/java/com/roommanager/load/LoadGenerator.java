@@ -0,0 +1,143 @@
+package com.roommanager.load;
+
+import com.roommanager.load.LoadTestOptions.Mode;
+import com.roommanager.load.LoadTestOptions.Query;
+import com.roommanager.load.LoadResult.Latency;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Sends availability requests from a thread per connection and records latencies of successful ones into HDR
+ * histograms, one per thread, merged once a run completes.
+ * <p>
+ * In the closed loop each thread sends its next request once previous one completed, latency is corrected for
+ * coordinated omission by back filling requests which would have been sent at the expected interval. In the open loop
+ * requests are scheduled at a constant rate, latency is measured from the scheduled time, so that requests delayed by
+ * slow responses account for the delay.
+ */
+final class LoadGenerator {
+
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final LoadTestOptions options;
+  private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+  /**
+   * Requests of the query mix, each repeated by its weight.
+   */
+  private final List<HttpRequest> requests = new ArrayList<>();
+
+  LoadGenerator(LoadTestOptions options, URI endpoint) {
+    this.options = options;
+    for (Query query : options.queries()) {
+      HttpRequest request = HttpRequest.newBuilder(URI.create(String.format("%s?availablePremiumRooms=%d"
+          + "&availableEconomyRooms=%d", endpoint, query.premiumRooms(), query.economyRooms()))).build();
+      for (int i = 0; i < query.weight(); i++) {
+        requests.add(request);
+      }
+    }
+  }
+
+  LoadResult run(Duration duration) throws InterruptedException {
+    long start = System.nanoTime();
+    long end = start + duration.toNanos();
+    AtomicLong scheduled = new AtomicLong();
+    List<Connection> connections = new ArrayList<>();
+    for (int i = 0; i < options.connections(); i++) {
+      var connection = new Connection(new SplittableRandom(options.seed() + i));
+      connection.thread = new Thread(() -> connection.run(start, end, scheduled), "load-" + i);
+      connections.add(connection);
+      connection.thread.start();
+    }
+    Histogram latency = newHistogram();
+    Histogram serviceTime = newHistogram();
+    long errors = 0;
+    for (Connection connection : connections) {
+      connection.thread.join();
+      latency.add(connection.latency);
+      serviceTime.add(connection.serviceTime);
+      errors += connection.errors;
+    }
+    double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+    long requests = serviceTime.getTotalCount();
+    return new LoadResult(requests, errors, elapsedSeconds, requests / elapsedSeconds, Latency.of(latency),
+        Latency.of(serviceTime));
+  }
+
+  private static Histogram newHistogram() {
+    return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+  }
+
+  private static long micros(long nanos) {
+    return Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS);
+  }
+
+  private final class Connection {
+
+    private final SplittableRandom random;
+    private final Histogram latency = newHistogram();
+    private final Histogram serviceTime = newHistogram();
+    private long errors = 0;
+    private Thread thread;
+
+    private Connection(SplittableRandom random) {
+      this.random = random;
+    }
+
+    private void run(long start, long end, AtomicLong scheduled) {
+      long expectedIntervalMicros = options.expectedInterval().toNanos() / 1000;
+      long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+      while (!Thread.currentThread().isInterrupted()) {
+        long intended;
+        if (options.mode() == Mode.OPEN) {
+          intended = start + scheduled.getAndIncrement() * intervalNanos;
+          if (intended >= end) {
+            return;
+          }
+          for (long remaining; (remaining = intended - System.nanoTime()) > 0; ) {
+            LockSupport.parkNanos(remaining);
+          }
+        } else {
+          intended = System.nanoTime();
+          if (intended >= end) {
+            return;
+          }
+        }
+        long sent = System.nanoTime();
+        if (!send(requests.get(random.nextInt(requests.size())))) {
+          errors++;
+          continue;
+        }
+        long received = System.nanoTime();
+        serviceTime.recordValue(micros(received - sent));
+        if (options.mode() == Mode.CLOSED && expectedIntervalMicros > 0) {
+          latency.recordValueWithExpectedInterval(micros(received - intended), expectedIntervalMicros);
+        } else {
+          latency.recordValue(micros(received - intended));
+        }
+      }
+    }
+
+    private boolean send(HttpRequest request) {
+      try {
+        return client.send(request, BodyHandlers.discarding()).statusCode() == 200;
+      } catch (IOException e) {
+        return false;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+  }
+}
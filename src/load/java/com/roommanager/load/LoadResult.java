@@ -0,0 +1,22 @@
+package com.roommanager.load;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of a load test run, latencies are in microseconds.
+ *
+ * @param latency     time from the intended send of a request to its response, corrected for coordinated omission
+ * @param serviceTime time from the actual send of a request to its response
+ */
+public record LoadResult(long requests, long errors, double elapsedSeconds, double throughput, Latency latency,
+                         Latency serviceTime) {
+
+  public record Latency(double mean, long p50, long p90, long p99, long p999, long max) {
+
+    static Latency of(Histogram histogram) {
+      return new Latency(histogram.getMean(), histogram.getValueAtPercentile(50),
+          histogram.getValueAtPercentile(90), histogram.getValueAtPercentile(99),
+          histogram.getValueAtPercentile(99.9), histogram.getMaxValue());
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.roommanager.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roommanager.RoomManagerApplication;
+import com.roommanager.load.LoadTestOptions.Mode;
+import com.roommanager.load.LoadTestOptions.Query;
+import com.roommanager.load.LoadTestOptions.Target;
+import com.roommanager.load.LoadResult.Latency;
+import com.roommanager.remote.api.FastPathAvailabilityServer;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application on a random port with a synthetic clients dataset, drives its availability endpoint by
+ * {@link LoadGenerator} for a warmup and a measured run, and writes results of the measured one as JSON.
+ */
+public final class LoadTest {
+
+  private LoadTest() {
+  }
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    var options = LoadTestOptions.parse(args);
+    Path clients = SyntheticClients.write(options.customers(), options.seed());
+    try (ConfigurableApplicationContext context = start(options, clients)) {
+      var generator = new LoadGenerator(options, endpoint(options, context));
+      if (!options.warmup().isZero()) {
+        generator.run(options.warmup());
+      }
+      LoadResult result = generator.run(options.duration());
+      print(options, result);
+      write(new LoadReport(options.mode(), options.target(), options.customers(), options.connections(),
+          options.rate(), options.duration().toSeconds(),
+          options.expectedInterval().toNanos() / 1000, options.queries(), result), options.results());
+    } finally {
+      Files.deleteIfExists(clients);
+    }
+  }
+
+  private static ConfigurableApplicationContext start(LoadTestOptions options, Path clients) {
+    Map<String, Object> properties = new LinkedHashMap<>();
+    properties.put("server.port", "0");
+    properties.put("app.clients-resource", clients.toUri().toString());
+    properties.put("logging.level.root", "WARN");
+    properties.put("app.customers.async-load", "false");
+    if (options.target() == Target.FAST_PATH) {
+      properties.put("app.fast-path.enabled", "true");
+      properties.put("app.fast-path.port", "0");
+    }
+    properties.putAll(options.properties());
+    return new SpringApplicationBuilder(RoomManagerApplication.class).properties(properties).run();
+  }
+
+  private static URI endpoint(LoadTestOptions options, ConfigurableApplicationContext context) {
+    int port = options.target() == Target.FAST_PATH
+        ? context.getBean(FastPathAvailabilityServer.class).port()
+        : context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    return URI.create(String.format("http://127.0.0.1:%d/rooms/availability", port));
+  }
+
+  private static void print(LoadTestOptions options, LoadResult result) {
+    System.out.printf("%s loop against %s, %d connections: %d requests, %d errors in %.1f s, %.1f requests/s%n",
+        options.mode(), options.target(), options.connections(), result.requests(), result.errors(),
+        result.elapsedSeconds(), result.throughput());
+    if (options.mode() == Mode.CLOSED && options.expectedInterval().isZero()) {
+      System.out.println("Closed loop latency is NOT corrected for coordinated omission, expected interval is 0");
+    } else if (options.mode() == Mode.CLOSED) {
+      System.out.printf("Closed loop latency is corrected for coordinated omission, expected interval %d us%n",
+          options.expectedInterval().toNanos() / 1000);
+    }
+    print("latency", result.latency());
+    print("service time", result.serviceTime());
+  }
+
+  private static void print(String name, Latency latency) {
+    System.out.printf("%s [us]: mean %.1f, p50 %d, p90 %d, p99 %d, p99.9 %d, max %d%n", name, latency.mean(),
+        latency.p50(), latency.p90(), latency.p99(), latency.p999(), latency.max());
+  }
+
+  private static void write(LoadReport report, Path path) throws IOException {
+    Path parent = path.toAbsolutePath().getParent();
+    Files.createDirectories(parent);
+    new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+    System.out.printf("Results written to %s%n", path);
+  }
+
+  /**
+   * Machine readable results of a run along with options they were measured with.
+   *
+   * @param rate                   requests per second of the open loop, target rate of the closed one
+   * @param expectedIntervalMicros interval closed loop latencies are corrected against, {@code 0} when uncorrected
+   */
+  record LoadReport(Mode mode, Target target, int customers, int connections, int rate, long durationSeconds,
+                    long expectedIntervalMicros, List<Query> queries, LoadResult result) {
+
+  }
+}
@@ -0,0 +1,106 @@
+package com.roommanager.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Options of a load test, given as {@code --name=value} arguments. Arguments prefixed by {@code app.}, {@code spring.}
+ * or {@code server.} are passed to the application as properties.
+ *
+ * @param mode             {@code closed} loop, where each connection sends next request once previous one completed,
+ *                         or {@code open} loop, where requests are sent at constant {@code rate} regardless of responses
+ * @param connections      concurrent connections, each served by a thread
+ * @param rate             requests per second of the open loop, and the target rate of the closed loop
+ * @param expectedInterval expected interval between requests of a connection of the closed loop, used to correct
+ *                         coordinated omission, by default each connection's share of the target {@code rate},
+ *                         {@code 0} records latencies as measured
+ * @param queries          weighted mix of room counts
+ * @param target           {@code mvc} endpoint of the web stack or {@code fast-path} one
+ */
+public record LoadTestOptions(int customers, long seed, Mode mode, int connections, int rate, Duration warmup,
+                              Duration duration, Duration expectedInterval, List<Query> queries, Target target,
+                              Path results, Map<String, String> properties) {
+
+  public static LoadTestOptions parse(String... args) {
+    Map<String, String> options = new LinkedHashMap<>();
+    Map<String, String> properties = new LinkedHashMap<>();
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException(String.format("Option [%s] is not of --name=value form", arg));
+      }
+      String name = arg.substring(2, separator);
+      String value = arg.substring(separator + 1);
+      if (name.startsWith("app.") || name.startsWith("spring.") || name.startsWith("server.")) {
+        properties.put(name, value);
+      } else {
+        options.put(name, value);
+      }
+    }
+    int connections = Integer.parseInt(option(options, "connections", "8"));
+    int rate = Integer.parseInt(option(options, "rate", "1000"));
+    long expectedIntervalMicros = rate < 1 ? 0 : TimeUnit.SECONDS.toMicros(connections) / rate;
+    var result = new LoadTestOptions(
+        Integer.parseInt(option(options, "customers", "1000000")),
+        Long.parseLong(option(options, "seed", "42")),
+        Mode.valueOf(option(options, "mode", "closed").toUpperCase()),
+        connections,
+        rate,
+        Duration.ofSeconds(Long.parseLong(option(options, "warmup-seconds", "5"))),
+        Duration.ofSeconds(Long.parseLong(option(options, "duration-seconds", "30"))),
+        Duration.ofNanos(Long.parseLong(option(options, "expected-interval-micros",
+            String.valueOf(expectedIntervalMicros))) * 1000),
+        Query.parseMix(option(options, "queries", "2:3*4,7:1*2,0:10,100:100")),
+        Target.valueOf(option(options, "target", "mvc").toUpperCase().replace('-', '_')),
+        Path.of(option(options, "results", "load-results.json")),
+        properties);
+    if (!options.isEmpty()) {
+      throw new IllegalArgumentException(String.format("Unknown options %s", options.keySet()));
+    }
+    if (result.connections < 1 || result.rate < 1 || result.duration.isZero()) {
+      throw new IllegalArgumentException("Connections, rate and duration have to be positive");
+    }
+    return result;
+  }
+
+  private static String option(Map<String, String> options, String name, String defaultValue) {
+    String value = options.remove(name);
+    return value != null ? value : defaultValue;
+  }
+
+  public enum Mode {
+    CLOSED, OPEN
+  }
+
+  public enum Target {
+    MVC, FAST_PATH
+  }
+
+  /**
+   * Room counts of an availability request, sent {@code weight} times as often as a query of weight {@code 1}.
+   */
+  public record Query(int premiumRooms, int economyRooms, int weight) {
+
+    /**
+     * Parses comma separated {@code premium:economy[*weight]} queries, e.g. {@code 2:3*4,7:1}.
+     */
+    static List<Query> parseMix(String mix) {
+      List<Query> queries = new ArrayList<>();
+      for (String query : mix.split(",")) {
+        String[] weighted = query.trim().split("\\*");
+        String[] rooms = weighted[0].split(":");
+        if (rooms.length != 2 || weighted.length > 2) {
+          throw new IllegalArgumentException(String.format("Query [%s] is not of premium:economy[*weight] form", query));
+        }
+        queries.add(new Query(Integer.parseInt(rooms[0].trim()), Integer.parseInt(rooms[1].trim()),
+            weighted.length == 2 ? Integer.parseInt(weighted[1].trim()) : 1));
+      }
+      return List.copyOf(queries);
+    }
+  }
+}
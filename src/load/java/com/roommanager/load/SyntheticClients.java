@@ -0,0 +1,37 @@
+package com.roommanager.load;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Clients dataset of random prices from {@code 0.00} up to {@code 500.00}, reproducible for a given seed.
+ */
+final class SyntheticClients {
+
+  private static final int MAX_PRICE_CENTS = 50_000;
+
+  private SyntheticClients() {
+  }
+
+  static Path write(int customers, long seed) throws IOException {
+    Path path = Files.createTempFile("clients-", ".json");
+    SplittableRandom random = new SplittableRandom(seed);
+    try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+      writer.write('[');
+      for (int i = 0; i < customers; i++) {
+        if (i > 0) {
+          writer.write(',');
+        }
+        int cents = random.nextInt(MAX_PRICE_CENTS + 1);
+        writer.write(Integer.toString(cents / 100));
+        writer.write(cents % 100 < 10 ? ".0" : ".");
+        writer.write(Integer.toString(cents % 100));
+      }
+      writer.write(']');
+    }
+    return path;
+  }
+}
@@ -2,8 +2,26 @@ package com.roommanager.domain.calculator;
 
 import com.roommanager.domain.model.RoomsAvailabilityQuery;
 import com.roommanager.domain.model.RoomsAvailabilityResult;
+import com.roommanager.remote.repositories.CustomerRepo;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AvailabilityCalculator {
  List<RoomsAvailabilityResult> execute(RoomsAvailabilityQuery request);
+
+ /**
+  * Executes request against given customers, e.g. a {@link CustomerRepo#snapshot()} shared by several requests.
+  */
+ List<RoomsAvailabilityResult> execute(RoomsAvailabilityQuery request, CustomerRepo customers);
+
+ /**
+  * Executes batch of requests against given customers, results are computed lazily in order of requests.
+  */
+ Stream<List<RoomsAvailabilityResult>> execute(List<RoomsAvailabilityQuery> requests, CustomerRepo customers);
+
+ /**
+  * Calculator of the same kind with given premium price threshold, e.g. configured for a single hotel.
+  */
+ AvailabilityCalculator withPremiumPriceMinThreshold(BigDecimal premiumPriceMinThreshold);
 }
@@ -0,0 +1,37 @@
+package com.roommanager.domain.calculator;
+
+import com.roommanager.domain.model.CalendarAvailabilityQuery;
+import com.roommanager.domain.model.NightAvailabilityResult;
+import com.roommanager.domain.model.RoomsAvailabilityQuery;
+import com.roommanager.remote.repositories.NightlyCustomers;
+import com.roommanager.remote.repositories.StayRepo;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Allocates rooms of each night of a calendar to customers staying at that night, by the rules of the availability
+ * calculator. Customers are tracked from night to night by check-ins and check-outs only, so a night costs the
+ * calculator lookups plus its stay changes, not a pass over all stays.
+ */
+@Component
+public class CalendarAvailabilityCalculator {
+
+  private final AvailabilityCalculator availabilityCalculator;
+  private final StayRepo stayRepo;
+
+  public CalendarAvailabilityCalculator(AvailabilityCalculator availabilityCalculator, StayRepo stayRepo) {
+    this.availabilityCalculator = availabilityCalculator;
+    this.stayRepo = stayRepo;
+  }
+
+  public List<NightAvailabilityResult> execute(CalendarAvailabilityQuery query) {
+    NightlyCustomers customers = stayRepo.customersFrom(query.firstNight());
+    List<NightAvailabilityResult> results = new ArrayList<>(query.nights().size());
+    for (RoomsAvailabilityQuery night : query.nights()) {
+      results.add(new NightAvailabilityResult(customers.night(), availabilityCalculator.execute(night, customers)));
+      customers.nextNight();
+    }
+    return results;
+  }
+}
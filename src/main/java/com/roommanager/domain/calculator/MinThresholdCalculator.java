@@ -3,39 +3,86 @@ package com.roommanager.domain.calculator;
 import static com.roommanager.domain.model.Currency.EUR;
 import static com.roommanager.domain.model.RoomType.ECONOMY;
 import static com.roommanager.domain.model.RoomType.PREMIUM;
+import static com.roommanager.metrics.PipelineMetrics.Stage.ECONOMY_LOOKUP;
+import static com.roommanager.metrics.PipelineMetrics.Stage.PREMIUM_LOOKUP;
+import static com.roommanager.metrics.PipelineMetrics.Stage.RESPONSE_COMPOSITION;
 
-import com.roommanager.domain.model.Customer;
+import com.roommanager.domain.model.CustomersAggregate;
 import com.roommanager.domain.model.RoomsAvailabilityQuery;
 import com.roommanager.domain.model.RoomsAvailabilityResult;
+import com.roommanager.metrics.PipelineMetrics;
 import com.roommanager.remote.repositories.CustomerRepo;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+/**
+ * Allocates rooms to customers looked up on both sides of the premium price threshold. Selected by
+ * {@code app.calculator=min-threshold}.
+ */
 @Component
+@ConditionalOnProperty(name = "app.calculator", havingValue = "min-threshold")
 public class MinThresholdCalculator implements AvailabilityCalculator {
 
-  private final BigDecimal premiumPriceMinThreshold;
+  /**
+   * Threshold in currency minor units, rounded up so that integral minor unit prices compare the same as against the
+   * configured value.
+   */
+  private final long premiumPriceMinThreshold;
   private final CustomerRepo customerRepo;
+  private final PipelineMetrics pipelineMetrics;
 
   public MinThresholdCalculator(
       @Value("${app.premium.min-threshold}") BigDecimal premiumPriceMinThreshold,
-      CustomerRepo customerRepo) {
-    this.premiumPriceMinThreshold = premiumPriceMinThreshold;
+      CustomerRepo customerRepo,
+      PipelineMetrics pipelineMetrics) {
+    this.premiumPriceMinThreshold = EUR.toMinorUnits(premiumPriceMinThreshold, RoundingMode.CEILING);
     this.customerRepo = customerRepo;
+    this.pipelineMetrics = pipelineMetrics;
   }
 
   @Override
   public List<RoomsAvailabilityResult> execute(RoomsAvailabilityQuery query) {
-    PremiumRoomsInfo premiumRoomsInfo = getPremiumCustomers(query);
-    EconomyRoomsInfo economyRoomsInfo = getEconomyCustomers(query, premiumRoomsInfo.remainingRooms());
+    return execute(query, customerRepo.snapshot());
+  }
+
+  @Override
+  public List<RoomsAvailabilityResult> execute(RoomsAvailabilityQuery query, CustomerRepo customers) {
+    return execute(query, ThresholdAggregates.of(customers, premiumPriceMinThreshold));
+  }
+
+  /**
+   * Totals of customers below and above the threshold are computed once for the whole batch, queries with enough rooms
+   * for all customers of a type take them without any further lookup.
+   */
+  @Override
+  public Stream<List<RoomsAvailabilityResult>> execute(List<RoomsAvailabilityQuery> queries, CustomerRepo customers) {
+    ThresholdAggregates aggregates = ThresholdAggregates.shared(customers, premiumPriceMinThreshold);
+    return queries.stream().map(query -> execute(query, aggregates));
+  }
+
+  @Override
+  public AvailabilityCalculator withPremiumPriceMinThreshold(BigDecimal premiumPriceMinThreshold) {
+    return new MinThresholdCalculator(premiumPriceMinThreshold, customerRepo, pipelineMetrics);
+  }
 
-    return composeResponse(premiumRoomsInfo, economyRoomsInfo);
+  private List<RoomsAvailabilityResult> execute(RoomsAvailabilityQuery query, ThresholdAggregates customers) {
+    long start = pipelineMetrics.start();
+    PremiumRoomsInfo premiumRoomsInfo = getPremiumCustomers(query, customers);
+    start = pipelineMetrics.stop(PREMIUM_LOOKUP, start);
+    EconomyRoomsInfo economyRoomsInfo = getEconomyCustomers(query, premiumRoomsInfo.remainingRooms(), customers);
+    start = pipelineMetrics.stop(ECONOMY_LOOKUP, start);
+
+    var response = composeResponse(premiumRoomsInfo, economyRoomsInfo);
+    pipelineMetrics.stop(RESPONSE_COMPOSITION, start);
+    return response;
   }
 
   private List<RoomsAvailabilityResult> composeResponse(PremiumRoomsInfo premiumRoomsInfo,
@@ -51,64 +98,66 @@ public class MinThresholdCalculator implements AvailabilityCalculator {
 
   private Optional<RoomsAvailabilityResult> getPremiumAvailability(PremiumRoomsInfo premiumRoomsInfo,
       EconomyRoomsInfo economyRoomsInfo) {
-    Collection<Customer> customers = new ArrayList<>(premiumRoomsInfo.customers());
-    customers.addAll(economyRoomsInfo.customers().subList(0, economyRoomsInfo.premiumCandidates()));
-    if (customers.isEmpty()) {
+    CustomersAggregate customers = premiumRoomsInfo.customers();
+    CustomersAggregate premiumCandidates = economyRoomsInfo.premiumCandidates();
+    int customersCount = customers.count() + premiumCandidates.count();
+    if (customersCount == 0) {
       return Optional.empty();
     }
-    double totalPrice = calculateTotalPrice(customers);
+    double totalPrice = EUR.toDouble(customers.totalPriceOffer() + premiumCandidates.totalPriceOffer());
 
-    return Optional.of(new RoomsAvailabilityResult(PREMIUM, customers.size(), totalPrice, EUR));
+    return Optional.of(new RoomsAvailabilityResult(PREMIUM, customersCount, totalPrice, EUR));
 
   }
 
   private Optional<RoomsAvailabilityResult> getEconomyAvailability(EconomyRoomsInfo economyRoomsInfo) {
-    List<Customer> customers = economyRoomsInfo.customers();
-    List<Customer> reducedCustomers = customers.subList(economyRoomsInfo.premiumCandidates(), customers.size());
-    if (customers.isEmpty()) {
+    CustomersAggregate customers = economyRoomsInfo.customers();
+    CustomersAggregate premiumCandidates = economyRoomsInfo.premiumCandidates();
+    if (customers.count() == 0) {
       return Optional.empty();
     }
-    double totalPrice = calculateTotalPrice(reducedCustomers);
-
-    return Optional.of(new RoomsAvailabilityResult(ECONOMY, reducedCustomers.size(), totalPrice, EUR));
-  }
-
+    int customersCount = customers.count() - premiumCandidates.count();
+    double totalPrice = EUR.toDouble(customers.totalPriceOffer() - premiumCandidates.totalPriceOffer());
 
-  private double calculateTotalPrice(Collection<Customer> customers) {
-    return customers.stream()
-        .map(Customer::priceOffer)
-        .reduce(BigDecimal.ZERO, BigDecimal::add)
-        .doubleValue();
+    return Optional.of(new RoomsAvailabilityResult(ECONOMY, customersCount, totalPrice, EUR));
   }
 
-  private PremiumRoomsInfo getPremiumCustomers(RoomsAvailabilityQuery query) {
+  private PremiumRoomsInfo getPremiumCustomers(RoomsAvailabilityQuery query, ThresholdAggregates customers) {
     if (query.availablePremiumRooms() < 1) {
-      return new PremiumRoomsInfo(Collections.emptyList(), 0);
+      return new PremiumRoomsInfo(CustomersAggregate.EMPTY, 0);
     }
-    List<Customer> customers = customerRepo.findByPriceOfferGTEOrderByPriceOfferDesc(premiumPriceMinThreshold,
-        query.availablePremiumRooms());
+    CustomersAggregate premiumCustomers = customers.premium(query.availablePremiumRooms());
 
-    int remainingRooms = Math.max(0, query.availablePremiumRooms() - customers.size());
-    return new PremiumRoomsInfo(customers, remainingRooms);
+    int remainingRooms = Math.max(0, query.availablePremiumRooms() - premiumCustomers.count());
+    return new PremiumRoomsInfo(premiumCustomers, remainingRooms);
   }
 
-  private EconomyRoomsInfo getEconomyCustomers(RoomsAvailabilityQuery query, int remainingPremiumRooms) {
+  private EconomyRoomsInfo getEconomyCustomers(RoomsAvailabilityQuery query, int remainingPremiumRooms,
+      ThresholdAggregates customers) {
     if (query.availableEconomyRooms() < 1 && remainingPremiumRooms < 1) {
-      return new EconomyRoomsInfo(Collections.emptyList(), 0);
+      return new EconomyRoomsInfo(CustomersAggregate.EMPTY, CustomersAggregate.EMPTY);
     }
 
     int limit = query.availableEconomyRooms() + remainingPremiumRooms;
-    List<Customer> customers = customerRepo.findByPriceOfferLTOrderByPriceOfferDesc(premiumPriceMinThreshold, limit);
+    CustomersAggregate economyCustomers = customers.economy(limit);
 
-    int extraCustomers = Math.max(0, customers.size() - query.availableEconomyRooms());
-    return new EconomyRoomsInfo(customers, extraCustomers);
+    int extraCustomers = Math.max(0, economyCustomers.count() - query.availableEconomyRooms());
+    if (extraCustomers == 0) {
+      return new EconomyRoomsInfo(economyCustomers, CustomersAggregate.EMPTY);
+    }
+    CustomersAggregate premiumCandidates = customers.economy(extraCustomers);
+    return new EconomyRoomsInfo(economyCustomers, premiumCandidates);
   }
 }
 
-record PremiumRoomsInfo(List<Customer> customers, int remainingRooms) {
+record PremiumRoomsInfo(CustomersAggregate customers, int remainingRooms) {
 
 }
 
-record EconomyRoomsInfo(List<Customer> customers, int premiumCandidates) {
+/**
+ * Economy customers fitting into economy and remaining premium rooms, {@code premiumCandidates} are the highest paying
+ * of them, which are upgraded to premium rooms.
+ */
+record EconomyRoomsInfo(CustomersAggregate customers, CustomersAggregate premiumCandidates) {
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.roommanager.domain.calculator;
+
+import static com.roommanager.domain.model.Currency.EUR;
+import static com.roommanager.domain.model.RoomType.ECONOMY;
+import static com.roommanager.domain.model.RoomType.PREMIUM;
+import static com.roommanager.metrics.PipelineMetrics.Stage.ECONOMY_LOOKUP;
+import static com.roommanager.metrics.PipelineMetrics.Stage.PREMIUM_LOOKUP;
+import static com.roommanager.metrics.PipelineMetrics.Stage.RESPONSE_COMPOSITION;
+
+import com.roommanager.domain.model.RoomsAvailabilityQuery;
+import com.roommanager.domain.model.RoomsAvailabilityResult;
+import com.roommanager.metrics.PipelineMetrics;
+import com.roommanager.remote.repositories.CustomerRepo;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Allocates rooms by the rules of {@link MinThresholdCalculator}, over rank ranges of customers ordered by price offer:
+ * premium customers hold the top ranks, economy customers the ones below. Counts and totals are kept as primitives in
+ * currency minor units, so a query allocates nothing but its results. Selected by {@code app.calculator=rank-range},
+ * which is the default.
+ */
+@Component
+@ConditionalOnProperty(name = "app.calculator", havingValue = "rank-range", matchIfMissing = true)
+public class RankRangeCalculator implements AvailabilityCalculator {
+
+  /**
+   * Threshold in currency minor units, rounded up so that integral minor unit prices compare the same as against the
+   * configured value.
+   */
+  private final long premiumPriceMinThreshold;
+  private final CustomerRepo customerRepo;
+  private final PipelineMetrics pipelineMetrics;
+
+  public RankRangeCalculator(
+      @Value("${app.premium.min-threshold}") BigDecimal premiumPriceMinThreshold,
+      CustomerRepo customerRepo,
+      PipelineMetrics pipelineMetrics) {
+    this.premiumPriceMinThreshold = EUR.toMinorUnits(premiumPriceMinThreshold, RoundingMode.CEILING);
+    this.customerRepo = customerRepo;
+    this.pipelineMetrics = pipelineMetrics;
+  }
+
+  @Override
+  public List<RoomsAvailabilityResult> execute(RoomsAvailabilityQuery query) {
+    return execute(query, customerRepo.snapshot());
+  }
+
+  @Override
+  public List<RoomsAvailabilityResult> execute(RoomsAvailabilityQuery query, CustomerRepo customers) {
+    return execute(query, customers, customers.countByPriceOfferGTE(premiumPriceMinThreshold),
+        customers.countByPriceOfferGTE(Long.MIN_VALUE));
+  }
+
+  /**
+   * Counts of premium and all customers are looked up once for the whole batch.
+   */
+  @Override
+  public Stream<List<RoomsAvailabilityResult>> execute(List<RoomsAvailabilityQuery> queries, CustomerRepo customers) {
+    int premiumCustomers = customers.countByPriceOfferGTE(premiumPriceMinThreshold);
+    int allCustomers = customers.countByPriceOfferGTE(Long.MIN_VALUE);
+    return queries.stream().map(query -> execute(query, customers, premiumCustomers, allCustomers));
+  }
+
+  @Override
+  public AvailabilityCalculator withPremiumPriceMinThreshold(BigDecimal premiumPriceMinThreshold) {
+    return new RankRangeCalculator(premiumPriceMinThreshold, customerRepo, pipelineMetrics);
+  }
+
+  private List<RoomsAvailabilityResult> execute(RoomsAvailabilityQuery query, CustomerRepo customers,
+      int premiumCustomers, int allCustomers) {
+    long start = pipelineMetrics.start();
+    int premiumRooms = Math.max(0, query.availablePremiumRooms());
+    int economyRooms = Math.max(0, query.availableEconomyRooms());
+    int premiumCount = Math.min(premiumRooms, premiumCustomers);
+    long premiumTotal = customers.sumByPriceOfferOrderByPriceOfferDesc(0, premiumCount);
+    start = pipelineMetrics.stop(PREMIUM_LOOKUP, start);
+
+    // economy customers fitting into economy and remaining premium rooms, the highest paying of them are upgraded
+    int economyCount = (int) Math.min(allCustomers - premiumCustomers,
+        (long) economyRooms + premiumRooms - premiumCount);
+    int upgradedCount = Math.max(0, economyCount - economyRooms);
+    long upgradedTotal = customers.sumByPriceOfferOrderByPriceOfferDesc(premiumCustomers, upgradedCount);
+    long economyTotal = customers.sumByPriceOfferOrderByPriceOfferDesc(premiumCustomers + upgradedCount,
+        economyCount - upgradedCount);
+    start = pipelineMetrics.stop(ECONOMY_LOOKUP, start);
+
+    RoomsAvailabilityResult premium = premiumCount + upgradedCount == 0 ? null : new RoomsAvailabilityResult(PREMIUM,
+        premiumCount + upgradedCount, EUR.toDouble(premiumTotal + upgradedTotal), EUR);
+    RoomsAvailabilityResult economy = economyCount == 0 ? null : new RoomsAvailabilityResult(ECONOMY,
+        economyCount - upgradedCount, EUR.toDouble(economyTotal), EUR);
+    var response = premium == null ? economy == null ? List.<RoomsAvailabilityResult>of() : List.of(economy)
+        : economy == null ? List.of(premium) : List.of(premium, economy);
+    pipelineMetrics.stop(RESPONSE_COMPOSITION, start);
+    return response;
+  }
+}
@@ -0,0 +1,98 @@
+package com.roommanager.domain.calculator;
+
+import com.roommanager.domain.model.RevenueSweepQuery;
+import com.roommanager.domain.model.RevenueSweepSlice;
+import com.roommanager.domain.model.RoomsRange;
+import com.roommanager.remote.repositories.CustomerRepo;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Component;
+
+/**
+ * Revenue of every combination of premium price threshold and available rooms, allocated by the rules of
+ * {@link RankRangeCalculator}. Customers counts are looked up once per threshold and premium totals once per premium
+ * rooms count, each combination then takes two range sums of the sorted prices. Rows of each threshold are split
+ * across the common fork-join pool.
+ */
+@Component
+public class RevenueSweepCalculator {
+
+  /**
+   * Cells computed by a single fork-join task, larger slices are split by rows.
+   */
+  private static final int CELLS_PER_TASK = 4096;
+
+  /**
+   * Slice of each threshold, in order of thresholds. Slices are computed while the returned stream is consumed, so
+   * that a single slice is held in memory at a time.
+   */
+  public Stream<RevenueSweepSlice> execute(RevenueSweepQuery query, CustomerRepo customers) {
+    int allCustomers = customers.countByPriceOfferGTE(Long.MIN_VALUE);
+    return Arrays.stream(query.thresholds())
+        .mapToObj(threshold -> slice(threshold, query.premiumRooms(), query.economyRooms(), customers, allCustomers));
+  }
+
+  private static RevenueSweepSlice slice(long threshold, RoomsRange premiumRooms, RoomsRange economyRooms,
+      CustomerRepo customers, int allCustomers) {
+    var slice = new RevenueSweepSlice(threshold, premiumRooms.count(), economyRooms.count());
+    int premiumCustomers = customers.countByPriceOfferGTE(threshold);
+    ForkJoinPool.commonPool().invoke(new RowsTask(slice, premiumRooms, economyRooms, customers, premiumCustomers,
+        allCustomers - premiumCustomers, 0, slice.rows()));
+    return slice;
+  }
+
+  private static final class RowsTask extends RecursiveAction {
+
+    private final RevenueSweepSlice slice;
+    private final RoomsRange premiumRooms;
+    private final RoomsRange economyRooms;
+    private final CustomerRepo customers;
+    private final int premiumCustomers;
+    private final int economyCustomers;
+    private final int fromRow;
+    private final int toRow;
+
+    private RowsTask(RevenueSweepSlice slice, RoomsRange premiumRooms, RoomsRange economyRooms,
+        CustomerRepo customers, int premiumCustomers, int economyCustomers, int fromRow, int toRow) {
+      this.slice = slice;
+      this.premiumRooms = premiumRooms;
+      this.economyRooms = economyRooms;
+      this.customers = customers;
+      this.premiumCustomers = premiumCustomers;
+      this.economyCustomers = economyCustomers;
+      this.fromRow = fromRow;
+      this.toRow = toRow;
+    }
+
+    @Override
+    protected void compute() {
+      if (toRow - fromRow > 1 && (long) (toRow - fromRow) * slice.columns() > CELLS_PER_TASK) {
+        int middle = (fromRow + toRow) >>> 1;
+        invokeAll(new RowsTask(slice, premiumRooms, economyRooms, customers, premiumCustomers, economyCustomers,
+                fromRow, middle),
+            new RowsTask(slice, premiumRooms, economyRooms, customers, premiumCustomers, economyCustomers,
+                middle, toRow));
+        return;
+      }
+      for (int row = fromRow; row < toRow; row++) {
+        int availablePremiumRooms = premiumRooms.get(row);
+        int premiumCount = Math.min(availablePremiumRooms, premiumCustomers);
+        long premiumTotal = customers.sumByPriceOfferOrderByPriceOfferDesc(0, premiumCount);
+        int remainingRooms = availablePremiumRooms - premiumCount;
+        for (int column = 0; column < slice.columns(); column++) {
+          int availableEconomyRooms = economyRooms.get(column);
+          // economy customers fitting into economy and remaining premium rooms, the highest paying of them are upgraded
+          int economyCount = (int) Math.min(economyCustomers, (long) availableEconomyRooms + remainingRooms);
+          int upgradedCount = Math.max(0, economyCount - availableEconomyRooms);
+          long upgradedTotal = customers.sumByPriceOfferOrderByPriceOfferDesc(premiumCustomers, upgradedCount);
+          long economyTotal = customers.sumByPriceOfferOrderByPriceOfferDesc(premiumCustomers + upgradedCount,
+              economyCount - upgradedCount);
+          slice.set(row, column, premiumCount + upgradedCount, premiumTotal + upgradedTotal,
+              economyCount - upgradedCount, economyTotal);
+        }
+      }
+    }
+  }
+}
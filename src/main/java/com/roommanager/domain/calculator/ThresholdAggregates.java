@@ -0,0 +1,53 @@
+package com.roommanager.domain.calculator;
+
+import com.roommanager.domain.model.CustomersAggregate;
+import com.roommanager.remote.repositories.CustomerRepo;
+
+/**
+ * Top ranked customers aggregates on both sides of the premium price threshold. Shared aggregates hold totals of each
+ * side, computed once for a batch of queries, so that queries covering a whole side do not look it up again.
+ */
+final class ThresholdAggregates {
+
+  private final CustomerRepo customers;
+  private final long threshold;
+  private final CustomersAggregate premiumTotal;
+  private final CustomersAggregate economyTotal;
+
+  private ThresholdAggregates(CustomerRepo customers, long threshold, CustomersAggregate premiumTotal,
+      CustomersAggregate economyTotal) {
+    this.customers = customers;
+    this.threshold = threshold;
+    this.premiumTotal = premiumTotal;
+    this.economyTotal = economyTotal;
+  }
+
+  static ThresholdAggregates of(CustomerRepo customers, long threshold) {
+    return new ThresholdAggregates(customers, threshold, null, null);
+  }
+
+  static ThresholdAggregates shared(CustomerRepo customers, long threshold) {
+    return new ThresholdAggregates(customers, threshold, customers.aggregateByPriceOfferGTE(threshold),
+        customers.aggregateByPriceOfferLT(threshold));
+  }
+
+  /**
+   * Aggregate of at most {@code limit} highest paying customers with price offer greater than or equal to threshold.
+   */
+  CustomersAggregate premium(int limit) {
+    if (premiumTotal != null && limit >= premiumTotal.count()) {
+      return premiumTotal;
+    }
+    return customers.aggregateByPriceOfferGTEOrderByPriceOfferDesc(threshold, 0, limit);
+  }
+
+  /**
+   * Aggregate of at most {@code limit} highest paying customers with price offer less than threshold.
+   */
+  CustomersAggregate economy(int limit) {
+    if (economyTotal != null && limit >= economyTotal.count()) {
+      return economyTotal;
+    }
+    return customers.aggregateByPriceOfferLTOrderByPriceOfferDesc(threshold, 0, limit);
+  }
+}
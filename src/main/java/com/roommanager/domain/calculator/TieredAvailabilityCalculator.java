@@ -0,0 +1,153 @@
+package com.roommanager.domain.calculator;
+
+import static com.roommanager.domain.model.Currency.EUR;
+
+import com.roommanager.domain.model.RoomTier;
+import com.roommanager.domain.model.TierAllocation;
+import com.roommanager.domain.model.TierAvailabilityResult;
+import com.roommanager.domain.model.TieredAvailabilityQuery;
+import com.roommanager.remote.repositories.CustomerRepo;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Allocates rooms of any number of tiers, configured by {@code app.room-tiers} as comma separated
+ * {@code NAME:minPriceOffer} from the highest tier, the lowest tier is given by name only.
+ * <p>
+ * Tiers are allocated from the highest one down, each takes its highest paying customers. Customers overflowing rooms
+ * of their tier are upgraded to free rooms of higher tiers, as long as there are any, the highest paying ones to the
+ * highest tier. With two tiers this is the allocation of {@link MinThresholdCalculator}.
+ * <p>
+ * Customers of a tier are a rank range of customers ordered by price offer, so the whole allocation is a single pass
+ * over tiers, resulting in a few rank ranges per tier, which are then aggregated.
+ */
+@Component
+public class TieredAvailabilityCalculator {
+
+  private final List<RoomTier> tiers;
+  /**
+   * Minimum prices of tiers in currency minor units, rounded up, the lowest tier takes any price.
+   */
+  private final long[] minPrices;
+  private final CustomerRepo customerRepo;
+
+  public TieredAvailabilityCalculator(
+      @Value("${app.room-tiers:PREMIUM:${app.premium.min-threshold},ECONOMY}") String tiers,
+      CustomerRepo customerRepo) {
+    this.tiers = parseTiers(tiers);
+    this.minPrices = new long[this.tiers.size()];
+    for (int i = 0; i < minPrices.length; i++) {
+      minPrices[i] = i == minPrices.length - 1 ? Long.MIN_VALUE
+          : EUR.toMinorUnits(this.tiers.get(i).minPriceOffer(), RoundingMode.CEILING);
+      if (i > 0 && minPrices[i] >= minPrices[i - 1]) {
+        throw new IllegalArgumentException(String.format("Room tier [%s] has to have lower min price than [%s]",
+            this.tiers.get(i).name(), this.tiers.get(i - 1).name()));
+      }
+    }
+    this.customerRepo = customerRepo;
+  }
+
+  public List<RoomTier> tiers() {
+    return tiers;
+  }
+
+  public List<TierAvailabilityResult> execute(TieredAvailabilityQuery query) {
+    return execute(query, customerRepo.snapshot());
+  }
+
+  /**
+   * Result of each tier having any customer, in order of tiers.
+   */
+  public List<TierAvailabilityResult> execute(TieredAvailabilityQuery query, CustomerRepo customers) {
+    int tiersCount = tiers.size();
+    int[] counts = new int[tiersCount];
+    long[] totals = new long[tiersCount];
+    boolean[] taken = new boolean[tiersCount];
+    for (TierAllocation allocation : allocate(query, customers)) {
+      taken[allocation.tier()] = true;
+      if (allocation.count() > 0) {
+        counts[allocation.tier()] += allocation.count();
+        totals[allocation.tier()] += customers.aggregateByPriceOfferGTEOrderByPriceOfferDesc(Long.MIN_VALUE,
+            allocation.fromRank(), allocation.count()).totalPriceOffer();
+      }
+    }
+
+    List<TierAvailabilityResult> results = new ArrayList<>();
+    for (int tier = 0; tier < tiersCount; tier++) {
+      if (taken[tier]) {
+        results.add(new TierAvailabilityResult(tiers.get(tier).name(), counts[tier], EUR.toDouble(totals[tier]), EUR));
+      }
+    }
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * Rank ranges of customers allocated to rooms of each tier, ordered by tier and rank. Only counts of customers are
+   * looked up, so the allocation costs a few lookups per tier, regardless of the number of rooms.
+   */
+  public List<TierAllocation> allocate(TieredAvailabilityQuery query, CustomerRepo customers) {
+    if (query.availableRooms().size() != tiers.size()) {
+      throw new IllegalArgumentException(String.format("Rooms of %d tiers expected, but %d given", tiers.size(),
+          query.availableRooms().size()));
+    }
+    int tiersCount = tiers.size();
+    long[] freeRooms = new long[tiersCount];
+    List<TierAllocation> allocations = new ArrayList<>();
+    long freeRoomsAbove = 0;
+    int highestFreeTier = 0;
+    int tierStart = 0;
+    for (int tier = 0; tier < tiersCount; tier++) {
+      int tierEnd = customers.aggregateByPriceOfferGTE(minPrices[tier]).count();
+      long rooms = query.availableRooms().get(tier);
+      int takenCount = (int) Math.min(tierEnd - tierStart, rooms + freeRoomsAbove);
+      int upgraded = (int) Math.max(0, takenCount - rooms);
+
+      int rank = tierStart;
+      for (; rank < tierStart + upgraded; highestFreeTier++) {
+        int count = (int) Math.min(freeRooms[highestFreeTier], tierStart + upgraded - rank);
+        if (count > 0) {
+          allocations.add(new TierAllocation(highestFreeTier, rank, rank + count));
+          freeRooms[highestFreeTier] -= count;
+          rank += count;
+          if (freeRooms[highestFreeTier] > 0) {
+            break;
+          }
+        }
+      }
+      freeRoomsAbove -= upgraded;
+
+      int staying = takenCount - upgraded;
+      if (takenCount > 0) {
+        allocations.add(new TierAllocation(tier, rank, rank + staying));
+      }
+      freeRooms[tier] = rooms - staying;
+      freeRoomsAbove += freeRooms[tier];
+      tierStart = tierEnd;
+    }
+    allocations.sort(Comparator.comparingInt(TierAllocation::tier).thenComparingInt(TierAllocation::fromRank));
+    return Collections.unmodifiableList(allocations);
+  }
+
+  private static List<RoomTier> parseTiers(String tiers) {
+    String[] definitions = tiers.split(",");
+    List<RoomTier> result = new ArrayList<>(definitions.length);
+    for (int i = 0; i < definitions.length; i++) {
+      String[] definition = definitions[i].trim().split(":");
+      boolean lowest = i == definitions.length - 1;
+      if (definition[0].isBlank() || definition.length > 2 || !lowest && definition.length < 2
+          || result.stream().anyMatch(tier -> tier.name().equals(definition[0].trim()))) {
+        throw new IllegalArgumentException(String.format("Room tier [%s] has to be given as unique NAME:minPriceOffer",
+            definitions[i]));
+      }
+      BigDecimal minPriceOffer = definition.length < 2 ? null : new BigDecimal(definition[1].trim());
+      result.add(new RoomTier(definition[0].trim(), minPriceOffer));
+    }
+    return List.copyOf(result);
+  }
+}
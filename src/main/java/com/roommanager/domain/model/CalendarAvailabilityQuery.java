@@ -0,0 +1,11 @@
+package com.roommanager.domain.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Available rooms of consecutive nights, starting with {@code firstNight}.
+ */
+public record CalendarAvailabilityQuery(LocalDate firstNight, List<RoomsAvailabilityQuery> nights) {
+
+}
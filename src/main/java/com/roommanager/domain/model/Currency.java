@@ -1,5 +1,52 @@
 package com.roommanager.domain.model;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
 public enum Currency {
-  EUR
+  EUR(2);
+
+  private static final int MAX_INTEGER_DIGITS = 19;
+
+  private final int fractionDigits;
+  private final double minorUnitsPerUnit;
+
+  Currency(int fractionDigits) {
+    this.fractionDigits = fractionDigits;
+    this.minorUnitsPerUnit = Math.pow(10, fractionDigits);
+  }
+
+  public int fractionDigits() {
+    return fractionDigits;
+  }
+
+  /**
+   * Amount rounded to minor units. Magnitude of the amount is checked before it is rounded, so that amounts of huge
+   * exponents are neither scaled nor rounded digit by digit.
+   *
+   * @throws ArithmeticException if the amount does not fit a long in minor units
+   */
+  public long toMinorUnits(BigDecimal amount, RoundingMode roundingMode) {
+    BigDecimal minorUnits = amount.scaleByPowerOfTen(fractionDigits);
+    int integerDigits = minorUnits.precision() - minorUnits.scale();
+    if (integerDigits > MAX_INTEGER_DIGITS) {
+      throw new ArithmeticException(String.format("Amount of [%d] integer digits is out of range", integerDigits));
+    }
+    if (integerDigits < 0) {
+      // below 0.1, every such amount of the same sign is rounded the same way
+      minorUnits = BigDecimal.valueOf(minorUnits.signum(), 2);
+    }
+    return minorUnits.setScale(0, roundingMode).longValueExact();
+  }
+
+  public BigDecimal fromMinorUnits(long amount) {
+    return BigDecimal.valueOf(amount, fractionDigits);
+  }
+
+  /**
+   * Nearest double to given amount of minor units, same as {@code fromMinorUnits(amount).doubleValue()}.
+   */
+  public double toDouble(long amount) {
+    return amount / minorUnitsPerUnit;
+  }
 }
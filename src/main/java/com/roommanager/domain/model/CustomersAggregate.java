@@ -0,0 +1,9 @@
+package com.roommanager.domain.model;
+
+/**
+ * Count of customers and total of their price offers, expressed in currency minor units.
+ */
+public record CustomersAggregate(int count, long totalPriceOffer) {
+
+  public static final CustomersAggregate EMPTY = new CustomersAggregate(0, 0);
+}
@@ -0,0 +1,8 @@
+package com.roommanager.domain.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record NightAvailabilityResult(LocalDate night, List<RoomsAvailabilityResult> results) {
+
+}
@@ -0,0 +1,9 @@
+package com.roommanager.domain.model;
+
+/**
+ * Every combination of premium price threshold, available premium rooms and available economy rooms. Thresholds are
+ * expressed in currency minor units.
+ */
+public record RevenueSweepQuery(long[] thresholds, RoomsRange premiumRooms, RoomsRange economyRooms) {
+
+}
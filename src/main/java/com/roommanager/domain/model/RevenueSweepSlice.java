@@ -0,0 +1,64 @@
+package com.roommanager.domain.model;
+
+/**
+ * Customers and revenue of premium and economy rooms, for a single premium price threshold and each combination of
+ * available premium rooms, by row, and available economy rooms, by column. Threshold and revenue are expressed in
+ * currency minor units.
+ */
+public final class RevenueSweepSlice {
+
+  private final long threshold;
+  private final int rows;
+  private final int columns;
+  private final int[] premiumCustomers;
+  private final long[] premiumRevenue;
+  private final int[] economyCustomers;
+  private final long[] economyRevenue;
+
+  public RevenueSweepSlice(long threshold, int rows, int columns) {
+    this.threshold = threshold;
+    this.rows = rows;
+    this.columns = columns;
+    this.premiumCustomers = new int[rows * columns];
+    this.premiumRevenue = new long[rows * columns];
+    this.economyCustomers = new int[rows * columns];
+    this.economyRevenue = new long[rows * columns];
+  }
+
+  public long threshold() {
+    return threshold;
+  }
+
+  public int rows() {
+    return rows;
+  }
+
+  public int columns() {
+    return columns;
+  }
+
+  public int premiumCustomers(int row, int column) {
+    return premiumCustomers[row * columns + column];
+  }
+
+  public long premiumRevenue(int row, int column) {
+    return premiumRevenue[row * columns + column];
+  }
+
+  public int economyCustomers(int row, int column) {
+    return economyCustomers[row * columns + column];
+  }
+
+  public long economyRevenue(int row, int column) {
+    return economyRevenue[row * columns + column];
+  }
+
+  public void set(int row, int column, int premiumCustomers, long premiumRevenue, int economyCustomers,
+      long economyRevenue) {
+    int cell = row * columns + column;
+    this.premiumCustomers[cell] = premiumCustomers;
+    this.premiumRevenue[cell] = premiumRevenue;
+    this.economyCustomers[cell] = economyCustomers;
+    this.economyRevenue[cell] = economyRevenue;
+  }
+}
@@ -0,0 +1,11 @@
+package com.roommanager.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Room type of a tiered property, taking customers with price offer at least {@code minPriceOffer}, which are not
+ * taken by a higher tier. The lowest tier has no minimum, it takes customers of every lower price offer.
+ */
+public record RoomTier(String name, BigDecimal minPriceOffer) {
+
+}
@@ -0,0 +1,21 @@
+package com.roommanager.domain.model;
+
+/**
+ * Room counts from {@code from} up to {@code to} inclusive, by {@code step}.
+ */
+public record RoomsRange(int from, int to, int step) {
+
+  public RoomsRange {
+    if (from < 0 || step < 1) {
+      throw new IllegalArgumentException(String.format("Rooms range [%d, %d] by %d is not valid", from, to, step));
+    }
+  }
+
+  public int count() {
+    return to < from ? 0 : (to - from) / step + 1;
+  }
+
+  public int get(int index) {
+    return from + index * step;
+  }
+}
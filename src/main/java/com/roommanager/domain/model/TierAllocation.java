@@ -0,0 +1,12 @@
+package com.roommanager.domain.model;
+
+/**
+ * Rooms of tier at index {@code tier} allocated to customers ranked {@code [fromRank, toRank)} among all customers
+ * ordered by price offer descending. An empty range marks a tier, which took customers but upgraded all of them.
+ */
+public record TierAllocation(int tier, int fromRank, int toRank) {
+
+  public int count() {
+    return toRank - fromRank;
+  }
+}
@@ -0,0 +1,5 @@
+package com.roommanager.domain.model;
+
+public record TierAvailabilityResult(String tier, int customersCount, double totalPrice, Currency currency) {
+
+}
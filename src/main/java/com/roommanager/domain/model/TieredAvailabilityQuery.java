@@ -0,0 +1,10 @@
+package com.roommanager.domain.model;
+
+import java.util.List;
+
+/**
+ * Available rooms of each tier, in order of tiers from the highest one.
+ */
+public record TieredAvailabilityQuery(List<Integer> availableRooms) {
+
+}
@@ -0,0 +1,32 @@
+package com.roommanager.domain.services;
+
+import com.roommanager.domain.calculator.CalendarAvailabilityCalculator;
+import com.roommanager.domain.model.CalendarAvailabilityQuery;
+import com.roommanager.domain.model.RoomsAvailabilityQuery;
+import com.roommanager.remote.api.CalendarAvailabilityRequest;
+import com.roommanager.remote.api.NightAvailabilityResponse;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class CalendarAvailabilitySvc {
+
+  private final CalendarAvailabilityCalculator calendarAvailabilityCalculator;
+
+  public CalendarAvailabilitySvc(CalendarAvailabilityCalculator calendarAvailabilityCalculator) {
+    this.calendarAvailabilityCalculator = calendarAvailabilityCalculator;
+  }
+
+  public List<NightAvailabilityResponse> calculateAvailability(CalendarAvailabilityRequest request) {
+    log.debug("Calendar availability request of {} nights from {} received", request.nights().size(),
+        request.firstNight());
+    var nights = request.nights().stream()
+        .map(night -> new RoomsAvailabilityQuery(night.availablePremiumRooms(), night.availableEconomyRooms()))
+        .toList();
+    return calendarAvailabilityCalculator.execute(new CalendarAvailabilityQuery(request.firstNight(), nights)).stream()
+        .map(NightAvailabilityResponse::from)
+        .toList();
+  }
+}
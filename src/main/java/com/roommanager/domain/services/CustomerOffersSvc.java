@@ -0,0 +1,38 @@
+package com.roommanager.domain.services;
+
+import com.roommanager.domain.model.Customer;
+import com.roommanager.remote.api.CustomerOfferRequest;
+import com.roommanager.remote.api.DatasetVersionResponse;
+import com.roommanager.remote.repositories.WritableCustomerRepo;
+import java.math.BigDecimal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class CustomerOffersSvc {
+
+  private final WritableCustomerRepo writableCustomerRepo;
+
+  public CustomerOffersSvc(WritableCustomerRepo writableCustomerRepo) {
+    this.writableCustomerRepo = writableCustomerRepo;
+  }
+
+  public DatasetVersionResponse addOffer(CustomerOfferRequest request) {
+    long version = writableCustomerRepo.insert(new Customer(request.priceOffer()));
+    log.debug("Customer offer {} added, dataset version: {}", request.priceOffer(), version);
+    return new DatasetVersionResponse(version);
+  }
+
+  public DatasetVersionResponse removeOffer(BigDecimal priceOffer) {
+    long version = writableCustomerRepo.remove(new Customer(priceOffer));
+    log.debug("Customer offer {} removed, dataset version: {}", priceOffer, version);
+    return new DatasetVersionResponse(version);
+  }
+
+  public DatasetVersionResponse updateOffer(BigDecimal priceOffer, CustomerOfferRequest request) {
+    long version = writableCustomerRepo.update(new Customer(priceOffer), new Customer(request.priceOffer()));
+    log.debug("Customer offer {} updated to {}, dataset version: {}", priceOffer, request.priceOffer(), version);
+    return new DatasetVersionResponse(version);
+  }
+}
@@ -0,0 +1,82 @@
+package com.roommanager.domain.services;
+
+import com.roommanager.domain.calculator.AvailabilityCalculator;
+import com.roommanager.domain.model.RoomsAvailabilityQuery;
+import com.roommanager.metrics.StartupPhases;
+import com.roommanager.metrics.StartupPhases.Phase;
+import com.roommanager.remote.repositories.CustomerRepo;
+import com.roommanager.remote.repositories.InMemoryCustomerRepo;
+import jakarta.annotation.PostConstruct;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Last startup stage, run once the first customers dataset is published: {@code app.startup.warm-up-queries}
+ * availability queries of random room counts are calculated, so that the calculator is compiled before the application
+ * reports itself ready. Responses are not cached, as they are calculated directly.
+ * <p>
+ * Coordinators of partitions have no dataset of their own, they are ready at once.
+ */
+@Slf4j
+@Component
+public class CustomersDatasetWarmUp {
+
+  private static final long SEED = 42;
+  private static final int MAX_ROOMS = 1000;
+
+  private final InMemoryCustomerRepo customerRepo;
+  private final AvailabilityCalculator availabilityCalculator;
+  private final StartupPhases startupPhases;
+  private final int queries;
+  private volatile boolean done;
+
+  public CustomersDatasetWarmUp(ObjectProvider<InMemoryCustomerRepo> customerRepo,
+      AvailabilityCalculator availabilityCalculator, StartupPhases startupPhases,
+      @Value("${app.startup.warm-up-queries:10000}") int queries) {
+    this.customerRepo = customerRepo.getIfAvailable();
+    this.availabilityCalculator = availabilityCalculator;
+    this.startupPhases = startupPhases;
+    this.queries = queries;
+  }
+
+  @PostConstruct
+  void postConstruct() {
+    if (customerRepo == null) {
+      log.info("No customers dataset is loaded by this node, warm-up is skipped.");
+      done = true;
+      return;
+    }
+    customerRepo.initialLoad().thenRun(this::warmUp);
+  }
+
+  /**
+   * Whether the first dataset is published and warm-up queries are calculated.
+   */
+  public boolean isDone() {
+    return done;
+  }
+
+  private void warmUp() {
+    long start = System.nanoTime();
+    try {
+      CustomerRepo customers = customerRepo.snapshot();
+      int maxRooms = Math.min(MAX_ROOMS, customers.countByPriceOfferGTE(Long.MIN_VALUE)) + 1;
+      SplittableRandom random = new SplittableRandom(SEED);
+      long results = 0;
+      for (int i = 0; i < queries; i++) {
+        var query = new RoomsAvailabilityQuery(random.nextInt(maxRooms), random.nextInt(maxRooms));
+        results += availabilityCalculator.execute(query, customers).size();
+      }
+      log.debug("Warm-up queries returned {} results.", results);
+    } catch (RuntimeException e) {
+      log.error("Customers dataset warm-up failed.", e);
+    } finally {
+      startupPhases.record(Phase.WARM_UP, System.nanoTime() - start);
+      done = true;
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.roommanager.domain.services;
+
+import com.roommanager.domain.calculator.AvailabilityCalculator;
+import com.roommanager.domain.model.RoomsAvailabilityQuery;
+import com.roommanager.metrics.PipelineMetrics;
+import com.roommanager.metrics.PipelineMetrics.Stage;
+import com.roommanager.remote.api.RoomsAvailabilityRequest;
+import com.roommanager.remote.api.RoomsAvailabilityResponse;
+import com.roommanager.remote.api.RoomsAvailabilityResponses;
+import com.roommanager.remote.api.VersionedResponse;
+import com.roommanager.remote.repositories.CustomerRepo;
+import com.roommanager.remote.repositories.HotelCustomerRepos;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+/**
+ * Rooms availability of a single hotel, calculated with premium threshold of the hotel, set by
+ * {@code app.hotels.premium-min-threshold.<hotelId>}, or {@code app.premium.min-threshold} by default. Responses are
+ * not cached, as dataset versions of distinct hotels are not distinguished by the availability cache.
+ */
+@Slf4j
+@Service
+public class HotelRoomsAvailabilitySvc {
+
+  private final AvailabilityCalculator availabilityCalculator;
+  private final HotelCustomerRepos hotelCustomerRepos;
+  private final PipelineMetrics pipelineMetrics;
+  private final Environment environment;
+  private final BigDecimal premiumPriceMinThreshold;
+  private final Map<BigDecimal, AvailabilityCalculator> calculators = new ConcurrentHashMap<>();
+
+  public HotelRoomsAvailabilitySvc(AvailabilityCalculator availabilityCalculator,
+      HotelCustomerRepos hotelCustomerRepos, PipelineMetrics pipelineMetrics, Environment environment,
+      @Value("${app.premium.min-threshold}") BigDecimal premiumPriceMinThreshold) {
+    this.availabilityCalculator = availabilityCalculator;
+    this.hotelCustomerRepos = hotelCustomerRepos;
+    this.pipelineMetrics = pipelineMetrics;
+    this.environment = environment;
+    this.premiumPriceMinThreshold = premiumPriceMinThreshold;
+  }
+
+  public VersionedResponse<List<RoomsAvailabilityResponse>> calculateAvailability(String hotelId,
+      RoomsAvailabilityRequest request) {
+    log.debug("Hotel [{}] rooms availability request received:{}", hotelId, request);
+    long start = pipelineMetrics.start();
+    try {
+      CustomerRepo customers = pipelineMetrics.instrument(hotelCustomerRepos.forHotel(hotelId).snapshot());
+      long version = customers.version();
+      if (request.availableEconomyRooms() < 1 && request.availablePremiumRooms() < 1) {
+        return new VersionedResponse<>(version, RoomsAvailabilityResponses.EMPTY);
+      }
+      var query = new RoomsAvailabilityQuery(request.availablePremiumRooms(), request.availableEconomyRooms());
+      var response = new RoomsAvailabilityResponses(calculator(hotelId).execute(query, customers).stream()
+          .map(RoomsAvailabilityResponse::from)
+          .toList());
+      log.debug("Hotel [{}] rooms availability response: {}, dataset version: {}", hotelId, response, version);
+      return new VersionedResponse<>(version, response);
+    } finally {
+      pipelineMetrics.stop(Stage.SERVICE, start);
+    }
+  }
+
+  /**
+   * Calculator of the hotel threshold, calculators are shared by hotels with the same threshold.
+   */
+  private AvailabilityCalculator calculator(String hotelId) {
+    BigDecimal threshold = environment.getProperty("app.hotels.premium-min-threshold." + hotelId, BigDecimal.class);
+    if (threshold == null || threshold.compareTo(premiumPriceMinThreshold) == 0) {
+      return availabilityCalculator;
+    }
+    return calculators.computeIfAbsent(threshold, availabilityCalculator::withPremiumPriceMinThreshold);
+  }
+}
@@ -0,0 +1,45 @@
+package com.roommanager.domain.services;
+
+import com.roommanager.remote.api.RoomsAvailabilityRequest;
+import com.roommanager.remote.api.RoomsAvailabilityResponse;
+import com.roommanager.remote.api.VersionedResponse;
+import com.roommanager.remote.repositories.ReactiveCustomerRepo;
+import java.util.List;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link RoomsAvailabilitySvc}. Calculation is delegated to it against a snapshot taken on
+ * subscription, so both stacks produce the same responses.
+ */
+@Service
+public class ReactiveRoomsAvailabilitySvc {
+
+  private final RoomsAvailabilitySvc roomsAvailabilitySvc;
+  private final ReactiveCustomerRepo reactiveCustomerRepo;
+
+  public ReactiveRoomsAvailabilitySvc(RoomsAvailabilitySvc roomsAvailabilitySvc,
+      ReactiveCustomerRepo reactiveCustomerRepo) {
+    this.roomsAvailabilitySvc = roomsAvailabilitySvc;
+    this.reactiveCustomerRepo = reactiveCustomerRepo;
+  }
+
+  public Mono<VersionedResponse<List<RoomsAvailabilityResponse>>> calculateAvailability(
+      RoomsAvailabilityRequest request) {
+    return reactiveCustomerRepo.snapshot()
+        .map(customers -> roomsAvailabilitySvc.calculateAvailability(request, customers));
+  }
+
+  /**
+   * Availability for each of given requests, emitted as the subscriber requests them.
+   */
+  public Mono<VersionedResponse<Flux<List<RoomsAvailabilityResponse>>>> calculateAvailability(
+      List<RoomsAvailabilityRequest> requests) {
+    return reactiveCustomerRepo.snapshot()
+        .map(customers -> {
+          var response = roomsAvailabilitySvc.calculateAvailability(requests, customers);
+          return new VersionedResponse<>(response.datasetVersion(), Flux.fromStream(response.body()));
+        });
+  }
+}
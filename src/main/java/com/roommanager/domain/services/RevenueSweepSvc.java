@@ -0,0 +1,96 @@
+package com.roommanager.domain.services;
+
+import static com.roommanager.domain.model.Currency.EUR;
+
+import com.roommanager.domain.calculator.RevenueSweepCalculator;
+import com.roommanager.domain.model.RevenueSweepQuery;
+import com.roommanager.domain.model.RevenueSweepSlice;
+import com.roommanager.domain.model.RoomsRange;
+import com.roommanager.remote.api.RevenueSweepRequest;
+import com.roommanager.remote.api.RevenueSweepRequest.ThresholdsRange;
+import com.roommanager.remote.api.VersionedResponse;
+import com.roommanager.remote.repositories.CustomerRepo;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class RevenueSweepSvc {
+
+  private final RevenueSweepCalculator revenueSweepCalculator;
+  private final CustomerRepo customerRepo;
+  private final long maxCells;
+  private final long maxSliceCells;
+
+  public RevenueSweepSvc(RevenueSweepCalculator revenueSweepCalculator, CustomerRepo customerRepo,
+      @Value("${app.revenue-sweep.max-cells:8000000}") long maxCells,
+      @Value("${app.revenue-sweep.max-slice-cells:1000000}") long maxSliceCells) {
+    this.revenueSweepCalculator = revenueSweepCalculator;
+    this.customerRepo = customerRepo;
+    this.maxCells = maxCells;
+    this.maxSliceCells = maxSliceCells;
+  }
+
+  /**
+   * Revenue of each combination of given thresholds and room counts, against a single dataset version. Thresholds are
+   * converted to currency minor units up front, so that none fails once slices are written. A slice per threshold is
+   * computed while the returned stream is consumed, slices are limited to {@code app.revenue-sweep.max-slice-cells}
+   * room counts combinations, as each one is held in memory as a whole.
+   */
+  public VersionedResponse<Stream<RevenueSweepSlice>> sweep(RevenueSweepRequest request) {
+    log.debug("Revenue sweep request received:{}", request);
+    var premiumRooms = toRange(request.premiumRooms());
+    var economyRooms = toRange(request.economyRooms());
+    BigInteger thresholdsCount = thresholdsCount(request.thresholds());
+    BigInteger cells = thresholdsCount.multiply(BigInteger.valueOf(premiumRooms.count()))
+        .multiply(BigInteger.valueOf(economyRooms.count()));
+    BigInteger limit = BigInteger.valueOf(maxCells);
+    if (cells.compareTo(limit) > 0 || thresholdsCount.compareTo(limit) > 0) {
+      throw new RevenueSweepTooLargeException(String.format(
+          "Revenue sweep of %d thresholds, %d premium and %d economy room counts exceeds %d combinations.",
+          thresholdsCount, premiumRooms.count(), economyRooms.count(), maxCells));
+    }
+    long sliceCells = (long) premiumRooms.count() * economyRooms.count();
+    if (sliceCells > maxSliceCells) {
+      throw new RevenueSweepTooLargeException(String.format(
+          "Revenue sweep of %d premium and %d economy room counts exceeds %d combinations per threshold.",
+          premiumRooms.count(), economyRooms.count(), maxSliceCells));
+    }
+    long[] thresholds = new long[thresholdsCount.intValueExact()];
+    for (int i = 0; i < thresholds.length; i++) {
+      thresholds[i] = toMinorUnits(
+          request.thresholds().from().add(request.thresholds().step().multiply(BigDecimal.valueOf(i))));
+    }
+    CustomerRepo customers = customerRepo.snapshot();
+    var slices = revenueSweepCalculator.execute(new RevenueSweepQuery(thresholds, premiumRooms, economyRooms),
+        customers);
+    return new VersionedResponse<>(customers.version(), slices);
+  }
+
+  private static long toMinorUnits(BigDecimal threshold) {
+    try {
+      return EUR.toMinorUnits(threshold, RoundingMode.CEILING);
+    } catch (ArithmeticException e) {
+      throw new RevenueSweepTooLargeException(String.format("Revenue sweep threshold %s is out of range.", threshold));
+    }
+  }
+
+  private static RoomsRange toRange(RevenueSweepRequest.RoomsRange range) {
+    return new RoomsRange(range.from(), range.to(), range.step());
+  }
+
+  /**
+   * Number of thresholds, which is not bounded by any primitive type before it is checked against the limit.
+   */
+  private static BigInteger thresholdsCount(ThresholdsRange range) {
+    if (range.to().compareTo(range.from()) < 0) {
+      return BigInteger.ZERO;
+    }
+    return range.to().subtract(range.from()).divideToIntegralValue(range.step()).toBigInteger().add(BigInteger.ONE);
+  }
+}
@@ -0,0 +1,8 @@
+package com.roommanager.domain.services;
+
+public class RevenueSweepTooLargeException extends RuntimeException {
+
+  public RevenueSweepTooLargeException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,49 @@
+package com.roommanager.domain.services;
+
+import com.roommanager.domain.model.RoomTier;
+import com.roommanager.domain.model.TierAllocation;
+import com.roommanager.remote.repositories.CustomerRepo;
+import java.io.IOException;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+/**
+ * Rooms of each tier assigned to customers of a single dataset version. Price offers are read from the repo while
+ * rooms are visited, so visiting any number of rooms takes constant memory.
+ */
+public final class RoomAssignments {
+
+  private final List<RoomTier> tiers;
+  private final List<TierAllocation> allocations;
+  private final CustomerRepo customers;
+
+  RoomAssignments(List<RoomTier> tiers, List<TierAllocation> allocations, CustomerRepo customers) {
+    this.tiers = tiers;
+    this.allocations = allocations;
+    this.customers = customers;
+  }
+
+  /**
+   * Visits each assigned room, ordered by tier and rank of its customer among all customers ordered by price offer
+   * descending.
+   */
+  public void forEach(Visitor visitor) throws IOException {
+    for (TierAllocation allocation : allocations) {
+      String tier = tiers.get(allocation.tier()).name();
+      PrimitiveIterator.OfLong priceOffers = customers.findPriceOffersOrderByPriceOfferDesc(allocation.fromRank(),
+          allocation.count()).iterator();
+      for (int rank = allocation.fromRank(); priceOffers.hasNext(); rank++) {
+        visitor.visit(tier, rank, priceOffers.nextLong());
+      }
+    }
+  }
+
+  @FunctionalInterface
+  public interface Visitor {
+
+    /**
+     * Visits a room of given tier assigned to customer of given rank, price offer is in currency minor units.
+     */
+    void visit(String tier, int rank, long priceOffer) throws IOException;
+  }
+}
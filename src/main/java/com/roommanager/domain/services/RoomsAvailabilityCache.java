@@ -0,0 +1,121 @@
+package com.roommanager.domain.services;
+
+import com.roommanager.remote.api.AvailabilityCacheStatsResponse;
+import com.roommanager.remote.api.RoomsAvailabilityRequest;
+import com.roommanager.remote.api.RoomsAvailabilityResponse;
+import com.roommanager.remote.repositories.PartitionsConfiguration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of availability responses. Entries are keyed by dataset version along with room counts, so a new
+ * dataset version is never served stale responses, while entries of previous versions are evicted as least recently
+ * used. Premium threshold is not part of the key, as it is fixed for the application lifetime. A coordinator of
+ * partitions caches nothing, as its dataset version repeats once a partition node is restarted.
+ * <p>
+ * Large caches are split into segments with a lock and access ordered map each, so that lookups of distinct keys do
+ * not contend on a single lock. Eviction order is kept per segment. Locks are not monitors, so that virtual threads
+ * waiting for a segment do not pin their carrier threads.
+ */
+@Component
+public class RoomsAvailabilityCache {
+
+  private static final int MAX_SEGMENTS = 16;
+  private static final int MIN_SEGMENT_SIZE = 64;
+
+  private final boolean enabled;
+  private final Segment[] segments;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public RoomsAvailabilityCache(
+      @Value("#{${app.availability-cache.enabled:true} and " + PartitionsConfiguration.LOCAL_DATASET + "}")
+      boolean enabled,
+      @Value("${app.availability-cache.max-size:1024}") int maxSize) {
+    this.enabled = enabled && maxSize > 0;
+    int segmentsCount = Math.max(1, Math.min(MAX_SEGMENTS, maxSize / MIN_SEGMENT_SIZE));
+    this.segments = new Segment[segmentsCount];
+    for (int i = 0; i < segmentsCount; i++) {
+      segments[i] = new Segment(maxSize / segmentsCount + (i < maxSize % segmentsCount ? 1 : 0), evictions);
+    }
+  }
+
+  /**
+   * Cached response for given request of given dataset version, computed by given supplier on a miss. When the cache is
+   * disabled, response is always computed.
+   */
+  public List<RoomsAvailabilityResponse> get(long datasetVersion, RoomsAvailabilityRequest request,
+      Supplier<List<RoomsAvailabilityResponse>> response) {
+    if (!enabled) {
+      return response.get();
+    }
+    var key = new CacheKey(datasetVersion, request);
+    Segment segment = segments[Math.floorMod(key.hashCode(), segments.length)];
+    List<RoomsAvailabilityResponse> cached;
+    segment.lock.lock();
+    try {
+      cached = segment.get(key);
+    } finally {
+      segment.lock.unlock();
+    }
+    if (cached != null) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+    List<RoomsAvailabilityResponse> computed = response.get();
+    segment.lock.lock();
+    try {
+      segment.put(key, computed);
+    } finally {
+      segment.lock.unlock();
+    }
+    return computed;
+  }
+
+  public AvailabilityCacheStatsResponse stats() {
+    int size = 0;
+    for (Segment segment : segments) {
+      segment.lock.lock();
+      try {
+        size += segment.size();
+      } finally {
+        segment.lock.unlock();
+      }
+    }
+    return new AvailabilityCacheStatsResponse(enabled, hits.sum(), misses.sum(), evictions.sum(), size);
+  }
+
+  private record CacheKey(long datasetVersion, RoomsAvailabilityRequest request) {
+
+  }
+
+  private static final class Segment extends LinkedHashMap<CacheKey, List<RoomsAvailabilityResponse>> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int maxSize;
+    private final LongAdder evictions;
+
+    private Segment(int maxSize, LongAdder evictions) {
+      super(16, 0.75f, true);
+      this.maxSize = maxSize;
+      this.evictions = evictions;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<CacheKey, List<RoomsAvailabilityResponse>> eldest) {
+      if (size() <= maxSize) {
+        return false;
+      }
+      evictions.increment();
+      return true;
+    }
+  }
+}
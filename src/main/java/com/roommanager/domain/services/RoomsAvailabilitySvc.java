@@ -2,9 +2,15 @@ package com.roommanager.domain.services;
 
 import com.roommanager.domain.calculator.AvailabilityCalculator;
 import com.roommanager.domain.model.RoomsAvailabilityQuery;
+import com.roommanager.metrics.PipelineMetrics;
+import com.roommanager.metrics.PipelineMetrics.Stage;
 import com.roommanager.remote.api.RoomsAvailabilityRequest;
 import com.roommanager.remote.api.RoomsAvailabilityResponse;
+import com.roommanager.remote.api.RoomsAvailabilityResponses;
+import com.roommanager.remote.api.VersionedResponse;
+import com.roommanager.remote.repositories.CustomerRepo;
 import java.util.List;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -13,21 +19,76 @@ import org.springframework.stereotype.Service;
 public class RoomsAvailabilitySvc {
 
   private final AvailabilityCalculator availabilityCalculator;
+  private final CustomerRepo customerRepo;
+  private final RoomsAvailabilityCache roomsAvailabilityCache;
+  private final PipelineMetrics pipelineMetrics;
 
-  public RoomsAvailabilitySvc(AvailabilityCalculator availabilityCalculator) {
+  public RoomsAvailabilitySvc(AvailabilityCalculator availabilityCalculator, CustomerRepo customerRepo,
+      RoomsAvailabilityCache roomsAvailabilityCache, PipelineMetrics pipelineMetrics) {
     this.availabilityCalculator = availabilityCalculator;
+    this.customerRepo = customerRepo;
+    this.roomsAvailabilityCache = roomsAvailabilityCache;
+    this.pipelineMetrics = pipelineMetrics;
   }
 
-  public List<RoomsAvailabilityResponse> calculateAvailability(RoomsAvailabilityRequest request) {
-    log.info("Rooms availability request received:{}", request);
-    if (request.availableEconomyRooms() < 1 && request.availablePremiumRooms() < 1) {
-      return List.of();
+  public VersionedResponse<List<RoomsAvailabilityResponse>> calculateAvailability(RoomsAvailabilityRequest request) {
+    return calculateAvailability(request, customerRepo.snapshot());
+  }
+
+  /**
+   * Calculates availability against given customers, e.g. a snapshot taken by a reactive caller.
+   */
+  public VersionedResponse<List<RoomsAvailabilityResponse>> calculateAvailability(RoomsAvailabilityRequest request,
+      CustomerRepo snapshot) {
+    log.debug("Rooms availability request received:{}", request);
+    long start = pipelineMetrics.start();
+    try {
+      long version = snapshot.version();
+      if (request.availableEconomyRooms() < 1 && request.availablePremiumRooms() < 1) {
+        return new VersionedResponse<>(version, RoomsAvailabilityResponses.EMPTY);
+      }
+      var response = roomsAvailabilityCache.get(version, request,
+          () -> calculate(request, pipelineMetrics.instrument(snapshot), version));
+      return new VersionedResponse<>(version, response);
+    } finally {
+      pipelineMetrics.stop(Stage.SERVICE, start);
     }
-    var query = new RoomsAvailabilityQuery(request.availablePremiumRooms(),        request.availableEconomyRooms());
-    var response = availabilityCalculator.execute(query).stream()
+  }
+
+  /**
+   * Calculates responses on a cache miss, which are cached along with their JSON encoding. Repo calls are instrumented
+   * only here, so cache hits do not allocate any timed repo.
+   */
+  private List<RoomsAvailabilityResponse> calculate(RoomsAvailabilityRequest request, CustomerRepo customers,
+      long version) {
+    var query = new RoomsAvailabilityQuery(request.availablePremiumRooms(), request.availableEconomyRooms());
+    var response = new RoomsAvailabilityResponses(availabilityCalculator.execute(query, customers).stream()
         .map(RoomsAvailabilityResponse::from)
-        .toList();
-    log.info("Rooms availability response: {}", response);
+        .toList());
+    log.debug("Rooms availability response: {}, dataset version: {}", response, version);
     return response;
   }
+
+  /**
+   * Calculates availability for each of given requests against a single dataset version, responses are computed while
+   * the returned stream is consumed.
+   */
+  public VersionedResponse<Stream<List<RoomsAvailabilityResponse>>> calculateAvailability(
+      List<RoomsAvailabilityRequest> requests) {
+    return calculateAvailability(requests, customerRepo.snapshot());
+  }
+
+  public VersionedResponse<Stream<List<RoomsAvailabilityResponse>>> calculateAvailability(
+      List<RoomsAvailabilityRequest> requests, CustomerRepo snapshot) {
+    log.debug("Rooms availability batch of {} requests received", requests.size());
+    CustomerRepo customers = pipelineMetrics.instrument(snapshot);
+    var queries = requests.stream()
+        .map(request -> new RoomsAvailabilityQuery(request.availablePremiumRooms(), request.availableEconomyRooms()))
+        .toList();
+    var responses = availabilityCalculator.execute(queries, customers)
+        .map(results -> results.stream()
+            .map(RoomsAvailabilityResponse::from)
+            .toList());
+    return new VersionedResponse<>(customers.version(), responses);
+  }
 }
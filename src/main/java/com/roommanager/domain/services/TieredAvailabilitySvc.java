@@ -0,0 +1,79 @@
+package com.roommanager.domain.services;
+
+import com.roommanager.domain.calculator.TieredAvailabilityCalculator;
+import com.roommanager.domain.model.RoomTier;
+import com.roommanager.domain.model.TieredAvailabilityQuery;
+import com.roommanager.metrics.PipelineMetrics;
+import com.roommanager.metrics.PipelineMetrics.Stage;
+import com.roommanager.remote.api.RoomsAvailabilityResponse;
+import com.roommanager.remote.api.VersionedResponse;
+import com.roommanager.remote.repositories.CustomerRepo;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+public class TieredAvailabilitySvc {
+
+  private final TieredAvailabilityCalculator tieredAvailabilityCalculator;
+  private final CustomerRepo customerRepo;
+  private final PipelineMetrics pipelineMetrics;
+
+  public TieredAvailabilitySvc(TieredAvailabilityCalculator tieredAvailabilityCalculator, CustomerRepo customerRepo,
+      PipelineMetrics pipelineMetrics) {
+    this.tieredAvailabilityCalculator = tieredAvailabilityCalculator;
+    this.customerRepo = customerRepo;
+    this.pipelineMetrics = pipelineMetrics;
+  }
+
+  /**
+   * Calculates availability for given available rooms by tier name, tiers not given have no rooms available.
+   */
+  public VersionedResponse<List<RoomsAvailabilityResponse>> calculateAvailability(Map<String, Integer> availableRooms) {
+    log.debug("Tiered rooms availability request received:{}", availableRooms);
+    var query = toQuery(availableRooms);
+    long start = pipelineMetrics.start();
+    try {
+      CustomerRepo customers = pipelineMetrics.instrument(customerRepo.snapshot());
+      var response = tieredAvailabilityCalculator.execute(query, customers).stream()
+          .map(RoomsAvailabilityResponse::from)
+          .toList();
+      log.debug("Tiered rooms availability response: {}, dataset version: {}", response, customers.version());
+      return new VersionedResponse<>(customers.version(), response);
+    } finally {
+      pipelineMetrics.stop(Stage.SERVICE, start);
+    }
+  }
+
+  /**
+   * Assigns given available rooms by tier name to customers, by the same rules as availability is calculated. Customers
+   * of each room are read while the assignments are visited.
+   */
+  public VersionedResponse<RoomAssignments> assignRooms(Map<String, Integer> availableRooms) {
+    log.debug("Tiered rooms assignment request received:{}", availableRooms);
+    var query = toQuery(availableRooms);
+    long start = pipelineMetrics.start();
+    try {
+      CustomerRepo customers = pipelineMetrics.instrument(customerRepo.snapshot());
+      var allocations = tieredAvailabilityCalculator.allocate(query, customers);
+      return new VersionedResponse<>(customers.version(),
+          new RoomAssignments(tieredAvailabilityCalculator.tiers(), allocations, customers));
+    } finally {
+      pipelineMetrics.stop(Stage.SERVICE, start);
+    }
+  }
+
+  private TieredAvailabilityQuery toQuery(Map<String, Integer> availableRooms) {
+    List<RoomTier> tiers = tieredAvailabilityCalculator.tiers();
+    for (String tier : availableRooms.keySet()) {
+      if (tiers.stream().noneMatch(roomTier -> roomTier.name().equals(tier))) {
+        throw new UnknownRoomTierException(String.format("Room tier [%s] not found.", tier));
+      }
+    }
+    return new TieredAvailabilityQuery(tiers.stream()
+        .map(tier -> availableRooms.getOrDefault(tier.name(), 0))
+        .toList());
+  }
+}
@@ -0,0 +1,8 @@
+package com.roommanager.domain.services;
+
+public class UnknownRoomTierException extends RuntimeException {
+
+  public UnknownRoomTierException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,19 @@
+package com.roommanager.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfiguration {
+
+  /**
+   * Stage timing is switched off by {@code app.metrics.stages.enabled=false}.
+   */
+  @Bean
+  public PipelineMetrics pipelineMetrics(@Value("${app.metrics.stages.enabled:true}") boolean enabled,
+      MeterRegistry meterRegistry) {
+    return enabled ? new MicrometerPipelineMetrics(meterRegistry) : PipelineMetrics.DISABLED;
+  }
+}
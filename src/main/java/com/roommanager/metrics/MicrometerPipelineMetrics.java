@@ -0,0 +1,64 @@
+package com.roommanager.metrics;
+
+import com.roommanager.remote.repositories.CustomerRepo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records stages and repo calls as Micrometer timers with percentile histograms. Timers are registered up front, so
+ * recording does not look them up by tags.
+ */
+public class MicrometerPipelineMetrics implements PipelineMetrics {
+
+  static final String STAGE_TIMER = "rooms.availability.stage";
+  static final String REPO_CALL_TIMER = "customers.repo.call";
+
+  private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+  private final RepoTimers repoTimers;
+
+  public MicrometerPipelineMetrics(MeterRegistry meterRegistry) {
+    for (Stage stage : Stage.values()) {
+      stageTimers.put(stage, timer(STAGE_TIMER, "stage", stage.tag(), meterRegistry));
+    }
+    repoTimers = new RepoTimers(
+        timer(REPO_CALL_TIMER, "method", "findAll", meterRegistry),
+        timer(REPO_CALL_TIMER, "method", "findByPriceOfferGTEOrderByPriceOfferDesc", meterRegistry),
+        timer(REPO_CALL_TIMER, "method", "findByPriceOfferLTOrderByPriceOfferDesc", meterRegistry),
+        timer(REPO_CALL_TIMER, "method", "aggregateByPriceOfferGTEOrderByPriceOfferDesc", meterRegistry),
+        timer(REPO_CALL_TIMER, "method", "aggregateByPriceOfferLTOrderByPriceOfferDesc", meterRegistry),
+        timer(REPO_CALL_TIMER, "method", "countByPriceOfferGTE", meterRegistry),
+        timer(REPO_CALL_TIMER, "method", "sumByPriceOfferOrderByPriceOfferDesc", meterRegistry));
+  }
+
+  @Override
+  public long start() {
+    return System.nanoTime();
+  }
+
+  @Override
+  public long stop(Stage stage, long start) {
+    long end = System.nanoTime();
+    stageTimers.get(stage).record(end - start, TimeUnit.NANOSECONDS);
+    return end;
+  }
+
+  @Override
+  public CustomerRepo instrument(CustomerRepo customers) {
+    return new TimedCustomerRepo(customers, repoTimers);
+  }
+
+  private static Timer timer(String name, String tagKey, String tagValue, MeterRegistry meterRegistry) {
+    return Timer.builder(name)
+        .tag(tagKey, tagValue)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  record RepoTimers(Timer findAll, Timer findGTE, Timer findLT, Timer aggregateGTE, Timer aggregateLT, Timer countGTE,
+      Timer sum) {
+
+  }
+}
@@ -0,0 +1,60 @@
+package com.roommanager.metrics;
+
+import com.roommanager.remote.repositories.CustomerRepo;
+
+/**
+ * Timing of availability request stages. Stages are timed by chaining {@link #stop(Stage, long)} calls, each one
+ * starting the next stage. {@link #DISABLED} reads no clock and records nothing, so turned off stage timing costs a
+ * call to an empty method only.
+ */
+public interface PipelineMetrics {
+
+  PipelineMetrics DISABLED = new PipelineMetrics() {
+    @Override
+    public long start() {
+      return 0;
+    }
+
+    @Override
+    public long stop(Stage stage, long start) {
+      return 0;
+    }
+
+    @Override
+    public CustomerRepo instrument(CustomerRepo customers) {
+      return customers;
+    }
+  };
+
+  /**
+   * Start of a stage in nanoseconds.
+   */
+  long start();
+
+  /**
+   * Records given stage started at given time, returns its end, which is the start of a following stage.
+   */
+  long stop(Stage stage, long start);
+
+  /**
+   * Given repo with each call timed.
+   */
+  CustomerRepo instrument(CustomerRepo customers);
+
+  enum Stage {
+    SERVICE("service"),
+    PREMIUM_LOOKUP("premium-lookup"),
+    ECONOMY_LOOKUP("economy-lookup"),
+    RESPONSE_COMPOSITION("response-composition");
+
+    private final String tag;
+
+    Stage(String tag) {
+      this.tag = tag;
+    }
+
+    public String tag() {
+      return tag;
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package com.roommanager.metrics;
+
+import com.roommanager.remote.repositories.PriceIndexLoadedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Durations of application startup phases, exposed as {@code startup.phase.duration} gauges tagged by phase. Each phase
+ * is recorded once, load phases are taken from the first load of {@code app.clients-resource}, later reloads are left
+ * to {@code customers.dataset.load.duration}.
+ * <p>
+ * Price index is loaded while beans are created, so load events are received by this listener bean, which is created on
+ * the first event and has no dependencies on other beans.
+ */
+@Slf4j
+@Component
+public class StartupPhases implements ApplicationListener<PriceIndexLoadedEvent>, MeterBinder {
+
+  private final Resource clientsResource;
+  private final Map<Phase, Long> durations = new ConcurrentHashMap<>();
+
+  public StartupPhases(@Value("${app.clients-resource}") Resource clientsResource) {
+    this.clientsResource = clientsResource;
+  }
+
+  @Override
+  public void onApplicationEvent(PriceIndexLoadedEvent event) {
+    if (!clientsResource.equals(event.getClientsResource()) || durations.containsKey(Phase.PARSE)) {
+      return;
+    }
+    record(Phase.PARSE, event.getParseNanos());
+    record(Phase.SORT, event.getSortNanos());
+    record(Phase.INDEX, event.getIndexNanos());
+  }
+
+  @EventListener
+  void applicationReady(ApplicationReadyEvent event) {
+    if (event.getTimeTaken() != null) {
+      record(Phase.CONTEXT, event.getTimeTaken().toNanos());
+    }
+  }
+
+  /**
+   * Records duration of given phase in nanoseconds, unless it is recorded already.
+   */
+  public void record(Phase phase, long nanos) {
+    if (durations.putIfAbsent(phase, nanos) == null) {
+      log.info("Startup phase {} took {} ms.", phase.tag(), TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+  }
+
+  /**
+   * Durations of phases recorded so far, in phase order.
+   */
+  public Map<Phase, Duration> durations() {
+    Map<Phase, Duration> recorded = new EnumMap<>(Phase.class);
+    durations.forEach((phase, nanos) -> recorded.put(phase, Duration.ofNanos(nanos)));
+    return recorded;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (Phase phase : Phase.values()) {
+      TimeGauge.builder("startup.phase.duration", durations, TimeUnit.NANOSECONDS, recorded -> {
+            Long nanos = recorded.get(phase);
+            return nanos == null ? Double.NaN : nanos;
+          })
+          .tag("phase", phase.tag())
+          .description("Duration of an application startup phase")
+          .register(registry);
+    }
+  }
+
+  public enum Phase {
+    CONTEXT, PARSE, SORT, INDEX, WARM_UP;
+
+    public String tag() {
+      return name().toLowerCase().replace('_', '-');
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.roommanager.metrics;
+
+import com.roommanager.domain.model.Customer;
+import com.roommanager.domain.model.CustomersAggregate;
+import com.roommanager.metrics.MicrometerPipelineMetrics.RepoTimers;
+import com.roommanager.remote.repositories.CustomerRepo;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Customer repo recording duration of each lookup.
+ */
+final class TimedCustomerRepo implements CustomerRepo {
+
+  private final CustomerRepo customers;
+  private final RepoTimers timers;
+
+  TimedCustomerRepo(CustomerRepo customers, RepoTimers timers) {
+    this.customers = customers;
+    this.timers = timers;
+  }
+
+  @Override
+  public long version() {
+    return customers.version();
+  }
+
+  @Override
+  public CustomerRepo snapshot() {
+    CustomerRepo snapshot = customers.snapshot();
+    return snapshot == customers ? this : new TimedCustomerRepo(snapshot, timers);
+  }
+
+  @Override
+  public List<Customer> findAll() {
+    long start = System.nanoTime();
+    var result = customers.findAll();
+    timers.findAll().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return result;
+  }
+
+  @Override
+  public List<Customer> findByPriceOfferGTEOrderByPriceOfferDesc(BigDecimal price, int limit) {
+    long start = System.nanoTime();
+    var result = customers.findByPriceOfferGTEOrderByPriceOfferDesc(price, limit);
+    timers.findGTE().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return result;
+  }
+
+  @Override
+  public List<Customer> findByPriceOfferLTOrderByPriceOfferDesc(BigDecimal price, int limit) {
+    long start = System.nanoTime();
+    var result = customers.findByPriceOfferLTOrderByPriceOfferDesc(price, limit);
+    timers.findLT().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return result;
+  }
+
+  /**
+   * Prices are read while the stream is consumed, which is not timed.
+   */
+  @Override
+  public LongStream findPriceOffersOrderByPriceOfferDesc(int offset, int limit) {
+    return customers.findPriceOffersOrderByPriceOfferDesc(offset, limit);
+  }
+
+  @Override
+  public int countByPriceOfferGTE(long price) {
+    long start = System.nanoTime();
+    int result = customers.countByPriceOfferGTE(price);
+    timers.countGTE().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return result;
+  }
+
+  @Override
+  public long sumByPriceOfferOrderByPriceOfferDesc(int offset, int limit) {
+    long start = System.nanoTime();
+    long result = customers.sumByPriceOfferOrderByPriceOfferDesc(offset, limit);
+    timers.sum().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return result;
+  }
+
+  @Override
+  public CustomersAggregate aggregateByPriceOfferGTEOrderByPriceOfferDesc(long price, int offset, int limit) {
+    long start = System.nanoTime();
+    var result = customers.aggregateByPriceOfferGTEOrderByPriceOfferDesc(price, offset, limit);
+    timers.aggregateGTE().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return result;
+  }
+
+  @Override
+  public CustomersAggregate aggregateByPriceOfferLTOrderByPriceOfferDesc(long price, int offset, int limit) {
+    long start = System.nanoTime();
+    var result = customers.aggregateByPriceOfferLTOrderByPriceOfferDesc(price, offset, limit);
+    timers.aggregateLT().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return result;
+  }
+}
@@ -0,0 +1,217 @@
+package com.roommanager.remote;
+
+import static com.roommanager.domain.model.Currency.EUR;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Parses a JSON array of prices split into chunks of about {@code chunkSize} bytes, at element boundaries, chunks are
+ * parsed concurrently on the common fork-join pool. Only arrays of plain numbers are accepted, anything else is
+ * reported as {@link MalformedPricesException} without a location, so that the caller falls back to the streaming
+ * parser and its error reporting. Prices are converted into minor units the same way as
+ * {@link ClientsResourceParser#readMinorUnits}.
+ */
+final class ChunkedPricesParser {
+
+  private static final int MAX_EXPONENT = 999;
+
+  private final int chunkSize;
+
+  ChunkedPricesParser(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  long[] parse(ByteBuffer json) {
+    int limit = json.limit();
+    int start = skipWhitespace(json, 0, limit);
+    if (start == limit || json.get(start) != '[') {
+      throw new MalformedPricesException("Array of prices expected.");
+    }
+    // each chunk but the first one starts right after a separator
+    List<Integer> starts = new ArrayList<>();
+    starts.add(start + 1);
+    for (long next = start + 1L + chunkSize; next < limit; ) {
+      int separator = indexOf(json, (byte) ',', (int) next, limit);
+      if (separator < 0) {
+        break;
+      }
+      starts.add(separator + 1);
+      next = separator + 1L + chunkSize;
+    }
+
+    int chunks = starts.size();
+    PriceBuffer[] buffers = new PriceBuffer[chunks];
+    IntStream.range(0, chunks).parallel().forEach(chunk -> buffers[chunk] = parseChunk(json, starts.get(chunk),
+        chunk + 1 < chunks ? starts.get(chunk + 1) : limit, chunk == 0, chunk + 1 == chunks));
+
+    int[] offsets = new int[chunks];
+    long size = 0;
+    for (int chunk = 0; chunk < chunks; chunk++) {
+      offsets[chunk] = (int) size;
+      size += buffers[chunk].size();
+    }
+    if (size > Integer.MAX_VALUE - 8) {
+      throw new MalformedPricesException(String.format("%d prices do not fit into an array.", size));
+    }
+    long[] prices = new long[(int) size];
+    IntStream.range(0, chunks).parallel().forEach(chunk -> buffers[chunk].drainTo(prices, offsets[chunk]));
+    return prices;
+  }
+
+  /**
+   * Parses elements of a chunk. Chunks but the last one end right after a separator, the last one ends with the array
+   * and trailing whitespace.
+   */
+  private static PriceBuffer parseChunk(ByteBuffer json, int from, int to, boolean first, boolean last) {
+    PriceBuffer prices = new PriceBuffer();
+    int position = skipWhitespace(json, from, to);
+    if (first && last && position < to && json.get(position) == ']') {
+      return closeArray(json, position, to, prices);
+    }
+    while (true) {
+      position = skipWhitespace(json, readPrice(json, position, to, prices), to);
+      if (position == to) {
+        throw new MalformedPricesException("Separator or end of array expected.");
+      }
+      byte token = json.get(position++);
+      if (token == ']' && last) {
+        return closeArray(json, position - 1, to, prices);
+      }
+      if (token != ',') {
+        throw new MalformedPricesException("Separator or end of array expected.");
+      }
+      if (position == to && !last) {
+        return prices;
+      }
+      position = skipWhitespace(json, position, to);
+    }
+  }
+
+  private static PriceBuffer closeArray(ByteBuffer json, int position, int to, PriceBuffer prices) {
+    if (skipWhitespace(json, position + 1, to) != to) {
+      throw new MalformedPricesException("End of input expected after the array.");
+    }
+    return prices;
+  }
+
+  /**
+   * Reads a number starting at given position into minor units, returns the position following it.
+   */
+  private static int readPrice(ByteBuffer json, int position, int to, PriceBuffer prices) {
+    int start = position;
+    boolean negative = position < to && json.get(position) == '-';
+    if (negative) {
+      position++;
+    }
+    long value = 0;
+    int roundingDigit = 0;
+    int fractionDigits = 0;
+    try {
+      int integerStart = position;
+      for (; position < to && isDigit(json.get(position)); position++) {
+        value = Math.addExact(Math.multiplyExact(value, 10), json.get(position) - '0');
+      }
+      if (position == integerStart || position - integerStart > 1 && json.get(integerStart) == '0') {
+        throw new MalformedPricesException("Price expected.");
+      }
+      if (position < to && json.get(position) == '.') {
+        int fractionStart = ++position;
+        for (; position < to && isDigit(json.get(position)); position++) {
+          int digit = json.get(position) - '0';
+          if (position - fractionStart < EUR.fractionDigits()) {
+            value = Math.addExact(Math.multiplyExact(value, 10), digit);
+            fractionDigits++;
+          } else if (position - fractionStart == EUR.fractionDigits()) {
+            roundingDigit = digit;
+          }
+        }
+        if (position == fractionStart) {
+          throw new MalformedPricesException("Fraction digits expected.");
+        }
+      }
+      if (position < to && (json.get(position) == 'e' || json.get(position) == 'E')) {
+        position = skipExponent(json, position + 1, to);
+        prices.add(EUR.toMinorUnits(new BigDecimal(text(json, start, position)), RoundingMode.HALF_UP));
+        return position;
+      }
+      for (; fractionDigits < EUR.fractionDigits(); fractionDigits++) {
+        value = Math.multiplyExact(value, 10);
+      }
+    } catch (ArithmeticException e) {
+      throw new MalformedPricesException("Price is out of range.");
+    }
+    if (roundingDigit >= 5) {
+      value++;
+    }
+    prices.add(negative ? -value : value);
+    return position;
+  }
+
+  /**
+   * Skips exponent digits, an exponent beyond {@link #MAX_EXPONENT} is rejected before the number is converted.
+   */
+  private static int skipExponent(ByteBuffer json, int position, int to) {
+    if (position < to && (json.get(position) == '+' || json.get(position) == '-')) {
+      position++;
+    }
+    int digitsStart = position;
+    int exponent = 0;
+    for (; position < to && isDigit(json.get(position)); position++) {
+      exponent = exponent * 10 + json.get(position) - '0';
+      if (exponent > MAX_EXPONENT) {
+        throw new MalformedPricesException("Price is out of range.");
+      }
+    }
+    if (position == digitsStart) {
+      throw new MalformedPricesException("Exponent digits expected.");
+    }
+    return position;
+  }
+
+  private static String text(ByteBuffer json, int from, int to) {
+    byte[] bytes = new byte[to - from];
+    json.get(from, bytes);
+    return new String(bytes, StandardCharsets.US_ASCII);
+  }
+
+  private static boolean isDigit(byte b) {
+    return b >= '0' && b <= '9';
+  }
+
+  private static int skipWhitespace(ByteBuffer json, int position, int to) {
+    while (position < to) {
+      byte b = json.get(position);
+      if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+        break;
+      }
+      position++;
+    }
+    return position;
+  }
+
+  private static int indexOf(ByteBuffer json, byte value, int from, int to) {
+    for (int position = from; position < to; position++) {
+      if (json.get(position) == value) {
+        return position;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Input is not a plain array of prices, thrown without a stack trace, as it is handled by falling back to the
+   * streaming parser.
+   */
+  static final class MalformedPricesException extends RuntimeException {
+
+    MalformedPricesException(String message) {
+      super(message, null, false, false);
+    }
+  }
+}
@@ -1,11 +1,24 @@
 package com.roommanager.remote;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import static com.roommanager.domain.model.Currency.EUR;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.annotation.PostConstruct;
+import com.roommanager.remote.ChunkedPricesParser.MalformedPricesException;
 import java.io.IOException;
-import java.util.List;
+import java.io.InputStream;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
@@ -14,28 +27,155 @@ import org.springframework.stereotype.Component;
 @Component
 public class ClientsResourceParser {
 
+  private static final int PROGRESS_REPORT_INTERVAL = 10_000_000;
+  private static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+
   private final ObjectMapper objectMapper;
-  private final Resource clientsResource;
+  private final int chunkSize;
+
+  public ClientsResourceParser(ObjectMapper objectMapper) {
+    this(objectMapper, DEFAULT_CHUNK_SIZE);
+  }
 
+  /**
+   * @param chunkSize size in bytes of chunks parsed concurrently, {@code 0} streams resources on a single thread
+   */
+  @Autowired
   public ClientsResourceParser(ObjectMapper objectMapper,
-      @Value("${app.clients-resource}") Resource clientsResource) {
+      @Value("${app.clients-load.chunk-size:4194304}") int chunkSize) {
     this.objectMapper = objectMapper;
-    this.clientsResource = clientsResource;
+    this.chunkSize = chunkSize;
   }
 
-  @PostConstruct
-  public List<Double> getRecords() {
+  /**
+   * Reads given clients resource, a JSON array of prices, into an array of prices expressed in currency minor units.
+   * Prices with more fraction digits than the currency has are rounded half up.
+   * <p>
+   * Resources fitting into a buffer are read at once, files are memory mapped, and parsed in chunks concurrently.
+   * Other resources, and ones which are not a plain array of numbers, are streamed, which also reports location of
+   * malformed input.
+   */
+  public long[] readPrices(Resource clientsResource) {
     log.info("Start loading clients from file:{}", clientsResource.getFilename());
-    List<Double> result;
-    try {
-      result = objectMapper.readValue(
-          clientsResource.getContentAsByteArray(), new TypeReference<>() {
-          });
+    if (chunkSize > 0) {
+      long start = System.nanoTime();
+      ByteBuffer json = readFully(clientsResource);
+      if (json != null) {
+        long read = System.nanoTime();
+        try {
+          long[] result = new ChunkedPricesParser(chunkSize).parse(json);
+          log.info("Clients load complete. Loaded {} entries, read in {} ms, parsed in {} ms.", result.length,
+              TimeUnit.NANOSECONDS.toMillis(read - start), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - read));
+          return result;
+        } catch (MalformedPricesException e) {
+          log.info("Clients file:{} is not a plain array of prices ({}), streaming it.", clientsResource.getFilename(),
+              e.getMessage());
+        }
+      }
+    }
+    long start = System.nanoTime();
+    long[] result;
+    try (InputStream inputStream = clientsResource.getInputStream()) {
+      result = readPrices(inputStream);
 
-      log.info("Clients load complete. Loaded {} entries.", result.size());
+      log.info("Clients load complete. Loaded {} entries, read and parsed in {} ms.", result.length,
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    } catch (JsonProcessingException e) {
+      JsonLocation location = e.getLocation();
+      throw new RuntimeException(String.format("File [%s] parsing failed at byte offset %d (line %d, column %d)",
+          clientsResource.getFilename(), location.getByteOffset(), location.getLineNr(), location.getColumnNr()), e);
     } catch (IOException e) {
       throw new RuntimeException(String.format("File [%s] parsing failed", clientsResource.getFilename()), e);
     }
     return result;
   }
+
+  /**
+   * Contents of given resource, memory mapped for files, or {@code null} when it does not fit into a buffer, i.e. is
+   * 2 GB or larger, which is reported as such a resource is then parsed on a single thread.
+   */
+  private static ByteBuffer readFully(Resource clientsResource) {
+    try {
+      if (clientsResource.isFile()) {
+        try (FileChannel channel = FileChannel.open(clientsResource.getFile().toPath(), StandardOpenOption.READ)) {
+          long size = channel.size();
+          return size <= Integer.MAX_VALUE ? channel.map(MapMode.READ_ONLY, 0, size) : tooLarge(clientsResource, size);
+        }
+      }
+      long size = clientsResource.contentLength();
+      return size <= Integer.MAX_VALUE - 8 ? ByteBuffer.wrap(clientsResource.getContentAsByteArray())
+          : tooLarge(clientsResource, size);
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("File [%s] reading failed", clientsResource.getFilename()), e);
+    }
+  }
+
+  private static ByteBuffer tooLarge(Resource clientsResource, long size) {
+    log.warn("Clients file:{} of {} bytes does not fit into a single buffer, it is streamed on a single thread.",
+        clientsResource.getFilename(), size);
+    return null;
+  }
+
+  private long[] readPrices(InputStream inputStream) throws IOException {
+    PriceBuffer prices = new PriceBuffer();
+    try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new JsonParseException(parser, "Array of prices expected.");
+      }
+      JsonToken token;
+      while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+        if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+          throw new JsonParseException(parser, String.format("Price expected, but %s found.", token));
+        }
+        prices.add(readMinorUnits(parser));
+        if (prices.size() % PROGRESS_REPORT_INTERVAL == 0) {
+          log.info("Loaded {} entries, {} bytes read.", prices.size(),
+              parser.currentLocation().getByteOffset());
+        }
+      }
+    }
+    return prices.drainToArray();
+  }
+
+  /**
+   * Converts current number token into minor units straight from the token characters, without creating intermediate
+   * number objects. Numbers in exponent notation fall back to {@link java.math.BigDecimal} conversion.
+   */
+  static long readMinorUnits(JsonParser parser) throws IOException {
+    char[] text = parser.getTextCharacters();
+    int position = parser.getTextOffset();
+    int end = position + parser.getTextLength();
+    boolean negative = text[position] == '-';
+    if (negative) {
+      position++;
+    }
+    long value = 0;
+    int scale = -1;
+    int roundingDigit = 0;
+    try {
+      for (; position < end; position++) {
+        char c = text[position];
+        if (c == '.') {
+          scale = 0;
+        } else if (c < '0' || c > '9') {
+          return EUR.toMinorUnits(parser.getDecimalValue(), RoundingMode.HALF_UP);
+        } else if (scale < EUR.fractionDigits()) {
+          value = Math.addExact(Math.multiplyExact(value, 10), c - '0');
+          scale = scale < 0 ? scale : scale + 1;
+        } else if (scale == EUR.fractionDigits()) {
+          roundingDigit = c - '0';
+          scale++;
+        }
+      }
+      for (int digit = Math.max(scale, 0); digit < EUR.fractionDigits(); digit++) {
+        value = Math.multiplyExact(value, 10);
+      }
+    } catch (ArithmeticException e) {
+      throw new JsonParseException(parser, "Price is out of range.");
+    }
+    if (roundingDigit >= 5) {
+      value++;
+    }
+    return negative ? -value : value;
+  }
 }
@@ -0,0 +1,63 @@
+package com.roommanager.remote;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Growable buffer of prices made of fixed size chunks, so growing never copies already buffered prices.
+ */
+final class PriceBuffer {
+
+  private static final int CHUNK_SIZE = 1 << 16;
+  private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+  private final List<long[]> chunks = new ArrayList<>();
+  private long[] chunk = null;
+  private int chunkPosition = CHUNK_SIZE;
+  private int size = 0;
+
+  void add(long price) {
+    if (chunkPosition == CHUNK_SIZE) {
+      if (size == MAX_SIZE) {
+        throw new IllegalStateException("Prices buffer is full, " + size + " prices are buffered.");
+      }
+      chunk = new long[CHUNK_SIZE];
+      chunks.add(chunk);
+      chunkPosition = 0;
+    }
+    chunk[chunkPosition++] = price;
+    size++;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Copies buffered prices into an array of exact size. Chunks are released as soon as they are copied, so that memory
+   * peak stays close to the size of the result, buffer is empty afterwards.
+   */
+  long[] drainToArray() {
+    long[] result = new long[size];
+    drainTo(result, 0);
+    return result;
+  }
+
+  /**
+   * Copies buffered prices into given array from given offset on, releasing chunks the same way as
+   * {@link #drainToArray()}.
+   */
+  void drainTo(long[] target, int offset) {
+    int copied = 0;
+    for (int i = 0; i < chunks.size(); i++) {
+      int length = Math.min(CHUNK_SIZE, size - copied);
+      System.arraycopy(chunks.get(i), 0, target, offset + copied, length);
+      chunks.set(i, null);
+      copied += length;
+    }
+    chunks.clear();
+    chunk = null;
+    chunkPosition = CHUNK_SIZE;
+    size = 0;
+  }
+}
@@ -0,0 +1,26 @@
+package com.roommanager.remote;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reactive stack is served by Netty. Tomcat stays on the classpath for the servlet stack, and would be picked by the
+ * reactive web server auto-configuration otherwise.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveWebConfiguration {
+
+  @Bean
+  public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(
+      ObjectProvider<NettyServerCustomizer> serverCustomizers) {
+    var factory = new NettyReactiveWebServerFactory();
+    factory.getServerCustomizers().addAll(serverCustomizers.orderedStream().toList());
+    return factory;
+  }
+}
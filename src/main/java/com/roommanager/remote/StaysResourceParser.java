@@ -0,0 +1,120 @@
+package com.roommanager.remote;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roommanager.remote.repositories.StayIndex;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class StaysResourceParser {
+
+  private static final int PROGRESS_REPORT_INTERVAL = 10_000_000;
+
+  private final ObjectMapper objectMapper;
+
+  public StaysResourceParser(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Streams given stays resource, a JSON array of objects with {@code priceOffer}, {@code checkIn} and
+   * {@code checkOut} ISO dates, into a stay index. Check-out has to be after check-in.
+   */
+  public StayIndex readStays(Resource staysResource) {
+    log.info("Start loading stays from file:{}", staysResource.getFilename());
+    StayIndex result;
+    try (InputStream inputStream = staysResource.getInputStream()) {
+      result = readStays(inputStream);
+
+      log.info("Stays load complete. Loaded {} entries.", result.size());
+    } catch (JsonProcessingException e) {
+      JsonLocation location = e.getLocation();
+      throw new RuntimeException(String.format("File [%s] parsing failed at byte offset %d (line %d, column %d)",
+          staysResource.getFilename(), location.getByteOffset(), location.getLineNr(), location.getColumnNr()), e);
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("File [%s] parsing failed", staysResource.getFilename()), e);
+    }
+    return result;
+  }
+
+  private StayIndex readStays(InputStream inputStream) throws IOException {
+    PriceBuffer prices = new PriceBuffer();
+    PriceBuffer stays = new PriceBuffer();
+    try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new JsonParseException(parser, "Array of stays expected.");
+      }
+      JsonToken token;
+      while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+        if (token != JsonToken.START_OBJECT) {
+          throw new JsonParseException(parser, String.format("Stay expected, but %s found.", token));
+        }
+        readStay(parser, prices, stays);
+        if (prices.size() % PROGRESS_REPORT_INTERVAL == 0) {
+          log.info("Loaded {} entries, {} bytes read.", prices.size(),
+              parser.currentLocation().getByteOffset());
+        }
+      }
+    }
+    return StayIndex.of(prices.drainToArray(), stays.drainToArray());
+  }
+
+  private static void readStay(JsonParser parser, PriceBuffer prices, PriceBuffer stays) throws IOException {
+    long price = 0;
+    long checkIn = 0;
+    long checkOut = 0;
+    int fields = 0;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken token = parser.nextToken();
+      switch (field) {
+        case "priceOffer" -> {
+          if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+            throw new JsonParseException(parser, String.format("Price expected, but %s found.", token));
+          }
+          price = ClientsResourceParser.readMinorUnits(parser);
+          fields |= 1;
+        }
+        case "checkIn" -> {
+          checkIn = readEpochDay(parser);
+          fields |= 2;
+        }
+        case "checkOut" -> {
+          checkOut = readEpochDay(parser);
+          fields |= 4;
+        }
+        default -> parser.skipChildren();
+      }
+    }
+    if (fields != 7) {
+      throw new JsonParseException(parser, "Stay has to have priceOffer, checkIn and checkOut.");
+    }
+    if (checkOut <= checkIn) {
+      throw new JsonParseException(parser, "Stay checkOut has to be after checkIn.");
+    }
+    prices.add(price);
+    stays.add(StayIndex.stay(checkIn, checkOut));
+  }
+
+  private static long readEpochDay(JsonParser parser) throws IOException {
+    if (parser.currentToken() != JsonToken.VALUE_STRING) {
+      throw new JsonParseException(parser, String.format("Date expected, but %s found.", parser.currentToken()));
+    }
+    try {
+      return LocalDate.parse(parser.getText()).toEpochDay();
+    } catch (DateTimeParseException e) {
+      throw new JsonParseException(parser, String.format("Date expected, but %s found.", parser.getText()));
+    }
+  }
+}
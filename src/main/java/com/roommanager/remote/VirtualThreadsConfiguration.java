@@ -0,0 +1,61 @@
+package com.roommanager.remote;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs Tomcat request processing and asynchronous MVC responses, e.g. streamed batch availability, on virtual threads,
+ * when {@code app.threads.virtual=true}. Virtual threads need Java 21, while the application is built for Java 17, so
+ * the executor is looked up reflectively and startup fails on older runtimes.
+ * <p>
+ * Only request handling is switched. Dataset loads, reloads, compaction and journal writes keep their single platform
+ * threads, and parsing, sorting and sweep rows keep running on the common fork-join pool, as they are CPU bound.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual", havingValue = "true")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class VirtualThreadsConfiguration {
+
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService virtualThreadsExecutor() {
+    return newVirtualThreadPerTaskExecutor();
+  }
+
+  @Bean
+  public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer(
+      ExecutorService virtualThreadsExecutor) {
+    return protocolHandler -> protocolHandler.setExecutor(virtualThreadsExecutor);
+  }
+
+  @Bean
+  public WebMvcConfigurer virtualThreadsAsyncSupportConfigurer(ExecutorService virtualThreadsExecutor) {
+    return new WebMvcConfigurer() {
+      @Override
+      public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(virtualThreadsExecutor));
+      }
+    };
+  }
+
+  static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      var executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      log.info("Requests are served by virtual threads.");
+      return executor;
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(String.format("Virtual threads require Java 21, but Java %s is running",
+          Runtime.version()), e);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.roommanager.remote.api;
+
+import com.roommanager.domain.services.RoomsAvailabilityCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/availability-cache")
+public class AvailabilityCacheController {
+
+  private final RoomsAvailabilityCache roomsAvailabilityCache;
+
+  public AvailabilityCacheController(RoomsAvailabilityCache roomsAvailabilityCache) {
+    this.roomsAvailabilityCache = roomsAvailabilityCache;
+  }
+
+  @GetMapping("/stats")
+  public ResponseEntity<AvailabilityCacheStatsResponse> getStats() {
+    return ResponseEntity.ok(roomsAvailabilityCache.stats());
+  }
+}
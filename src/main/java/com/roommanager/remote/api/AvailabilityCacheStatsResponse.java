@@ -0,0 +1,5 @@
+package com.roommanager.remote.api;
+
+public record AvailabilityCacheStatsResponse(boolean enabled, long hits, long misses, long evictions, int size) {
+
+}
@@ -0,0 +1,30 @@
+package com.roommanager.remote.api;
+
+import com.roommanager.domain.services.CalendarAvailabilitySvc;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/rooms")
+public class CalendarAvailabilityController {
+
+  private final CalendarAvailabilitySvc calendarAvailabilitySvc;
+
+  public CalendarAvailabilityController(CalendarAvailabilitySvc calendarAvailabilitySvc) {
+    this.calendarAvailabilitySvc = calendarAvailabilitySvc;
+  }
+
+  /**
+   * Availability of each night of given calendar, for customers staying at that night.
+   */
+  @PostMapping("/availability/calendar")
+  public ResponseEntity<List<NightAvailabilityResponse>> getCalendarAvailability(
+      @RequestBody @Valid CalendarAvailabilityRequest request) {
+    return ResponseEntity.ok(calendarAvailabilitySvc.calculateAvailability(request));
+  }
+}
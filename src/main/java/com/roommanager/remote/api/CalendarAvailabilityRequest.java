@@ -0,0 +1,16 @@
+package com.roommanager.remote.api;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Available rooms of consecutive nights, starting with {@code firstNight}.
+ */
+public record CalendarAvailabilityRequest(
+    @NotNull LocalDate firstNight,
+    @NotEmpty List<@Valid @NotNull RoomsAvailabilityRequest> nights) {
+
+}
@@ -0,0 +1,14 @@
+package com.roommanager.remote.api;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+
+public record CustomerOfferRequest(@NotNull @PositiveOrZero @DecimalMax(MAX_PRICE_OFFER) BigDecimal priceOffer) {
+
+  /**
+   * Highest price offer, which fits a long in currency minor units.
+   */
+  public static final String MAX_PRICE_OFFER = "92233720368547758.07";
+}
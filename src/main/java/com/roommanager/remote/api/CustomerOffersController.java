@@ -0,0 +1,49 @@
+package com.roommanager.remote.api;
+
+import com.roommanager.domain.services.CustomerOffersSvc;
+import static com.roommanager.remote.api.CustomerOfferRequest.MAX_PRICE_OFFER;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Validated
+@RestController
+@RequestMapping("/customers/offers")
+public class CustomerOffersController {
+
+  private final CustomerOffersSvc customerOffersSvc;
+
+  public CustomerOffersController(CustomerOffersSvc customerOffersSvc) {
+    this.customerOffersSvc = customerOffersSvc;
+  }
+
+  @PostMapping
+  public ResponseEntity<DatasetVersionResponse> addOffer(@RequestBody @Valid CustomerOfferRequest request) {
+    return ResponseEntity.status(HttpStatus.CREATED).body(customerOffersSvc.addOffer(request));
+  }
+
+  @PutMapping("/{priceOffer}")
+  public ResponseEntity<DatasetVersionResponse> updateOffer(
+      @PathVariable @PositiveOrZero @DecimalMax(MAX_PRICE_OFFER) BigDecimal priceOffer,
+      @RequestBody @Valid CustomerOfferRequest request) {
+    return ResponseEntity.ok(customerOffersSvc.updateOffer(priceOffer, request));
+  }
+
+  @DeleteMapping("/{priceOffer}")
+  public ResponseEntity<DatasetVersionResponse> removeOffer(
+      @PathVariable @PositiveOrZero @DecimalMax(MAX_PRICE_OFFER) BigDecimal priceOffer) {
+    return ResponseEntity.ok(customerOffersSvc.removeOffer(priceOffer));
+  }
+}
@@ -0,0 +1,35 @@
+package com.roommanager.remote.api;
+
+import com.roommanager.domain.services.CustomersDatasetWarmUp;
+import com.roommanager.metrics.StartupPhases;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Out of service until the customers dataset is loaded and warmed up. The indicator is a member of the readiness
+ * group, so {@code /actuator/health/readiness} reports UP only once requests can be served. Details hold startup phase
+ * durations in milliseconds.
+ */
+@Component
+public class CustomersDatasetHealthIndicator implements HealthIndicator {
+
+  private final CustomersDatasetWarmUp warmUp;
+  private final StartupPhases startupPhases;
+
+  public CustomersDatasetHealthIndicator(CustomersDatasetWarmUp warmUp, StartupPhases startupPhases) {
+    this.warmUp = warmUp;
+    this.startupPhases = startupPhases;
+  }
+
+  @Override
+  public Health health() {
+    Map<String, Long> phases = new LinkedHashMap<>();
+    startupPhases.durations().forEach((phase, duration) -> phases.put(phase.tag(), duration.toMillis()));
+    return (warmUp.isDone() ? Health.up() : Health.outOfService())
+        .withDetail("startupPhasesMillis", phases)
+        .build();
+  }
+}
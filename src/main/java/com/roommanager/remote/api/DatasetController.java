@@ -0,0 +1,34 @@
+package com.roommanager.remote.api;
+
+import com.roommanager.remote.repositories.ReloadableRepo;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin/dataset")
+public class DatasetController {
+
+  private final ReloadableRepo reloadableRepo;
+
+  public DatasetController(ReloadableRepo reloadableRepo) {
+    this.reloadableRepo = reloadableRepo;
+  }
+
+  @GetMapping("/version")
+  public ResponseEntity<DatasetVersionResponse> getVersion() {
+    return ResponseEntity.ok(new DatasetVersionResponse(reloadableRepo.version()));
+  }
+
+  /**
+   * Reloads clients resource, response is sent once the new dataset version is published.
+   */
+  @PostMapping("/reload")
+  public CompletableFuture<ResponseEntity<DatasetVersionResponse>> reload() {
+    return reloadableRepo.reload()
+        .thenApply(version -> ResponseEntity.ok(new DatasetVersionResponse(version)));
+  }
+}
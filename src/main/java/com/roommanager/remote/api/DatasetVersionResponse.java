@@ -0,0 +1,5 @@
+package com.roommanager.remote.api;
+
+public record DatasetVersionResponse(long version) {
+
+}
@@ -1,21 +1,69 @@
 package com.roommanager.remote.api;
 
+import com.roommanager.domain.services.RevenueSweepTooLargeException;
+import com.roommanager.domain.services.UnknownRoomTierException;
+import com.roommanager.remote.repositories.CustomerNotFoundException;
+import com.roommanager.remote.repositories.DatasetNotReadyException;
+import com.roommanager.remote.repositories.HotelNotFoundException;
+import com.roommanager.remote.repositories.JournalUnavailableException;
+import com.roommanager.remote.repositories.PartitionUnavailableException;
+import com.roommanager.remote.repositories.ReadOnlyDatasetException;
 import jakarta.validation.ConstraintViolationException;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ServerWebInputException;
 
 @ControllerAdvice
 @Slf4j
 public class ExceptionAdvice {
 
-  @ExceptionHandler({ConstraintViolationException.class, MethodArgumentTypeMismatchException.class})
+  @ExceptionHandler({ConstraintViolationException.class, MethodArgumentTypeMismatchException.class,
+      MethodArgumentNotValidException.class, ServerWebInputException.class, UnknownRoomTierException.class,
+      RevenueSweepTooLargeException.class})
   public ResponseEntity<Map<String, String>> parameterParsingException(Throwable cause) {
     log.error("parameter parsing failed.", cause);
     return new ResponseEntity<>(Map.of("message", cause.getMessage()), HttpStatus.BAD_REQUEST);
   }
+
+  @ExceptionHandler(CustomerNotFoundException.class)
+  public ResponseEntity<Map<String, String>> customerNotFoundException(CustomerNotFoundException cause) {
+    log.warn(cause.getMessage());
+    return new ResponseEntity<>(Map.of("message", cause.getMessage()), HttpStatus.NOT_FOUND);
+  }
+
+  @ExceptionHandler(HotelNotFoundException.class)
+  public ResponseEntity<Map<String, String>> hotelNotFoundException(HotelNotFoundException cause) {
+    log.warn(cause.getMessage());
+    return new ResponseEntity<>(Map.of("message", cause.getMessage()), HttpStatus.NOT_FOUND);
+  }
+
+  @ExceptionHandler(DatasetNotReadyException.class)
+  public ResponseEntity<Map<String, String>> datasetNotReadyException(DatasetNotReadyException cause) {
+    log.debug(cause.getMessage());
+    return new ResponseEntity<>(Map.of("message", cause.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  @ExceptionHandler(JournalUnavailableException.class)
+  public ResponseEntity<Map<String, String>> journalUnavailableException(JournalUnavailableException cause) {
+    log.warn(cause.getMessage(), cause.getCause());
+    return new ResponseEntity<>(Map.of("message", cause.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  @ExceptionHandler(PartitionUnavailableException.class)
+  public ResponseEntity<Map<String, String>> partitionUnavailableException(PartitionUnavailableException cause) {
+    log.warn(cause.getMessage(), cause);
+    return new ResponseEntity<>(Map.of("message", cause.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  @ExceptionHandler(ReadOnlyDatasetException.class)
+  public ResponseEntity<Map<String, String>> readOnlyDatasetException(ReadOnlyDatasetException cause) {
+    log.warn(cause.getMessage());
+    return new ResponseEntity<>(Map.of("message", cause.getMessage()), HttpStatus.METHOD_NOT_ALLOWED);
+  }
 }
@@ -0,0 +1,233 @@
+package com.roommanager.remote.api;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.roommanager.domain.services.RoomsAvailabilitySvc;
+import com.roommanager.remote.repositories.DatasetNotReadyException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves {@code GET /rooms/availability} on a secondary port, {@code app.fast-path.port}, by the JDK HTTP server,
+ * bypassing method validation, argument resolution and message conversion of the web stack. Query parameters are
+ * converted and validated by hand with the rules and error messages of {@link RoomsAvailabilityController}, errors
+ * are written in the format of {@link ExceptionAdvice}. Enabled by {@code app.fast-path.enabled}.
+ * <p>
+ * JDK server writes response headers and body separately, so Nagle's algorithm must be switched off for its
+ * connections by launching the JVM with {@code -Dsun.net.httpserver.nodelay=true}, otherwise each response waits for a
+ * delayed ACK. The property is read once per JVM, so it is not set at runtime, only a missing flag is reported.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.fast-path.enabled", havingValue = "true")
+public class FastPathAvailabilityServer {
+
+  static final String ENDPOINT = "/rooms/availability";
+  private static final String AVAILABLE_PREMIUM_ROOMS = "availablePremiumRooms";
+  private static final String AVAILABLE_ECONOMY_ROOMS = "availableEconomyRooms";
+  private static final String VIOLATION = "getRoomsAvailability.%s: must be greater than or equal to 0";
+  private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+  private static final String TYPE_MISMATCH = "Failed to convert value of type 'java.lang.String' to required type "
+      + "'int'; %s";
+
+  private final RoomsAvailabilitySvc roomsAvailabilitySvc;
+  private final int port;
+  private final int threads;
+  private HttpServer server = null;
+  private ExecutorService executor = null;
+
+  /**
+   * @param threads number of request threads, {@code 0} for a thread per available processor
+   */
+  public FastPathAvailabilityServer(RoomsAvailabilitySvc roomsAvailabilitySvc,
+      @Value("${app.fast-path.port:8081}") int port,
+      @Value("${app.fast-path.threads:0}") int threads) {
+    this.roomsAvailabilitySvc = roomsAvailabilitySvc;
+    this.port = port;
+    this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+  }
+
+  @PostConstruct
+  void postConstruct() throws IOException {
+    if (!Boolean.getBoolean(NO_DELAY_PROPERTY)) {
+      log.warn("Fast path responses are delayed by Nagle's algorithm, unless the JVM is launched with -D{}=true.",
+          NO_DELAY_PROPERTY);
+    }
+    AtomicInteger threadNumber = new AtomicInteger();
+    executor = Executors.newFixedThreadPool(threads, task -> {
+      Thread thread = new Thread(task, "fast-path-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    server = HttpServer.create(new InetSocketAddress(port), 0);
+    server.createContext(ENDPOINT, this::handle);
+    server.setExecutor(executor);
+    server.start();
+    log.info("Fast path availability endpoint listening on port {} with {} threads.", port(), threads);
+  }
+
+  @PreDestroy
+  void preDestroy() {
+    if (server != null) {
+      server.stop(0);
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Port the server listens on, which is an ephemeral one when {@code app.fast-path.port} is {@code 0}.
+   */
+  public int port() {
+    return server.getAddress().getPort();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      if (!ENDPOINT.equals(exchange.getRequestURI().getRawPath())) {
+        send(exchange, 404, message(String.format("No endpoint GET %s.", exchange.getRequestURI().getRawPath())));
+        return;
+      }
+      if (!"GET".equals(exchange.getRequestMethod())) {
+        exchange.getResponseHeaders().set("Allow", "GET");
+        send(exchange, 405, message(String.format("Request method '%s' is not supported.",
+            exchange.getRequestMethod())));
+        return;
+      }
+      RoomsAvailabilityRequest request;
+      try {
+        request = parseRequest(exchange.getRequestURI().getRawQuery());
+      } catch (InvalidParameterException e) {
+        log.error("parameter parsing failed.", e);
+        send(exchange, 400, message(e.getMessage()));
+        return;
+      }
+      var response = roomsAvailabilitySvc.calculateAvailability(request);
+      var body = response.body() instanceof RoomsAvailabilityResponses responses ? responses
+          : new RoomsAvailabilityResponses(response.body());
+      exchange.getResponseHeaders()
+          .set(RoomsAvailabilityController.DATASET_VERSION_HEADER, String.valueOf(response.datasetVersion()));
+      send(exchange, 200, body.json());
+    } catch (DatasetNotReadyException e) {
+      log.debug(e.getMessage());
+      send(exchange, 503, message(e.getMessage()));
+    } catch (RuntimeException e) {
+      log.error("Fast path availability request failed.", e);
+      send(exchange, 500, message("Internal Server Error"));
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /**
+   * Responses always have a body, as the JDK server does not reuse connections after bodiless ones.
+   */
+  private static void send(HttpExchange exchange, int status, byte[] json) throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, json.length);
+    try (OutputStream body = exchange.getResponseBody()) {
+      body.write(json);
+    }
+  }
+
+  /**
+   * Error body of {@link ExceptionAdvice}.
+   */
+  static byte[] message(String message) {
+    var output = new ByteArrayOutputStream();
+    output.writeBytes("{\"message\":\"".getBytes(StandardCharsets.US_ASCII));
+    output.writeBytes(JsonStringEncoder.getInstance().quoteAsUTF8(message));
+    output.writeBytes("\"}".getBytes(StandardCharsets.US_ASCII));
+    return output.toByteArray();
+  }
+
+  /**
+   * Converts and validates raw query parameters the way the availability controller does: missing and empty values
+   * default to {@code 0}, the first of repeated values is taken.
+   */
+  static RoomsAvailabilityRequest parseRequest(String rawQuery) {
+    String premium = null;
+    String economy = null;
+    if (rawQuery != null) {
+      for (int from = 0; from <= rawQuery.length(); ) {
+        int end = rawQuery.indexOf('&', from);
+        end = end < 0 ? rawQuery.length() : end;
+        int separator = rawQuery.indexOf('=', from);
+        separator = separator < 0 || separator > end ? end : separator;
+        String name = decode(rawQuery, from, separator);
+        if (premium == null && AVAILABLE_PREMIUM_ROOMS.equals(name)) {
+          premium = separator < end ? decode(rawQuery, separator + 1, end) : "";
+        } else if (economy == null && AVAILABLE_ECONOMY_ROOMS.equals(name)) {
+          economy = separator < end ? decode(rawQuery, separator + 1, end) : "";
+        }
+        from = end + 1;
+      }
+    }
+    int availablePremiumRooms = toInt(premium);
+    int availableEconomyRooms = toInt(economy);
+    List<String> violations = new ArrayList<>(2);
+    if (availablePremiumRooms < 0) {
+      violations.add(String.format(VIOLATION, AVAILABLE_PREMIUM_ROOMS));
+    }
+    if (availableEconomyRooms < 0) {
+      violations.add(String.format(VIOLATION, AVAILABLE_ECONOMY_ROOMS));
+    }
+    if (!violations.isEmpty()) {
+      throw new InvalidParameterException(String.join(", ", violations));
+    }
+    return new RoomsAvailabilityRequest(availablePremiumRooms, availableEconomyRooms);
+  }
+
+  private static String decode(String rawQuery, int from, int to) {
+    String value = rawQuery.substring(from, to);
+    if (value.indexOf('%') < 0 && value.indexOf('+') < 0) {
+      return value;
+    }
+    try {
+      return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidParameterException(String.format("Invalid query string [%s]", rawQuery));
+    }
+  }
+
+  /**
+   * Whitespace is removed and hexadecimal numbers are decoded, as by the web stack number conversion.
+   */
+  private static int toInt(String value) {
+    if (value == null || value.isEmpty()) {
+      return 0;
+    }
+    StringBuilder trimmed = new StringBuilder(value.length());
+    value.codePoints().filter(c -> !Character.isWhitespace(c)).forEach(trimmed::appendCodePoint);
+    String number = trimmed.toString();
+    int digits = number.startsWith("-") || number.startsWith("+") ? 1 : 0;
+    try {
+      return number.startsWith("0x", digits) || number.startsWith("0X", digits) || number.startsWith("#", digits)
+          ? Integer.decode(number) : Integer.parseInt(number);
+    } catch (NumberFormatException e) {
+      throw new InvalidParameterException(String.format(TYPE_MISMATCH, e.getMessage()));
+    }
+  }
+
+  private static final class InvalidParameterException extends RuntimeException {
+
+    private InvalidParameterException(String message) {
+      super(message);
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package com.roommanager.remote.api;
+
+import static com.roommanager.remote.api.RoomsAvailabilityController.DATASET_VERSION_HEADER;
+
+import com.roommanager.domain.services.HotelRoomsAvailabilitySvc;
+import com.roommanager.remote.repositories.HotelCustomerRepos;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Rooms availability of a single hotel. First request of a hotel waits for its customers dataset to be loaded, so
+ * the controller is served by the blocking stack only.
+ */
+@Validated
+@RestController
+@RequestMapping("/hotels/{hotelId}")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class HotelRoomsAvailabilityController {
+
+  private final HotelRoomsAvailabilitySvc hotelRoomsAvailabilitySvc;
+  private final HotelCustomerRepos hotelCustomerRepos;
+
+  public HotelRoomsAvailabilityController(HotelRoomsAvailabilitySvc hotelRoomsAvailabilitySvc,
+      HotelCustomerRepos hotelCustomerRepos) {
+    this.hotelRoomsAvailabilitySvc = hotelRoomsAvailabilitySvc;
+    this.hotelCustomerRepos = hotelCustomerRepos;
+  }
+
+  @GetMapping("/rooms/availability")
+  public ResponseEntity<List<RoomsAvailabilityResponse>> getRoomsAvailability(
+      @PathVariable String hotelId,
+      @RequestParam(defaultValue = "0") @PositiveOrZero int availablePremiumRooms,
+      @RequestParam(defaultValue = "0") @PositiveOrZero int availableEconomyRooms
+  ) {
+    var response = hotelRoomsAvailabilitySvc.calculateAvailability(hotelId,
+        new RoomsAvailabilityRequest(availablePremiumRooms, availableEconomyRooms));
+    return ResponseEntity.ok()
+        .header(DATASET_VERSION_HEADER, String.valueOf(response.datasetVersion()))
+        .body(response.body());
+  }
+
+  /**
+   * Reloads clients resource of the hotel, response is sent once the new dataset version is published.
+   */
+  @PostMapping("/dataset/reload")
+  public CompletableFuture<ResponseEntity<DatasetVersionResponse>> reload(@PathVariable String hotelId) {
+    return hotelCustomerRepos.reload(hotelId)
+        .thenApply(version -> ResponseEntity.ok(new DatasetVersionResponse(version)));
+  }
+}
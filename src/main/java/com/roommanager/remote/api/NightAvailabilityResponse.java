@@ -0,0 +1,14 @@
+package com.roommanager.remote.api;
+
+import com.roommanager.domain.model.NightAvailabilityResult;
+import java.time.LocalDate;
+import java.util.List;
+
+public record NightAvailabilityResponse(LocalDate night, List<RoomsAvailabilityResponse> availability) {
+
+  public static NightAvailabilityResponse from(NightAvailabilityResult result) {
+    return new NightAvailabilityResponse(result.night(), result.results().stream()
+        .map(RoomsAvailabilityResponse::from)
+        .toList());
+  }
+}
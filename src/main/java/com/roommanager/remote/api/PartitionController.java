@@ -0,0 +1,47 @@
+package com.roommanager.remote.api;
+
+import com.roommanager.remote.repositories.InMemoryCustomerRepo;
+import com.roommanager.remote.repositories.LocalPartition;
+import com.roommanager.remote.repositories.PartitionSummary;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Serves the clients dataset of this node as a partition of a coordinator's dataset, selected by
+ * {@code app.partitions.serve=true}. Prices are expressed in currency minor units and ranges of prices as
+ * {@code [from, to)}.
+ */
+@RestController
+@RequestMapping("/partition")
+@ConditionalOnProperty(name = "app.partitions.serve", havingValue = "true")
+public class PartitionController {
+
+  private final LocalPartition partition;
+
+  public PartitionController(InMemoryCustomerRepo customerRepo) {
+    this.partition = new LocalPartition(customerRepo);
+  }
+
+  @GetMapping("/version")
+  public long version() {
+    return partition.version().join();
+  }
+
+  @GetMapping("/summary")
+  public PartitionSummary summary(@RequestParam long from, @RequestParam long to) {
+    return partition.summary(from, to).join();
+  }
+
+  @GetMapping("/counts")
+  public int[] counts(@RequestParam long[] prices, @RequestParam long to) {
+    return partition.counts(prices, to).join();
+  }
+
+  @GetMapping("/prices")
+  public long[] prices(@RequestParam long from, @RequestParam long to, @RequestParam int limit) {
+    return partition.prices(from, to, limit).join();
+  }
+}
@@ -0,0 +1,61 @@
+package com.roommanager.remote.api;
+
+import static com.roommanager.remote.api.RoomsAvailabilityController.DATASET_VERSION_HEADER;
+
+import com.roommanager.domain.services.ReactiveRoomsAvailabilitySvc;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link RoomsAvailabilityController}, serving the same endpoints when application runs with
+ * {@code spring.main.web-application-type=reactive}.
+ */
+@Validated
+@RestController
+@RequestMapping("/rooms")
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveRoomsAvailabilityController {
+
+  private final ReactiveRoomsAvailabilitySvc roomsAvailabilitySvc;
+
+  public ReactiveRoomsAvailabilityController(ReactiveRoomsAvailabilitySvc roomsAvailabilitySvc) {
+    this.roomsAvailabilitySvc = roomsAvailabilitySvc;
+  }
+
+  @GetMapping("/availability")
+  public Mono<ResponseEntity<List<RoomsAvailabilityResponse>>> getRoomsAvailability(
+      @RequestParam(defaultValue = "0") @PositiveOrZero int availablePremiumRooms,
+      @RequestParam(defaultValue = "0") @PositiveOrZero int availableEconomyRooms
+  ) {
+    return roomsAvailabilitySvc.calculateAvailability(
+            new RoomsAvailabilityRequest(availablePremiumRooms, availableEconomyRooms))
+        .map(response -> ResponseEntity.ok()
+            .header(DATASET_VERSION_HEADER, String.valueOf(response.datasetVersion()))
+            .body(response.body()));
+  }
+
+  /**
+   * Availability for each of given requests, in the same order, written with backpressure of the connection.
+   */
+  @PostMapping("/availability/batch")
+  public Mono<ResponseEntity<Flux<List<RoomsAvailabilityResponse>>>> getRoomsAvailabilityBatch(
+      @RequestBody List<@Valid RoomsAvailabilityRequest> requests) {
+    return roomsAvailabilitySvc.calculateAvailability(requests)
+        .map(response -> ResponseEntity.ok()
+            .header(DATASET_VERSION_HEADER, String.valueOf(response.datasetVersion()))
+            .body(response.body()));
+  }
+}
@@ -0,0 +1,97 @@
+package com.roommanager.remote.api;
+
+import static com.roommanager.domain.model.Currency.EUR;
+import static com.roommanager.remote.api.RoomsAvailabilityController.DATASET_VERSION_HEADER;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roommanager.domain.model.RevenueSweepSlice;
+import com.roommanager.domain.services.RevenueSweepSvc;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/rooms")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class RevenueSweepController {
+
+  private final RevenueSweepSvc revenueSweepSvc;
+  private final ObjectMapper objectMapper;
+
+  public RevenueSweepController(RevenueSweepSvc revenueSweepSvc, ObjectMapper objectMapper) {
+    this.revenueSweepSvc = revenueSweepSvc;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Customers and revenue of premium and economy rooms for every combination of given thresholds and room counts. The
+   * response holds an element per threshold, with a matrix per value, rows by premium and columns by economy rooms.
+   * Elements are written as they are calculated.
+   */
+  @PostMapping("/revenue/sweep")
+  public ResponseEntity<StreamingResponseBody> sweepRevenue(@RequestBody @Valid RevenueSweepRequest request) {
+    var response = revenueSweepSvc.sweep(request);
+    return ResponseEntity.ok()
+        .header(DATASET_VERSION_HEADER, String.valueOf(response.datasetVersion()))
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(output -> {
+          try (JsonGenerator generator = objectMapper.createGenerator(StreamUtils.nonClosing(output))) {
+            writeSlices(response.body(), generator);
+          }
+        });
+  }
+
+  private static void writeSlices(Stream<RevenueSweepSlice> slices, JsonGenerator generator) throws IOException {
+    generator.writeStartArray();
+    for (Iterator<RevenueSweepSlice> iterator = slices.iterator(); iterator.hasNext(); ) {
+      RevenueSweepSlice slice = iterator.next();
+      generator.writeStartObject();
+      generator.writeNumberField("threshold", EUR.toDouble(slice.threshold()));
+      writeMatrix("premiumCustomers", slice, generator, slice::premiumCustomers, false);
+      writeMatrix("premiumRevenue", slice, generator, slice::premiumRevenue, true);
+      writeMatrix("economyCustomers", slice, generator, slice::economyCustomers, false);
+      writeMatrix("economyRevenue", slice, generator, slice::economyRevenue, true);
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+  }
+
+  /**
+   * Writes matrix of given cells, money amounts are converted from currency minor units.
+   */
+  private static void writeMatrix(String name, RevenueSweepSlice slice, JsonGenerator generator, Cell cell,
+      boolean money) throws IOException {
+    generator.writeArrayFieldStart(name);
+    for (int row = 0; row < slice.rows(); row++) {
+      generator.writeStartArray();
+      for (int column = 0; column < slice.columns(); column++) {
+        long value = cell.value(row, column);
+        if (money) {
+          generator.writeNumber(EUR.toDouble(value));
+        } else {
+          generator.writeNumber(value);
+        }
+      }
+      generator.writeEndArray();
+    }
+    generator.writeEndArray();
+  }
+
+  @FunctionalInterface
+  private interface Cell {
+
+    long value(int row, int column);
+  }
+}
@@ -0,0 +1,33 @@
+package com.roommanager.remote.api;
+
+import static com.roommanager.remote.api.CustomerOfferRequest.MAX_PRICE_OFFER;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.math.BigDecimal;
+
+/**
+ * Ranges of premium price thresholds and available rooms to sweep, each from {@code from} up to {@code to} inclusive,
+ * by {@code step}. Thresholds are amounts of at most cent precision, bounded like price offers, so that their count is
+ * computed without scaling them by any huge exponent.
+ */
+public record RevenueSweepRequest(
+    @NotNull @Valid ThresholdsRange thresholds,
+    @NotNull @Valid RoomsRange premiumRooms,
+    @NotNull @Valid RoomsRange economyRooms) {
+
+  public record ThresholdsRange(
+      @NotNull @PositiveOrZero @DecimalMax(MAX_PRICE_OFFER) @Digits(integer = 17, fraction = 2) BigDecimal from,
+      @NotNull @PositiveOrZero @DecimalMax(MAX_PRICE_OFFER) @Digits(integer = 17, fraction = 2) BigDecimal to,
+      @NotNull @Positive @DecimalMax(MAX_PRICE_OFFER) @Digits(integer = 17, fraction = 2) BigDecimal step) {
+
+  }
+
+  public record RoomsRange(@PositiveOrZero int from, @PositiveOrZero int to, @Positive int step) {
+
+  }
+}
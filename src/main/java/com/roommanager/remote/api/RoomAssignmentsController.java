@@ -0,0 +1,69 @@
+package com.roommanager.remote.api;
+
+import static com.roommanager.domain.model.Currency.EUR;
+import static com.roommanager.remote.api.RoomsAvailabilityController.DATASET_VERSION_HEADER;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roommanager.domain.services.RoomAssignments;
+import com.roommanager.domain.services.TieredAvailabilitySvc;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.util.Map;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Validated
+@RestController
+@RequestMapping("/rooms")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class RoomAssignmentsController {
+
+  private final TieredAvailabilitySvc tieredAvailabilitySvc;
+  private final ObjectMapper objectMapper;
+
+  public RoomAssignmentsController(TieredAvailabilitySvc tieredAvailabilitySvc, ObjectMapper objectMapper) {
+    this.tieredAvailabilitySvc = tieredAvailabilitySvc;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Customer assigned to each room, for given available rooms by tier name, as newline delimited JSON. Rooms are written
+   * as their customers are read from the dataset, so memory taken does not depend on the number of rooms.
+   */
+  @PostMapping("/availability/tiers/assignments")
+  public ResponseEntity<StreamingResponseBody> getRoomAssignments(
+      @RequestBody Map<String, @NotNull @PositiveOrZero Integer> availableRooms) {
+    var response = tieredAvailabilitySvc.assignRooms(availableRooms);
+    return ResponseEntity.ok()
+        .header(DATASET_VERSION_HEADER, String.valueOf(response.datasetVersion()))
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(output -> {
+          try (JsonGenerator generator = objectMapper.createGenerator(StreamUtils.nonClosing(output))) {
+            writeLines(response.body(), generator);
+          }
+        });
+  }
+
+  private static void writeLines(RoomAssignments assignments, JsonGenerator generator) throws IOException {
+    generator.setRootValueSeparator(null);
+    assignments.forEach((tier, rank, priceOffer) -> {
+      generator.writeStartObject();
+      generator.writeStringField("tier", tier);
+      generator.writeNumberField("rank", rank);
+      generator.writeNumberField("priceOffer", EUR.toDouble(priceOffer));
+      generator.writeEndObject();
+      generator.writeRaw('\n');
+    });
+  }
+}
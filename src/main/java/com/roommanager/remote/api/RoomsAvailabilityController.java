@@ -1,24 +1,42 @@
 package com.roommanager.remote.api;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.roommanager.domain.services.RoomsAvailabilitySvc;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.PositiveOrZero;
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Validated
 @RestController
 @RequestMapping("/rooms")
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class RoomsAvailabilityController {
 
+  public static final String DATASET_VERSION_HEADER = "X-Dataset-Version";
+
   private final RoomsAvailabilitySvc roomsAvailabilitySvc;
+  private final ObjectMapper objectMapper;
 
-  public RoomsAvailabilityController(RoomsAvailabilitySvc roomsAvailabilitySvc) {
+  public RoomsAvailabilityController(RoomsAvailabilitySvc roomsAvailabilitySvc, ObjectMapper objectMapper) {
     this.roomsAvailabilitySvc = roomsAvailabilitySvc;
+    this.objectMapper = objectMapper;
   }
 
   @GetMapping("/availability")
@@ -28,6 +46,34 @@ public class RoomsAvailabilityController {
   ) {
     var response = roomsAvailabilitySvc.calculateAvailability(
         new RoomsAvailabilityRequest(availablePremiumRooms, availableEconomyRooms));
-    return ResponseEntity.ok(response);
+    return ResponseEntity.ok()
+        .header(DATASET_VERSION_HEADER, String.valueOf(response.datasetVersion()))
+        .body(response.body());
+  }
+
+  /**
+   * Availability for each of given requests, in the same order. Results are written as they are computed, so the whole
+   * response is never held in memory.
+   */
+  @PostMapping("/availability/batch")
+  public ResponseEntity<StreamingResponseBody> getRoomsAvailabilityBatch(
+      @RequestBody List<@Valid RoomsAvailabilityRequest> requests) {
+    var response = roomsAvailabilitySvc.calculateAvailability(requests);
+    return ResponseEntity.ok()
+        .header(DATASET_VERSION_HEADER, String.valueOf(response.datasetVersion()))
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(output -> {
+          try (JsonGenerator generator = objectMapper.createGenerator(StreamUtils.nonClosing(output))) {
+            writeArray(response.body(), generator);
+          }
+        });
+  }
+
+  private static void writeArray(Stream<?> elements, JsonGenerator generator) throws IOException {
+    generator.writeStartArray();
+    for (Iterator<?> iterator = elements.iterator(); iterator.hasNext(); ) {
+      generator.writeObject(iterator.next());
+    }
+    generator.writeEndArray();
   }
 }
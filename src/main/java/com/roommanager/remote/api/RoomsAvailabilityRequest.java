@@ -1,5 +1,8 @@
 package com.roommanager.remote.api;
 
-public record RoomsAvailabilityRequest(int availablePremiumRooms, int availableEconomyRooms) {
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record RoomsAvailabilityRequest(@PositiveOrZero int availablePremiumRooms,
+                                       @PositiveOrZero int availableEconomyRooms) {
 
 }
@@ -1,6 +1,7 @@
 package com.roommanager.remote.api;
 
 import com.roommanager.domain.model.RoomsAvailabilityResult;
+import com.roommanager.domain.model.TierAvailabilityResult;
 
 public record RoomsAvailabilityResponse(String roomType, int customersCount, double totalPrice, String currency) {
 
@@ -10,4 +11,11 @@ public record RoomsAvailabilityResponse(String roomType, int customersCount, dou
         result.totalPrice(),
         result.currency().toString());
   }
+
+  public static RoomsAvailabilityResponse from(TierAvailabilityResult result) {
+    return new RoomsAvailabilityResponse(result.tier(),
+        result.customersCount(),
+        result.totalPrice(),
+        result.currency().toString());
+  }
 }
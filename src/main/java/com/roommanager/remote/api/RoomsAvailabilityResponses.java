@@ -0,0 +1,89 @@
+package com.roommanager.remote.api;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of availability responses along with their JSON array encoding. Encoding is written by hand, without
+ * reflection, on first use and kept, so that a cached list is served as ready bytes. It is byte for byte the encoding
+ * of the default object mapper.
+ */
+public final class RoomsAvailabilityResponses extends AbstractList<RoomsAvailabilityResponse> implements RandomAccess {
+
+  public static final RoomsAvailabilityResponses EMPTY = new RoomsAvailabilityResponses(List.of());
+
+  private static final byte[] ROOM_TYPE = ascii("{\"roomType\":");
+  private static final byte[] CUSTOMERS_COUNT = ascii(",\"customersCount\":");
+  private static final byte[] TOTAL_PRICE = ascii(",\"totalPrice\":");
+  private static final byte[] CURRENCY = ascii(",\"currency\":");
+  private static final int ESTIMATED_ELEMENT_SIZE = 96;
+
+  private final List<RoomsAvailabilityResponse> responses;
+  private volatile byte[] json;
+
+  public RoomsAvailabilityResponses(List<RoomsAvailabilityResponse> responses) {
+    this.responses = List.copyOf(responses);
+  }
+
+  @Override
+  public RoomsAvailabilityResponse get(int index) {
+    return responses.get(index);
+  }
+
+  @Override
+  public int size() {
+    return responses.size();
+  }
+
+  /**
+   * JSON array of the responses, encoded on first call, the returned array must not be modified.
+   */
+  public byte[] json() {
+    byte[] encoded = json;
+    if (encoded == null) {
+      encoded = encode(responses);
+      json = encoded;
+    }
+    return encoded;
+  }
+
+  private static byte[] encode(List<RoomsAvailabilityResponse> responses) {
+    var output = new ByteArrayOutputStream(2 + responses.size() * ESTIMATED_ELEMENT_SIZE);
+    output.write('[');
+    for (int i = 0; i < responses.size(); i++) {
+      RoomsAvailabilityResponse response = responses.get(i);
+      if (i > 0) {
+        output.write(',');
+      }
+      output.writeBytes(ROOM_TYPE);
+      writeString(response.roomType(), output);
+      output.writeBytes(CUSTOMERS_COUNT);
+      output.writeBytes(ascii(Integer.toString(response.customersCount())));
+      output.writeBytes(TOTAL_PRICE);
+      output.writeBytes(ascii(Double.toString(response.totalPrice())));
+      output.writeBytes(CURRENCY);
+      writeString(response.currency(), output);
+      output.write('}');
+    }
+    output.write(']');
+    return output.toByteArray();
+  }
+
+  private static void writeString(String value, ByteArrayOutputStream output) {
+    if (value == null) {
+      output.writeBytes(ascii("null"));
+      return;
+    }
+    output.write('"');
+    output.writeBytes(JsonStringEncoder.getInstance().quoteAsUTF8(value));
+    output.write('"');
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+}
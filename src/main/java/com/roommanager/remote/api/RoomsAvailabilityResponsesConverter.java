@@ -0,0 +1,51 @@
+package com.roommanager.remote.api;
+
+import java.io.IOException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes {@link RoomsAvailabilityResponses} as their encoded bytes, with a single write and a known content length.
+ * Being a converter bean, it is registered ahead of the Jackson one.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class RoomsAvailabilityResponsesConverter extends AbstractHttpMessageConverter<RoomsAvailabilityResponses> {
+
+  public RoomsAvailabilityResponsesConverter() {
+    super(MediaType.APPLICATION_JSON);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return RoomsAvailabilityResponses.class == clazz;
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected RoomsAvailabilityResponses readInternal(Class<? extends RoomsAvailabilityResponses> clazz,
+      HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException("Availability responses are not readable.", inputMessage);
+  }
+
+  @Override
+  protected Long getContentLength(RoomsAvailabilityResponses responses, MediaType contentType) {
+    return (long) responses.json().length;
+  }
+
+  @Override
+  protected void writeInternal(RoomsAvailabilityResponses responses, HttpOutputMessage outputMessage)
+      throws IOException {
+    outputMessage.getBody().write(responses.json());
+  }
+}
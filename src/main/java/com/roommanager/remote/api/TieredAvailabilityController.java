@@ -0,0 +1,39 @@
+package com.roommanager.remote.api;
+
+import static com.roommanager.remote.api.RoomsAvailabilityController.DATASET_VERSION_HEADER;
+
+import com.roommanager.domain.services.TieredAvailabilitySvc;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Validated
+@RestController
+@RequestMapping("/rooms")
+public class TieredAvailabilityController {
+
+  private final TieredAvailabilitySvc tieredAvailabilitySvc;
+
+  public TieredAvailabilityController(TieredAvailabilitySvc tieredAvailabilitySvc) {
+    this.tieredAvailabilitySvc = tieredAvailabilitySvc;
+  }
+
+  /**
+   * Availability of each configured room tier, for given available rooms by tier name.
+   */
+  @PostMapping("/availability/tiers")
+  public ResponseEntity<List<RoomsAvailabilityResponse>> getTieredAvailability(
+      @RequestBody Map<String, @NotNull @PositiveOrZero Integer> availableRooms) {
+    var response = tieredAvailabilitySvc.calculateAvailability(availableRooms);
+    return ResponseEntity.ok()
+        .header(DATASET_VERSION_HEADER, String.valueOf(response.datasetVersion()))
+        .body(response.body());
+  }
+}
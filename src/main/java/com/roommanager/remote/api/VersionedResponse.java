@@ -0,0 +1,8 @@
+package com.roommanager.remote.api;
+
+/**
+ * Response body along with the version of the customers dataset it was computed from.
+ */
+public record VersionedResponse<T>(long datasetVersion, T body) {
+
+}
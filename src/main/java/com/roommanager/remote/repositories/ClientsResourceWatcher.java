@@ -0,0 +1,87 @@
+package com.roommanager.remote.repositories;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reloads customers whenever clients resource file is modified or replaced, enabled by {@code app.clients-reload.watch}
+ * for resources available as files. Coordinators of partitions load no clients resource, so it is not watched there.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression(PartitionsConfiguration.LOCAL_DATASET)
+public class ClientsResourceWatcher {
+
+  private final ReloadableRepo reloadableRepo;
+  private final Resource clientsResource;
+  private final boolean enabled;
+  private WatchService watchService = null;
+
+  public ClientsResourceWatcher(ReloadableRepo reloadableRepo,
+      @Value("${app.clients-resource}") Resource clientsResource,
+      @Value("${app.clients-reload.watch:false}") boolean enabled) {
+    this.reloadableRepo = reloadableRepo;
+    this.clientsResource = clientsResource;
+    this.enabled = enabled;
+  }
+
+  @PostConstruct
+  void postConstruct() throws IOException {
+    if (!enabled) {
+      return;
+    }
+    if (!clientsResource.isFile()) {
+      log.warn("Clients resource {} is not a file, it is not watched.", clientsResource.getFilename());
+      return;
+    }
+    Path path = clientsResource.getFile().toPath().toAbsolutePath();
+    watchService = path.getFileSystem().newWatchService();
+    path.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+    Thread thread = new Thread(() -> watch(path.getFileName()), "clients-resource-watcher");
+    thread.setDaemon(true);
+    thread.start();
+    log.info("Watching clients resource file:{}", path);
+  }
+
+  @PreDestroy
+  void preDestroy() throws IOException {
+    if (watchService != null) {
+      watchService.close();
+    }
+  }
+
+  private void watch(Path fileName) {
+    try {
+      while (true) {
+        WatchKey key = watchService.take();
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+          changed |= fileName.equals(event.context());
+        }
+        key.reset();
+        if (changed) {
+          log.info("Clients resource {} changed, reloading.", fileName);
+          reloadableRepo.reload();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ClosedWatchServiceException e) {
+      log.debug("Clients resource watch stopped.");
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package com.roommanager.remote.repositories;
+
+public class CustomerNotFoundException extends RuntimeException {
+
+  public CustomerNotFoundException(String message) {
+    super(message);
+  }
+}
@@ -1,14 +1,76 @@
 package com.roommanager.remote.repositories;
 
+import static com.roommanager.domain.model.Currency.EUR;
+
 import com.roommanager.domain.model.Customer;
+import com.roommanager.domain.model.CustomersAggregate;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
+import java.util.stream.LongStream;
 
 public interface CustomerRepo {
 
+  /**
+   * Version of the dataset served by the repo, it changes whenever the dataset changes.
+   */
+  long version();
+
+  /**
+   * Read only repo over the current dataset version, it is not affected by later dataset changes.
+   */
+  CustomerRepo snapshot();
+
   List<Customer> findAll();
 
   List<Customer> findByPriceOfferGTEOrderByPriceOfferDesc(BigDecimal price, int limit);
 
   List<Customer> findByPriceOfferLTOrderByPriceOfferDesc(BigDecimal price, int limit);
+
+  /**
+   * Count and total price of customers ranked {@code [offset, offset + limit)} among the ones with price offer greater
+   * than or equal to given price, ordered by price offer descending. Prices are expressed in currency minor units.
+   */
+  CustomersAggregate aggregateByPriceOfferGTEOrderByPriceOfferDesc(long price, int offset, int limit);
+
+  /**
+   * Count and total price of customers ranked {@code [offset, offset + limit)} among the ones with price offer less
+   * than given price, ordered by price offer descending. Prices are expressed in currency minor units.
+   */
+  CustomersAggregate aggregateByPriceOfferLTOrderByPriceOfferDesc(long price, int offset, int limit);
+
+  /**
+   * Price offers of customers ranked {@code [offset, offset + limit)} among all customers, ordered by price offer
+   * descending. Prices are expressed in currency minor units and read while the stream is consumed.
+   */
+  default LongStream findPriceOffersOrderByPriceOfferDesc(int offset, int limit) {
+    List<Customer> customers = findAll();
+    int start = Math.min(customers.size(), offset);
+    int end = (int) Math.min(customers.size(), (long) start + limit);
+    return customers.subList(start, end).stream()
+        .mapToLong(customer -> EUR.toMinorUnits(customer.priceOffer(), RoundingMode.UNNECESSARY));
+  }
+
+  /**
+   * Number of customers with price offer greater than or equal to given price, expressed in currency minor units.
+   */
+  default int countByPriceOfferGTE(long price) {
+    return aggregateByPriceOfferGTE(price).count();
+  }
+
+  /**
+   * Total price offer of customers ranked {@code [offset, offset + limit)} among all customers, ordered by price offer
+   * descending. Prices are expressed in currency minor units.
+   */
+  default long sumByPriceOfferOrderByPriceOfferDesc(int offset, int limit) {
+    return aggregateByPriceOfferGTEOrderByPriceOfferDesc(Long.MIN_VALUE, offset, limit).totalPriceOffer();
+  }
+
+  default CustomersAggregate aggregateByPriceOfferGTE(long price) {
+    return aggregateByPriceOfferGTEOrderByPriceOfferDesc(price, 0, Integer.MAX_VALUE);
+  }
+
+  default CustomersAggregate aggregateByPriceOfferLT(long price) {
+    return aggregateByPriceOfferLTOrderByPriceOfferDesc(price, 0, Integer.MAX_VALUE);
+  }
 }
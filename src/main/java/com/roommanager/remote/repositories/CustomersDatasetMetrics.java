@@ -0,0 +1,50 @@
+package com.roommanager.remote.repositories;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauges of the customers dataset currently served: its size, version, last load duration and memory footprint of the
+ * price index. Coordinators of partitions have no dataset of their own to gauge.
+ */
+@Component
+@ConditionalOnExpression(PartitionsConfiguration.LOCAL_DATASET)
+public class CustomersDatasetMetrics implements MeterBinder {
+
+  private final InMemoryCustomerRepo customerRepo;
+
+  public CustomersDatasetMetrics(InMemoryCustomerRepo customerRepo) {
+    this.customerRepo = customerRepo;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("customers.dataset.size", customerRepo, current(dataset -> dataset.findAll().size()))
+        .description("Number of customers in the current dataset version")
+        .register(registry);
+    Gauge.builder("customers.dataset.version", customerRepo, current(PriceIndexRepo::version))
+        .description("Current dataset version")
+        .register(registry);
+    Gauge.builder("customers.index.memory", customerRepo, current(dataset -> dataset.base().memoryFootprint()))
+        .description("Memory taken by the price index of the current dataset version")
+        .baseUnit("bytes")
+        .register(registry);
+    TimeGauge.builder("customers.dataset.load.duration", customerRepo, TimeUnit.NANOSECONDS,
+            InMemoryCustomerRepo::lastLoadNanos)
+        .description("Duration of the last dataset load")
+        .register(registry);
+  }
+
+  private static ToDoubleFunction<InMemoryCustomerRepo> current(ToDoubleFunction<PriceIndexRepo> gauge) {
+    return repo -> {
+      PriceIndexRepo current = repo.current();
+      return current == null ? Double.NaN : gauge.applyAsDouble(current);
+    };
+  }
+}
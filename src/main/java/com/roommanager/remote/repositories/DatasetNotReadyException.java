@@ -0,0 +1,11 @@
+package com.roommanager.remote.repositories;
+
+/**
+ * Thrown by queries of a dataset, which is not loaded yet.
+ */
+public class DatasetNotReadyException extends RuntimeException {
+
+  public DatasetNotReadyException(String message) {
+    super(message);
+  }
+}
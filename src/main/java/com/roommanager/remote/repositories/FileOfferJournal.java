@@ -0,0 +1,428 @@
+package com.roommanager.remote.repositories;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Offer journal kept in a directory, as log segments {@code offers-<sequence>.log} and snapshots
+ * {@code snapshot-<version>.rmpi} written by {@link PriceIndexFile}. Log record layout, little endian:
+ * <pre>
+ * int  payload length
+ * int  CRC32C of payload
+ * byte type, change or reset
+ * long version
+ * int  changes count
+ * (long price, int count)[changes count]
+ * </pre>
+ * Records are written by a single thread, which takes all records appended while it was syncing the previous batch and
+ * syncs them at once, so concurrent writers share a sync. A snapshot starts a new segment, once it is written, segments
+ * before are dropped, so recovery reads at most {@code snapshotEvery} changes on top of the latest snapshot. Recovery
+ * stops at the first truncated or corrupted record, the log is cut there.
+ */
+@Slf4j
+final class FileOfferJournal implements OfferJournal {
+
+  private static final String SEGMENT_PREFIX = "offers-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String SNAPSHOT_PREFIX = "snapshot-";
+  private static final String SNAPSHOT_SUFFIX = ".rmpi";
+  private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+  private static final byte CHANGE = 1;
+  private static final byte RESET = 2;
+  private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+  private static final int PAYLOAD_HEADER_SIZE = 1 + Long.BYTES + Integer.BYTES;
+  private static final int CHANGE_SIZE = Long.BYTES + Integer.BYTES;
+
+  private final Path directory;
+  private final int snapshotEvery;
+  private final long recoveredSegments;
+  private final AtomicLong changesSinceSnapshot = new AtomicLong();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition appended = lock.newCondition();
+  private final Thread writer;
+  private List<PendingRecord> pending = new ArrayList<>();
+  private boolean closed;
+  private RuntimeException failure;
+  private FileChannel segment;
+  private volatile long segmentSequence;
+
+  FileOfferJournal(Path directory, int snapshotEvery) {
+    this.directory = directory;
+    this.snapshotEvery = snapshotEvery;
+    try {
+      Files.createDirectories(directory);
+      TreeMap<Long, Path> segments = files(SEGMENT_PREFIX, SEGMENT_SUFFIX);
+      this.recoveredSegments = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+      openSegment(recoveredSegments);
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("Directory [%s] opening failed", directory), e);
+    }
+    this.writer = new Thread(this::write, "customers-journal");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @Override
+  public Optional<Recovery> recover() {
+    TreeMap<Long, Path> snapshots = files(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+    List<LogRecord> records = readSegments(files(SEGMENT_PREFIX, SEGMENT_SUFFIX).headMap(recoveredSegments, false));
+    if (snapshots.isEmpty() && records.isEmpty()) {
+      return Optional.empty();
+    }
+    long snapshotVersion = snapshots.isEmpty() ? 0 : snapshots.lastKey();
+    OptionalLong reset = records.stream()
+        .filter(record -> record.type() == RESET && record.version() > snapshotVersion)
+        .mapToLong(LogRecord::version)
+        .max();
+    long baseVersion = reset.orElse(snapshotVersion);
+    List<OfferChange> changes = records.stream()
+        .filter(record -> record.type() == CHANGE && record.version() > baseVersion)
+        .flatMap(record -> record.changes().stream())
+        .toList();
+    long version = records.stream().mapToLong(LogRecord::version).reduce(baseVersion, Math::max);
+    PriceIndex snapshot = reset.isPresent() || snapshots.isEmpty() ? null
+        : mapSnapshot(snapshots.lastEntry().getValue());
+    log.info("Customers journal recovered {} changes on top of version {}, as version {}.", changes.size(), baseVersion,
+        version);
+    return Optional.of(new Recovery(snapshot, baseVersion, changes, version));
+  }
+
+  @Override
+  public CompletableFuture<Void> append(long version, OfferChange... changes) {
+    changesSinceSnapshot.addAndGet(changes.length);
+    return enqueue(encode(CHANGE, version, changes));
+  }
+
+  @Override
+  public CompletableFuture<Void> reset(long version) {
+    return enqueue(encode(RESET, version));
+  }
+
+  @Override
+  public boolean writable() {
+    lock.lock();
+    try {
+      return failure == null && !closed;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean snapshotDue() {
+    return changesSinceSnapshot.get() >= snapshotEvery;
+  }
+
+  @Override
+  public void snapshot(SnapshotSource source) {
+    changesSinceSnapshot.set(0);
+    enqueue(null).join();
+    long firstKept = segmentSequence;
+    Snapshot snapshot = source.get();
+    Path path = directory.resolve(fileName(SNAPSHOT_PREFIX, snapshot.version(), SNAPSHOT_SUFFIX));
+    try {
+      PriceIndexFile.write(snapshot.index(), path);
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("File [%s] writing failed", path), e);
+    }
+    forceDirectory();
+    files(SEGMENT_PREFIX, SEGMENT_SUFFIX).headMap(firstKept).values().forEach(FileOfferJournal::delete);
+    files(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).headMap(snapshot.version()).values().forEach(FileOfferJournal::delete);
+    log.info("Customers snapshot of version {} written, log segments before {} dropped.", snapshot.version(),
+        firstKept);
+  }
+
+  /**
+   * Writes records appended so far and stops the writer.
+   */
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      closed = true;
+      appended.signal();
+    } finally {
+      lock.unlock();
+    }
+    try {
+      writer.join();
+      segment.close();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      log.warn("Customers journal segment closing failed.", e);
+    }
+  }
+
+  /**
+   * Queues given record for the writer, {@code null} record starts a new segment.
+   */
+  private CompletableFuture<Void> enqueue(ByteBuffer record) {
+    var pendingRecord = new PendingRecord(record, new CompletableFuture<>());
+    lock.lock();
+    try {
+      if (failure != null) {
+        return CompletableFuture.failedFuture(failure);
+      }
+      if (closed) {
+        return CompletableFuture.failedFuture(new IllegalStateException("Customers journal is closed."));
+      }
+      pending.add(pendingRecord);
+      appended.signal();
+    } finally {
+      lock.unlock();
+    }
+    return pendingRecord.done();
+  }
+
+  private void write() {
+    while (true) {
+      List<PendingRecord> batch;
+      lock.lock();
+      try {
+        while (pending.isEmpty() && !closed) {
+          appended.awaitUninterruptibly();
+        }
+        if (pending.isEmpty()) {
+          return;
+        }
+        batch = pending;
+        pending = new ArrayList<>();
+      } finally {
+        lock.unlock();
+      }
+      try {
+        writeBatch(batch);
+      } catch (IOException e) {
+        fail(new RuntimeException(String.format("File [%s] writing failed",
+            fileName(SEGMENT_PREFIX, segmentSequence, SEGMENT_SUFFIX)), e), batch);
+      }
+    }
+  }
+
+  private void writeBatch(List<PendingRecord> batch) throws IOException {
+    List<PendingRecord> written = new ArrayList<>(batch.size());
+    for (PendingRecord record : batch) {
+      if (record.record() == null) {
+        sync(written);
+        segment.close();
+        openSegment(segmentSequence + 1);
+        record.done().complete(null);
+      } else {
+        written.add(record);
+      }
+    }
+    sync(written);
+  }
+
+  /**
+   * Writes given records with a single gathering write and syncs them at once.
+   */
+  private void sync(List<PendingRecord> records) throws IOException {
+    if (records.isEmpty()) {
+      return;
+    }
+    ByteBuffer[] buffers = new ByteBuffer[records.size()];
+    long remaining = 0;
+    for (int i = 0; i < buffers.length; i++) {
+      buffers[i] = records.get(i).record();
+      remaining += buffers[i].remaining();
+    }
+    while (remaining > 0) {
+      remaining -= segment.write(buffers);
+    }
+    segment.force(false);
+    records.forEach(record -> record.done().complete(null));
+    records.clear();
+  }
+
+  /**
+   * Fails given batch and records appended meanwhile, as well as all records appended later, since records after a
+   * failed one can not be recovered.
+   */
+  private void fail(RuntimeException cause, List<PendingRecord> batch) {
+    log.error("Customers journal writing failed, changes are not journaled any more.", cause);
+    List<PendingRecord> failed = new ArrayList<>(batch);
+    lock.lock();
+    try {
+      failure = cause;
+      failed.addAll(pending);
+      pending.clear();
+    } finally {
+      lock.unlock();
+    }
+    failed.forEach(record -> record.done().completeExceptionally(cause));
+  }
+
+  private void openSegment(long sequence) throws IOException {
+    segment = FileChannel.open(directory.resolve(fileName(SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX)), CREATE_NEW,
+        WRITE);
+    segmentSequence = sequence;
+    forceDirectory();
+  }
+
+  /**
+   * Reads records of given segments, up to the first truncated or corrupted one, where the log is cut.
+   */
+  private List<LogRecord> readSegments(NavigableMap<Long, Path> segments) {
+    List<LogRecord> records = new ArrayList<>();
+    for (var entry : segments.entrySet()) {
+      Path path = entry.getValue();
+      ByteBuffer buffer;
+      try {
+        buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(BYTE_ORDER);
+      } catch (IOException e) {
+        throw new RuntimeException(String.format("File [%s] reading failed", path), e);
+      }
+      int valid = readRecords(buffer, records);
+      if (valid < buffer.capacity()) {
+        log.warn("Customers journal is cut at {} of {} bytes of file:{}.", valid, buffer.capacity(), path);
+        truncate(path, valid);
+        segments.tailMap(entry.getKey(), false).values().forEach(FileOfferJournal::delete);
+        break;
+      }
+    }
+    return records;
+  }
+
+  /**
+   * Reads valid records of given buffer, returns the position following the last one.
+   */
+  private static int readRecords(ByteBuffer buffer, List<LogRecord> records) {
+    CRC32C crc = new CRC32C();
+    while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+      int start = buffer.position();
+      int length = buffer.getInt();
+      int checksum = buffer.getInt();
+      if (length < PAYLOAD_HEADER_SIZE || length > buffer.remaining()
+          || (length - PAYLOAD_HEADER_SIZE) % CHANGE_SIZE != 0) {
+        return start;
+      }
+      crc.reset();
+      crc.update(buffer.slice(buffer.position(), length));
+      if ((int) crc.getValue() != checksum) {
+        return start;
+      }
+      byte type = buffer.get();
+      long version = buffer.getLong();
+      int count = buffer.getInt();
+      if (count != (length - PAYLOAD_HEADER_SIZE) / CHANGE_SIZE || (type != CHANGE && type != RESET)) {
+        return start;
+      }
+      List<OfferChange> changes = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        changes.add(new OfferChange(buffer.getLong(), buffer.getInt()));
+      }
+      records.add(new LogRecord(type, version, changes));
+    }
+    return buffer.position();
+  }
+
+  private static ByteBuffer encode(byte type, long version, OfferChange... changes) {
+    int length = PAYLOAD_HEADER_SIZE + changes.length * CHANGE_SIZE;
+    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + length).order(BYTE_ORDER);
+    record.position(RECORD_HEADER_SIZE)
+        .put(type)
+        .putLong(version)
+        .putInt(changes.length);
+    for (OfferChange change : changes) {
+      record.putLong(change.price()).putInt(change.count());
+    }
+    CRC32C crc = new CRC32C();
+    crc.update(record.flip().position(RECORD_HEADER_SIZE));
+    return record.putInt(0, length)
+        .putInt(Integer.BYTES, (int) crc.getValue())
+        .rewind();
+  }
+
+  private static PriceIndex mapSnapshot(Path path) {
+    try {
+      return PriceIndexFile.map(path);
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("File [%s] loading failed", path), e);
+    }
+  }
+
+  /**
+   * Files of given kind by their number.
+   */
+  private TreeMap<Long, Path> files(String prefix, String suffix) {
+    TreeMap<Long, Path> files = new TreeMap<>();
+    try (Stream<Path> paths = Files.list(directory)) {
+      paths.forEach(path -> {
+        String name = path.getFileName().toString();
+        if (name.startsWith(prefix) && name.endsWith(suffix)) {
+          try {
+            files.put(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())), path);
+          } catch (NumberFormatException e) {
+            log.warn("Unexpected file:{} in customers journal is ignored.", path);
+          }
+        }
+      });
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("Directory [%s] listing failed", directory), e);
+    }
+    return files;
+  }
+
+  /**
+   * Syncs directory entries, so that created and renamed files survive a crash. Not every platform supports it.
+   */
+  private void forceDirectory() {
+    try (FileChannel channel = FileChannel.open(directory, READ)) {
+      channel.force(true);
+    } catch (IOException e) {
+      log.debug("Directory {} sync is not supported.", directory, e);
+    }
+  }
+
+  private static void truncate(Path path, long size) {
+    try (FileChannel channel = FileChannel.open(path, WRITE)) {
+      channel.truncate(size);
+      channel.force(true);
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("File [%s] truncating failed", path), e);
+    }
+  }
+
+  private static void delete(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("Customers journal file:{} deleting failed.", path, e);
+    }
+  }
+
+  private static String fileName(String prefix, long number, String suffix) {
+    return String.format("%s%020d%s", prefix, number, suffix);
+  }
+
+  private record PendingRecord(ByteBuffer record, CompletableFuture<Void> done) {
+
+  }
+
+  private record LogRecord(byte type, long version, List<OfferChange> changes) {
+
+  }
+}
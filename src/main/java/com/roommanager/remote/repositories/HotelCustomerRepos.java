@@ -0,0 +1,163 @@
+package com.roommanager.remote.repositories;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Customers of each hotel, kept in a repo of its own. Hotels are spread over a fixed number of partitions by id, each
+ * partition loads, reloads and compacts datasets of its hotels on a single thread, so that a large dataset being
+ * loaded delays only hotels of the same partition. A hotel dataset is loaded on first access from
+ * {@code app.hotels.clients-resource-pattern} and dropped once not accessed for {@code app.hotels.idle-timeout}, so
+ * idle hotels take no memory.
+ */
+@Slf4j
+@Component
+public class HotelCustomerRepos {
+
+  private static final Pattern HOTEL_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+  private final PriceIndexLoader priceIndexLoader;
+  private final ResourceLoader resourceLoader;
+  private final String clientsResourcePattern;
+  private final int compactionThreshold;
+  private final long idleTimeoutNanos;
+  private final Partition[] partitions;
+
+  public HotelCustomerRepos(PriceIndexLoader priceIndexLoader, ResourceLoader resourceLoader,
+      @Value("${app.hotels.clients-resource-pattern:classpath:hotels/%s.json}") String clientsResourcePattern,
+      @Value("${app.hotels.partitions:16}") int partitionsCount,
+      @Value("${app.hotels.idle-timeout:30m}") Duration idleTimeout,
+      @Value("${app.customers.compaction-threshold:65536}") int compactionThreshold) {
+    this.priceIndexLoader = priceIndexLoader.withoutExport();
+    this.resourceLoader = resourceLoader;
+    this.clientsResourcePattern = clientsResourcePattern;
+    this.compactionThreshold = compactionThreshold;
+    this.idleTimeoutNanos = idleTimeout.toNanos();
+    this.partitions = new Partition[partitionsCount];
+    for (int i = 0; i < partitionsCount; i++) {
+      partitions[i] = new Partition(i, idleTimeout);
+    }
+  }
+
+  @PreDestroy
+  void preDestroy() {
+    for (Partition partition : partitions) {
+      partition.executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Customers of given hotel, its dataset is loaded first, when the hotel has not been accessed recently.
+   */
+  public CustomerRepo forHotel(String hotelId) {
+    return tenant(hotelId);
+  }
+
+  /**
+   * Reloads dataset of given hotel, see {@link ReloadableRepo#reload()}.
+   */
+  public CompletableFuture<Long> reload(String hotelId) {
+    return tenant(hotelId).reload();
+  }
+
+  /**
+   * Number of hotels with dataset held in memory.
+   */
+  public int loadedHotels() {
+    int loaded = 0;
+    for (Partition partition : partitions) {
+      loaded += partition.tenants.size();
+    }
+    return loaded;
+  }
+
+  /**
+   * Repo of given hotel, once its dataset is loaded. A failed load is dropped, so that next access loads it again.
+   */
+  private InMemoryCustomerRepo tenant(String hotelId) {
+    if (hotelId == null || !HOTEL_ID.matcher(hotelId).matches()) {
+      throw new HotelNotFoundException(String.format("Hotel [%s] not found.", hotelId));
+    }
+    Partition partition = partitions[Math.floorMod(hotelId.hashCode(), partitions.length)];
+    Tenant tenant = partition.tenants.computeIfAbsent(hotelId, id -> load(id, partition));
+    tenant.lastAccessNanos = System.nanoTime();
+    try {
+      tenant.loaded.join();
+    } catch (CompletionException e) {
+      partition.tenants.remove(hotelId, tenant);
+      throw e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+    return tenant.repo;
+  }
+
+  private Tenant load(String hotelId, Partition partition) {
+    Resource clientsResource = resourceLoader.getResource(String.format(clientsResourcePattern, hotelId));
+    if (!clientsResource.exists()) {
+      throw new HotelNotFoundException(String.format("Hotel [%s] not found.", hotelId));
+    }
+    var repo = new InMemoryCustomerRepo(priceIndexLoader, clientsResource, compactionThreshold, partition.executor);
+    var tenant = new Tenant(repo, CompletableFuture.runAsync(repo::postConstruct, partition.executor));
+    tenant.loaded.exceptionally(e -> {
+      log.error("Hotel [{}] customers load failed.", hotelId, e);
+      return null;
+    });
+    log.info("Hotel [{}] customers load scheduled on partition {}.", hotelId, partition.index);
+    return tenant;
+  }
+
+  private final class Partition {
+
+    private final int index;
+    private final ConcurrentMap<String, Tenant> tenants = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+
+    private Partition(int index, Duration idleTimeout) {
+      this.index = index;
+      this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "hotels-partition-" + index);
+        thread.setDaemon(true);
+        return thread;
+      });
+      long period = idleTimeout.toMillis();
+      executor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Drops loaded hotels not accessed for the idle timeout, a dropped hotel is loaded again on next access.
+     */
+    private void evictIdle() {
+      long now = System.nanoTime();
+      tenants.forEach((hotelId, tenant) -> {
+        if (tenant.loaded.isDone() && now - tenant.lastAccessNanos > idleTimeoutNanos
+            && tenants.remove(hotelId, tenant)) {
+          log.info("Hotel [{}] customers evicted from partition {}.", hotelId, index);
+        }
+      });
+    }
+  }
+
+  private static final class Tenant {
+
+    private final InMemoryCustomerRepo repo;
+    private final CompletableFuture<Void> loaded;
+    private volatile long lastAccessNanos = System.nanoTime();
+
+    private Tenant(InMemoryCustomerRepo repo, CompletableFuture<Void> loaded) {
+      this.repo = repo;
+      this.loaded = loaded;
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package com.roommanager.remote.repositories;
+
+public class HotelNotFoundException extends RuntimeException {
+
+  public HotelNotFoundException(String message) {
+    super(message);
+  }
+}
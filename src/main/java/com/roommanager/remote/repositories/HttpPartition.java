@@ -0,0 +1,76 @@
+package com.roommanager.remote.repositories;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Partition served by another node at given base URI, e.g. {@code http://10.0.0.2:8080}, through its
+ * {@code /partition} endpoints.
+ */
+public final class HttpPartition implements Partition {
+
+  private final URI baseUri;
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper;
+  private final Duration timeout;
+
+  public HttpPartition(URI baseUri, HttpClient httpClient, ObjectMapper objectMapper, Duration timeout) {
+    this.baseUri = baseUri.getPath().endsWith("/") ? baseUri : URI.create(baseUri + "/");
+    this.httpClient = httpClient;
+    this.objectMapper = objectMapper;
+    this.timeout = timeout;
+  }
+
+  @Override
+  public CompletableFuture<Long> version() {
+    return get("partition/version", Long.class);
+  }
+
+  @Override
+  public CompletableFuture<PartitionSummary> summary(long from, long to) {
+    return get(String.format("partition/summary?from=%d&to=%d", from, to), PartitionSummary.class);
+  }
+
+  @Override
+  public CompletableFuture<int[]> counts(long[] prices, long to) {
+    String joined = Arrays.stream(prices).mapToObj(Long::toString).collect(Collectors.joining(","));
+    return get(String.format("partition/counts?to=%d&prices=%s", to, joined), int[].class);
+  }
+
+  @Override
+  public CompletableFuture<long[]> prices(long from, long to, int limit) {
+    return get(String.format("partition/prices?from=%d&to=%d&limit=%d", from, to, limit), long[].class);
+  }
+
+  @Override
+  public String toString() {
+    return baseUri.toString();
+  }
+
+  private <T> CompletableFuture<T> get(String path, Class<T> type) {
+    URI uri = baseUri.resolve(path);
+    HttpRequest request = HttpRequest.newBuilder(uri).timeout(timeout).GET().build();
+    return httpClient.sendAsync(request, BodyHandlers.ofByteArray()).thenApply(response -> read(uri, response, type));
+  }
+
+  private <T> T read(URI uri, HttpResponse<byte[]> response, Class<T> type) {
+    if (response.statusCode() != 200) {
+      throw new PartitionUnavailableException(
+          String.format("Partition [%s] responded with status %d", uri, response.statusCode()));
+    }
+    try {
+      return objectMapper.readValue(response.body(), type);
+    } catch (IOException e) {
+      throw new PartitionUnavailableException(String.format("Partition [%s] response reading failed", uri), e);
+    }
+  }
+}
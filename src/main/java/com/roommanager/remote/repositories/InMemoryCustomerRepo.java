@@ -1,64 +1,405 @@
 package com.roommanager.remote.repositories;
 
+import static com.roommanager.domain.model.Currency.EUR;
+
 import com.roommanager.domain.model.Customer;
-import com.roommanager.remote.ClientsResourceParser;
+import com.roommanager.domain.model.CustomersAggregate;
+import com.roommanager.remote.repositories.OfferJournal.OfferChange;
+import com.roommanager.remote.repositories.OfferJournal.Recovery;
+import com.roommanager.remote.repositories.OfferJournal.Snapshot;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.math.BigDecimal;
-import java.util.Collections;
-import java.util.Comparator;
+import java.math.RoundingMode;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.LongStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Repository;
 
+/**
+ * Serves customers from the latest dataset version. Each version is an immutable {@link PriceIndexRepo}, published
+ * with a single reference swap, so reads never block and {@link #snapshot()} gives a consistent view of one version for
+ * as long as needed. Offer changes are published by compare and set of a version with the change added to its
+ * {@link OfferDelta}, once the delta grows over {@code app.customers.compaction-threshold} distinct prices, it is
+ * merged into a new price index in background.
+ * <p>
+ * With {@code app.customers.async-load=true}, the first dataset is loaded in background, queries fail with
+ * {@link DatasetNotReadyException} until it is published.
+ * <p>
+ * Offer changes and reloads are recorded by an {@link OfferJournal}, writes return once their change is durable. Each
+ * version is published and queued to the journal under {@link #journalOrder}, so the log holds versions in order. Once
+ * the journal fails, writes are rejected before they are published. The dataset is recovered from the journal at
+ * startup, when it holds any, and snapshots are taken on the reload executor once enough changes are logged.
+ * <p>
+ * Coordinators of partitions have no dataset of their own, so the repo is not created there.
+ */
+@Slf4j
 @Repository
-public class InMemoryCustomerRepo implements CustomerRepo {
+@ConditionalOnExpression(PartitionsConfiguration.LOCAL_DATASET)
+public class InMemoryCustomerRepo implements CustomerRepo, ReloadableRepo, WritableCustomerRepo {
+
+  private final PriceIndexLoader priceIndexLoader;
+  private final Resource clientsResource;
+  private final int compactionThreshold;
+  private final AtomicReference<PriceIndexRepo> dataset = new AtomicReference<>();
+  private final AtomicReference<CompletableFuture<Long>> pendingReload = new AtomicReference<>();
+  private final AtomicBoolean pendingCompaction = new AtomicBoolean();
+  private final AtomicBoolean pendingSnapshot = new AtomicBoolean();
+  private final ExecutorService reloadExecutor;
+  private final boolean asyncLoad;
+  private final OfferJournal offerJournal;
+  private final CompletableFuture<Long> initialLoad = new CompletableFuture<>();
+  private final ReentrantLock journalOrder = new ReentrantLock();
+  private volatile long lastLoadNanos;
+
+  public InMemoryCustomerRepo(PriceIndexLoader priceIndexLoader, Resource clientsResource, int compactionThreshold) {
+    this(priceIndexLoader, clientsResource, compactionThreshold, false, OfferJournal.DISABLED);
+  }
 
-  private final Comparator<Customer> customerComparator = Comparator.comparing(Customer::priceOffer).reversed();
-  private final ClientsResourceParser clientsResourceParser;
-  private List<Customer> customers = null;
+  @Autowired
+  public InMemoryCustomerRepo(PriceIndexLoader priceIndexLoader,
+      @Value("${app.clients-resource}") Resource clientsResource,
+      @Value("${app.customers.compaction-threshold:65536}") int compactionThreshold,
+      @Value("${app.customers.async-load:true}") boolean asyncLoad, OfferJournal offerJournal) {
+    this(priceIndexLoader, clientsResource, compactionThreshold, Executors.newSingleThreadExecutor(task -> {
+      Thread thread = new Thread(task, "customers-reload");
+      thread.setDaemon(true);
+      return thread;
+    }), asyncLoad, offerJournal);
+  }
 
-  public InMemoryCustomerRepo(ClientsResourceParser clientsResourceParser) {
-    this.clientsResourceParser = clientsResourceParser;
+  /**
+   * Repo loading, reloading and compacting its dataset on given executor, which has to run tasks one at a time.
+   */
+  InMemoryCustomerRepo(PriceIndexLoader priceIndexLoader, Resource clientsResource, int compactionThreshold,
+      ExecutorService reloadExecutor) {
+    this(priceIndexLoader, clientsResource, compactionThreshold, reloadExecutor, false, OfferJournal.DISABLED);
+  }
+
+  InMemoryCustomerRepo(PriceIndexLoader priceIndexLoader, Resource clientsResource, int compactionThreshold,
+      ExecutorService reloadExecutor, boolean asyncLoad, OfferJournal offerJournal) {
+    this.priceIndexLoader = priceIndexLoader;
+    this.clientsResource = clientsResource;
+    this.compactionThreshold = compactionThreshold;
+    this.reloadExecutor = reloadExecutor;
+    this.asyncLoad = asyncLoad;
+    this.offerJournal = offerJournal;
   }
 
   @PostConstruct
   void postConstruct() {
-    customers = this.clientsResourceParser.getRecords().stream()
-        .map(p -> new Customer(BigDecimal.valueOf(p)))
-        .sorted(customerComparator)
-        .toList();
+    if (!asyncLoad) {
+      recoverOrLoad();
+      return;
+    }
+    log.info("Customers dataset is loaded in background.");
+    reloadExecutor.execute(() -> {
+      try {
+        recoverOrLoad();
+      } catch (RuntimeException e) {
+        log.error("Customers dataset load failed, it is loaded again on reload.", e);
+      }
+    });
+  }
+
+  @PreDestroy
+  void preDestroy() {
+    reloadExecutor.shutdownNow();
+  }
+
+  @Override
+  public CompletableFuture<Long> reload() {
+    CompletableFuture<Long> reload = new CompletableFuture<>();
+    CompletableFuture<Long> pending = pendingReload.compareAndExchange(null, reload);
+    if (pending != null) {
+      return pending;
+    }
+    reloadExecutor.execute(() -> {
+      pendingReload.set(null);
+      try {
+        reload.complete(load());
+      } catch (RuntimeException e) {
+        PriceIndexRepo current = dataset.get();
+        log.error("Customers reload failed, version {} is kept.", current == null ? null : current.version(), e);
+        reload.completeExceptionally(e);
+      }
+    });
+    return reload;
+  }
+
+  @Override
+  public long insert(Customer customer) {
+    long price = toMinorUnits(customer);
+    return publishChange(current -> current.withOffers(price, 1), new OfferChange(price, 1));
+  }
+
+  @Override
+  public long remove(Customer customer) {
+    long price = toMinorUnits(customer);
+    return publishChange(current -> requireOffer(current, price).withOffers(price, -1), new OfferChange(price, -1));
+  }
+
+  @Override
+  public long update(Customer customer, Customer updatedCustomer) {
+    long price = toMinorUnits(customer);
+    long updatedPrice = toMinorUnits(updatedCustomer);
+    return publishChange(current -> new PriceIndexRepo(current.base(),
+        requireOffer(current, price).delta().add(price, -1).add(updatedPrice, 1), current.version() + 1),
+        new OfferChange(price, -1), new OfferChange(updatedPrice, 1));
+  }
+
+  @Override
+  public long version() {
+    return loaded().version();
+  }
+
+  @Override
+  public CustomerRepo snapshot() {
+    return loaded();
   }
 
   @Override
   public List<Customer> findAll() {
-    return customers;
+    return loaded().findAll();
   }
 
   @Override
   public List<Customer> findByPriceOfferGTEOrderByPriceOfferDesc(BigDecimal price, int limit) {
-    return customers.stream()
-        .limit(limit)
-        .takeWhile(c -> c.priceOffer().compareTo(price) >= 0)
-        .toList();
+    return loaded().findByPriceOfferGTEOrderByPriceOfferDesc(price, limit);
   }
 
   @Override
   public List<Customer> findByPriceOfferLTOrderByPriceOfferDesc(BigDecimal price, int limit) {
-    int position = findCustomerPosition(new Customer(price));
-    int index = getStartIndex(position);
-    if (index == customers.size()) {
-      return List.of();
+    return loaded().findByPriceOfferLTOrderByPriceOfferDesc(price, limit);
+  }
+
+  @Override
+  public LongStream findPriceOffersOrderByPriceOfferDesc(int offset, int limit) {
+    return loaded().findPriceOffersOrderByPriceOfferDesc(offset, limit);
+  }
+
+  @Override
+  public int countByPriceOfferGTE(long price) {
+    return loaded().countByPriceOfferGTE(price);
+  }
+
+  @Override
+  public long sumByPriceOfferOrderByPriceOfferDesc(int offset, int limit) {
+    return loaded().sumByPriceOfferOrderByPriceOfferDesc(offset, limit);
+  }
+
+  @Override
+  public CustomersAggregate aggregateByPriceOfferGTEOrderByPriceOfferDesc(long price, int offset, int limit) {
+    return loaded().aggregateByPriceOfferGTEOrderByPriceOfferDesc(price, offset, limit);
+  }
+
+  @Override
+  public CustomersAggregate aggregateByPriceOfferLTOrderByPriceOfferDesc(long price, int offset, int limit) {
+    return loaded().aggregateByPriceOfferLTOrderByPriceOfferDesc(price, offset, limit);
+  }
+
+  /**
+   * Completes with the version of the first published dataset.
+   */
+  public CompletableFuture<Long> initialLoad() {
+    return initialLoad.copy();
+  }
+
+  /**
+   * Current dataset version, {@code null} until the first load.
+   */
+  PriceIndexRepo current() {
+    return dataset.get();
+  }
+
+  /**
+   * Duration of the last successful dataset load in nanoseconds.
+   */
+  long lastLoadNanos() {
+    return lastLoadNanos;
+  }
+
+  /**
+   * Loads dataset and publishes it as next version, replacing offer changes made since previous load.
+   */
+  private long load() {
+    long start = System.nanoTime();
+    PriceIndex index = priceIndexLoader.load(clientsResource);
+    lastLoadNanos = System.nanoTime() - start;
+    long version;
+    CompletableFuture<Void> logged;
+    journalOrder.lock();
+    try {
+      requireJournal();
+      version = publish(current -> new PriceIndexRepo(index, current == null ? 1 : current.version() + 1)).version();
+      logged = offerJournal.reset(version);
+    } finally {
+      journalOrder.unlock();
+    }
+    log.info("Customers dataset version {} published.", version);
+    initialLoad.complete(version);
+    awaitLogged(logged, version);
+    scheduleSnapshot();
+    return version;
+  }
+
+  /**
+   * Publishes the dataset recovered from the journal, or loads it when the journal is empty.
+   */
+  private long recoverOrLoad() {
+    long start = System.nanoTime();
+    Recovery recovery = offerJournal.recover().orElse(null);
+    if (recovery == null) {
+      return load();
+    }
+    PriceIndex base = recovery.snapshot() != null ? recovery.snapshot() : priceIndexLoader.load(clientsResource);
+    OfferDelta delta = OfferDelta.EMPTY;
+    for (OfferChange change : recovery.changes()) {
+      delta = delta.add(change.price(), change.count());
+    }
+    PriceIndexRepo recovered = new PriceIndexRepo(base, delta, recovery.version());
+    lastLoadNanos = System.nanoTime() - start;
+    long version = publish(current -> recovered).version();
+    log.info("Customers dataset version {} recovered from version {} and {} logged changes.", version,
+        recovery.baseVersion(), recovery.changes().size());
+    initialLoad.complete(version);
+    if (delta.entries() >= compactionThreshold && pendingCompaction.compareAndSet(false, true)) {
+      reloadExecutor.execute(this::compact);
     }
-    return customers.subList(index, customers.size()).stream()
-        .filter(c -> c.priceOffer().compareTo(price) < 0)
-        .limit(limit)
-        .toList();
+    if (recovery.snapshot() == null || !recovery.changes().isEmpty()) {
+      scheduleSnapshot();
+    }
+    return version;
   }
 
-  private int getStartIndex(int position) {
-    return position < 0 ? Math.abs(position) - 1 : position + 1;
+  /**
+   * Publishes given change and waits until its journal record is durable. The change is rejected up front, when the
+   * journal does not accept records any more, it is published only along with queueing its record.
+   */
+  private long publishChange(UnaryOperator<PriceIndexRepo> change, OfferChange... changes) {
+    PriceIndexRepo published;
+    CompletableFuture<Void> logged;
+    journalOrder.lock();
+    try {
+      requireJournal();
+      published = publish(current -> change.apply(requireLoaded(current)));
+      logged = offerJournal.append(published.version(), changes);
+    } finally {
+      journalOrder.unlock();
+    }
+    if (published.delta().entries() >= compactionThreshold && pendingCompaction.compareAndSet(false, true)) {
+      reloadExecutor.execute(this::compact);
+    }
+    if (offerJournal.snapshotDue()) {
+      scheduleSnapshot();
+    }
+    awaitLogged(logged, published.version());
+    return published.version();
+  }
+
+  private void requireJournal() {
+    if (!offerJournal.writable()) {
+      throw new JournalUnavailableException("Customers journal is unavailable, dataset changes are rejected.");
+    }
+  }
+
+  /**
+   * Waits until the record of given published version is durable. A version whose record failed stays published, it is
+   * served until restart, but it is not recovered.
+   */
+  private void awaitLogged(CompletableFuture<Void> logged, long version) {
+    try {
+      logged.join();
+    } catch (CompletionException e) {
+      throw new JournalUnavailableException(String.format(
+          "Customers journal record of version %d failed, the change is not durable.", version), e.getCause());
+    }
+  }
+
+  /**
+   * Publishes given change of current version, the change is retried on top of a concurrently published version.
+   */
+  private PriceIndexRepo publish(UnaryOperator<PriceIndexRepo> change) {
+    PriceIndexRepo current;
+    PriceIndexRepo updated;
+    do {
+      current = dataset.get();
+      updated = change.apply(current);
+    } while (!dataset.compareAndSet(current, updated));
+    return updated;
+  }
+
+  /**
+   * Merges offer changes into a new price index. Changes published meanwhile are kept as delta of the new index, the
+   * version is kept too, as customers do not change.
+   */
+  private void compact() {
+    pendingCompaction.set(false);
+    PriceIndexRepo source = dataset.get();
+    try {
+      PriceIndex compacted = priceIndexLoader.build(source.toArray());
+      PriceIndexRepo published = publish(current -> current.base() != source.base() ? current
+          : new PriceIndexRepo(compacted, current.delta().subtract(source.delta()), current.version()));
+      log.info("Customers dataset version {} compacted into {} entries.", published.version(), compacted.size());
+    } catch (RuntimeException e) {
+      log.error("Customers dataset compaction failed.", e);
+    }
+  }
+
+  private PriceIndexRepo loaded() {
+    return requireLoaded(dataset.get());
+  }
+
+  private static PriceIndexRepo requireLoaded(PriceIndexRepo current) {
+    if (current == null) {
+      throw new DatasetNotReadyException("Customers dataset is not loaded yet.");
+    }
+    return current;
+  }
+
+  private void scheduleSnapshot() {
+    if (offerJournal != OfferJournal.DISABLED && pendingSnapshot.compareAndSet(false, true)) {
+      reloadExecutor.execute(this::writeSnapshot);
+    }
+  }
+
+  /**
+   * Writes snapshot of the current version, merging its offer changes into the snapshot index.
+   */
+  private void writeSnapshot() {
+    pendingSnapshot.set(false);
+    try {
+      offerJournal.snapshot(() -> {
+        PriceIndexRepo source = dataset.get();
+        PriceIndex index = source.delta().isEmpty() ? source.base() : priceIndexLoader.build(source.toArray());
+        return new Snapshot(index, source.version());
+      });
+    } catch (RuntimeException e) {
+      log.error("Customers snapshot failed, changes are recovered from the log.", e);
+    }
+  }
+
+  private static PriceIndexRepo requireOffer(PriceIndexRepo current, long price) {
+    if (current.countOffers(price) < 1) {
+      throw new CustomerNotFoundException(String.format("Customer with price offer %s not found.",
+          EUR.fromMinorUnits(price)));
+    }
+    return current;
   }
 
-  private int findCustomerPosition(Customer customer) {
-    return Collections.binarySearch(customers, customer, customerComparator);
+  private static long toMinorUnits(Customer customer) {
+    return EUR.toMinorUnits(customer.priceOffer(), RoundingMode.HALF_UP);
   }
 }
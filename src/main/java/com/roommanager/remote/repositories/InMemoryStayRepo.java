@@ -0,0 +1,35 @@
+package com.roommanager.remote.repositories;
+
+import com.roommanager.remote.StaysResourceParser;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Repository;
+
+@Slf4j
+@Repository
+public class InMemoryStayRepo implements StayRepo {
+
+  private final StaysResourceParser staysResourceParser;
+  private final Resource staysResource;
+  private StayIndex index;
+
+  public InMemoryStayRepo(StaysResourceParser staysResourceParser,
+      @Value("${app.stays-resource}") Resource staysResource) {
+    this.staysResourceParser = staysResourceParser;
+    this.staysResource = staysResource;
+  }
+
+  @PostConstruct
+  void postConstruct() {
+    index = staysResourceParser.readStays(staysResource);
+    log.info("Stays index built. Indexed {} entries in {} bytes.", index.size(), index.memoryFootprint());
+  }
+
+  @Override
+  public NightlyCustomers customersFrom(LocalDate firstNight) {
+    return index.customersFrom(firstNight);
+  }
+}
@@ -0,0 +1,15 @@
+package com.roommanager.remote.repositories;
+
+/**
+ * Thrown by writes of a dataset, whose journal failed or was closed, so that changes would not be durable.
+ */
+public class JournalUnavailableException extends RuntimeException {
+
+  public JournalUnavailableException(String message) {
+    super(message);
+  }
+
+  public JournalUnavailableException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,54 @@
+package com.roommanager.remote.repositories;
+
+import com.roommanager.domain.model.CustomersAggregate;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Partition served by a customers repo of this node, each call reads the current dataset version.
+ */
+public final class LocalPartition implements Partition {
+
+  private final CustomerRepo customerRepo;
+
+  public LocalPartition(CustomerRepo customerRepo) {
+    this.customerRepo = customerRepo;
+  }
+
+  @Override
+  public CompletableFuture<Long> version() {
+    return CompletableFuture.completedFuture(customerRepo.version());
+  }
+
+  @Override
+  public CompletableFuture<PartitionSummary> summary(long from, long to) {
+    CustomerRepo customers = customerRepo.snapshot();
+    int above = customers.countByPriceOfferGTE(to);
+    CustomersAggregate range = customers.aggregateByPriceOfferGTEOrderByPriceOfferDesc(from, above, Integer.MAX_VALUE);
+    if (range.count() == 0) {
+      return CompletableFuture.completedFuture(PartitionSummary.EMPTY);
+    }
+    long max = customers.findPriceOffersOrderByPriceOfferDesc(above, 1).sum();
+    long min = customers.findPriceOffersOrderByPriceOfferDesc(above + range.count() - 1, 1).sum();
+    return CompletableFuture.completedFuture(new PartitionSummary(range.count(), range.totalPriceOffer(), min, max));
+  }
+
+  @Override
+  public CompletableFuture<int[]> counts(long[] prices, long to) {
+    CustomerRepo customers = customerRepo.snapshot();
+    int above = customers.countByPriceOfferGTE(to);
+    int[] counts = new int[prices.length];
+    for (int i = 0; i < prices.length; i++) {
+      counts[i] = Math.max(0, customers.countByPriceOfferGTE(prices[i]) - above);
+    }
+    return CompletableFuture.completedFuture(counts);
+  }
+
+  @Override
+  public CompletableFuture<long[]> prices(long from, long to, int limit) {
+    CustomerRepo customers = customerRepo.snapshot();
+    int above = customers.countByPriceOfferGTE(to);
+    int count = Math.max(0, customers.countByPriceOfferGTE(from) - above);
+    return CompletableFuture.completedFuture(
+        customers.findPriceOffersOrderByPriceOfferDesc(above, Math.min(count, limit)).toArray());
+  }
+}
@@ -0,0 +1,135 @@
+package com.roommanager.remote.repositories;
+
+/**
+ * Prices of customers staying at a single night, counted per price slot in a Fenwick tree of counts and totals, so
+ * that a check-in, a check-out, the k-th highest price and the total of top prices all take logarithmic time in
+ * number of distinct prices.
+ */
+final class NightPrices implements SortedPrices {
+
+  private final long[] slotPrices;
+  private final int[] counts;
+  private final long[] sums;
+  private final int highestStep;
+  private int size;
+
+  /**
+   * Prices of given distinct descending slot prices, each counted given times.
+   */
+  NightPrices(long[] slotPrices, int[] slotCounts) {
+    this.slotPrices = slotPrices;
+    this.counts = new int[slotPrices.length + 1];
+    this.sums = new long[slotPrices.length + 1];
+    this.highestStep = Integer.highestOneBit(Math.max(1, slotPrices.length));
+    for (int i = 1; i < counts.length; i++) {
+      counts[i] += slotCounts[i - 1];
+      sums[i] += slotCounts[i - 1] * slotPrices[i - 1];
+      size += slotCounts[i - 1];
+      int parent = i + (i & -i);
+      if (parent < counts.length) {
+        counts[parent] += counts[i];
+        sums[parent] += sums[i];
+      }
+    }
+  }
+
+  /**
+   * Adds given count of prices of given slot, negative count removes them.
+   */
+  void add(int slot, int count) {
+    size += count;
+    long total = count * slotPrices[slot];
+    for (int i = slot + 1; i < counts.length; i += i & -i) {
+      counts[i] += count;
+      sums[i] += total;
+    }
+  }
+
+  /**
+   * Prices counted per slot, sorted descending.
+   */
+  long[] toArray() {
+    long[] prices = new long[size];
+    int rank = 0;
+    int previousCount = 0;
+    for (int slot = 0; slot < slotPrices.length; slot++) {
+      int count = countOfTopSlots(slot + 1);
+      for (int i = previousCount; i < count; i++) {
+        prices[rank++] = slotPrices[slot];
+      }
+      previousCount = count;
+    }
+    return prices;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public long price(int rank) {
+    if (rank < 0 || rank >= size) {
+      throw new IndexOutOfBoundsException(rank);
+    }
+    int slot = 0;
+    int remaining = rank + 1;
+    for (int step = highestStep; step > 0; step >>= 1) {
+      int next = slot + step;
+      if (next < counts.length && counts[next] < remaining) {
+        slot = next;
+        remaining -= counts[next];
+      }
+    }
+    return slotPrices[slot];
+  }
+
+  @Override
+  public int countGreaterOrEqual(long price) {
+    return countOfTopSlots(countGreaterOrEqual(slotPrices, price));
+  }
+
+  @Override
+  public long sumOfTop(int count) {
+    if (count == 0) {
+      return 0;
+    }
+    int slot = 0;
+    int remaining = count;
+    long sum = 0;
+    for (int step = highestStep; step > 0; step >>= 1) {
+      int next = slot + step;
+      if (next < counts.length && counts[next] < remaining) {
+        slot = next;
+        remaining -= counts[next];
+        sum += sums[next];
+      }
+    }
+    return sum + remaining * slotPrices[slot];
+  }
+
+  /**
+   * Number of given distinct descending prices greater than or equal to given one.
+   */
+  static int countGreaterOrEqual(long[] slotPrices, long price) {
+    int low = 0;
+    int high = slotPrices.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (slotPrices[middle] >= price) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private int countOfTopSlots(int slots) {
+    int count = 0;
+    for (int i = slots; i > 0; i -= i & -i) {
+      count += counts[i];
+    }
+    return count;
+  }
+}
@@ -0,0 +1,115 @@
+package com.roommanager.remote.repositories;
+
+import static com.roommanager.domain.model.Currency.EUR;
+
+import com.roommanager.domain.model.Customer;
+import com.roommanager.domain.model.CustomersAggregate;
+import com.roommanager.remote.repositories.PriceIndexRepo.CustomersView;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Customers staying at a single night of a {@link StayIndex}, moved night by night by applying check-ins and
+ * check-outs of the next night only. The repo is mutable and not thread safe, lists returned by it reflect the current
+ * night, {@link #snapshot()} copies customers of the current night.
+ */
+public final class NightlyCustomers implements CustomerRepo {
+
+  private final StayIndex index;
+  private final NightPrices prices;
+  private int night;
+  private int checkedIn;
+  private int checkedOut;
+
+  NightlyCustomers(StayIndex index, NightPrices prices, int night, int checkedIn, int checkedOut) {
+    this.index = index;
+    this.prices = prices;
+    this.night = night;
+    this.checkedIn = checkedIn;
+    this.checkedOut = checkedOut;
+  }
+
+  public LocalDate night() {
+    return LocalDate.ofEpochDay(night);
+  }
+
+  /**
+   * Moves to the following night.
+   */
+  public void nextNight() {
+    night++;
+    for (; checkedIn < index.size() && index.checkInNight(checkedIn) <= night; checkedIn++) {
+      prices.add(index.checkInSlot(checkedIn), 1);
+    }
+    for (; checkedOut < index.size() && index.checkOutNight(checkedOut) <= night; checkedOut++) {
+      prices.add(index.checkOutSlot(checkedOut), -1);
+    }
+  }
+
+  /**
+   * Customers change with every night, so the night, as epoch day, is the version.
+   */
+  @Override
+  public long version() {
+    return night;
+  }
+
+  @Override
+  public CustomerRepo snapshot() {
+    return new PriceIndexRepo(PriceIndex.of(prices.toArray(), false), night);
+  }
+
+  @Override
+  public List<Customer> findAll() {
+    return new CustomersView(prices, 0, prices.size());
+  }
+
+  @Override
+  public List<Customer> findByPriceOfferGTEOrderByPriceOfferDesc(BigDecimal price, int limit) {
+    int count = prices.countGreaterOrEqual(toMinorUnits(price));
+    return new CustomersView(prices, 0, Math.min(count, limit));
+  }
+
+  @Override
+  public List<Customer> findByPriceOfferLTOrderByPriceOfferDesc(BigDecimal price, int limit) {
+    int start = prices.countGreaterOrEqual(toMinorUnits(price));
+    return new CustomersView(prices, start, (int) Math.min(prices.size(), (long) start + limit));
+  }
+
+  @Override
+  public CustomersAggregate aggregateByPriceOfferGTEOrderByPriceOfferDesc(long price, int offset, int limit) {
+    return aggregateRange(0, prices.countGreaterOrEqual(price), offset, limit);
+  }
+
+  @Override
+  public CustomersAggregate aggregateByPriceOfferLTOrderByPriceOfferDesc(long price, int offset, int limit) {
+    return aggregateRange(prices.countGreaterOrEqual(price), prices.size(), offset, limit);
+  }
+
+  @Override
+  public int countByPriceOfferGTE(long price) {
+    return prices.countGreaterOrEqual(price);
+  }
+
+  @Override
+  public long sumByPriceOfferOrderByPriceOfferDesc(int offset, int limit) {
+    int start = Math.min(prices.size(), offset);
+    int end = (int) Math.min(prices.size(), (long) start + limit);
+    return start == end ? 0 : prices.sum(start, end);
+  }
+
+  private CustomersAggregate aggregateRange(int from, int to, int offset, int limit) {
+    int start = (int) Math.min(to, (long) from + offset);
+    int end = (int) Math.min(to, (long) start + limit);
+    if (start == end) {
+      return CustomersAggregate.EMPTY;
+    }
+    return new CustomersAggregate(end - start, prices.sum(start, end));
+  }
+
+  private static long toMinorUnits(BigDecimal price) {
+    return EUR.toMinorUnits(price, RoundingMode.CEILING);
+  }
+}
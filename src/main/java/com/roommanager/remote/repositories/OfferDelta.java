@@ -0,0 +1,237 @@
+package com.roommanager.remote.repositories;
+
+/**
+ * Immutable multiset of price changes applied on top of a {@link PriceIndex}: a positive count is a number of inserted
+ * offers for the price, a negative one a number of removed offers. Backed by a persistent treap keyed by price, where
+ * every node keeps count and total of its subtree, so each change copies only a path of {@code O(log n)} nodes and
+ * previous deltas stay valid for their readers.
+ */
+final class OfferDelta {
+
+  static final OfferDelta EMPTY = new OfferDelta(null);
+
+  private final Node root;
+
+  private OfferDelta(Node root) {
+    this.root = root;
+  }
+
+  /**
+   * Delta with given count added to the count of given price.
+   */
+  OfferDelta add(long price, int count) {
+    Node[] lower = split(root, price);
+    Node[] upper = split(lower[1], price + 1);
+    int newCount = (upper[0] == null ? 0 : upper[0].count) + count;
+    Node middle = newCount == 0 ? null : new Node(price, newCount, null, null);
+    return new OfferDelta(merge(merge(lower[0], middle), upper[1]));
+  }
+
+  /**
+   * Delta with the changes of given delta reverted.
+   */
+  OfferDelta subtract(OfferDelta other) {
+    OfferDelta result = this;
+    for (Node node : other.nodesDescending()) {
+      result = result.add(node.price, -node.count);
+    }
+    return result;
+  }
+
+  boolean isEmpty() {
+    return root == null;
+  }
+
+  /**
+   * Net number of offers changed by the delta.
+   */
+  int size() {
+    return root == null ? 0 : root.subtreeCount;
+  }
+
+  /**
+   * Number of distinct prices changed by the delta.
+   */
+  int entries() {
+    return root == null ? 0 : root.subtreeEntries;
+  }
+
+  /**
+   * Net change of the number of prices greater than or equal to given one.
+   */
+  int countGreaterOrEqual(long price) {
+    int count = 0;
+    Node node = root;
+    while (node != null) {
+      if (node.price >= price) {
+        count += node.count + subtreeCount(node.right);
+        node = node.left;
+      } else {
+        node = node.right;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Net change of the total of prices greater than or equal to given one.
+   */
+  long sumGreaterOrEqual(long price) {
+    long sum = 0;
+    Node node = root;
+    while (node != null) {
+      if (node.price >= price) {
+        sum += node.count * node.price + subtreeSum(node.right);
+        node = node.left;
+      } else {
+        node = node.right;
+      }
+    }
+    return sum;
+  }
+
+  long minPrice() {
+    Node node = root;
+    while (node.left != null) {
+      node = node.left;
+    }
+    return node.price;
+  }
+
+  long maxPrice() {
+    Node node = root;
+    while (node.right != null) {
+      node = node.right;
+    }
+    return node.price;
+  }
+
+  /**
+   * Applies delta to given prices, producing all resulting prices sorted descending.
+   */
+  long[] applyTo(SortedPrices base) {
+    Node[] nodes = nodesDescending();
+    long[] result = new long[base.size() + size()];
+    int position = 0;
+    int node = 0;
+    int skipped = 0;
+    for (int rank = 0; rank < base.size(); rank++) {
+      long price = base.price(rank);
+      for (; node < nodes.length && nodes[node].price >= price; node++) {
+        if (nodes[node].price == price && nodes[node].count < 0) {
+          break;
+        }
+        for (int copy = 0; copy < nodes[node].count; copy++) {
+          result[position++] = nodes[node].price;
+        }
+      }
+      if (node < nodes.length && nodes[node].price == price && nodes[node].count < 0) {
+        if (++skipped == -nodes[node].count) {
+          node++;
+          skipped = 0;
+        }
+        continue;
+      }
+      result[position++] = price;
+    }
+    for (; node < nodes.length; node++) {
+      for (int copy = 0; copy < nodes[node].count; copy++) {
+        result[position++] = nodes[node].price;
+      }
+    }
+    return result;
+  }
+
+  private Node[] nodesDescending() {
+    Node[] nodes = new Node[entries()];
+    collectDescending(root, nodes, 0);
+    return nodes;
+  }
+
+  private static int collectDescending(Node node, Node[] nodes, int position) {
+    if (node == null) {
+      return position;
+    }
+    position = collectDescending(node.right, nodes, position);
+    nodes[position++] = node;
+    return collectDescending(node.left, nodes, position);
+  }
+
+  /**
+   * Splits tree into nodes with price less than given one and the rest.
+   */
+  private static Node[] split(Node node, long price) {
+    if (node == null) {
+      return new Node[2];
+    }
+    if (node.price < price) {
+      Node[] right = split(node.right, price);
+      return new Node[]{node.withChildren(node.left, right[0]), right[1]};
+    }
+    Node[] left = split(node.left, price);
+    return new Node[]{left[0], node.withChildren(left[1], node.right)};
+  }
+
+  /**
+   * Merges trees, where every price of the left one is less than any price of the right one.
+   */
+  private static Node merge(Node left, Node right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    if (priority(left.price) > priority(right.price)) {
+      return left.withChildren(left.left, merge(left.right, right));
+    }
+    return right.withChildren(merge(left, right.left), right.right);
+  }
+
+  /**
+   * Treap priority derived from the price, so that tree shape does not depend on changes order.
+   */
+  private static long priority(long price) {
+    long z = price + 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  private static int subtreeCount(Node node) {
+    return node == null ? 0 : node.subtreeCount;
+  }
+
+  private static long subtreeSum(Node node) {
+    return node == null ? 0 : node.subtreeSum;
+  }
+
+  private static int subtreeEntries(Node node) {
+    return node == null ? 0 : node.subtreeEntries;
+  }
+
+  private static final class Node {
+
+    private final long price;
+    private final int count;
+    private final Node left;
+    private final Node right;
+    private final int subtreeCount;
+    private final long subtreeSum;
+    private final int subtreeEntries;
+
+    private Node(long price, int count, Node left, Node right) {
+      this.price = price;
+      this.count = count;
+      this.left = left;
+      this.right = right;
+      this.subtreeCount = count + subtreeCount(left) + subtreeCount(right);
+      this.subtreeSum = count * price + subtreeSum(left) + subtreeSum(right);
+      this.subtreeEntries = 1 + subtreeEntries(left) + subtreeEntries(right);
+    }
+
+    private Node withChildren(Node left, Node right) {
+      return new Node(price, count, left, right);
+    }
+  }
+}
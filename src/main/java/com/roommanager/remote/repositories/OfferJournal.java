@@ -0,0 +1,109 @@
+package com.roommanager.remote.repositories;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Durable record of a customers dataset: snapshots of its price index, along with a log of offer changes and reloads
+ * published since the latest snapshot. Changes are logged after they are published, so a recovered dataset holds each
+ * change acknowledged to a writer, and possibly later ones which were not.
+ */
+public interface OfferJournal extends AutoCloseable {
+
+  OfferJournal DISABLED = new OfferJournal() {
+    @Override
+    public Optional<Recovery> recover() {
+      return Optional.empty();
+    }
+
+    @Override
+    public CompletableFuture<Void> append(long version, OfferChange... changes) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> reset(long version) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public boolean writable() {
+      return true;
+    }
+
+    @Override
+    public boolean snapshotDue() {
+      return false;
+    }
+
+    @Override
+    public void snapshot(SnapshotSource source) {
+    }
+
+    @Override
+    public void close() {
+    }
+  };
+
+  /**
+   * Dataset as of the latest journaled version, empty when nothing has been journaled yet.
+   */
+  Optional<Recovery> recover();
+
+  /**
+   * Logs offer changes published as given version, returned future completes once they are durable. Records are
+   * written in the order they are appended, so callers append them in version order.
+   */
+  CompletableFuture<Void> append(long version, OfferChange... changes);
+
+  /**
+   * Logs the dataset was reloaded from its source as given version, replacing all changes logged before.
+   */
+  CompletableFuture<Void> reset(long version);
+
+  /**
+   * Whether records are accepted, a journal which failed to write a record or was closed rejects all later ones.
+   */
+  boolean writable();
+
+  /**
+   * Whether enough changes were logged since the latest snapshot to take a new one.
+   */
+  boolean snapshotDue();
+
+  /**
+   * Writes a snapshot of the dataset given by source, which is asked for it once changes logged from then on are kept
+   * apart from the ones the snapshot replaces.
+   */
+  void snapshot(SnapshotSource source);
+
+  @Override
+  void close();
+
+  record OfferChange(long price, int count) {
+
+  }
+
+  /**
+   * Recovered dataset: price index of given base version, read from a snapshot, with the changes logged since applied
+   * as given version. Snapshot is {@code null}, when the dataset was reloaded after it was taken, then the base is loaded
+   * from the clients resource again.
+   */
+  record Recovery(PriceIndex snapshot, long baseVersion, List<OfferChange> changes, long version) {
+
+  }
+
+  @FunctionalInterface
+  interface SnapshotSource {
+
+    /**
+     * Price index of the current dataset version, along with that version.
+     */
+    Snapshot get();
+  }
+
+  record Snapshot(PriceIndex index, long version) {
+
+  }
+}
@@ -0,0 +1,19 @@
+package com.roommanager.remote.repositories;
+
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OfferJournalConfiguration {
+
+  /**
+   * Journal is switched off, unless {@code app.customers.journal.dir} is set.
+   */
+  @Bean
+  public OfferJournal offerJournal(@Value("${app.customers.journal.dir:}") String directory,
+      @Value("${app.customers.journal.snapshot-every:100000}") int snapshotEvery) {
+    return directory.isBlank() ? OfferJournal.DISABLED : new FileOfferJournal(Path.of(directory), snapshotEvery);
+  }
+}
@@ -0,0 +1,30 @@
+package com.roommanager.remote.repositories;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Partition of a customers dataset, queried by {@link PartitionedCustomerRepo}. Prices are expressed in currency minor
+ * units and ranges of prices as {@code [from, to)}. Calls return futures, so that all partitions are queried at once.
+ */
+public interface Partition {
+
+  /**
+   * Version of the dataset served by the partition.
+   */
+  CompletableFuture<Long> version();
+
+  /**
+   * Count, total, lowest and highest price offer of customers with price offer in given range.
+   */
+  CompletableFuture<PartitionSummary> summary(long from, long to);
+
+  /**
+   * Numbers of customers with price offer in range {@code [price, to)}, for each of given prices.
+   */
+  CompletableFuture<int[]> counts(long[] prices, long to);
+
+  /**
+   * At most limit highest price offers in given range, ordered descending.
+   */
+  CompletableFuture<long[]> prices(long from, long to, int limit);
+}
@@ -0,0 +1,26 @@
+package com.roommanager.remote.repositories;
+
+import java.util.List;
+
+/**
+ * Count and total price offer of customers in a range of prices, along with the lowest and highest price offer among
+ * them, which are {@code 0} when there are none. Prices are expressed in currency minor units.
+ */
+public record PartitionSummary(int count, long totalPriceOffer, long minPriceOffer, long maxPriceOffer) {
+
+  public static final PartitionSummary EMPTY = new PartitionSummary(0, 0, 0, 0);
+
+  public static PartitionSummary merge(List<PartitionSummary> summaries) {
+    PartitionSummary merged = EMPTY;
+    for (PartitionSummary summary : summaries) {
+      if (summary.count() == 0) {
+        continue;
+      }
+      merged = merged.count() == 0 ? summary : new PartitionSummary(merged.count() + summary.count(),
+          merged.totalPriceOffer() + summary.totalPriceOffer(),
+          Math.min(merged.minPriceOffer(), summary.minPriceOffer()),
+          Math.max(merged.maxPriceOffer(), summary.maxPriceOffer()));
+    }
+    return merged;
+  }
+}
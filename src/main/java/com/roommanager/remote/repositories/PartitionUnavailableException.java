@@ -0,0 +1,16 @@
+package com.roommanager.remote.repositories;
+
+/**
+ * Thrown by lookups of a coordinator, when a partition node does not answer in time or fails to answer, e.g. while it
+ * is still loading its dataset.
+ */
+public class PartitionUnavailableException extends RuntimeException {
+
+  public PartitionUnavailableException(String message) {
+    super(message);
+  }
+
+  public PartitionUnavailableException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,283 @@
+package com.roommanager.remote.repositories;
+
+import static com.roommanager.domain.model.Currency.EUR;
+
+import com.roommanager.domain.model.Customer;
+import com.roommanager.domain.model.CustomersAggregate;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+/**
+ * Coordinator over a customers dataset split across partitions, answering each lookup by querying all partitions at
+ * once and merging their aggregates. Top {@code k} customers of a price range are totalled from the {@code k}-th
+ * highest price: customers above it are aggregated by the partitions, the rest is paying that price. The price is
+ * selected by counting customers at {@link #PIVOTS} pivot prices per round, narrowing the range between the lowest and
+ * highest price offer each time. Partitions only ship counts, totals and at most the requested number of prices.
+ * <p>
+ * Partitions are read at their current dataset versions, so the snapshot is this repo itself and lookups are not
+ * isolated from changes published meanwhile. Its version is the sum of partition versions, which repeats once a
+ * partition node is restarted, so it must not key cached results. All customers are listed only up to
+ * {@link #MAX_LISTED} of them.
+ * <p>
+ * A partition failing to answer fails the lookup with {@link PartitionUnavailableException}.
+ * <p>
+ * Offers are changed and datasets reloaded on the partition nodes, the coordinator rejects both with
+ * {@link ReadOnlyDatasetException}.
+ */
+public class PartitionedCustomerRepo implements CustomerRepo, ReloadableRepo, WritableCustomerRepo {
+
+  static final int PIVOTS = 63;
+  static final int PRICES_ATTEMPTS = 3;
+  static final int MAX_LISTED = 1 << 20;
+  private final List<Partition> partitions;
+  private final int maxListed;
+
+  public PartitionedCustomerRepo(List<Partition> partitions) {
+    this(partitions, MAX_LISTED);
+  }
+
+  PartitionedCustomerRepo(List<Partition> partitions, int maxListed) {
+    this.partitions = List.copyOf(partitions);
+    this.maxListed = maxListed;
+  }
+
+  @Override
+  public long version() {
+    return gather(Partition::version).stream().mapToLong(Long::longValue).sum();
+  }
+
+  @Override
+  public CustomerRepo snapshot() {
+    return this;
+  }
+
+  @Override
+  public CompletableFuture<Long> reload() {
+    throw readOnly();
+  }
+
+  @Override
+  public long insert(Customer customer) {
+    throw readOnly();
+  }
+
+  @Override
+  public long remove(Customer customer) {
+    throw readOnly();
+  }
+
+  @Override
+  public long update(Customer customer, Customer updatedCustomer) {
+    throw readOnly();
+  }
+
+  @Override
+  public List<Customer> findAll() {
+    int count = countByPriceOfferGTE(Long.MIN_VALUE);
+    if (count > maxListed) {
+      throw new IllegalStateException(
+          String.format("Partitioned customers [%d] are more than [%d] listed at once", count, maxListed));
+    }
+    return customers(prices(Long.MIN_VALUE, Long.MAX_VALUE, 0, count));
+  }
+
+  @Override
+  public List<Customer> findByPriceOfferGTEOrderByPriceOfferDesc(BigDecimal price, int limit) {
+    return customers(prices(toMinorUnits(price), Long.MAX_VALUE, 0, limit));
+  }
+
+  @Override
+  public List<Customer> findByPriceOfferLTOrderByPriceOfferDesc(BigDecimal price, int limit) {
+    return customers(prices(Long.MIN_VALUE, toMinorUnits(price), 0, limit));
+  }
+
+  @Override
+  public CustomersAggregate aggregateByPriceOfferGTEOrderByPriceOfferDesc(long price, int offset, int limit) {
+    return aggregate(price, Long.MAX_VALUE, offset, limit);
+  }
+
+  @Override
+  public CustomersAggregate aggregateByPriceOfferLTOrderByPriceOfferDesc(long price, int offset, int limit) {
+    return aggregate(Long.MIN_VALUE, price, offset, limit);
+  }
+
+  @Override
+  public LongStream findPriceOffersOrderByPriceOfferDesc(int offset, int limit) {
+    return LongStream.of(prices(Long.MIN_VALUE, Long.MAX_VALUE, offset, limit));
+  }
+
+  @Override
+  public int countByPriceOfferGTE(long price) {
+    return summary(price, Long.MAX_VALUE).count();
+  }
+
+  private CustomersAggregate aggregate(long from, long to, int offset, int limit) {
+    PartitionSummary range = summary(from, to);
+    int start = Math.min(range.count(), offset);
+    int end = (int) Math.min(range.count(), (long) start + limit);
+    if (start == end) {
+      return CustomersAggregate.EMPTY;
+    }
+    CustomersAggregate top = top(from, to, end, range);
+    CustomersAggregate skipped = top(from, to, start, range);
+    return new CustomersAggregate(top.count() - skipped.count(), top.totalPriceOffer() - skipped.totalPriceOffer());
+  }
+
+  /**
+   * Count and total of given number of the highest paying customers of the range.
+   */
+  private CustomersAggregate top(long from, long to, int k, PartitionSummary range) {
+    if (k == 0) {
+      return CustomersAggregate.EMPTY;
+    }
+    if (k == range.count()) {
+      return new CustomersAggregate(range.count(), range.totalPriceOffer());
+    }
+    long price = priceAtRank(to, k - 1, range);
+    PartitionSummary above = summary(price + 1, to);
+    return new CustomersAggregate(k, above.totalPriceOffer() + (k - above.count()) * price);
+  }
+
+  /**
+   * Prices of customers ranked {@code [offset, offset + limit)} in the range. Partitions are asked for their prices
+   * between the highest and lowest of them, only as many as may precede the last one. Partitions changed between
+   * counting and shipping prices are asked again, the last attempt returns as many prices as are shipped.
+   */
+  private long[] prices(long from, long to, int offset, int limit) {
+    for (int attempt = 1; attempt < PRICES_ATTEMPTS; attempt++) {
+      long[] window = prices(from, to, offset, limit, false);
+      if (window != null) {
+        return window;
+      }
+    }
+    return prices(from, to, offset, limit, true);
+  }
+
+  /**
+   * Single attempt of {@link #prices(long, long, int, int)}, null if the prices shipped do not match the counts, unless
+   * the window is clamped to them.
+   */
+  private long[] prices(long from, long to, int offset, int limit, boolean clamp) {
+    PartitionSummary range = summary(from, to);
+    int start = Math.min(range.count(), offset);
+    int end = (int) Math.min(range.count(), (long) start + limit);
+    if (start == end) {
+      return new long[0];
+    }
+    long high = priceAtRank(to, start, range);
+    long low = priceAtRank(to, end - 1, range);
+    int skip = start - count(high + 1, to);
+    if (skip < 0 && !clamp) {
+      return null;
+    }
+    int skipped = Math.max(0, skip);
+    int take = skipped + end - start;
+    long[] prices = gather(partition -> partition.prices(low, high + 1, take)).stream()
+        .flatMapToLong(LongStream::of)
+        .toArray();
+    if (prices.length < take && !clamp) {
+      return null;
+    }
+    Arrays.sort(prices);
+    long[] window = new long[Math.max(0, Math.min(end - start, prices.length - skipped))];
+    for (int i = 0; i < window.length; i++) {
+      window[i] = prices[prices.length - 1 - skipped - i];
+    }
+    return window;
+  }
+
+  /**
+   * Price offer of the customer at given rank of the range ordered by price offer descending. The price lies in
+   * {@code [lower, upper]}, more than rank customers pay at least lower, at most rank pay more than upper.
+   */
+  private long priceAtRank(long to, int rank, PartitionSummary range) {
+    long lower = range.minPriceOffer();
+    long upper = range.maxPriceOffer();
+    while (lower < upper) {
+      long[] pivots = pivots(lower, upper);
+      int[] counts = counts(pivots, to);
+      int i = pivots.length - 1;
+      while (i >= 0 && counts[i] <= rank) {
+        i--;
+      }
+      if (i < 0) {
+        upper = pivots[0] - 1;
+      } else {
+        lower = pivots[i];
+        if (i + 1 < pivots.length) {
+          upper = pivots[i + 1] - 1;
+        }
+      }
+    }
+    return lower;
+  }
+
+  /**
+   * Ascending pivot prices in {@code (lower, upper]}, evenly spread.
+   */
+  private static long[] pivots(long lower, long upper) {
+    long width = upper - lower;
+    if (width <= PIVOTS) {
+      return LongStream.rangeClosed(lower + 1, upper).toArray();
+    }
+    long step = width / (PIVOTS + 1);
+    return LongStream.rangeClosed(1, PIVOTS).map(i -> lower + i * step).toArray();
+  }
+
+  private PartitionSummary summary(long from, long to) {
+    return PartitionSummary.merge(gather(partition -> partition.summary(from, to)));
+  }
+
+  private int count(long from, long to) {
+    return counts(new long[]{from}, to)[0];
+  }
+
+  private int[] counts(long[] prices, long to) {
+    int[] counts = new int[prices.length];
+    for (int[] partitionCounts : gather(partition -> partition.counts(prices, to))) {
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] += partitionCounts[i];
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * Results of given call of every partition, a failure of any of them is thrown as
+   * {@link PartitionUnavailableException}.
+   */
+  private <T> List<T> gather(Function<Partition, CompletableFuture<T>> call) {
+    List<CompletableFuture<T>> futures = partitions.stream().map(call).toList();
+    List<T> results = new ArrayList<>(futures.size());
+    for (int i = 0; i < futures.size(); i++) {
+      try {
+        results.add(futures.get(i).join());
+      } catch (CompletionException e) {
+        throw e.getCause() instanceof PartitionUnavailableException unavailable ? unavailable
+            : new PartitionUnavailableException(String.format("Partition [%s] is unavailable", partitions.get(i)),
+                e.getCause());
+      }
+    }
+    return results;
+  }
+
+  private static ReadOnlyDatasetException readOnly() {
+    return new ReadOnlyDatasetException(
+        "Customers dataset is read from partitions, offers are changed and reloaded on the partition nodes.");
+  }
+
+  private static List<Customer> customers(long[] prices) {
+    return LongStream.of(prices).mapToObj(price -> new Customer(EUR.fromMinorUnits(price))).toList();
+  }
+
+  private static long toMinorUnits(BigDecimal price) {
+    return EUR.toMinorUnits(price, RoundingMode.CEILING);
+  }
+}
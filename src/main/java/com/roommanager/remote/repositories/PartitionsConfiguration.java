@@ -0,0 +1,58 @@
+package com.roommanager.remote.repositories;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PartitionsConfiguration {
+
+  /**
+   * Condition of a coordinator node, which reads customers from partition nodes.
+   */
+  public static final String COORDINATOR = "!'${app.partitions.nodes:}'.isBlank()";
+
+  /**
+   * Condition of a node serving its own clients dataset.
+   */
+  public static final String LOCAL_DATASET = "'${app.partitions.nodes:}'.isBlank()";
+
+  /**
+   * Customers are looked up in partitions served by the nodes listed in {@code app.partitions.nodes}, this node then
+   * loads no clients dataset of its own and rejects offer changes and reloads.
+   */
+  @Bean
+  @ConditionalOnExpression(COORDINATOR)
+  public PartitionedCustomerRepo partitionedCustomerRepo(@Value("${app.partitions.nodes}") String[] nodes,
+      @Value("${app.partitions.timeout:5s}") Duration timeout, ObjectMapper objectMapper) {
+    HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(timeout)
+        .build();
+    return new PartitionedCustomerRepo(Arrays.stream(nodes)
+        .map(node -> (Partition) new HttpPartition(URI.create(node.trim()), httpClient, objectMapper, timeout))
+        .toList());
+  }
+
+  /**
+   * Coordinators wait for partitions on the calling thread, which must not be an event loop of the reactive stack.
+   */
+  @Configuration
+  @ConditionalOnExpression(COORDINATOR)
+  @ConditionalOnWebApplication(type = Type.REACTIVE)
+  static class ReactiveCoordinatorConfiguration {
+
+    ReactiveCoordinatorConfiguration() {
+      throw new IllegalStateException(
+          "Partitions are looked up with blocking calls, app.partitions.nodes requires the servlet stack.");
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package com.roommanager.remote.repositories;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable index of price offers in currency minor units, sorted descending. Besides prices, only cumulative sums of
+ * every {@link #SUM_BLOCK_SIZE} prices are kept, so index takes about 8 bytes per price, while a sum of top ranked
+ * prices is resolved with a single block lookup plus at most {@code SUM_BLOCK_SIZE - 1} additions.
+ */
+public final class PriceIndex implements SortedPrices {
+
+  static final int SUM_BLOCK_SIZE = 64;
+  /**
+   * Arrays from this size on are reversed and summed on the common fork-join pool, by blocks of this size.
+   */
+  private static final int PARALLEL_BLOCK_SIZE = 1 << 16;
+
+  private final LongBuffer prices;
+  /**
+   * i-th element holds the total of first {@code i * SUM_BLOCK_SIZE} prices.
+   */
+  private final LongBuffer blockSums;
+  private final int size;
+
+  private PriceIndex(LongBuffer prices, LongBuffer blockSums) {
+    if (blockSums.capacity() != prices.capacity() / SUM_BLOCK_SIZE + 1) {
+      throw new IllegalArgumentException(String.format("%d block sums expected for %d prices, but %d provided.",
+          prices.capacity() / SUM_BLOCK_SIZE + 1, prices.capacity(), blockSums.capacity()));
+    }
+    this.prices = prices;
+    this.blockSums = blockSums;
+    this.size = prices.capacity();
+  }
+
+  /**
+   * Builds index from given prices, the array is sorted in place and kept by the index unless {@code offHeap} is
+   * set, in which case prices are copied into a direct buffer.
+   */
+  public static PriceIndex of(long[] prices, boolean offHeap) {
+    sortDescending(prices);
+    return ofSorted(prices, offHeap);
+  }
+
+  /**
+   * Sorts given prices descending in place, large arrays are sorted concurrently.
+   */
+  static void sortDescending(long[] prices) {
+    Arrays.parallelSort(prices);
+    reverse(prices);
+  }
+
+  /**
+   * Builds index from given prices sorted descending, the same way as {@link #of(long[], boolean)}.
+   */
+  static PriceIndex ofSorted(long[] prices, boolean offHeap) {
+    LongBuffer pricesBuffer = offHeap ? allocateDirect(prices.length).put(prices).clear() : LongBuffer.wrap(prices);
+    long[] blockSums = buildBlockSums(prices);
+    LongBuffer blockSumsBuffer =
+        offHeap ? allocateDirect(blockSums.length).put(blockSums).clear() : LongBuffer.wrap(blockSums);
+    return new PriceIndex(pricesBuffer, blockSumsBuffer);
+  }
+
+  /**
+   * Creates index over already sorted prices and their block sums, as built by {@link #of(long[], boolean)}.
+   */
+  static PriceIndex wrap(LongBuffer prices, LongBuffer blockSums) {
+    return new PriceIndex(prices, blockSums);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public long price(int rank) {
+    return prices.get(rank);
+  }
+
+  @Override
+  public int countGreaterOrEqual(long price) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (prices.get(middle) >= price) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  @Override
+  public long sumOfTop(int count) {
+    int block = count / SUM_BLOCK_SIZE;
+    long sum = blockSums.get(block);
+    for (int rank = block * SUM_BLOCK_SIZE; rank < count; rank++) {
+      sum += prices.get(rank);
+    }
+    return sum;
+  }
+
+  LongBuffer prices() {
+    return prices.duplicate();
+  }
+
+  LongBuffer blockSums() {
+    return blockSums.duplicate();
+  }
+
+  public long memoryFootprint() {
+    return (long) (prices.capacity() + blockSums.capacity()) * Long.BYTES;
+  }
+
+  /**
+   * Sums of each block are computed independently, then accumulated by a prefix pass.
+   */
+  private static long[] buildBlockSums(long[] prices) {
+    long[] blockSums = new long[prices.length / SUM_BLOCK_SIZE + 1];
+    forEachBlock(blockSums.length - 1, SUM_BLOCK_SIZE, block -> {
+      long sum = 0;
+      for (int rank = block * SUM_BLOCK_SIZE; rank < (block + 1) * SUM_BLOCK_SIZE; rank++) {
+        sum += prices[rank];
+      }
+      blockSums[block + 1] = sum;
+    });
+    Arrays.parallelPrefix(blockSums, Long::sum);
+    return blockSums;
+  }
+
+  private static LongBuffer allocateDirect(int capacity) {
+    return ByteBuffer.allocateDirect(Math.multiplyExact(capacity, Long.BYTES)).order(ByteOrder.nativeOrder()).asLongBuffer();
+  }
+
+  private static void reverse(long[] values) {
+    int half = values.length / 2;
+    forEachBlock((half + PARALLEL_BLOCK_SIZE - 1) / PARALLEL_BLOCK_SIZE, PARALLEL_BLOCK_SIZE, block -> {
+      for (int i = block * PARALLEL_BLOCK_SIZE, end = Math.min(i + PARALLEL_BLOCK_SIZE, half); i < end; i++) {
+        int j = values.length - 1 - i;
+        long value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+      }
+    });
+  }
+
+  /**
+   * Runs given action for each of given blocks of elements, concurrently once they cover
+   * {@link #PARALLEL_BLOCK_SIZE} elements.
+   */
+  private static void forEachBlock(int blocks, int blockSize, IntConsumer action) {
+    IntStream range = IntStream.range(0, blocks);
+    ((long) blocks * blockSize >= PARALLEL_BLOCK_SIZE ? range.parallel() : range).forEach(action);
+  }
+}
@@ -0,0 +1,185 @@
+package com.roommanager.remote.repositories;
+
+import static com.roommanager.domain.model.Currency.EUR;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Binary snapshot of a {@link PriceIndex}. Layout, little endian:
+ * <pre>
+ * int  magic, "RMPI"
+ * int  format version
+ * int  currency fraction digits
+ * int  sum block size
+ * long prices count
+ * long prices total
+ * long[count] prices, sorted descending
+ * long[count / block size + 1] block sums
+ * </pre>
+ * Snapshot files are mapped into memory, so the index is served straight from the page cache, which is shared by
+ * every process mapping the same file.
+ */
+final class PriceIndexFile {
+
+  static final int HEADER_SIZE = 32;
+  private static final int MAGIC = 0x49504D52;
+  private static final int FORMAT_VERSION = 1;
+  private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+  private static final int COPY_CHUNK_SIZE = 1 << 16;
+
+  private PriceIndexFile() {
+  }
+
+  /**
+   * Checks whether given stream starts with snapshot magic, stream is consumed.
+   */
+  static boolean isSnapshot(InputStream inputStream) throws IOException {
+    byte[] magic = inputStream.readNBytes(Integer.BYTES);
+    return magic.length == Integer.BYTES && ByteBuffer.wrap(magic).order(BYTE_ORDER).getInt() == MAGIC;
+  }
+
+  /**
+   * Writes index into a temporary sibling file, which replaces given path once completely written.
+   */
+  static void write(PriceIndex index, Path path) throws IOException {
+    Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temporaryPath, CREATE, TRUNCATE_EXISTING, WRITE)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER)
+          .putInt(MAGIC)
+          .putInt(FORMAT_VERSION)
+          .putInt(EUR.fractionDigits())
+          .putInt(PriceIndex.SUM_BLOCK_SIZE)
+          .putLong(index.size())
+          .putLong(index.sumOfTop(index.size()))
+          .flip();
+      writeFully(channel, header);
+      writeLongs(channel, index.prices());
+      writeLongs(channel, index.blockSums());
+      channel.force(true);
+    }
+    Files.move(temporaryPath, path, REPLACE_EXISTING, ATOMIC_MOVE);
+  }
+
+  /**
+   * Maps snapshot file into memory, mapping stays valid until the index is garbage collected.
+   */
+  static PriceIndex map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, READ)) {
+      int size = readHeader(channel.map(MapMode.READ_ONLY, 0, Math.min(HEADER_SIZE, channel.size())));
+      long pricesLength = (long) size * Long.BYTES;
+      long blockSumsLength = (long) blockSumsCount(size) * Long.BYTES;
+      if (channel.size() != HEADER_SIZE + pricesLength + blockSumsLength) {
+        throw new IOException(String.format("Snapshot size %d does not match %d prices.", channel.size(), size));
+      }
+      LongBuffer prices = channel.map(MapMode.READ_ONLY, HEADER_SIZE, pricesLength)
+          .order(BYTE_ORDER).asLongBuffer();
+      LongBuffer blockSums = channel.map(MapMode.READ_ONLY, HEADER_SIZE + pricesLength, blockSumsLength)
+          .order(BYTE_ORDER).asLongBuffer();
+      return PriceIndex.wrap(prices, blockSums);
+    }
+  }
+
+  /**
+   * Reads snapshot into heap, for snapshots which are not available as files, e.g. packed into an archive.
+   */
+  static PriceIndex read(InputStream inputStream) throws IOException {
+    ReadableByteChannel channel = Channels.newChannel(inputStream);
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    readFully(channel, header);
+    int size = readHeader(header.flip());
+    long[] prices = readLongs(channel, size);
+    long[] blockSums = readLongs(channel, blockSumsCount(size));
+    if (inputStream.read() != -1) {
+      throw new IOException(String.format("Snapshot holds more data than %d prices.", size));
+    }
+    return PriceIndex.wrap(LongBuffer.wrap(prices), LongBuffer.wrap(blockSums));
+  }
+
+  private static int readHeader(ByteBuffer header) throws IOException {
+    if (header.remaining() < HEADER_SIZE) {
+      throw new IOException("Snapshot header is truncated.");
+    }
+    header.order(BYTE_ORDER);
+    if (header.getInt() != MAGIC) {
+      throw new IOException("Snapshot magic does not match.");
+    }
+    int formatVersion = header.getInt();
+    if (formatVersion != FORMAT_VERSION) {
+      throw new IOException(String.format("Snapshot format version %d is not supported.", formatVersion));
+    }
+    int fractionDigits = header.getInt();
+    if (fractionDigits != EUR.fractionDigits()) {
+      throw new IOException(String.format("Snapshot prices have %d fraction digits, %d expected.", fractionDigits,
+          EUR.fractionDigits()));
+    }
+    int blockSize = header.getInt();
+    if (blockSize != PriceIndex.SUM_BLOCK_SIZE) {
+      throw new IOException(String.format("Snapshot sum block size %d is not supported.", blockSize));
+    }
+    long size = header.getLong();
+    if (size < 0 || size > Integer.MAX_VALUE / Long.BYTES) {
+      throw new IOException(String.format("Snapshot prices count %d is out of range.", size));
+    }
+    return (int) size;
+  }
+
+  private static int blockSumsCount(int size) {
+    return size / PriceIndex.SUM_BLOCK_SIZE + 1;
+  }
+
+  private static void writeLongs(WritableByteChannel channel, LongBuffer values) throws IOException {
+    ByteBuffer chunk = ByteBuffer.allocate(COPY_CHUNK_SIZE * Long.BYTES).order(BYTE_ORDER);
+    values.clear();
+    while (values.hasRemaining()) {
+      int length = Math.min(COPY_CHUNK_SIZE, values.remaining());
+      chunk.clear();
+      chunk.asLongBuffer().put(values.slice(values.position(), length));
+      values.position(values.position() + length);
+      writeFully(channel, chunk.limit(length * Long.BYTES));
+    }
+  }
+
+  private static long[] readLongs(ReadableByteChannel channel, int count) throws IOException {
+    long[] values = new long[count];
+    ByteBuffer chunk = ByteBuffer.allocate(COPY_CHUNK_SIZE * Long.BYTES).order(BYTE_ORDER);
+    for (int position = 0; position < count; ) {
+      int length = Math.min(COPY_CHUNK_SIZE, count - position);
+      chunk.clear().limit(length * Long.BYTES);
+      readFully(channel, chunk);
+      chunk.flip().asLongBuffer().get(values, position, length);
+      position += length;
+    }
+    return values;
+  }
+
+  private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        throw new IOException("Snapshot is truncated.");
+      }
+    }
+  }
+}
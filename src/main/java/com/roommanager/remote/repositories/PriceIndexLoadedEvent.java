@@ -0,0 +1,41 @@
+package com.roommanager.remote.repositories;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.io.Resource;
+
+/**
+ * Published once a price index is loaded from a clients resource, with durations of its load phases in nanoseconds.
+ * Snapshots are mapped as they are, so their sort and index durations are {@code 0}.
+ */
+public class PriceIndexLoadedEvent extends ApplicationEvent {
+
+  private final Resource clientsResource;
+  private final long parseNanos;
+  private final long sortNanos;
+  private final long indexNanos;
+
+  public PriceIndexLoadedEvent(Object source, Resource clientsResource, long parseNanos, long sortNanos,
+      long indexNanos) {
+    super(source);
+    this.clientsResource = clientsResource;
+    this.parseNanos = parseNanos;
+    this.sortNanos = sortNanos;
+    this.indexNanos = indexNanos;
+  }
+
+  public Resource getClientsResource() {
+    return clientsResource;
+  }
+
+  public long getParseNanos() {
+    return parseNanos;
+  }
+
+  public long getSortNanos() {
+    return sortNanos;
+  }
+
+  public long getIndexNanos() {
+    return indexNanos;
+  }
+}
@@ -0,0 +1,159 @@
+package com.roommanager.remote.repositories;
+
+import com.roommanager.remote.ClientsResourceParser;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads price index from a clients resource, which is either a JSON array of prices or a binary snapshot written by
+ * {@link PriceIndexFile}. Snapshot files are memory mapped, JSON resources are parsed and indexed, and optionally
+ * exported as snapshot to {@code app.clients-snapshot.export-path}. Durations of load phases are published as
+ * {@link PriceIndexLoadedEvent}.
+ * <p>
+ * When the dataset is split into {@code app.partition.count} partitions, only prices of partition
+ * {@code app.partition.index} are kept, i.e. the ones at positions equal to it modulo the count in JSON resources, or
+ * at ranks equal to it modulo the count in snapshots. Partitions of a snapshot are copied out of it.
+ */
+@Slf4j
+@Component
+public class PriceIndexLoader {
+
+  private final ClientsResourceParser clientsResourceParser;
+  private final boolean offHeap;
+  private final String snapshotExportPath;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int partitionIndex;
+  private final int partitionCount;
+
+  public PriceIndexLoader(ClientsResourceParser clientsResourceParser, boolean offHeap, String snapshotExportPath) {
+    this(clientsResourceParser, offHeap, snapshotExportPath, event -> {
+    }, 0, 1);
+  }
+
+  @Autowired
+  public PriceIndexLoader(ClientsResourceParser clientsResourceParser,
+      @Value("${app.customers.off-heap:false}") boolean offHeap,
+      @Value("${app.clients-snapshot.export-path:}") String snapshotExportPath,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${app.partition.index:0}") int partitionIndex,
+      @Value("${app.partition.count:1}") int partitionCount) {
+    if (partitionCount < 1 || partitionIndex < 0 || partitionIndex >= partitionCount) {
+      throw new IllegalArgumentException(
+          String.format("Partition index %d is out of %d partitions", partitionIndex, partitionCount));
+    }
+    this.clientsResourceParser = clientsResourceParser;
+    this.offHeap = offHeap;
+    this.snapshotExportPath = snapshotExportPath;
+    this.eventPublisher = eventPublisher;
+    this.partitionIndex = partitionIndex;
+    this.partitionCount = partitionCount;
+  }
+
+  public PriceIndex load(Resource clientsResource) {
+    PriceIndex index;
+    if (isSnapshot(clientsResource)) {
+      long start = System.nanoTime();
+      index = partition(readSnapshot(clientsResource));
+      eventPublisher.publishEvent(new PriceIndexLoadedEvent(this, clientsResource, System.nanoTime() - start, 0, 0));
+    } else {
+      index = parse(clientsResource);
+    }
+    log.info("Customers index built. Indexed {} entries in {} bytes.", index.size(), index.memoryFootprint());
+    return index;
+  }
+
+  /**
+   * Loader of datasets other than the clients resource, e.g. of hotels, which must not overwrite the clients snapshot
+   * at {@code app.clients-snapshot.export-path}.
+   */
+  public PriceIndexLoader withoutExport() {
+    return snapshotExportPath.isBlank() ? this
+        : new PriceIndexLoader(clientsResourceParser, offHeap, "", eventPublisher, partitionIndex, partitionCount);
+  }
+
+  /**
+   * Builds index from given prices, which are sorted in place.
+   */
+  public PriceIndex build(long[] prices) {
+    return PriceIndex.of(prices, offHeap);
+  }
+
+  public void exportSnapshot(PriceIndex index, Path path) {
+    try {
+      PriceIndexFile.write(index, path);
+      log.info("Customers snapshot with {} entries written to file:{}", index.size(), path);
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("File [%s] writing failed", path), e);
+    }
+  }
+
+  private PriceIndex parse(Resource clientsResource) {
+    long start = System.nanoTime();
+    long[] prices = partition(clientsResourceParser.readPrices(clientsResource));
+    long parsed = System.nanoTime();
+    PriceIndex.sortDescending(prices);
+    long sorted = System.nanoTime();
+    PriceIndex index = PriceIndex.ofSorted(prices, offHeap);
+    long indexed = System.nanoTime();
+    log.info("Customers sorted in {} ms, index built in {} ms.", TimeUnit.NANOSECONDS.toMillis(sorted - parsed),
+        TimeUnit.NANOSECONDS.toMillis(indexed - sorted));
+    eventPublisher.publishEvent(new PriceIndexLoadedEvent(this, clientsResource, parsed - start, sorted - parsed,
+        indexed - sorted));
+    if (!snapshotExportPath.isBlank()) {
+      exportSnapshot(index, Path.of(snapshotExportPath));
+    }
+    return index;
+  }
+
+  private long[] partition(long[] prices) {
+    if (partitionCount == 1) {
+      return prices;
+    }
+    long[] partition = new long[(prices.length - partitionIndex + partitionCount - 1) / partitionCount];
+    for (int i = 0; i < partition.length; i++) {
+      partition[i] = prices[partitionIndex + i * partitionCount];
+    }
+    return partition;
+  }
+
+  private PriceIndex partition(PriceIndex snapshot) {
+    if (partitionCount == 1) {
+      return snapshot;
+    }
+    long[] partition = new long[(snapshot.size() - partitionIndex + partitionCount - 1) / partitionCount];
+    for (int i = 0; i < partition.length; i++) {
+      partition[i] = snapshot.price(partitionIndex + i * partitionCount);
+    }
+    return PriceIndex.ofSorted(partition, offHeap);
+  }
+
+  private PriceIndex readSnapshot(Resource clientsResource) {
+    log.info("Start loading clients snapshot from file:{}", clientsResource.getFilename());
+    try {
+      if (clientsResource.isFile()) {
+        return PriceIndexFile.map(clientsResource.getFile().toPath());
+      }
+      try (InputStream inputStream = clientsResource.getInputStream()) {
+        return PriceIndexFile.read(inputStream);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("File [%s] loading failed", clientsResource.getFilename()), e);
+    }
+  }
+
+  private static boolean isSnapshot(Resource clientsResource) {
+    try (InputStream inputStream = clientsResource.getInputStream()) {
+      return PriceIndexFile.isSnapshot(inputStream);
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("File [%s] reading failed", clientsResource.getFilename()), e);
+    }
+  }
+}
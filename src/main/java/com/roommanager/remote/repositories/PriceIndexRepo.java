@@ -0,0 +1,166 @@
+package com.roommanager.remote.repositories;
+
+import static com.roommanager.domain.model.Currency.EUR;
+
+import com.roommanager.domain.model.Customer;
+import com.roommanager.domain.model.CustomersAggregate;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Read only repo over a single version of customers: a price index with the offer changes applied since it was built.
+ */
+public final class PriceIndexRepo implements CustomerRepo {
+
+  private final PriceIndex base;
+  private final OfferDelta delta;
+  private final SortedPrices index;
+  private final long version;
+
+  public PriceIndexRepo(PriceIndex base, long version) {
+    this(base, OfferDelta.EMPTY, version);
+  }
+
+  PriceIndexRepo(PriceIndex base, OfferDelta delta, long version) {
+    this.base = base;
+    this.delta = delta;
+    this.index = delta.isEmpty() ? base : new UpdatedPrices(base, delta);
+    this.version = version;
+  }
+
+  PriceIndex base() {
+    return base;
+  }
+
+  OfferDelta delta() {
+    return delta;
+  }
+
+  /**
+   * Repo with given count of offers added for given price, as next version.
+   */
+  PriceIndexRepo withOffers(long price, int count) {
+    return new PriceIndexRepo(base, delta.add(price, count), version + 1);
+  }
+
+  /**
+   * Number of offers with exactly given price.
+   */
+  int countOffers(long price) {
+    return index.countGreaterOrEqual(price) - index.countGreaterOrEqual(price + 1);
+  }
+
+  /**
+   * All prices, with changes applied, sorted descending.
+   */
+  long[] toArray() {
+    return delta.applyTo(base);
+  }
+
+  @Override
+  public long version() {
+    return version;
+  }
+
+  @Override
+  public CustomerRepo snapshot() {
+    return this;
+  }
+
+  @Override
+  public List<Customer> findAll() {
+    return new CustomersView(index, 0, index.size());
+  }
+
+  @Override
+  public List<Customer> findByPriceOfferGTEOrderByPriceOfferDesc(BigDecimal price, int limit) {
+    int count = index.countGreaterOrEqual(toMinorUnits(price));
+    return new CustomersView(index, 0, Math.min(count, limit));
+  }
+
+  @Override
+  public List<Customer> findByPriceOfferLTOrderByPriceOfferDesc(BigDecimal price, int limit) {
+    int start = index.countGreaterOrEqual(toMinorUnits(price));
+    return new CustomersView(index, start, (int) Math.min(index.size(), (long) start + limit));
+  }
+
+  @Override
+  public CustomersAggregate aggregateByPriceOfferGTEOrderByPriceOfferDesc(long price, int offset, int limit) {
+    return aggregateRange(0, index.countGreaterOrEqual(price), offset, limit);
+  }
+
+  @Override
+  public CustomersAggregate aggregateByPriceOfferLTOrderByPriceOfferDesc(long price, int offset, int limit) {
+    return aggregateRange(index.countGreaterOrEqual(price), index.size(), offset, limit);
+  }
+
+  @Override
+  public LongStream findPriceOffersOrderByPriceOfferDesc(int offset, int limit) {
+    int start = Math.min(index.size(), offset);
+    int end = (int) Math.min(index.size(), (long) start + limit);
+    return IntStream.range(start, end).mapToLong(index::price);
+  }
+
+  @Override
+  public int countByPriceOfferGTE(long price) {
+    return index.countGreaterOrEqual(price);
+  }
+
+  @Override
+  public long sumByPriceOfferOrderByPriceOfferDesc(int offset, int limit) {
+    int start = Math.min(index.size(), offset);
+    int end = (int) Math.min(index.size(), (long) start + limit);
+    return start == end ? 0 : index.sum(start, end);
+  }
+
+  private CustomersAggregate aggregateRange(int from, int to, int offset, int limit) {
+    int start = (int) Math.min(to, (long) from + offset);
+    int end = (int) Math.min(to, (long) start + limit);
+    if (start == end) {
+      return CustomersAggregate.EMPTY;
+    }
+    return new CustomersAggregate(end - start, index.sum(start, end));
+  }
+
+  /**
+   * Price bound in minor units, rounded up, so that comparison against it keeps the result of comparison against
+   * given price.
+   */
+  private static long toMinorUnits(BigDecimal price) {
+    return EUR.toMinorUnits(price, RoundingMode.CEILING);
+  }
+
+  /**
+   * Read only view over a rank range of the index, customers are created on access.
+   */
+  static final class CustomersView extends AbstractList<Customer> implements RandomAccess {
+
+    private final SortedPrices index;
+    private final int from;
+    private final int to;
+
+    CustomersView(SortedPrices index, int from, int to) {
+      this.index = index;
+      this.from = from;
+      this.to = Math.max(from, to);
+    }
+
+    @Override
+    public Customer get(int i) {
+      if (i < 0 || i >= size()) {
+        throw new IndexOutOfBoundsException(i);
+      }
+      return new Customer(EUR.fromMinorUnits(index.price(from + i)));
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+  }
+}
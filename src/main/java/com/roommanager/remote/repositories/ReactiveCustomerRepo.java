@@ -0,0 +1,26 @@
+package com.roommanager.remote.repositories;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive adapter of {@link CustomerRepo}. Lookups of the in-memory dataset never block, so they run on the
+ * subscribing thread against a snapshot taken at subscription. Lookups of a coordinator block on its partitions, so the
+ * reactive stack is rejected at startup of coordinators, see {@link PartitionsConfiguration}.
+ */
+@Component
+public class ReactiveCustomerRepo {
+
+  private final CustomerRepo customerRepo;
+
+  public ReactiveCustomerRepo(CustomerRepo customerRepo) {
+    this.customerRepo = customerRepo;
+  }
+
+  /**
+   * Read only repo over the dataset version current at subscription.
+   */
+  public Mono<CustomerRepo> snapshot() {
+    return Mono.fromSupplier(customerRepo::snapshot);
+  }
+}
@@ -0,0 +1,12 @@
+package com.roommanager.remote.repositories;
+
+/**
+ * Thrown by changes and reloads of a dataset, which is not owned by this node, e.g. of partitions read by a
+ * coordinator.
+ */
+public class ReadOnlyDatasetException extends RuntimeException {
+
+  public ReadOnlyDatasetException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,14 @@
+package com.roommanager.remote.repositories;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface ReloadableRepo {
+
+  long version();
+
+  /**
+   * Rebuilds dataset from its source in background and publishes it as a new version, which completes returned
+   * future. Reloads requested while another one waits to be started are merged into it.
+   */
+  CompletableFuture<Long> reload();
+}
@@ -0,0 +1,31 @@
+package com.roommanager.remote.repositories;
+
+/**
+ * Prices in currency minor units, ranked descending, rank 0 holds the highest price.
+ */
+public interface SortedPrices {
+
+  int size();
+
+  /**
+   * Price at given rank.
+   */
+  long price(int rank);
+
+  /**
+   * Number of prices greater than or equal to given one, which is also the rank of first lower price.
+   */
+  int countGreaterOrEqual(long price);
+
+  /**
+   * Total of {@code count} highest prices.
+   */
+  long sumOfTop(int count);
+
+  /**
+   * Total of prices ranked {@code [from, to)}.
+   */
+  default long sum(int from, int to) {
+    return sumOfTop(to) - sumOfTop(from);
+  }
+}
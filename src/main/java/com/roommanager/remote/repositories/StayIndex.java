@@ -0,0 +1,141 @@
+package com.roommanager.remote.repositories;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Interval index of customer stays. Distinct prices are ranked descending into slots, check-in and check-out nights
+ * are kept sorted along with the price slot of each stay, so that customers of consecutive nights are tracked by
+ * applying only the check-ins and check-outs between them, see {@link NightlyCustomers}.
+ */
+public final class StayIndex {
+
+  private static final long SLOT_MASK = 0xFFFF_FFFFL;
+
+  private final long[] slotPrices;
+  private final int[] checkInNights;
+  private final int[] checkInSlots;
+  private final int[] checkOutNights;
+  private final int[] checkOutSlots;
+
+  private StayIndex(long[] slotPrices, int[] checkInNights, int[] checkInSlots, int[] checkOutNights,
+      int[] checkOutSlots) {
+    this.slotPrices = slotPrices;
+    this.checkInNights = checkInNights;
+    this.checkInSlots = checkInSlots;
+    this.checkOutNights = checkOutNights;
+    this.checkOutSlots = checkOutSlots;
+  }
+
+  /**
+   * Builds index of stays with given prices in currency minor units and nights packed by {@link #stay(long, long)}.
+   */
+  public static StayIndex of(long[] prices, long[] stays) {
+    long[] slotPrices = distinctDescending(prices);
+    long[] checkIns = new long[prices.length];
+    long[] checkOuts = new long[prices.length];
+    for (int i = 0; i < prices.length; i++) {
+      long slot = slotOf(slotPrices, prices[i]);
+      checkIns[i] = (stays[i] >> 32) << 32 | slot;
+      checkOuts[i] = (long) (int) stays[i] << 32 | slot;
+    }
+    Arrays.sort(checkIns);
+    Arrays.sort(checkOuts);
+    int[] checkInNights = new int[prices.length];
+    int[] checkInSlots = new int[prices.length];
+    int[] checkOutNights = new int[prices.length];
+    int[] checkOutSlots = new int[prices.length];
+    for (int i = 0; i < prices.length; i++) {
+      checkInNights[i] = (int) (checkIns[i] >> 32);
+      checkInSlots[i] = (int) (checkIns[i] & SLOT_MASK);
+      checkOutNights[i] = (int) (checkOuts[i] >> 32);
+      checkOutSlots[i] = (int) (checkOuts[i] & SLOT_MASK);
+    }
+    return new StayIndex(slotPrices, checkInNights, checkInSlots, checkOutNights, checkOutSlots);
+  }
+
+  /**
+   * Check-in and check-out nights, as epoch days, packed into a single value.
+   */
+  public static long stay(long checkIn, long checkOut) {
+    return (long) Math.toIntExact(checkIn) << 32 | Math.toIntExact(checkOut) & SLOT_MASK;
+  }
+
+  public int size() {
+    return checkInNights.length;
+  }
+
+  public long memoryFootprint() {
+    return (long) slotPrices.length * Long.BYTES + 4L * checkInNights.length * Integer.BYTES;
+  }
+
+  /**
+   * Customers staying at given night, moved to following nights by {@link NightlyCustomers#nextNight()}.
+   */
+  public NightlyCustomers customersFrom(LocalDate firstNight) {
+    int night = Math.toIntExact(firstNight.toEpochDay());
+    int checkedIn = countUpTo(checkInNights, night);
+    int checkedOut = countUpTo(checkOutNights, night);
+    int[] slotCounts = new int[slotPrices.length];
+    for (int i = 0; i < checkedIn; i++) {
+      slotCounts[checkInSlots[i]]++;
+    }
+    for (int i = 0; i < checkedOut; i++) {
+      slotCounts[checkOutSlots[i]]--;
+    }
+    return new NightlyCustomers(this, new NightPrices(slotPrices, slotCounts), night, checkedIn, checkedOut);
+  }
+
+  int checkInNight(int position) {
+    return checkInNights[position];
+  }
+
+  int checkInSlot(int position) {
+    return checkInSlots[position];
+  }
+
+  int checkOutNight(int position) {
+    return checkOutNights[position];
+  }
+
+  int checkOutSlot(int position) {
+    return checkOutSlots[position];
+  }
+
+  /**
+   * Number of given sorted nights not after given night.
+   */
+  private static int countUpTo(int[] nights, int night) {
+    int low = 0;
+    int high = nights.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (nights[middle] <= night) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static long[] distinctDescending(long[] prices) {
+    long[] sorted = prices.clone();
+    Arrays.sort(sorted);
+    int distinct = 0;
+    for (int i = 0; i < sorted.length; i++) {
+      if (distinct == 0 || sorted[distinct - 1] != sorted[i]) {
+        sorted[distinct++] = sorted[i];
+      }
+    }
+    long[] result = new long[distinct];
+    for (int i = 0; i < distinct; i++) {
+      result[i] = sorted[distinct - 1 - i];
+    }
+    return result;
+  }
+
+  private static int slotOf(long[] slotPrices, long price) {
+    return NightPrices.countGreaterOrEqual(slotPrices, price) - 1;
+  }
+}
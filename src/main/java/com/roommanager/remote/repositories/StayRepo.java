@@ -0,0 +1,11 @@
+package com.roommanager.remote.repositories;
+
+import java.time.LocalDate;
+
+public interface StayRepo {
+
+  /**
+   * Customers staying at given night, moved to following nights by {@link NightlyCustomers#nextNight()}.
+   */
+  NightlyCustomers customersFrom(LocalDate firstNight);
+}
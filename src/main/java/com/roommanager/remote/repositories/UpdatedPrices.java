@@ -0,0 +1,72 @@
+package com.roommanager.remote.repositories;
+
+/**
+ * Prices of a {@link PriceIndex} with an {@link OfferDelta} applied. Counts are sums of both, while a rank is resolved
+ * by a binary search over prices for the one having enough prices greater than or equal to it, which takes
+ * {@code O(log(price range) * log n)}.
+ */
+final class UpdatedPrices implements SortedPrices {
+
+  private final PriceIndex base;
+  private final OfferDelta delta;
+  private final int size;
+  private final long minPrice;
+  private final long maxPrice;
+
+  UpdatedPrices(PriceIndex base, OfferDelta delta) {
+    this.base = base;
+    this.delta = delta;
+    this.size = base.size() + delta.size();
+    this.minPrice = base.size() == 0 ? delta.minPrice() : Math.min(base.price(base.size() - 1), delta.minPrice());
+    this.maxPrice = base.size() == 0 ? delta.maxPrice() : Math.max(base.price(0), delta.maxPrice());
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public long price(int rank) {
+    if (rank < 0 || rank >= size) {
+      throw new IndexOutOfBoundsException(rank);
+    }
+    return kthHighestPrice(rank + 1);
+  }
+
+  @Override
+  public int countGreaterOrEqual(long price) {
+    return base.countGreaterOrEqual(price) + delta.countGreaterOrEqual(price);
+  }
+
+  @Override
+  public long sumOfTop(int count) {
+    if (count == 0) {
+      return 0;
+    }
+    long price = kthHighestPrice(count);
+    int higherCount = countGreaterOrEqual(price + 1);
+    return sumGreaterOrEqual(price + 1) + (count - higherCount) * price;
+  }
+
+  private long sumGreaterOrEqual(long price) {
+    return base.sumOfTop(base.countGreaterOrEqual(price)) + delta.sumGreaterOrEqual(price);
+  }
+
+  /**
+   * Highest price having at least {@code k} prices greater than or equal to it.
+   */
+  private long kthHighestPrice(int k) {
+    long low = minPrice;
+    long high = maxPrice;
+    while (low < high) {
+      long middle = low + (high - low + 1) / 2;
+      if (countGreaterOrEqual(middle) >= k) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,25 @@
+package com.roommanager.remote.repositories;
+
+import com.roommanager.domain.model.Customer;
+
+/**
+ * Customer offers changes, each one is published as a new dataset version, which is returned.
+ */
+public interface WritableCustomerRepo {
+
+  long insert(Customer customer);
+
+  /**
+   * Removes one offer with the price of given customer.
+   *
+   * @throws CustomerNotFoundException if there is no offer with such price
+   */
+  long remove(Customer customer);
+
+  /**
+   * Replaces one offer with the price of given customer by the offer of updated customer, in a single version.
+   *
+   * @throws CustomerNotFoundException if there is no offer with such price
+   */
+  long update(Customer customer, Customer updatedCustomer);
+}
@@ -0,0 +1,55 @@
+package com.roommanager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import com.roommanager.remote.api.FastPathAvailabilityServer;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Runs the fast path server next to the web stack, responses are expected to be the same as of the web stack.
+ */
+@SpringBootTest(properties = {"app.fast-path.enabled=true", "app.fast-path.port=0",
+    "app.customers.async-load=false"})
+@AutoConfigureMockMvc
+class RoomManagerApplicationFastPathIT {
+
+  private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+  @Autowired
+  private MockMvc mvc;
+  @Autowired
+  private FastPathAvailabilityServer fastPathAvailabilityServer;
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "?availablePremiumRooms=3&availableEconomyRooms=3",
+      "?availablePremiumRooms=7&availableEconomyRooms=1", "?availablePremiumRooms=-1", "?availableEconomyRooms=abc"})
+  @DisplayName("fast path responds as the web stack")
+  void respondAsWebStack(String query) throws Exception {
+    MockHttpServletResponse expected = mvc.perform(get("/rooms/availability" + query)).andReturn().getResponse();
+    HttpResponse<String> response = send(query);
+
+    assertThat(response.statusCode()).isEqualTo(expected.getStatus());
+    assertThat(response.body()).isEqualTo(expected.getContentAsString());
+    assertThat(response.headers().firstValue("X-Dataset-Version"))
+        .isEqualTo(Optional.ofNullable(expected.getHeader("X-Dataset-Version")));
+  }
+
+  private HttpResponse<String> send(String query) throws IOException, InterruptedException {
+    return client.send(HttpRequest.newBuilder(URI.create(String.format("http://127.0.0.1:%d/rooms/availability%s",
+        fastPathAvailabilityServer.port(), query))).build(), BodyHandlers.ofString());
+  }
+}
@@ -1,9 +1,15 @@
 package com.roommanager;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.Map;
@@ -17,9 +23,11 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.customers.async-load=false")
 @AutoConfigureMockMvc
 class RoomManagerApplicationIT {
 
@@ -61,9 +69,259 @@ class RoomManagerApplicationIT {
     mvc.perform(get(ENDPOINT_ROOMS_AVAILABILITY))
         .andDo(print())
         .andExpect(status().is(200))
+        .andExpect(header().exists("X-Dataset-Version"))
         .andExpect(jsonPath("$", Matchers.empty()));
   }
 
+  @Test
+  @DisplayName("availability is written as encoded bytes of the default object mapper")
+  void availabilityWrittenAsEncodedBytes() throws Exception {
+    String expected = "[{\"roomType\":\"PREMIUM\",\"customersCount\":3,\"totalPrice\":738.0,\"currency\":\"EUR\"},"
+        + "{\"roomType\":\"ECONOMY\",\"customersCount\":3,\"totalPrice\":167.99,\"currency\":\"EUR\"}]";
+    for (int call = 0; call < 2; call++) {
+      mvc.perform(get(ENDPOINT_ROOMS_AVAILABILITY)
+              .param(AVAILABLE_PREMIUM_ROOMS, "3")
+              .param(AVAILABLE_ECONOMY_ROOMS, "3"))
+          .andDo(print())
+          .andExpect(status().is(200))
+          .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+          .andExpect(header().longValue("Content-Length", expected.length()))
+          .andExpect(content().string(expected));
+    }
+  }
+
+  @Test
+  @DisplayName("reload publishes next dataset version")
+  void reloadPublishesNextVersion() throws Exception {
+    MvcResult reload = mvc.perform(post("/admin/dataset/reload"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    mvc.perform(asyncDispatch(reload))
+        .andDo(print())
+        .andExpect(status().is(200))
+        .andExpect(jsonPath("$.version").value(Matchers.greaterThan(1)));
+  }
+
+  @Test
+  @DisplayName("batch returns availability for each request in order")
+  void batchReturnsAvailabilityInRequestsOrder() throws Exception {
+    MvcResult batch = mvc.perform(post(ENDPOINT_ROOMS_AVAILABILITY + "/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                [{"availablePremiumRooms": 3, "availableEconomyRooms": 3},
+                 {"availablePremiumRooms": 0, "availableEconomyRooms": 0},
+                 {"availablePremiumRooms": 7, "availableEconomyRooms": 1}]
+                """))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    mvc.perform(asyncDispatch(batch))
+        .andDo(print())
+        .andExpect(status().is(200))
+        .andExpect(header().exists("X-Dataset-Version"))
+        .andExpect(jsonPath("$", Matchers.hasSize(3)))
+        .andExpect(jsonPath("$[0].[?(@.roomType=='PREMIUM')]")
+            .value(containsInAnyOrder(getMatchersFromValues("PREMIUM", 3, 738, "EUR"))))
+        .andExpect(jsonPath("$[0].[?(@.roomType=='ECONOMY')]")
+            .value(containsInAnyOrder(getMatchersFromValues("ECONOMY", 3, 167.99, "EUR"))))
+        .andExpect(jsonPath("$[1]", Matchers.empty()))
+        .andExpect(jsonPath("$[2].[?(@.roomType=='PREMIUM')]")
+            .value(containsInAnyOrder(getMatchersFromValues("PREMIUM", 7, 1153.99, "EUR"))));
+  }
+
+  @Test
+  @DisplayName("batch returns 400 for negative room counts")
+  void batchNegativeRoomCounts() throws Exception {
+    mvc.perform(post(ENDPOINT_ROOMS_AVAILABILITY + "/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[{\"availablePremiumRooms\": -1, \"availableEconomyRooms\": 0}]"))
+        .andDo(print())
+        .andExpect(status().is(400))
+        .andExpect(jsonPath("$.message").value(Matchers.containsString(AVAILABLE_PREMIUM_ROOMS)));
+  }
+
+  @Test
+  @DisplayName("stage timers and dataset gauges are exposed to Prometheus")
+  void exposeMetrics() throws Exception {
+    mvc.perform(get(ENDPOINT_ROOMS_AVAILABILITY)
+            .param(AVAILABLE_PREMIUM_ROOMS, "2"))
+        .andExpect(status().is(200));
+    mvc.perform(get("/actuator/prometheus"))
+        .andExpect(status().is(200))
+        .andExpect(content().string(Matchers.containsString("rooms_availability_stage_seconds_count")))
+        .andExpect(content().string(Matchers.containsString("customers_repo_call_seconds_count")))
+        .andExpect(content().string(Matchers.containsString("customers_dataset_size")))
+        .andExpect(content().string(Matchers.containsString("customers_index_memory_bytes")));
+  }
+
+  @Test
+  @DisplayName("calendar availability is calculated for customers staying at each night")
+  void calendarAvailability() throws Exception {
+    mvc.perform(post(ENDPOINT_ROOMS_AVAILABILITY + "/calendar")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                {"firstNight": "2024-06-01", "nights": [
+                  {"availablePremiumRooms": 2, "availableEconomyRooms": 2},
+                  {"availablePremiumRooms": 3, "availableEconomyRooms": 1}]}"""))
+        .andDo(print())
+        .andExpect(status().is(200))
+        .andExpect(jsonPath("$", Matchers.hasSize(2)))
+        .andExpect(jsonPath("$[0].night").value("2024-06-01"))
+        .andExpect(jsonPath("$[0].availability[?(@.roomType=='PREMIUM')]")
+            .value(containsInAnyOrder(getMatchersFromValues("PREMIUM", 2, 364, "EUR"))))
+        .andExpect(jsonPath("$[0].availability[?(@.roomType=='ECONOMY')]")
+            .value(containsInAnyOrder(getMatchersFromValues("ECONOMY", 2, 144.99, "EUR"))))
+        .andExpect(jsonPath("$[1].night").value("2024-06-02"))
+        .andExpect(jsonPath("$[1].availability[?(@.roomType=='PREMIUM')]")
+            .value(containsInAnyOrder(getMatchersFromValues("PREMIUM", 3, 630, "EUR"))))
+        .andExpect(jsonPath("$[1].availability[?(@.roomType=='ECONOMY')]")
+            .value(containsInAnyOrder(getMatchersFromValues("ECONOMY", 1, 99.99, "EUR"))));
+  }
+
+  @Test
+  @DisplayName("calendar returns 400 without nights")
+  void calendarWithoutNights() throws Exception {
+    mvc.perform(post(ENDPOINT_ROOMS_AVAILABILITY + "/calendar")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"firstNight\": \"2024-06-01\", \"nights\": []}"))
+        .andDo(print())
+        .andExpect(status().is(400));
+  }
+
+  @Test
+  @DisplayName("tiered availability upgrades overflow of a tier to free rooms of higher tiers")
+  void tieredAvailability() throws Exception {
+    mvc.perform(post(ENDPOINT_ROOMS_AVAILABILITY + "/tiers")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"SUITE\": 2, \"PREMIUM\": 2, \"ECONOMY\": 1}"))
+        .andDo(print())
+        .andExpect(status().is(200))
+        .andExpect(header().exists("X-Dataset-Version"))
+        .andExpect(jsonPath("$", Matchers.hasSize(3)))
+        .andExpect(jsonPath("$[0]").value(getMatchersFromValues("SUITE", 2, 583, "EUR")))
+        .andExpect(jsonPath("$[1]").value(getMatchersFromValues("PREMIUM", 2, 270, "EUR")))
+        .andExpect(jsonPath("$[2]").value(getMatchersFromValues("ECONOMY", 1, 45, "EUR")));
+  }
+
+  @Test
+  @DisplayName("tiered availability returns 400 for unknown tier")
+  void tieredAvailabilityUnknownTier() throws Exception {
+    mvc.perform(post(ENDPOINT_ROOMS_AVAILABILITY + "/tiers")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"PENTHOUSE\": 1}"))
+        .andDo(print())
+        .andExpect(status().is(400))
+        .andExpect(jsonPath("$.message").value(Matchers.containsString("PENTHOUSE")));
+  }
+
+  @Test
+  @DisplayName("room assignments are streamed as a JSON line per room")
+  void streamRoomAssignments() throws Exception {
+    MvcResult assignments = mvc.perform(post(ENDPOINT_ROOMS_AVAILABILITY + "/tiers/assignments")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"SUITE\": 2, \"PREMIUM\": 2, \"ECONOMY\": 1}"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    mvc.perform(asyncDispatch(assignments))
+        .andDo(print())
+        .andExpect(status().is(200))
+        .andExpect(header().exists("X-Dataset-Version"))
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andExpect(content().string("""
+            {"tier":"SUITE","rank":0,"priceOffer":374.0}
+            {"tier":"SUITE","rank":1,"priceOffer":209.0}
+            {"tier":"PREMIUM","rank":2,"priceOffer":155.0}
+            {"tier":"PREMIUM","rank":3,"priceOffer":115.0}
+            {"tier":"ECONOMY","rank":7,"priceOffer":45.0}
+            """));
+  }
+
+  @Test
+  @DisplayName("revenue sweep returns customers and revenue for each threshold and room counts")
+  void sweepRevenue() throws Exception {
+    MvcResult sweep = mvc.perform(post("/rooms/revenue/sweep")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                {"thresholds": {"from": 100, "to": 120, "step": 20},
+                 "premiumRooms": {"from": 3, "to": 3, "step": 1},
+                 "economyRooms": {"from": 3, "to": 3, "step": 1}}"""))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    mvc.perform(asyncDispatch(sweep))
+        .andDo(print())
+        .andExpect(status().is(200))
+        .andExpect(header().exists("X-Dataset-Version"))
+        .andExpect(jsonPath("$", Matchers.hasSize(2)))
+        .andExpect(jsonPath("$[0].threshold").value(100))
+        .andExpect(jsonPath("$[0].premiumCustomers[0][0]").value(3))
+        .andExpect(jsonPath("$[0].premiumRevenue[0][0]").value(738.0))
+        .andExpect(jsonPath("$[0].economyCustomers[0][0]").value(3))
+        .andExpect(jsonPath("$[0].economyRevenue[0][0]").value(167.99))
+        .andExpect(jsonPath("$[1].threshold").value(120))
+        .andExpect(jsonPath("$[1].economyRevenue[0][0]").value(316.0));
+  }
+
+  @Test
+  @DisplayName("revenue sweep returns 400 for non positive step")
+  void sweepRevenueNonPositiveStep() throws Exception {
+    mvc.perform(post("/rooms/revenue/sweep")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("""
+                {"thresholds": {"from": 100, "to": 120, "step": 0},
+                 "premiumRooms": {"from": 3, "to": 3, "step": 1},
+                 "economyRooms": {"from": 3, "to": 3, "step": 1}}"""))
+        .andDo(print())
+        .andExpect(status().is(400));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"1e999999999", "1e30", "92233720368547758.08"})
+  @DisplayName("offer changes return 400 for price offers out of range")
+  void offerPriceOutOfRange(String priceOffer) throws Exception {
+    mvc.perform(post("/customers/offers")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"priceOffer\": " + priceOffer + "}"))
+        .andExpect(status().is(400));
+    mvc.perform(delete("/customers/offers/" + priceOffer))
+        .andExpect(status().is(400));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"\"from\": 0, \"to\": 1e999999999, \"step\": 1e999999990",
+      "\"from\": 0, \"to\": 1e30, \"step\": 1e29", "\"from\": 0, \"to\": 100, \"step\": 1e-999999999"})
+  @DisplayName("revenue sweep returns 400 for thresholds out of range")
+  void sweepRevenueThresholdsOutOfRange(String thresholds) throws Exception {
+    mvc.perform(post("/rooms/revenue/sweep")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"thresholds\": {" + thresholds + "}, \"premiumRooms\": {\"from\": 3, \"to\": 3, \"step\": 1},"
+                + " \"economyRooms\": {\"from\": 3, \"to\": 3, \"step\": 1}}"))
+        .andExpect(status().is(400));
+  }
+
+  @Test
+  @DisplayName("hotel availability is calculated from the hotel dataset")
+  void hotelAvailability() throws Exception {
+    mvc.perform(get("/hotels/sample/rooms/availability")
+            .param(AVAILABLE_PREMIUM_ROOMS, "3")
+            .param(AVAILABLE_ECONOMY_ROOMS, "3"))
+        .andDo(print())
+        .andExpect(status().is(200))
+        .andExpect(header().exists("X-Dataset-Version"))
+        .andExpect(jsonPath("$.[?(@.roomType=='PREMIUM')]")
+            .value(containsInAnyOrder(getMatchersFromValues("PREMIUM", 3, 738, "EUR"))))
+        .andExpect(jsonPath("$.[?(@.roomType=='ECONOMY')]")
+            .value(containsInAnyOrder(getMatchersFromValues("ECONOMY", 3, 167.99, "EUR"))));
+  }
+
+  @Test
+  @DisplayName("returns 404 for unknown hotel")
+  void unknownHotel() throws Exception {
+    mvc.perform(get("/hotels/unknown/rooms/availability")
+            .param(AVAILABLE_PREMIUM_ROOMS, "1"))
+        .andDo(print())
+        .andExpect(status().is(404))
+        .andExpect(jsonPath("$.message").value(Matchers.containsString("unknown")));
+  }
+
   @ParameterizedTest
   @CsvSource({
       "availablePremiumRooms, 1, PREMIUM, 1, 374, EUR",
@@ -0,0 +1,50 @@
+package com.roommanager;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Coordinator over a partition node, which is stopped before any lookup.
+ */
+@SpringBootTest(properties = {"app.customers.async-load=false", "app.availability-cache.enabled=false",
+    "app.partitions.timeout=1s"})
+@AutoConfigureMockMvc
+class RoomManagerApplicationPartitionDownIT {
+
+  @Autowired
+  private MockMvc mvc;
+
+  @DynamicPropertySource
+  static void stoppedNode(DynamicPropertyRegistry registry) {
+    ConfigurableApplicationContext node = new SpringApplicationBuilder(RoomManagerApplication.class)
+        .properties("server.port=0", "app.partitions.serve=true", "app.customers.async-load=false",
+            "app.startup.warm-up-queries=0")
+        .run();
+    String uri = "http://127.0.0.1:" + node.getEnvironment().getProperty("local.server.port");
+    node.close();
+    registry.add("app.partitions.nodes", () -> uri);
+  }
+
+  @Test
+  @DisplayName("availability endpoint returns 503 naming the partition, once a partition node is stopped")
+  void partitionNodeStopped() throws Exception {
+    mvc.perform(get("/rooms/availability")
+            .param("availablePremiumRooms", "3")
+            .param("availableEconomyRooms", "3"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(jsonPath("$.message").value(Matchers.containsString("127.0.0.1")));
+  }
+}
@@ -0,0 +1,127 @@
+package com.roommanager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.roommanager.domain.calculator.AvailabilityCalculator;
+import com.roommanager.domain.model.RoomsAvailabilityQuery;
+import com.roommanager.remote.repositories.CustomerRepo;
+import com.roommanager.remote.repositories.InMemoryCustomerRepo;
+import com.roommanager.remote.repositories.PartitionedCustomerRepo;
+import com.roommanager.remote.repositories.PriceIndexLoader;
+import com.roommanager.remote.repositories.PriceIndexRepo;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Splits the clients dataset into partitions served by nodes started on localhost, availability is calculated by a
+ * coordinator over them and expected to be the same as over the whole dataset loaded from the clients resource.
+ */
+@SpringBootTest(properties = {"app.calculator=min-threshold", "app.customers.async-load=false",
+    "app.availability-cache.enabled=false"})
+@AutoConfigureMockMvc
+class RoomManagerApplicationPartitionsIT {
+
+  private static final int PARTITIONS = 3;
+  private static List<ConfigurableApplicationContext> nodes;
+  @Autowired
+  private MockMvc mvc;
+  @Autowired
+  private AvailabilityCalculator availabilityCalculator;
+  @Autowired
+  private CustomerRepo customerRepo;
+  @Autowired
+  private ObjectProvider<InMemoryCustomerRepo> ownDataset;
+  @Autowired
+  private PriceIndexLoader priceIndexLoader;
+  @Value("${app.clients-resource}")
+  private Resource clientsResource;
+
+  @DynamicPropertySource
+  static void partitionNodes(DynamicPropertyRegistry registry) {
+    nodes = IntStream.range(0, PARTITIONS)
+        .mapToObj(index -> new SpringApplicationBuilder(RoomManagerApplication.class)
+            .properties("server.port=0", "app.partitions.serve=true", "app.partition.index=" + index,
+                "app.partition.count=" + PARTITIONS, "app.customers.async-load=false",
+                "app.startup.warm-up-queries=0")
+            .run())
+        .toList();
+    registry.add("app.partitions.nodes", () -> nodes.stream()
+        .map(node -> "http://127.0.0.1:" + node.getEnvironment().getProperty("local.server.port"))
+        .collect(Collectors.joining(",")));
+  }
+
+  @AfterAll
+  static void afterAll() {
+    nodes.forEach(ConfigurableApplicationContext::close);
+  }
+
+  @Test
+  @DisplayName("availability calculated over partitions is the same as over the whole dataset")
+  void availabilityAsSingleNode() {
+    assertThat(customerRepo).isInstanceOf(PartitionedCustomerRepo.class);
+    var singleNode = new PriceIndexRepo(priceIndexLoader.load(clientsResource), 1);
+    int[] rooms = {0, 1, 2, 3, 5, 7, 10, 100};
+    for (int premiumRooms : rooms) {
+      for (int economyRooms : rooms) {
+        var query = new RoomsAvailabilityQuery(premiumRooms, economyRooms);
+        assertThat(availabilityCalculator.execute(query, customerRepo))
+            .isEqualTo(availabilityCalculator.execute(query, singleNode));
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("availability endpoint is served from partitions, at the sum of their dataset versions")
+  void availabilityFromPartitions() throws Exception {
+    mvc.perform(get("/rooms/availability")
+            .param("availablePremiumRooms", "3")
+            .param("availableEconomyRooms", "3"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("X-Dataset-Version", String.valueOf(PARTITIONS)));
+  }
+
+  @Test
+  @DisplayName("coordinator loads no dataset of its own and rejects offer changes and reloads")
+  void rejectChanges() throws Exception {
+    assertThat(ownDataset.getIfAvailable()).isNull();
+    mvc.perform(post("/customers/offers")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"priceOffer\": 100}"))
+        .andExpect(status().isMethodNotAllowed());
+    mvc.perform(post("/admin/dataset/reload"))
+        .andExpect(status().isMethodNotAllowed());
+  }
+
+  @Test
+  @DisplayName("coordinator fails to start on the reactive stack, as it blocks on partitions")
+  void rejectReactiveStack() {
+    assertThatThrownBy(() -> new SpringApplicationBuilder(RoomManagerApplication.class)
+        .properties("server.port=0", "spring.main.web-application-type=reactive",
+            "app.partitions.nodes=http://127.0.0.1:1")
+        .run())
+        .hasRootCauseInstanceOf(IllegalStateException.class)
+        .hasRootCauseMessage(
+            "Partitions are looked up with blocking calls, app.partitions.nodes requires the servlet stack.");
+  }
+}
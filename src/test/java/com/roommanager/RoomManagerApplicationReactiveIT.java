@@ -0,0 +1,87 @@
+package com.roommanager;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+import java.util.List;
+import java.util.Map;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Runs the reactive stack, responses are expected to be the same as of the servlet one.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+    "spring.main.web-application-type=reactive", "app.customers.async-load=false"})
+@AutoConfigureWebTestClient
+class RoomManagerApplicationReactiveIT {
+
+  private static final String ENDPOINT_ROOMS_AVAILABILITY = "/rooms/availability";
+  @Autowired
+  private WebTestClient client;
+
+  private static Map<String, Object> getMatchersFromValues(String roomType, int count, double price, String currency) {
+    return Map.of(
+        "roomType", roomType,
+        "customersCount", count,
+        "totalPrice", price,
+        "currency", currency
+    );
+  }
+
+  @Test
+  @DisplayName("returns 400 for negative query params")
+  void negativeQueryParams() {
+    client.get()
+        .uri(uri -> uri.path(ENDPOINT_ROOMS_AVAILABILITY).queryParam("availablePremiumRooms", -1).build())
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody()
+        .jsonPath("$.message").value(Matchers.containsString("availablePremiumRooms"));
+  }
+
+  @Test
+  @DisplayName("if after checkin, remain free premium rooms, economy customer with higher price is moved there")
+  void economyCustomerCheckinInPremiumRoom() {
+    client.get()
+        .uri(uri -> uri.path(ENDPOINT_ROOMS_AVAILABILITY)
+            .queryParam("availablePremiumRooms", 7)
+            .queryParam("availableEconomyRooms", 1)
+            .build())
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().exists("X-Dataset-Version")
+        .expectBody()
+        .jsonPath("$.length()").isEqualTo(2)
+        .jsonPath("$.[?(@.roomType=='PREMIUM')]")
+        .value(containsInAnyOrder(getMatchersFromValues("PREMIUM", 7, 1153.99, "EUR")))
+        .jsonPath("$.[?(@.roomType=='ECONOMY')]")
+        .value(containsInAnyOrder(getMatchersFromValues("ECONOMY", 1, 45, "EUR")));
+  }
+
+  @Test
+  @DisplayName("batch returns availability for each request in order")
+  void batchReturnsAvailabilityInRequestsOrder() {
+    client.post()
+        .uri(ENDPOINT_ROOMS_AVAILABILITY + "/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(List.of(Map.of("availablePremiumRooms", 3, "availableEconomyRooms", 3),
+            Map.of("availablePremiumRooms", 0, "availableEconomyRooms", 0)))
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().exists("X-Dataset-Version")
+        .expectBody()
+        .jsonPath("$.length()").isEqualTo(2)
+        .jsonPath("$[0].[?(@.roomType=='PREMIUM')]")
+        .value(containsInAnyOrder(getMatchersFromValues("PREMIUM", 3, 738, "EUR")))
+        .jsonPath("$[0].[?(@.roomType=='ECONOMY')]")
+        .value(containsInAnyOrder(getMatchersFromValues("ECONOMY", 3, 167.99, "EUR")))
+        .jsonPath("$[1]").isEmpty();
+  }
+}
@@ -0,0 +1,50 @@
+package com.roommanager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Loads the customers dataset in background, as configured by default.
+ */
+@SpringBootTest(properties = "app.customers.async-load=true")
+@AutoConfigureMockMvc
+class RoomManagerApplicationStartupIT {
+
+  private static final String ENDPOINT_READINESS = "/actuator/health/readiness";
+  @Autowired
+  private MockMvc mvc;
+
+  @Test
+  @DisplayName("readiness is UP once the dataset is loaded and warmed up, with durations of startup phases")
+  void readyOnceDatasetLoaded() throws Exception {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    int readiness = mvc.perform(get(ENDPOINT_READINESS)).andReturn().getResponse().getStatus();
+    while (readiness != 200 && System.nanoTime() < deadline) {
+      assertThat(readiness).isEqualTo(503);
+      Thread.sleep(50);
+      readiness = mvc.perform(get(ENDPOINT_READINESS)).andReturn().getResponse().getStatus();
+    }
+
+    mvc.perform(get(ENDPOINT_READINESS))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("UP"))
+        .andExpect(jsonPath("$.components.customersDataset.details.startupPhasesMillis.parse").isNumber())
+        .andExpect(jsonPath("$.components.customersDataset.details.startupPhasesMillis['warm-up']").isNumber());
+    mvc.perform(get("/rooms/availability")
+            .param("availablePremiumRooms", "3")
+            .param("availableEconomyRooms", "3"))
+        .andExpect(status().isOk());
+    mvc.perform(get("/actuator/metrics/startup.phase.duration").param("tag", "phase:index"))
+        .andExpect(status().isOk());
+  }
+}
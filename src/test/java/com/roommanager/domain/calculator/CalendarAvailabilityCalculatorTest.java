@@ -0,0 +1,107 @@
+package com.roommanager.domain.calculator;
+
+import static com.roommanager.domain.model.Currency.EUR;
+import static com.roommanager.domain.model.RoomType.ECONOMY;
+import static com.roommanager.domain.model.RoomType.PREMIUM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.roommanager.domain.model.CalendarAvailabilityQuery;
+import com.roommanager.domain.model.NightAvailabilityResult;
+import com.roommanager.domain.model.RoomsAvailabilityQuery;
+import com.roommanager.domain.model.RoomsAvailabilityResult;
+import com.roommanager.metrics.PipelineMetrics;
+import com.roommanager.remote.repositories.PriceIndex;
+import com.roommanager.remote.repositories.PriceIndexRepo;
+import com.roommanager.remote.repositories.StayIndex;
+import com.roommanager.remote.repositories.StayRepo;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarAvailabilityCalculatorTest {
+
+  private static final LocalDate FIRST_NIGHT = LocalDate.of(2024, 6, 1);
+  private final MinThresholdCalculator minThresholdCalculator = new MinThresholdCalculator(BigDecimal.valueOf(100),
+      null, PipelineMetrics.DISABLED);
+  @Mock
+  private StayRepo stayRepo;
+  private CalendarAvailabilityCalculator calculator;
+
+  @BeforeEach
+  void beforeEach() {
+    calculator = new CalendarAvailabilityCalculator(minThresholdCalculator, stayRepo);
+  }
+
+  private static long night(int night) {
+    return FIRST_NIGHT.plusDays(night).toEpochDay();
+  }
+
+  @Nested
+  class ExecuteTest {
+
+    @Test
+    @DisplayName("rooms of each night are allocated to customers staying at that night, with upgrades")
+    void allocateEachNight() {
+      long[] prices = {20900, 15500, 9999, 4500, 37400};
+      long[] stays = {StayIndex.stay(night(0), night(1)), StayIndex.stay(night(0), night(2)),
+          StayIndex.stay(night(0), night(2)), StayIndex.stay(night(0), night(2)), StayIndex.stay(night(1), night(2))};
+      when(stayRepo.customersFrom(FIRST_NIGHT)).thenReturn(StayIndex.of(prices, stays).customersFrom(FIRST_NIGHT));
+
+      var results = calculator.execute(new CalendarAvailabilityQuery(FIRST_NIGHT, List.of(
+          new RoomsAvailabilityQuery(2, 1), new RoomsAvailabilityQuery(3, 1), new RoomsAvailabilityQuery(1, 1))));
+
+      assertThat(results).containsExactly(
+          new NightAvailabilityResult(FIRST_NIGHT, List.of(
+              new RoomsAvailabilityResult(PREMIUM, 2, 364, EUR),
+              new RoomsAvailabilityResult(ECONOMY, 1, 99.99, EUR))),
+          new NightAvailabilityResult(FIRST_NIGHT.plusDays(1), List.of(
+              new RoomsAvailabilityResult(PREMIUM, 3, 628.99, EUR),
+              new RoomsAvailabilityResult(ECONOMY, 1, 45, EUR))),
+          new NightAvailabilityResult(FIRST_NIGHT.plusDays(2), List.of()));
+    }
+
+    @Test
+    @DisplayName("each night result equals the result of the calculator over customers staying at that night")
+    void matchSingleNightCalculation() {
+      SplittableRandom random = new SplittableRandom(42);
+      int size = 1000;
+      long[] prices = random.longs(size, 0, 30_000).toArray();
+      long[] stays = new long[size];
+      for (int i = 0; i < size; i++) {
+        int checkIn = random.nextInt(-10, 40);
+        stays[i] = StayIndex.stay(night(checkIn), night(checkIn + random.nextInt(1, 15)));
+      }
+      when(stayRepo.customersFrom(FIRST_NIGHT)).thenReturn(StayIndex.of(prices, stays).customersFrom(FIRST_NIGHT));
+      List<RoomsAvailabilityQuery> nights = new ArrayList<>();
+      for (int night = 0; night < 30; night++) {
+        nights.add(new RoomsAvailabilityQuery(random.nextInt(0, 150), random.nextInt(0, 150)));
+      }
+
+      var results = calculator.execute(new CalendarAvailabilityQuery(FIRST_NIGHT, nights));
+
+      assertThat(results).hasSize(30);
+      for (int night = 0; night < 30; night++) {
+        long epochDay = night(night);
+        long[] staying = IntStream.range(0, size)
+            .filter(i -> stays[i] >> 32 <= epochDay && (int) stays[i] > epochDay)
+            .mapToLong(i -> prices[i])
+            .toArray();
+        var customers = new PriceIndexRepo(PriceIndex.of(staying, false), 1);
+        assertThat(results.get(night).results())
+            .isEqualTo(minThresholdCalculator.execute(nights.get(night), customers));
+      }
+    }
+  }
+}
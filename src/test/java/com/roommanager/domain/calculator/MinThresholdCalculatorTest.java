@@ -4,17 +4,20 @@ import static com.roommanager.domain.model.Currency.EUR;
 import static com.roommanager.domain.model.RoomType.ECONOMY;
 import static com.roommanager.domain.model.RoomType.PREMIUM;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.roommanager.domain.model.Customer;
+import com.roommanager.domain.model.CustomersAggregate;
 import com.roommanager.domain.model.RoomsAvailabilityQuery;
 import com.roommanager.domain.model.RoomsAvailabilityResult;
+import com.roommanager.metrics.PipelineMetrics;
 import com.roommanager.remote.repositories.CustomerRepo;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -28,6 +31,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class MinThresholdCalculatorTest {
 
   private static final BigDecimal MIN_THRESHOLD = BigDecimal.valueOf(123.45);
+  private static final long MIN_THRESHOLD_MINOR_UNITS = 12345;
   @Mock
   private CustomerRepo customerRepo;
   private MinThresholdCalculator minThresholdCalculator;
@@ -44,9 +48,16 @@ class MinThresholdCalculatorTest {
         new Customer(BigDecimal.valueOf(23.15)));
   }
 
+  private static CustomersAggregate aggregateOf(List<Customer> customers) {
+    return new CustomersAggregate(customers.size(), customers.stream()
+        .mapToLong(c -> EUR.toMinorUnits(c.priceOffer(), RoundingMode.UNNECESSARY))
+        .sum());
+  }
+
   @BeforeEach
   void beforeEach() {
-    minThresholdCalculator = new MinThresholdCalculator(MIN_THRESHOLD, customerRepo);
+    minThresholdCalculator = new MinThresholdCalculator(MIN_THRESHOLD, customerRepo, PipelineMetrics.DISABLED);
+    when(customerRepo.snapshot()).thenReturn(customerRepo);
   }
 
   @Nested
@@ -57,36 +68,44 @@ class MinThresholdCalculatorTest {
     void returnEmptyList() {
       var response = minThresholdCalculator.execute(new RoomsAvailabilityQuery(0, 0));
       assertThat(response).isEmpty();
-      verify(customerRepo, never()).findByPriceOfferGTEOrderByPriceOfferDesc(any(BigDecimal.class), anyInt());
-      verify(customerRepo, never()).findByPriceOfferLTOrderByPriceOfferDesc(any(BigDecimal.class), anyInt());
+      verify(customerRepo, never())
+          .aggregateByPriceOfferGTEOrderByPriceOfferDesc(anyLong(), anyInt(), anyInt());
+      verify(customerRepo, never())
+          .aggregateByPriceOfferLTOrderByPriceOfferDesc(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     @DisplayName("availability for premium rooms is returned if there are only premium rooms available")
     void returnArrayWithPremiumAvailabilityOnly() {
-      when(customerRepo.findByPriceOfferGTEOrderByPriceOfferDesc(MIN_THRESHOLD, 3)).thenReturn(premiumCustomersStub());
+      when(customerRepo.aggregateByPriceOfferGTEOrderByPriceOfferDesc(MIN_THRESHOLD_MINOR_UNITS, 0, 3))
+          .thenReturn(aggregateOf(premiumCustomersStub()));
       var response = minThresholdCalculator.execute(new RoomsAvailabilityQuery(3, 0));
       assertThat(response).size().isEqualTo(1);
       assertThat(response).anyMatch(c -> c.equals(new RoomsAvailabilityResult(PREMIUM, 3, 578.46, EUR)));
-      verify(customerRepo, never()).findByPriceOfferLTOrderByPriceOfferDesc(any(BigDecimal.class), anyInt());
+      verify(customerRepo, never())
+          .aggregateByPriceOfferLTOrderByPriceOfferDesc(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     @DisplayName("availability for economy rooms is returned if there are only economy rooms available")
     void returnArrayWithEconomyAvailabilityOnly() {
-      when(customerRepo.findByPriceOfferLTOrderByPriceOfferDesc(MIN_THRESHOLD, 3)).thenReturn(economyCustomersStub());
+      when(customerRepo.aggregateByPriceOfferLTOrderByPriceOfferDesc(MIN_THRESHOLD_MINOR_UNITS, 0, 3))
+          .thenReturn(aggregateOf(economyCustomersStub()));
       var response = minThresholdCalculator.execute(new RoomsAvailabilityQuery(0, 3));
 
       assertThat(response).size().isEqualTo(1);
       assertThat(response).anyMatch(c -> c.equals(new RoomsAvailabilityResult(ECONOMY, 3, 255.57, EUR)));
-      verify(customerRepo, never()).findByPriceOfferGTEOrderByPriceOfferDesc(any(BigDecimal.class), anyInt());
+      verify(customerRepo, never())
+          .aggregateByPriceOfferGTEOrderByPriceOfferDesc(anyLong(), anyInt(), anyInt());
     }
 
     @Test
     @DisplayName("economy customers stay in economy room and premium customers in premium if there are enough free rooms of both types")
     void economyCustomerStayInEconomyRoomAndPremiumCustomerInPremiumOne() {
-      when(customerRepo.findByPriceOfferGTEOrderByPriceOfferDesc(MIN_THRESHOLD, 3)).thenReturn(premiumCustomersStub());
-      when(customerRepo.findByPriceOfferLTOrderByPriceOfferDesc(MIN_THRESHOLD, 3)).thenReturn(economyCustomersStub());
+      when(customerRepo.aggregateByPriceOfferGTEOrderByPriceOfferDesc(MIN_THRESHOLD_MINOR_UNITS, 0, 3))
+          .thenReturn(aggregateOf(premiumCustomersStub()));
+      when(customerRepo.aggregateByPriceOfferLTOrderByPriceOfferDesc(MIN_THRESHOLD_MINOR_UNITS, 0, 3))
+          .thenReturn(aggregateOf(economyCustomersStub()));
       var response = minThresholdCalculator.execute(new RoomsAvailabilityQuery(3, 3));
 
       assertThat(response).size().isEqualTo(2);
@@ -97,8 +116,10 @@ class MinThresholdCalculatorTest {
     @Test
     @DisplayName("no economy customer is moved to premium, if there are enough economy rooms available")
     void economyCustomerNotMovedToPremiumIfEconomyRoomsAvailable() {
-      when(customerRepo.findByPriceOfferGTEOrderByPriceOfferDesc(MIN_THRESHOLD, 5)).thenReturn(premiumCustomersStub());
-      when(customerRepo.findByPriceOfferLTOrderByPriceOfferDesc(MIN_THRESHOLD, 9)).thenReturn(economyCustomersStub());
+      when(customerRepo.aggregateByPriceOfferGTEOrderByPriceOfferDesc(MIN_THRESHOLD_MINOR_UNITS, 0, 5))
+          .thenReturn(aggregateOf(premiumCustomersStub()));
+      when(customerRepo.aggregateByPriceOfferLTOrderByPriceOfferDesc(MIN_THRESHOLD_MINOR_UNITS, 0, 9))
+          .thenReturn(aggregateOf(economyCustomersStub()));
       var response = minThresholdCalculator.execute(new RoomsAvailabilityQuery(5, 7));
 
       assertThat(response).size().isEqualTo(2);
@@ -109,8 +130,12 @@ class MinThresholdCalculatorTest {
     @Test
     @DisplayName("an economy customer with highest price is moved to premium, if all economy rooms are full and there is premium room available")
     void economyCustomerMovedToPremium() {
-      when(customerRepo.findByPriceOfferGTEOrderByPriceOfferDesc(MIN_THRESHOLD, 5)).thenReturn(premiumCustomersStub());
-      when(customerRepo.findByPriceOfferLTOrderByPriceOfferDesc(MIN_THRESHOLD, 4)).thenReturn(economyCustomersStub());
+      when(customerRepo.aggregateByPriceOfferGTEOrderByPriceOfferDesc(MIN_THRESHOLD_MINOR_UNITS, 0, 5))
+          .thenReturn(aggregateOf(premiumCustomersStub()));
+      when(customerRepo.aggregateByPriceOfferLTOrderByPriceOfferDesc(MIN_THRESHOLD_MINOR_UNITS, 0, 4))
+          .thenReturn(aggregateOf(economyCustomersStub()));
+      when(customerRepo.aggregateByPriceOfferLTOrderByPriceOfferDesc(MIN_THRESHOLD_MINOR_UNITS, 0, 1))
+          .thenReturn(aggregateOf(economyCustomersStub().subList(0, 1)));
       var response = minThresholdCalculator.execute(new RoomsAvailabilityQuery(5, 2));
 
       assertThat(response).size().isEqualTo(2);
@@ -118,4 +143,50 @@ class MinThresholdCalculatorTest {
       assertThat(response).anyMatch(c -> c.equals(new RoomsAvailabilityResult(ECONOMY, 2, 132.57, EUR)));
     }
   }
-}
\ No newline at end of file
+
+  @Nested
+  class ExecuteBatchTest {
+
+    @Test
+    @DisplayName("results are returned in order of queries, using totals of premium and economy customers")
+    void returnResultsInQueriesOrderFromTotals() {
+      when(customerRepo.aggregateByPriceOfferGTE(MIN_THRESHOLD_MINOR_UNITS))
+          .thenReturn(aggregateOf(premiumCustomersStub()));
+      when(customerRepo.aggregateByPriceOfferLT(MIN_THRESHOLD_MINOR_UNITS))
+          .thenReturn(aggregateOf(economyCustomersStub()));
+      var queries = List.of(new RoomsAvailabilityQuery(3, 3), new RoomsAvailabilityQuery(0, 0),
+          new RoomsAvailabilityQuery(5, 7));
+      var response = minThresholdCalculator.execute(queries, customerRepo.snapshot()).toList();
+
+      assertThat(response).containsExactly(
+          List.of(new RoomsAvailabilityResult(PREMIUM, 3, 578.46, EUR),
+              new RoomsAvailabilityResult(ECONOMY, 3, 255.57, EUR)),
+          List.of(),
+          List.of(new RoomsAvailabilityResult(PREMIUM, 3, 578.46, EUR),
+              new RoomsAvailabilityResult(ECONOMY, 3, 255.57, EUR)));
+      verify(customerRepo, never())
+          .aggregateByPriceOfferGTEOrderByPriceOfferDesc(anyLong(), anyInt(), anyInt());
+      verify(customerRepo, never())
+          .aggregateByPriceOfferLTOrderByPriceOfferDesc(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("highest paying customers are looked up, if there are less rooms than customers")
+    void lookupHighestPayingCustomers() {
+      when(customerRepo.aggregateByPriceOfferGTE(MIN_THRESHOLD_MINOR_UNITS))
+          .thenReturn(aggregateOf(premiumCustomersStub()));
+      when(customerRepo.aggregateByPriceOfferLT(MIN_THRESHOLD_MINOR_UNITS))
+          .thenReturn(aggregateOf(economyCustomersStub()));
+      when(customerRepo.aggregateByPriceOfferGTEOrderByPriceOfferDesc(MIN_THRESHOLD_MINOR_UNITS, 0, 2))
+          .thenReturn(aggregateOf(premiumCustomersStub().subList(0, 2)));
+      when(customerRepo.aggregateByPriceOfferLTOrderByPriceOfferDesc(MIN_THRESHOLD_MINOR_UNITS, 0, 1))
+          .thenReturn(aggregateOf(economyCustomersStub().subList(0, 1)));
+      var response = minThresholdCalculator.execute(List.of(new RoomsAvailabilityQuery(2, 1)), customerRepo.snapshot())
+          .toList();
+
+      assertThat(response).containsExactly(
+          List.of(new RoomsAvailabilityResult(PREMIUM, 2, 430.46, EUR),
+              new RoomsAvailabilityResult(ECONOMY, 1, 123, EUR)));
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.roommanager.domain.calculator;
+
+import static com.roommanager.domain.model.Currency.EUR;
+import static com.roommanager.domain.model.RoomType.ECONOMY;
+import static com.roommanager.domain.model.RoomType.PREMIUM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.roommanager.domain.model.RoomsAvailabilityQuery;
+import com.roommanager.domain.model.RoomsAvailabilityResult;
+import com.roommanager.metrics.PipelineMetrics;
+import com.roommanager.remote.repositories.CustomerRepo;
+import com.roommanager.remote.repositories.PriceIndex;
+import com.roommanager.remote.repositories.PriceIndexRepo;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class RankRangeCalculatorTest {
+
+  private static final BigDecimal MIN_THRESHOLD = BigDecimal.valueOf(123.45);
+  private static final long[] PRICES = {23412, 19634, 14800, 12300, 10942, 2315};
+
+  private final CustomerRepo customers = new PriceIndexRepo(PriceIndex.of(PRICES.clone(), false), 1);
+  private final RankRangeCalculator rankRangeCalculator = new RankRangeCalculator(MIN_THRESHOLD, customers,
+      PipelineMetrics.DISABLED);
+  /**
+   * Keeps results reachable, so that their allocation is not optimized away.
+   */
+  private List<RoomsAvailabilityResult> lastResults;
+
+  @Nested
+  class ExecuteTest {
+
+    @Test
+    @DisplayName("empty list is returned, when there are no available rooms of any type")
+    void returnEmptyListWhenNoRoomsAvailable() {
+      assertThat(rankRangeCalculator.execute(new RoomsAvailabilityQuery(0, 0))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("economy customers stay in economy room and premium customers in premium if there are enough free rooms of both types")
+    void economyCustomerStayInEconomyRoomAndPremiumCustomerInPremiumOne() {
+      assertThat(rankRangeCalculator.execute(new RoomsAvailabilityQuery(3, 3))).containsExactly(
+          new RoomsAvailabilityResult(PREMIUM, 3, 578.46, EUR),
+          new RoomsAvailabilityResult(ECONOMY, 3, 255.57, EUR));
+    }
+
+    @Test
+    @DisplayName("an economy customer with highest price is moved to premium, if all economy rooms are full and there is premium room available")
+    void economyCustomerMovedToPremium() {
+      assertThat(rankRangeCalculator.execute(new RoomsAvailabilityQuery(5, 2))).containsExactly(
+          new RoomsAvailabilityResult(PREMIUM, 4, 701.46, EUR),
+          new RoomsAvailabilityResult(ECONOMY, 2, 132.57, EUR));
+    }
+
+    @Test
+    @DisplayName("results equal results of MinThresholdCalculator, for single queries and batches")
+    void reproduceMinThresholdCalculator() {
+      SplittableRandom random = new SplittableRandom(42);
+      for (int dataset = 0; dataset < 50; dataset++) {
+        CustomerRepo randomCustomers = new PriceIndexRepo(
+            PriceIndex.of(random.longs(random.nextInt(30), 0, 30_000).toArray(), false), 1);
+        BigDecimal threshold = BigDecimal.valueOf(random.nextInt(30_000), 2);
+        var minThreshold = new MinThresholdCalculator(threshold, randomCustomers, PipelineMetrics.DISABLED);
+        var rankRange = new RankRangeCalculator(threshold, randomCustomers, PipelineMetrics.DISABLED);
+        List<RoomsAvailabilityQuery> queries = new ArrayList<>();
+        for (int premium = 0; premium < 32; premium++) {
+          for (int economy = 0; economy < 32; economy++) {
+            var query = new RoomsAvailabilityQuery(premium, economy);
+            queries.add(query);
+            assertThat(rankRange.execute(query, randomCustomers))
+                .isEqualTo(minThreshold.execute(query, randomCustomers));
+          }
+        }
+        assertThat(rankRange.execute(queries, randomCustomers).toList())
+            .isEqualTo(minThreshold.execute(queries, randomCustomers).toList());
+      }
+    }
+
+    @Test
+    @DisplayName("a query allocates no more memory than its results")
+    void allocateResultsOnly() {
+      var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+      assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+      var query = new RoomsAvailabilityQuery(5, 2);
+      for (int i = 0; i < 20_000; i++) {
+        lastResults = rankRangeCalculator.execute(query, customers);
+      }
+
+      long start = threads.getCurrentThreadAllocatedBytes();
+      for (int i = 0; i < 10_000; i++) {
+        lastResults = rankRangeCalculator.execute(query, customers);
+      }
+      long calculatorBytes = threads.getCurrentThreadAllocatedBytes() - start;
+      start = threads.getCurrentThreadAllocatedBytes();
+      for (int i = 0; i < 10_000; i++) {
+        lastResults = List.of(new RoomsAvailabilityResult(PREMIUM, i, i, EUR),
+            new RoomsAvailabilityResult(ECONOMY, i, i, EUR));
+      }
+      long resultsBytes = threads.getCurrentThreadAllocatedBytes() - start;
+
+      assertThat(calculatorBytes).isLessThanOrEqualTo(resultsBytes);
+    }
+  }
+}
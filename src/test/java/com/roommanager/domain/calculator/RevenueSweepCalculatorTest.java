@@ -0,0 +1,82 @@
+package com.roommanager.domain.calculator;
+
+import static com.roommanager.domain.model.Currency.EUR;
+import static com.roommanager.domain.model.RoomType.ECONOMY;
+import static com.roommanager.domain.model.RoomType.PREMIUM;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.roommanager.domain.model.RevenueSweepQuery;
+import com.roommanager.domain.model.RevenueSweepSlice;
+import com.roommanager.domain.model.RoomsAvailabilityQuery;
+import com.roommanager.domain.model.RoomsAvailabilityResult;
+import com.roommanager.domain.model.RoomsRange;
+import com.roommanager.metrics.PipelineMetrics;
+import com.roommanager.remote.repositories.CustomerRepo;
+import com.roommanager.remote.repositories.PriceIndex;
+import com.roommanager.remote.repositories.PriceIndexRepo;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class RevenueSweepCalculatorTest {
+
+  private static final long[] PRICES = {2300, 4500, 15500, 37400, 2200, 9999, 10000, 10100, 11500, 20900};
+
+  private final CustomerRepo customers = new PriceIndexRepo(PriceIndex.of(PRICES.clone(), false), 1);
+  private final RevenueSweepCalculator revenueSweepCalculator = new RevenueSweepCalculator();
+
+  @Nested
+  class ExecuteTest {
+
+    @Test
+    @DisplayName("each combination of threshold and rooms equals result of RankRangeCalculator")
+    void reproduceRankRangeCalculator() {
+      long[] thresholds = {8000, 9999, 10000, 12000};
+      var premiumRooms = new RoomsRange(0, 12, 1);
+      var economyRooms = new RoomsRange(0, 12, 3);
+      var slices = revenueSweepCalculator.execute(new RevenueSweepQuery(thresholds, premiumRooms, economyRooms),
+          customers).toList();
+
+      assertThat(slices).extracting(RevenueSweepSlice::threshold).containsExactly(8000L, 9999L, 10000L, 12000L);
+      for (RevenueSweepSlice slice : slices) {
+        var calculator = new RankRangeCalculator(EUR.fromMinorUnits(slice.threshold()), customers,
+            PipelineMetrics.DISABLED);
+        assertThat(slice.rows()).isEqualTo(13);
+        assertThat(slice.columns()).isEqualTo(5);
+        for (int row = 0; row < slice.rows(); row++) {
+          for (int column = 0; column < slice.columns(); column++) {
+            var expected = calculator.execute(
+                new RoomsAvailabilityQuery(premiumRooms.get(row), economyRooms.get(column)), customers);
+            assertThat(cell(slice, row, column)).isEqualTo(expected.stream()
+                .filter(result -> result.customersCount() > 0)
+                .toList());
+          }
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("empty room range results in slices without cells")
+    void returnEmptySlicesForEmptyRange() {
+      var slices = revenueSweepCalculator.execute(new RevenueSweepQuery(new long[]{1000},
+          new RoomsRange(3, 2, 1), new RoomsRange(0, 5, 1)), customers).toList();
+
+      assertThat(slices).hasSize(1);
+      assertThat(slices.get(0).rows()).isZero();
+    }
+  }
+
+  /**
+   * Results of room types having any customer in given cell.
+   */
+  private static List<RoomsAvailabilityResult> cell(RevenueSweepSlice slice, int row, int column) {
+    var premium = new RoomsAvailabilityResult(PREMIUM, slice.premiumCustomers(row, column),
+        EUR.toDouble(slice.premiumRevenue(row, column)), EUR);
+    var economy = new RoomsAvailabilityResult(ECONOMY,
+        slice.economyCustomers(row, column), EUR.toDouble(slice.economyRevenue(row, column)), EUR);
+    return List.of(premium, economy).stream()
+        .filter(result -> result.customersCount() > 0)
+        .toList();
+  }
+}
@@ -0,0 +1,149 @@
+package com.roommanager.domain.calculator;
+
+import static com.roommanager.domain.model.Currency.EUR;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.roommanager.domain.model.RoomsAvailabilityQuery;
+import com.roommanager.domain.model.TierAllocation;
+import com.roommanager.domain.model.TierAvailabilityResult;
+import com.roommanager.domain.model.TieredAvailabilityQuery;
+import com.roommanager.metrics.PipelineMetrics;
+import com.roommanager.remote.repositories.CustomerRepo;
+import com.roommanager.remote.repositories.PriceIndex;
+import com.roommanager.remote.repositories.PriceIndexRepo;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TieredAvailabilityCalculatorTest {
+
+  private static final String FOUR_TIERS = "SUITE:300,PREMIUM:100,STANDARD:50,ECONOMY";
+
+  private static CustomerRepo customers(long... prices) {
+    return new PriceIndexRepo(PriceIndex.of(prices, false), 1);
+  }
+
+  private static TieredAvailabilityQuery query(Integer... availableRooms) {
+    return new TieredAvailabilityQuery(List.of(availableRooms));
+  }
+
+  private static TierAvailabilityResult result(String tier, int customersCount, double totalPrice) {
+    return new TierAvailabilityResult(tier, customersCount, totalPrice, EUR);
+  }
+
+  @Nested
+  class ExecuteTest {
+
+    @Test
+    @DisplayName("with two tiers, results equal results of MinThresholdCalculator")
+    void reproduceTwoTiers() {
+      CustomerRepo customers = customers(2300, 4500, 15500, 37400, 2200, 9999, 10000, 10100, 11500, 20900);
+      var tiered = new TieredAvailabilityCalculator("PREMIUM:100,ECONOMY", customers);
+      var minThreshold = new MinThresholdCalculator(BigDecimal.valueOf(100), customers, PipelineMetrics.DISABLED);
+      for (int premium = 0; premium < 12; premium++) {
+        for (int economy = 0; economy < 12; economy++) {
+          var expected = minThreshold.execute(new RoomsAvailabilityQuery(premium, economy), customers).stream()
+              .map(r -> result(r.roomType().name(), r.customersCount(), r.totalPrice()))
+              .toList();
+          assertThat(tiered.execute(query(premium, economy), customers)).isEqualTo(expected);
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("each tier takes its highest paying customers, overflow is upgraded to free rooms of higher tiers")
+    void upgradeOverflowToHigherTier() {
+      CustomerRepo customers = customers(40000, 35000, 25000, 15000, 9000, 8000, 6000, 4000, 3000);
+      var calculator = new TieredAvailabilityCalculator(FOUR_TIERS, customers);
+      assertThat(calculator.execute(query(3, 1, 1, 1), customers)).containsExactly(
+          result("SUITE", 3, 1000),
+          result("PREMIUM", 1, 150),
+          result("STANDARD", 1, 90),
+          result("ECONOMY", 1, 40));
+    }
+
+    @Test
+    @DisplayName("overflow is upgraded over several tiers, the highest paying customers to the highest tier")
+    void upgradeOverflowOverSeveralTiers() {
+      CustomerRepo customers = customers(40000, 4000, 3000, 2000);
+      var calculator = new TieredAvailabilityCalculator(FOUR_TIERS, customers);
+      assertThat(calculator.execute(query(2, 1, 0, 1), customers)).containsExactly(
+          result("SUITE", 2, 440),
+          result("PREMIUM", 1, 30),
+          result("ECONOMY", 1, 20));
+    }
+
+    @Test
+    @DisplayName("customers fitting into rooms of their tier are not upgraded")
+    void keepCustomersFittingTier() {
+      CustomerRepo customers = customers(40000, 4000, 3000);
+      var calculator = new TieredAvailabilityCalculator(FOUR_TIERS, customers);
+      assertThat(calculator.execute(query(5, 5, 5, 5), customers)).containsExactly(
+          result("SUITE", 1, 400),
+          result("ECONOMY", 2, 70));
+    }
+
+    @Test
+    @DisplayName("IllegalArgumentException is thrown, when rooms of another number of tiers are given")
+    void throwWhenTiersCountDiffers() {
+      CustomerRepo customers = customers(40000);
+      var calculator = new TieredAvailabilityCalculator(FOUR_TIERS, customers);
+      assertThatThrownBy(() -> calculator.execute(query(1, 1), customers))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Nested
+  class AllocateTest {
+
+    @Test
+    @DisplayName("rank ranges of each tier are ordered by tier and rank, upgrades included")
+    void allocateRankRangesOrderedByTierAndRank() {
+      CustomerRepo customers = customers(40000, 35000, 25000, 15000, 9000, 8000, 6000, 4000, 3000);
+      var calculator = new TieredAvailabilityCalculator(FOUR_TIERS, customers);
+      assertThat(calculator.allocate(query(3, 1, 1, 1), customers)).containsExactly(
+          new TierAllocation(0, 0, 2),
+          new TierAllocation(0, 2, 3),
+          new TierAllocation(1, 3, 4),
+          new TierAllocation(2, 4, 5),
+          new TierAllocation(3, 7, 8));
+    }
+
+    @Test
+    @DisplayName("empty rank range is allocated to a tier, which upgraded all its customers")
+    void allocateEmptyRangeToFullyUpgradedTier() {
+      CustomerRepo customers = customers(40000, 4000);
+      var calculator = new TieredAvailabilityCalculator("PREMIUM:100,ECONOMY", customers);
+      assertThat(calculator.allocate(query(2, 0), customers)).containsExactly(
+          new TierAllocation(0, 0, 1),
+          new TierAllocation(0, 1, 2),
+          new TierAllocation(1, 2, 2));
+    }
+  }
+
+  @Nested
+  class TiersTest {
+
+    @Test
+    @DisplayName("tiers are parsed in order, the lowest tier has no min price")
+    void parseTiers() {
+      var calculator = new TieredAvailabilityCalculator(FOUR_TIERS, customers());
+      assertThat(calculator.tiers()).extracting("name").containsExactly("SUITE", "PREMIUM", "STANDARD", "ECONOMY");
+      assertThat(calculator.tiers().get(3).minPriceOffer()).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"PREMIUM:100,SUITE:300,ECONOMY", "PREMIUM,ECONOMY", "PREMIUM:100,PREMIUM:50,ECONOMY",
+        "PREMIUM:100,,ECONOMY"})
+    @DisplayName("IllegalArgumentException is thrown for invalid tiers")
+    void throwForInvalidTiers(String tiers) {
+      assertThatThrownBy(() -> new TieredAvailabilityCalculator(tiers, customers()))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+}
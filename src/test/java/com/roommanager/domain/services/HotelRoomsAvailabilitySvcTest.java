@@ -0,0 +1,110 @@
+package com.roommanager.domain.services;
+
+import static com.roommanager.domain.model.Currency.EUR;
+import static com.roommanager.domain.model.RoomType.PREMIUM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.roommanager.domain.calculator.AvailabilityCalculator;
+import com.roommanager.domain.model.RoomsAvailabilityQuery;
+import com.roommanager.domain.model.RoomsAvailabilityResult;
+import com.roommanager.metrics.PipelineMetrics;
+import com.roommanager.remote.api.RoomsAvailabilityRequest;
+import com.roommanager.remote.repositories.CustomerRepo;
+import com.roommanager.remote.repositories.HotelCustomerRepos;
+import com.roommanager.remote.repositories.HotelNotFoundException;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.Environment;
+
+@ExtendWith(MockitoExtension.class)
+class HotelRoomsAvailabilitySvcTest {
+
+  private static final String HOTEL_ID = "alpine";
+  private static final String THRESHOLD_PROPERTY = "app.hotels.premium-min-threshold." + HOTEL_ID;
+
+  @Mock
+  private AvailabilityCalculator availabilityCalculator;
+  @Mock
+  private AvailabilityCalculator hotelCalculator;
+  @Mock
+  private HotelCustomerRepos hotelCustomerRepos;
+  @Mock
+  private CustomerRepo customerRepo;
+  @Mock
+  private Environment environment;
+  private HotelRoomsAvailabilitySvc hotelRoomsAvailabilitySvc;
+
+  @BeforeEach
+  void beforeEach() {
+    hotelRoomsAvailabilitySvc = new HotelRoomsAvailabilitySvc(availabilityCalculator, hotelCustomerRepos,
+        PipelineMetrics.DISABLED, environment, BigDecimal.valueOf(100));
+  }
+
+  @Nested
+  class CalculateAvailabilityTest {
+
+    @Test
+    @DisplayName("empty list is returned, when availability for both room types is zero")
+    void returnEmptyList() {
+      when(hotelCustomerRepos.forHotel(HOTEL_ID)).thenReturn(customerRepo);
+      when(customerRepo.snapshot()).thenReturn(customerRepo);
+      var response = hotelRoomsAvailabilitySvc.calculateAvailability(HOTEL_ID, new RoomsAvailabilityRequest(0, 0));
+      assertThat(response.body()).isEmpty();
+      verify(availabilityCalculator, never()).execute(any(RoomsAvailabilityQuery.class), any(CustomerRepo.class));
+    }
+
+    @Test
+    @DisplayName("default calculator is used, when hotel has no threshold configured")
+    void useDefaultCalculator() {
+      RoomsAvailabilityQuery query = new RoomsAvailabilityQuery(2, 0);
+      when(hotelCustomerRepos.forHotel(HOTEL_ID)).thenReturn(customerRepo);
+      when(customerRepo.snapshot()).thenReturn(customerRepo);
+      when(customerRepo.version()).thenReturn(3L);
+      when(availabilityCalculator.execute(query, customerRepo))
+          .thenReturn(List.of(new RoomsAvailabilityResult(PREMIUM, 2, 529, EUR)));
+
+      var response = hotelRoomsAvailabilitySvc.calculateAvailability(HOTEL_ID, new RoomsAvailabilityRequest(2, 0));
+      assertThat(response.datasetVersion()).isEqualTo(3L);
+      assertThat(response.body()).singleElement().matches(result -> result.customersCount() == 2);
+      verify(availabilityCalculator, never()).withPremiumPriceMinThreshold(any());
+    }
+
+    @Test
+    @DisplayName("calculator with hotel threshold is created once and reused")
+    void useHotelCalculator() {
+      RoomsAvailabilityQuery query = new RoomsAvailabilityQuery(2, 0);
+      BigDecimal threshold = BigDecimal.valueOf(250);
+      when(hotelCustomerRepos.forHotel(HOTEL_ID)).thenReturn(customerRepo);
+      when(customerRepo.snapshot()).thenReturn(customerRepo);
+      when(environment.getProperty(THRESHOLD_PROPERTY, BigDecimal.class)).thenReturn(threshold);
+      when(availabilityCalculator.withPremiumPriceMinThreshold(threshold)).thenReturn(hotelCalculator);
+      when(hotelCalculator.execute(query, customerRepo)).thenReturn(List.of());
+
+      hotelRoomsAvailabilitySvc.calculateAvailability(HOTEL_ID, new RoomsAvailabilityRequest(2, 0));
+      hotelRoomsAvailabilitySvc.calculateAvailability(HOTEL_ID, new RoomsAvailabilityRequest(2, 0));
+      verify(availabilityCalculator, times(1)).withPremiumPriceMinThreshold(threshold);
+      verify(hotelCalculator, times(2)).execute(query, customerRepo);
+    }
+
+    @Test
+    @DisplayName("HotelNotFoundException is propagated for unknown hotel")
+    void propagateHotelNotFound() {
+      when(hotelCustomerRepos.forHotel("unknown")).thenThrow(new HotelNotFoundException("Hotel [unknown] not found."));
+      assertThatThrownBy(() -> hotelRoomsAvailabilitySvc.calculateAvailability("unknown",
+          new RoomsAvailabilityRequest(1, 1))).isInstanceOf(HotelNotFoundException.class);
+    }
+  }
+}
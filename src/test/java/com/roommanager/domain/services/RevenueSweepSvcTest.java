@@ -0,0 +1,80 @@
+package com.roommanager.domain.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.roommanager.domain.calculator.RevenueSweepCalculator;
+import com.roommanager.domain.model.RevenueSweepSlice;
+import com.roommanager.remote.api.RevenueSweepRequest;
+import com.roommanager.remote.api.RevenueSweepRequest.RoomsRange;
+import com.roommanager.remote.api.RevenueSweepRequest.ThresholdsRange;
+import com.roommanager.remote.repositories.PriceIndex;
+import com.roommanager.remote.repositories.PriceIndexRepo;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class RevenueSweepSvcTest {
+
+  private RevenueSweepSvc revenueSweepSvc;
+
+  @BeforeEach
+  void beforeEach() {
+    revenueSweepSvc = new RevenueSweepSvc(new RevenueSweepCalculator(),
+        new PriceIndexRepo(PriceIndex.of(new long[]{40000, 15000, 4000}, false), 7), 100, 25);
+  }
+
+  private static RevenueSweepRequest request(String from, String to, String step, int rooms) {
+    return new RevenueSweepRequest(new ThresholdsRange(new BigDecimal(from), new BigDecimal(to), new BigDecimal(step)),
+        new RoomsRange(0, rooms - 1, 1), new RoomsRange(0, rooms - 1, 1));
+  }
+
+  @Nested
+  class SweepTest {
+
+    @Test
+    @DisplayName("thresholds are swept from the first one up to the last one inclusive")
+    void sweepThresholdsInclusive() {
+      var response = revenueSweepSvc.sweep(request("80", "120", "20", 2));
+
+      assertThat(response.datasetVersion()).isEqualTo(7);
+      assertThat(response.body().map(RevenueSweepSlice::threshold)).containsExactly(8000L, 10000L, 12000L);
+    }
+
+    @Test
+    @DisplayName("RevenueSweepTooLargeException is thrown, when combinations exceed the limit")
+    void throwForTooManyCombinations() {
+      assertThatThrownBy(() -> revenueSweepSvc.sweep(request("80", "120", "10", 5)))
+          .isInstanceOf(RevenueSweepTooLargeException.class)
+          .hasMessageContaining("125");
+    }
+
+    @Test
+    @DisplayName("thresholds are converted to minor units rounded up, before slices are computed")
+    void convertThresholdsUpFront() {
+      assertThat(revenueSweepSvc.sweep(request("99.991", "100", "0.005", 1)).body()
+          .map(RevenueSweepSlice::threshold)).containsExactly(10000L, 10000L);
+      assertThatThrownBy(() -> revenueSweepSvc.sweep(request("1e30", "1e30", "1", 1)))
+          .isInstanceOf(RevenueSweepTooLargeException.class);
+    }
+
+    @Test
+    @DisplayName("RevenueSweepTooLargeException is thrown, when room counts of a single threshold exceed the limit")
+    void throwForTooLargeSlice() {
+      assertThatThrownBy(() -> revenueSweepSvc.sweep(request("80", "80", "1", 6)))
+          .isInstanceOf(RevenueSweepTooLargeException.class)
+          .hasMessageContaining("per threshold");
+    }
+
+    @Test
+    @DisplayName("RevenueSweepTooLargeException is thrown for thresholds beyond any primitive range")
+    void throwForHugeThresholdsRange() {
+      assertThatThrownBy(() -> revenueSweepSvc.sweep(request("0", "1e30", "0.01", 1)))
+          .isInstanceOf(RevenueSweepTooLargeException.class);
+      assertThatThrownBy(() -> revenueSweepSvc.sweep(request("0", "1e30", "0.01", 0)))
+          .isInstanceOf(RevenueSweepTooLargeException.class);
+    }
+  }
+}
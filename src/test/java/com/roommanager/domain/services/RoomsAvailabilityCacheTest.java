@@ -0,0 +1,68 @@
+package com.roommanager.domain.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.roommanager.remote.api.AvailabilityCacheStatsResponse;
+import com.roommanager.remote.api.RoomsAvailabilityRequest;
+import com.roommanager.remote.api.RoomsAvailabilityResponse;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class RoomsAvailabilityCacheTest {
+
+  private static final RoomsAvailabilityRequest REQUEST = new RoomsAvailabilityRequest(3, 2);
+  private static final List<RoomsAvailabilityResponse> RESPONSE =
+      List.of(new RoomsAvailabilityResponse("PREMIUM", 3, 738, "EUR"));
+  private final AtomicInteger calculations = new AtomicInteger();
+
+  private Supplier<List<RoomsAvailabilityResponse>> calculation() {
+    return () -> {
+      calculations.incrementAndGet();
+      return RESPONSE;
+    };
+  }
+
+  @Nested
+  class GetTest {
+
+    @Test
+    @DisplayName("response is calculated once per dataset version and request")
+    void calculateOncePerVersionAndRequest() {
+      var cache = new RoomsAvailabilityCache(true, 16);
+      assertThat(cache.get(1, REQUEST, calculation())).isEqualTo(RESPONSE);
+      assertThat(cache.get(1, REQUEST, calculation())).isEqualTo(RESPONSE);
+      cache.get(2, REQUEST, calculation());
+      cache.get(2, new RoomsAvailabilityRequest(3, 3), calculation());
+
+      assertThat(calculations).hasValue(3);
+      assertThat(cache.stats()).isEqualTo(new AvailabilityCacheStatsResponse(true, 1, 3, 0, 3));
+    }
+
+    @Test
+    @DisplayName("least recently used entry is evicted, when cache is full")
+    void evictLeastRecentlyUsedEntry() {
+      var cache = new RoomsAvailabilityCache(true, 1);
+      cache.get(1, REQUEST, calculation());
+      cache.get(2, REQUEST, calculation());
+      cache.get(1, REQUEST, calculation());
+
+      assertThat(calculations).hasValue(3);
+      assertThat(cache.stats()).isEqualTo(new AvailabilityCacheStatsResponse(true, 0, 3, 2, 1));
+    }
+
+    @Test
+    @DisplayName("response is always calculated, when cache is disabled")
+    void calculateWhenDisabled() {
+      var cache = new RoomsAvailabilityCache(false, 16);
+      cache.get(1, REQUEST, calculation());
+      cache.get(1, REQUEST, calculation());
+
+      assertThat(calculations).hasValue(2);
+      assertThat(cache.stats()).isEqualTo(new AvailabilityCacheStatsResponse(false, 0, 0, 0, 0));
+    }
+  }
+}
@@ -5,17 +5,22 @@ import static com.roommanager.domain.model.RoomType.ECONOMY;
 import static com.roommanager.domain.model.RoomType.PREMIUM;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.roommanager.domain.calculator.AvailabilityCalculator;
 import com.roommanager.domain.model.RoomsAvailabilityQuery;
 import com.roommanager.domain.model.RoomsAvailabilityResult;
+import com.roommanager.metrics.PipelineMetrics;
 import com.roommanager.remote.api.RoomsAvailabilityRequest;
 import com.roommanager.remote.api.RoomsAvailabilityResponse;
+import com.roommanager.remote.repositories.CustomerRepo;
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -29,11 +34,15 @@ class RoomsAvailabilitySvcTest {
 
   @Mock
   private AvailabilityCalculator availabilityCalculator;
+  @Mock
+  private CustomerRepo customerRepo;
   private RoomsAvailabilitySvc roomsAvailabilitySvc;
 
   @BeforeEach
   void beforeEach() {
-    roomsAvailabilitySvc = new RoomsAvailabilitySvc(availabilityCalculator);
+    roomsAvailabilitySvc = new RoomsAvailabilitySvc(availabilityCalculator, customerRepo,
+        new RoomsAvailabilityCache(false, 0), PipelineMetrics.DISABLED);
+    when(customerRepo.snapshot()).thenReturn(customerRepo);
   }
 
   @Nested
@@ -43,8 +52,8 @@ class RoomsAvailabilitySvcTest {
     @DisplayName("empty list is returned, when availability for both room types is zero")
     void returnEmptyList() {
       var response = roomsAvailabilitySvc.calculateAvailability(new RoomsAvailabilityRequest(0, 0));
-      assertThat(response).isEmpty();
-      verify(availabilityCalculator, never()).execute(any(RoomsAvailabilityQuery.class));
+      assertThat(response.body()).isEmpty();
+      verify(availabilityCalculator, never()).execute(any(RoomsAvailabilityQuery.class), any(CustomerRepo.class));
     }
 
     @Test
@@ -55,12 +64,22 @@ class RoomsAvailabilitySvcTest {
       RoomsAvailabilityResult premiumResult = new RoomsAvailabilityResult(PREMIUM, 3, 12.34, EUR);
       RoomsAvailabilityResult economyResult = new RoomsAvailabilityResult(ECONOMY, 8, 172.65, EUR);
 
-      when(availabilityCalculator.execute(query)).thenReturn(List.of(premiumResult, economyResult));
+      when(availabilityCalculator.execute(query, customerRepo)).thenReturn(List.of(premiumResult, economyResult));
       var response = roomsAvailabilitySvc.calculateAvailability(request);
-      assertThat(response).size().isEqualTo(2);
-      assertThat(response).anyMatch(matchResponse(premiumResult));
-      assertThat(response).anyMatch(matchResponse(economyResult));
+      assertThat(response.body()).size().isEqualTo(2);
+      assertThat(response.body()).anyMatch(matchResponse(premiumResult));
+      assertThat(response.body()).anyMatch(matchResponse(economyResult));
+
+    }
 
+    @Test
+    @DisplayName("response holds version of the dataset it was calculated from")
+    void returnDatasetVersion() {
+      RoomsAvailabilityQuery query = new RoomsAvailabilityQuery(1, 0);
+      when(customerRepo.version()).thenReturn(7L);
+      when(availabilityCalculator.execute(query, customerRepo)).thenReturn(List.of());
+      var response = roomsAvailabilitySvc.calculateAvailability(new RoomsAvailabilityRequest(1, 0));
+      assertThat(response.datasetVersion()).isEqualTo(7L);
     }
 
     private Predicate<RoomsAvailabilityResponse> matchResponse(RoomsAvailabilityResult result) {
@@ -70,4 +89,77 @@ class RoomsAvailabilitySvcTest {
                          response.totalPrice() == result.totalPrice();
     }
   }
-}
\ No newline at end of file
+
+  @Nested
+  class CalculateAvailabilityBatchTest {
+
+    @Test
+    @DisplayName("responses are returned in order of requests, along with dataset version")
+    void returnResponsesInRequestsOrder() {
+      var queries = List.of(new RoomsAvailabilityQuery(5, 12), new RoomsAvailabilityQuery(0, 0));
+      RoomsAvailabilityResult premiumResult = new RoomsAvailabilityResult(PREMIUM, 3, 12.34, EUR);
+      when(customerRepo.version()).thenReturn(7L);
+      when(availabilityCalculator.execute(queries, customerRepo))
+          .thenReturn(Stream.of(List.of(premiumResult), List.of()));
+      var response = roomsAvailabilitySvc.calculateAvailability(
+          List.of(new RoomsAvailabilityRequest(5, 12), new RoomsAvailabilityRequest(0, 0)));
+
+      assertThat(response.datasetVersion()).isEqualTo(7L);
+      assertThat(response.body().toList())
+          .containsExactly(List.of(RoomsAvailabilityResponse.from(premiumResult)), List.of());
+    }
+  }
+
+  @Nested
+  class CachedCalculateAvailabilityTest {
+
+    @BeforeEach
+    void beforeEach() {
+      roomsAvailabilitySvc = new RoomsAvailabilitySvc(availabilityCalculator, customerRepo,
+          new RoomsAvailabilityCache(true, 16), PipelineMetrics.DISABLED);
+    }
+
+    @Test
+    @DisplayName("calculator is not called for a repeated request of the same dataset version")
+    void returnCachedResponse() {
+      RoomsAvailabilityQuery query = new RoomsAvailabilityQuery(1, 0);
+      RoomsAvailabilityResult premiumResult = new RoomsAvailabilityResult(PREMIUM, 1, 12.34, EUR);
+      when(customerRepo.version()).thenReturn(7L);
+      when(availabilityCalculator.execute(query, customerRepo)).thenReturn(List.of(premiumResult));
+
+      var first = roomsAvailabilitySvc.calculateAvailability(new RoomsAvailabilityRequest(1, 0));
+      var second = roomsAvailabilitySvc.calculateAvailability(new RoomsAvailabilityRequest(1, 0));
+      assertThat(second.body()).isEqualTo(first.body());
+      verify(availabilityCalculator, times(1)).execute(query, customerRepo);
+    }
+
+    @Test
+    @DisplayName("calculator is called again for a new dataset version")
+    void recalculateForNewDatasetVersion() {
+      RoomsAvailabilityQuery query = new RoomsAvailabilityQuery(1, 0);
+      when(customerRepo.version()).thenReturn(7L, 8L);
+      when(availabilityCalculator.execute(query, customerRepo)).thenReturn(List.of());
+
+      roomsAvailabilitySvc.calculateAvailability(new RoomsAvailabilityRequest(1, 0));
+      var response = roomsAvailabilitySvc.calculateAvailability(new RoomsAvailabilityRequest(1, 0));
+      assertThat(response.datasetVersion()).isEqualTo(8L);
+      verify(availabilityCalculator, times(2)).execute(query, customerRepo);
+    }
+
+    @Test
+    @DisplayName("repo is instrumented only when the response is not cached")
+    void instrumentOnCacheMiss() {
+      PipelineMetrics pipelineMetrics = mock(PipelineMetrics.class);
+      roomsAvailabilitySvc = new RoomsAvailabilitySvc(availabilityCalculator, customerRepo,
+          new RoomsAvailabilityCache(true, 16), pipelineMetrics);
+      RoomsAvailabilityQuery query = new RoomsAvailabilityQuery(1, 0);
+      when(customerRepo.version()).thenReturn(7L);
+      when(pipelineMetrics.instrument(customerRepo)).thenReturn(customerRepo);
+      when(availabilityCalculator.execute(query, customerRepo)).thenReturn(List.of());
+
+      roomsAvailabilitySvc.calculateAvailability(new RoomsAvailabilityRequest(1, 0));
+      roomsAvailabilitySvc.calculateAvailability(new RoomsAvailabilityRequest(1, 0));
+      verify(pipelineMetrics, times(1)).instrument(customerRepo);
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package com.roommanager.domain.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.roommanager.domain.calculator.TieredAvailabilityCalculator;
+import com.roommanager.metrics.PipelineMetrics;
+import com.roommanager.remote.api.RoomsAvailabilityResponse;
+import com.roommanager.remote.repositories.CustomerRepo;
+import com.roommanager.remote.repositories.PriceIndex;
+import com.roommanager.remote.repositories.PriceIndexRepo;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class TieredAvailabilitySvcTest {
+
+  private TieredAvailabilitySvc tieredAvailabilitySvc;
+
+  @BeforeEach
+  void beforeEach() {
+    CustomerRepo customers = new PriceIndexRepo(PriceIndex.of(new long[]{40000, 15000, 4000}, false), 3);
+    tieredAvailabilitySvc = new TieredAvailabilitySvc(
+        new TieredAvailabilityCalculator("SUITE:300,PREMIUM:100,ECONOMY", customers), customers,
+        PipelineMetrics.DISABLED);
+  }
+
+  @Nested
+  class CalculateAvailabilityTest {
+
+    @Test
+    @DisplayName("tiers not given have no rooms available")
+    void defaultMissingTiersToNoRooms() {
+      var response = tieredAvailabilitySvc.calculateAvailability(Map.of("SUITE", 1, "ECONOMY", 1));
+      assertThat(response.datasetVersion()).isEqualTo(3);
+      assertThat(response.body()).containsExactly(
+          new RoomsAvailabilityResponse("SUITE", 1, 400, "EUR"),
+          new RoomsAvailabilityResponse("ECONOMY", 1, 40, "EUR"));
+    }
+
+    @Test
+    @DisplayName("UnknownRoomTierException is thrown for a tier not configured")
+    void throwForUnknownTier() {
+      assertThatThrownBy(() -> tieredAvailabilitySvc.calculateAvailability(Map.of("PENTHOUSE", 1)))
+          .isInstanceOf(UnknownRoomTierException.class)
+          .hasMessageContaining("PENTHOUSE");
+    }
+  }
+
+  @Nested
+  class AssignRoomsTest {
+
+    @Test
+    @DisplayName("each assigned room is visited with tier, rank and price offer of its customer")
+    void visitAssignedRooms() throws IOException {
+      var response = tieredAvailabilitySvc.assignRooms(Map.of("SUITE", 2, "ECONOMY", 1));
+      List<String> rooms = new ArrayList<>();
+      response.body().forEach((tier, rank, priceOffer) -> rooms.add(tier + " " + rank + " " + priceOffer));
+      assertThat(response.datasetVersion()).isEqualTo(3);
+      assertThat(rooms).containsExactly("SUITE 0 40000", "SUITE 1 15000", "ECONOMY 2 4000");
+    }
+
+    @Test
+    @DisplayName("UnknownRoomTierException is thrown for a tier not configured")
+    void throwForUnknownTier() {
+      assertThatThrownBy(() -> tieredAvailabilitySvc.assignRooms(Map.of("PENTHOUSE", 1)))
+          .isInstanceOf(UnknownRoomTierException.class)
+          .hasMessageContaining("PENTHOUSE");
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.roommanager.metrics;
+
+import static com.roommanager.metrics.MicrometerPipelineMetrics.REPO_CALL_TIMER;
+import static com.roommanager.metrics.MicrometerPipelineMetrics.STAGE_TIMER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.roommanager.domain.model.CustomersAggregate;
+import com.roommanager.metrics.PipelineMetrics.Stage;
+import com.roommanager.remote.repositories.CustomerRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MicrometerPipelineMetricsTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private MicrometerPipelineMetrics pipelineMetrics;
+  @Mock
+  private CustomerRepo customerRepo;
+
+  @BeforeEach
+  void beforeEach() {
+    pipelineMetrics = new MicrometerPipelineMetrics(meterRegistry);
+  }
+
+  @Nested
+  class StopTest {
+
+    @Test
+    @DisplayName("stage duration is recorded under the stage tag, its end is returned")
+    void recordStage() {
+      long start = pipelineMetrics.start();
+      long end = pipelineMetrics.stop(Stage.PREMIUM_LOOKUP, start);
+
+      assertThat(end).isGreaterThanOrEqualTo(start);
+      assertThat(meterRegistry.get(STAGE_TIMER).tag("stage", "premium-lookup").timer().count()).isEqualTo(1);
+      assertThat(meterRegistry.get(STAGE_TIMER).tag("stage", "economy-lookup").timer().count()).isZero();
+    }
+  }
+
+  @Nested
+  class InstrumentTest {
+
+    @Test
+    @DisplayName("repo calls are delegated and recorded under the method tag")
+    void recordRepoCalls() {
+      when(customerRepo.aggregateByPriceOfferGTEOrderByPriceOfferDesc(10000, 0, 5))
+          .thenReturn(new CustomersAggregate(2, 30000));
+      var customers = pipelineMetrics.instrument(customerRepo);
+
+      assertThat(customers.aggregateByPriceOfferGTEOrderByPriceOfferDesc(10000, 0, 5))
+          .isEqualTo(new CustomersAggregate(2, 30000));
+      assertThat(meterRegistry.get(REPO_CALL_TIMER)
+          .tag("method", "aggregateByPriceOfferGTEOrderByPriceOfferDesc").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("repo is not wrapped, when stage timing is disabled")
+    void keepRepoWhenDisabled() {
+      assertThat(PipelineMetrics.DISABLED.instrument(customerRepo)).isSameAs(customerRepo);
+    }
+  }
+}
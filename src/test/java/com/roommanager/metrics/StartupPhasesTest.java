@@ -0,0 +1,47 @@
+package com.roommanager.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.roommanager.metrics.StartupPhases.Phase;
+import com.roommanager.remote.repositories.PriceIndexLoadedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+class StartupPhasesTest {
+
+  private final Resource clientsResource = new ByteArrayResource(new byte[]{1});
+  private final StartupPhases startupPhases = new StartupPhases(clientsResource);
+
+  @Test
+  @DisplayName("load phases are taken from the first load of the clients resource")
+  void recordFirstLoad() {
+    startupPhases.onApplicationEvent(new PriceIndexLoadedEvent(this, new ByteArrayResource(new byte[]{2}), 9, 9, 9));
+    startupPhases.onApplicationEvent(new PriceIndexLoadedEvent(this, clientsResource, 3, 2, 1));
+    startupPhases.onApplicationEvent(new PriceIndexLoadedEvent(this, clientsResource, 30, 20, 10));
+
+    assertThat(startupPhases.durations()).containsExactly(
+        entry(Phase.PARSE, 3), entry(Phase.SORT, 2), entry(Phase.INDEX, 1));
+  }
+
+  @Test
+  @DisplayName("phase durations are exposed as gauges tagged by phase, NaN until recorded")
+  void phaseGauges() {
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    startupPhases.bindTo(meterRegistry);
+    startupPhases.record(Phase.WARM_UP, TimeUnit.MILLISECONDS.toNanos(250));
+
+    assertThat(meterRegistry.get("startup.phase.duration").tag("phase", "warm-up").timeGauge()
+        .value(TimeUnit.MILLISECONDS)).isEqualTo(250);
+    assertThat(meterRegistry.get("startup.phase.duration").tag("phase", "context").timeGauge().value()).isNaN();
+  }
+
+  private static Map.Entry<Phase, Duration> entry(Phase phase, long nanos) {
+    return Map.entry(phase, Duration.ofNanos(nanos));
+  }
+}
@@ -2,13 +2,22 @@ package com.roommanager.remote;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.util.List;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 
 class ClientsResourceParserTest {
@@ -17,31 +26,108 @@ class ClientsResourceParserTest {
       [23, 209.12]""";
   private static final String JSON_INVALID = """
       [23, 209, acb]""";
-  private final ObjectMapper objectMapper = new ObjectMapper();
-  private ClientsResourceParser clientsResourceParser;
+  private final ClientsResourceParser clientsResourceParser = new ClientsResourceParser(new ObjectMapper());
+  private Resource clientsResource;
 
   private void initParser(String json) {
-    Resource countriesResource = new ByteArrayResource(json.getBytes());
-    clientsResourceParser = new ClientsResourceParser(objectMapper, countriesResource);
+    clientsResource = new ByteArrayResource(json.getBytes());
   }
 
   @Nested
-  class GetRecordsTest {
+  class ReadPricesTest {
 
     @Test
-    @DisplayName("resource with numbers successfully parsed")
+    @DisplayName("resource with numbers successfully parsed into minor units")
     void parseSuccessfully() {
       initParser(JSON_VALID);
-      List<Double> records = clientsResourceParser.getRecords();
-      assertThat(records).isNotEmpty();
-      assertThat(records).containsAll(List.of(23D, 209.12));
+      long[] prices = clientsResourceParser.readPrices(clientsResource);
+      assertThat(prices).containsExactly(2300, 20912);
     }
 
     @Test
-    @DisplayName("exception is thrown for invalid resource")
+    @DisplayName("prices with more fraction digits than currency are rounded half up")
+    void parseRoundedPrices() {
+      initParser("[1.005, 1.00499, -1.005, 0.1]");
+      assertThat(clientsResourceParser.readPrices(clientsResource)).containsExactly(101, 100, -101, 10);
+    }
+
+    @Test
+    @DisplayName("prices in exponent notation successfully parsed")
+    void parseExponentNotation() {
+      initParser("[1e2, 1.5E-1]");
+      assertThat(clientsResourceParser.readPrices(clientsResource)).containsExactly(10000, 15);
+    }
+
+    @Test
+    @DisplayName("empty array parsed into empty prices")
+    void parseEmptyArray() {
+      initParser("[]");
+      assertThat(clientsResourceParser.readPrices(clientsResource)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("exception with failure offset is thrown for invalid resource")
     void parseFailed() {
       initParser(JSON_INVALID);
-      assertThatThrownBy(() -> clientsResourceParser.getRecords()).isInstanceOf(RuntimeException.class);
+      assertThatThrownBy(() -> clientsResourceParser.readPrices(clientsResource))
+          .isInstanceOf(RuntimeException.class)
+          .hasMessageContaining("byte offset 14");
+    }
+
+    @Test
+    @DisplayName("exception is thrown for non numeric price")
+    void parseFailedOnNonNumericPrice() {
+      initParser("[23, \"209\"]");
+      assertThatThrownBy(() -> clientsResourceParser.readPrices(clientsResource)).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    @DisplayName("exception is thrown for resource not holding an array")
+    void parseFailedOnMissingArray() {
+      initParser("{\"price\": 23}");
+      assertThatThrownBy(() -> clientsResourceParser.readPrices(clientsResource)).isInstanceOf(RuntimeException.class);
+    }
+  }
+
+  @Nested
+  class ReadPricesInChunksTest {
+
+    private final ClientsResourceParser streamingParser = new ClientsResourceParser(new ObjectMapper(), 0);
+    private final ClientsResourceParser chunkedParser = new ClientsResourceParser(new ObjectMapper(), 8);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[]", " [ ] ", "[23, 209.12]", "[ 1.005 ,\n-1.005,\t0.1\r\n, 1e2, 1.5E-1 ]",
+        "[0, -0, 0.00499, 92233720368547.75]"})
+    @DisplayName("prices parsed in chunks are equal to streamed ones")
+    void parseInChunks(String json) {
+      initParser(json);
+      assertThat(chunkedParser.readPrices(clientsResource))
+          .isEqualTo(streamingParser.readPrices(clientsResource));
+    }
+
+    @Test
+    @DisplayName("file spanning many chunks is parsed in order")
+    void parseFileInChunks(@TempDir Path directory) throws IOException {
+      Path file = directory.resolve("clients.json");
+      Files.writeString(file, IntStream.range(0, 100_000)
+          .mapToObj(i -> i + "." + i % 100)
+          .collect(Collectors.joining(", ", "[", "]")));
+      long[] prices = chunkedParser.readPrices(new FileSystemResource(file));
+      assertThat(prices).hasSize(100_000);
+      for (int i = 0; i < prices.length; i++) {
+        assertThat(prices[i]).isEqualTo(i * 100L + (i % 100 < 10 ? i % 100 * 10 : i % 100));
+      }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[23, 209, acb]", "[23, \"209\"]", "{\"price\": 23}", "[23,]", "[01, 2]", "[23] 45",
+        "[23, 45", "[1e999999999]", "[1e9999999999]"})
+    @DisplayName("malformed resource is streamed, failing the same way")
+    void parseFailedInChunks(String json) {
+      initParser(json);
+      assertThatThrownBy(() -> chunkedParser.readPrices(clientsResource))
+          .isInstanceOf(RuntimeException.class)
+          .hasMessage(catchThrowable(() -> streamingParser.readPrices(clientsResource)).getMessage());
     }
   }
-}
\ No newline at end of file
+}
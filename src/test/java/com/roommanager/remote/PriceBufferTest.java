@@ -0,0 +1,51 @@
+package com.roommanager.remote;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class PriceBufferTest {
+
+  @Nested
+  class DrainToArrayTest {
+
+    @Test
+    @DisplayName("prices spanning several chunks are returned in insertion order")
+    void returnPricesInInsertionOrder() {
+      var buffer = new PriceBuffer();
+      long[] expected = LongStream.range(0, 200_000).toArray();
+      for (long price : expected) {
+        buffer.add(price);
+      }
+      assertThat(buffer.size()).isEqualTo(expected.length);
+      assertThat(buffer.drainToArray()).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("buffer is empty after drain")
+    void bufferIsEmptyAfterDrain() {
+      var buffer = new PriceBuffer();
+      buffer.add(23);
+      buffer.drainToArray();
+      assertThat(buffer.size()).isZero();
+      assertThat(buffer.drainToArray()).isEmpty();
+      buffer.add(45);
+      assertThat(buffer.drainToArray()).containsExactly(45);
+    }
+  }
+
+    @Test
+    @DisplayName("prices are drained into given array from given offset")
+    void drainToOffset() {
+      var buffer = new PriceBuffer();
+      LongStream.range(0, 70_000).forEach(buffer::add);
+      long[] target = new long[70_002];
+      buffer.drainTo(target, 2);
+      assertThat(target).startsWith(0, 0, 0, 1).endsWith(69_998, 69_999);
+      assertThat(buffer.size()).isZero();
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.roommanager.remote;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roommanager.domain.model.CustomersAggregate;
+import com.roommanager.remote.repositories.StayIndex;
+import java.time.LocalDate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+class StaysResourceParserTest {
+
+  private static final String JSON_VALID = """
+      [{"priceOffer": 23, "checkIn": "2024-06-01", "checkOut": "2024-06-03"},
+       {"checkIn": "2024-06-02", "checkOut": "2024-06-03", "priceOffer": 209.12, "name": {"first": "Ann"}}]""";
+  private final StaysResourceParser staysResourceParser = new StaysResourceParser(new ObjectMapper());
+
+  private StayIndex readStays(String json) {
+    return staysResourceParser.readStays(new ByteArrayResource(json.getBytes()));
+  }
+
+  @Nested
+  class ReadStaysTest {
+
+    @Test
+    @DisplayName("resource with stays successfully parsed, unknown fields are skipped")
+    void parseSuccessfully() {
+      StayIndex index = readStays(JSON_VALID);
+      assertThat(index.size()).isEqualTo(2);
+      assertThat(index.customersFrom(LocalDate.of(2024, 6, 1)).aggregateByPriceOfferGTE(0))
+          .isEqualTo(new CustomersAggregate(1, 2300));
+      assertThat(index.customersFrom(LocalDate.of(2024, 6, 2)).aggregateByPriceOfferGTE(0))
+          .isEqualTo(new CustomersAggregate(2, 23212));
+    }
+
+    @Test
+    @DisplayName("RuntimeException is thrown, when check-out is not after check-in")
+    void throwWhenCheckOutNotAfterCheckIn() {
+      assertThatThrownBy(() -> readStays("""
+          [{"priceOffer": 23, "checkIn": "2024-06-01", "checkOut": "2024-06-01"}]"""))
+          .isInstanceOf(RuntimeException.class)
+          .hasMessageContaining("parsing failed at byte offset");
+    }
+
+    @Test
+    @DisplayName("RuntimeException is thrown, when a stay field is missing")
+    void throwWhenFieldMissing() {
+      assertThatThrownBy(() -> readStays("""
+          [{"priceOffer": 23, "checkIn": "2024-06-01"}]"""))
+          .isInstanceOf(RuntimeException.class)
+          .hasMessageContaining("parsing failed at byte offset");
+    }
+
+    @Test
+    @DisplayName("RuntimeException is thrown, when a date is invalid")
+    void throwWhenDateInvalid() {
+      assertThatThrownBy(() -> readStays("""
+          [{"priceOffer": 23, "checkIn": "2024-13-01", "checkOut": "2024-06-01"}]"""))
+          .isInstanceOf(RuntimeException.class)
+          .hasMessageContaining("parsing failed at byte offset");
+    }
+  }
+}
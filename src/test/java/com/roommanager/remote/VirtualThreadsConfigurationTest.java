@@ -0,0 +1,42 @@
+package com.roommanager.remote;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadsConfigurationTest {
+
+  private static final int VIRTUAL_THREADS_FEATURE = 21;
+
+  @Nested
+  class NewVirtualThreadPerTaskExecutorTest {
+
+    @Test
+    @DisplayName("tasks are run on virtual threads, when running on Java 21")
+    void runTasksOnVirtualThreads() throws Exception {
+      assumeTrue(Runtime.version().feature() >= VIRTUAL_THREADS_FEATURE);
+      ExecutorService executor = VirtualThreadsConfiguration.newVirtualThreadPerTaskExecutor();
+      try {
+        Thread thread = executor.submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+        assertThat(Thread.class.getMethod("isVirtual").invoke(thread)).isEqualTo(true);
+      } finally {
+        executor.shutdown();
+      }
+    }
+
+    @Test
+    @DisplayName("IllegalStateException thrown, when running on Java older than 21")
+    void throwOnOlderJava() {
+      assumeTrue(Runtime.version().feature() < VIRTUAL_THREADS_FEATURE);
+      assertThatThrownBy(VirtualThreadsConfiguration::newVirtualThreadPerTaskExecutor)
+          .isInstanceOf(IllegalStateException.class)
+          .hasMessageContaining("Java 21");
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.roommanager.remote.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class FastPathAvailabilityServerTest {
+
+  @Nested
+  class ParseRequestTest {
+
+    @Test
+    @DisplayName("room counts are parsed from query parameters")
+    void parseRoomCounts() {
+      assertThat(FastPathAvailabilityServer.parseRequest("availableEconomyRooms=3&availablePremiumRooms=7"))
+          .isEqualTo(new RoomsAvailabilityRequest(7, 3));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"availablePremiumRooms", "availablePremiumRooms=&availableEconomyRooms=", "other=1"})
+    @DisplayName("missing and empty room counts default to 0")
+    void defaultMissingRoomCounts(String query) {
+      assertThat(FastPathAvailabilityServer.parseRequest(query)).isEqualTo(new RoomsAvailabilityRequest(0, 0));
+    }
+
+    @Test
+    @DisplayName("encoded, hexadecimal and repeated values are converted as by the web stack")
+    void convertAsWebStack() {
+      assertThat(FastPathAvailabilityServer.parseRequest(
+          "availablePremiumRooms=%2B3&availableEconomyRooms=0x10&availablePremiumRooms=5"))
+          .isEqualTo(new RoomsAvailabilityRequest(3, 16));
+    }
+
+    @Test
+    @DisplayName("negative room counts are rejected with the validation message")
+    void rejectNegativeRoomCounts() {
+      assertThatThrownBy(() -> FastPathAvailabilityServer.parseRequest(
+          "availablePremiumRooms=-1&availableEconomyRooms=-2"))
+          .hasMessage("getRoomsAvailability.availablePremiumRooms: must be greater than or equal to 0, "
+              + "getRoomsAvailability.availableEconomyRooms: must be greater than or equal to 0");
+    }
+
+    @Test
+    @DisplayName("non numeric room counts are rejected with the conversion message")
+    void rejectNonNumericRoomCounts() {
+      assertThatThrownBy(() -> FastPathAvailabilityServer.parseRequest("availableEconomyRooms=abc"))
+          .hasMessage("Failed to convert value of type 'java.lang.String' to required type 'int'; "
+              + "For input string: \"abc\"");
+    }
+  }
+
+  @Nested
+  class MessageTest {
+
+    @Test
+    @DisplayName("error message is written as JSON object")
+    void writeMessage() {
+      assertThat(new String(FastPathAvailabilityServer.message("For input string: \"abc\"")))
+          .isEqualTo("{\"message\":\"For input string: \\\"abc\\\"\"}");
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.roommanager.remote.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class RoomsAvailabilityResponsesTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Nested
+  class JsonTest {
+
+    @Test
+    @DisplayName("encoding is equal to the object mapper one")
+    void encodeAsObjectMapper() throws JsonProcessingException {
+      var responses = List.of(new RoomsAvailabilityResponse("PREMIUM", 3, 738, "EUR"),
+          new RoomsAvailabilityResponse("ECONOMY", 3, 167.99, "EUR"),
+          new RoomsAvailabilityResponse("SUITE", Integer.MAX_VALUE, 92233720368547.75, "EUR"),
+          new RoomsAvailabilityResponse("PENTHOUSE \"\u00e0 la carte\"\n\\", 0, 0, null));
+      assertThat(new RoomsAvailabilityResponses(responses).json())
+          .isEqualTo(objectMapper.writeValueAsBytes(responses));
+    }
+
+    @Test
+    @DisplayName("empty responses are encoded as empty array")
+    void encodeEmptyResponses() {
+      assertThat(RoomsAvailabilityResponses.EMPTY.json()).isEqualTo("[]".getBytes());
+    }
+
+    @Test
+    @DisplayName("encoding is kept")
+    void keepEncoding() {
+      var responses = new RoomsAvailabilityResponses(List.of(new RoomsAvailabilityResponse("PREMIUM", 3, 738, "EUR")));
+      assertThat(responses.json()).isSameAs(responses.json());
+    }
+  }
+}
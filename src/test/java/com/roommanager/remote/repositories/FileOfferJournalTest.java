@@ -0,0 +1,182 @@
+package com.roommanager.remote.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.roommanager.remote.repositories.OfferJournal.OfferChange;
+import com.roommanager.remote.repositories.OfferJournal.Recovery;
+import com.roommanager.remote.repositories.OfferJournal.Snapshot;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileOfferJournalTest {
+
+  private static final long[] PRICES = {37400, 20900, 15500, 11500, 10100};
+  @TempDir
+  private Path directory;
+  private FileOfferJournal journal;
+
+  @AfterEach
+  void afterEach() {
+    journal.close();
+  }
+
+  private FileOfferJournal reopen() {
+    if (journal != null) {
+      journal.close();
+    }
+    journal = new FileOfferJournal(directory, 3);
+    return journal;
+  }
+
+  private List<String> files(String suffix) throws IOException {
+    try (Stream<Path> paths = Files.list(directory)) {
+      return paths.map(path -> path.getFileName().toString()).filter(name -> name.endsWith(suffix)).sorted().toList();
+    }
+  }
+
+  @Nested
+  class RecoverTest {
+
+    @Test
+    @DisplayName("nothing is recovered from an empty journal")
+    void recoverEmptyJournal() {
+      assertThat(reopen().recover()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("changes logged since the last reset are recovered on top of the clients resource")
+    void recoverChangesSinceReset() {
+      reopen().reset(1).join();
+      journal.append(2, new OfferChange(15000, 1)).join();
+      journal.append(3, new OfferChange(15000, -1), new OfferChange(9999, 1)).join();
+
+      Recovery recovery = reopen().recover().orElseThrow();
+      assertThat(recovery.snapshot()).isNull();
+      assertThat(recovery.baseVersion()).isEqualTo(1);
+      assertThat(recovery.changes()).containsExactly(new OfferChange(15000, 1), new OfferChange(15000, -1),
+          new OfferChange(9999, 1));
+      assertThat(recovery.version()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("changes appended concurrently are all recovered")
+    void recoverConcurrentChanges() {
+      reopen().reset(1).join();
+      List<CompletableFuture<Void>> appends = IntStream.range(0, 1000)
+          .mapToObj(i -> CompletableFuture.runAsync(() -> journal.append(2 + i, new OfferChange(i, 1)).join()))
+          .toList();
+      appends.forEach(CompletableFuture::join);
+
+      Recovery recovery = reopen().recover().orElseThrow();
+      assertThat(recovery.changes()).hasSize(1000);
+      assertThat(recovery.version()).isEqualTo(1001);
+    }
+
+    @Test
+    @DisplayName("log is cut at a truncated record")
+    void cutTruncatedRecord() throws IOException {
+      reopen().reset(1).join();
+      journal.append(2, new OfferChange(15000, 1)).join();
+      journal.close();
+      Path segment = directory.resolve(files(".log").get(0));
+      long size = Files.size(segment);
+      Files.write(segment, new byte[]{21, 0, 0, 0, 1}, StandardOpenOption.APPEND);
+
+      Recovery recovery = reopen().recover().orElseThrow();
+      assertThat(recovery.changes()).containsExactly(new OfferChange(15000, 1));
+      assertThat(Files.size(segment)).isEqualTo(size);
+    }
+
+    @Test
+    @DisplayName("log is cut at a corrupted record")
+    void cutCorruptedRecord() throws IOException {
+      reopen().reset(1).join();
+      journal.append(2, new OfferChange(15000, 1)).join();
+      journal.append(3, new OfferChange(16000, 1)).join();
+      journal.close();
+      Path segment = directory.resolve(files(".log").get(0));
+      byte[] content = Files.readAllBytes(segment);
+      content[content.length - 1] ^= 1;
+      Files.write(segment, content);
+
+      Recovery recovery = reopen().recover().orElseThrow();
+      assertThat(recovery.changes()).containsExactly(new OfferChange(15000, 1));
+      assertThat(recovery.version()).isEqualTo(2);
+    }
+  }
+
+  @Nested
+  class SnapshotTest {
+
+    @Test
+    @DisplayName("snapshot is due once enough changes are logged")
+    void snapshotDue() {
+      reopen().reset(1).join();
+      journal.append(2, new OfferChange(15000, 1), new OfferChange(16000, 1)).join();
+      assertThat(journal.snapshotDue()).isFalse();
+
+      journal.append(3, new OfferChange(17000, 1)).join();
+      assertThat(journal.snapshotDue()).isTrue();
+    }
+
+    @Test
+    @DisplayName("changes logged after snapshot are recovered on top of it, segments it covers are dropped")
+    void recoverChangesSinceSnapshot() throws IOException {
+      reopen().reset(1).join();
+      journal.append(2, new OfferChange(15000, 1)).join();
+      journal.snapshot(() -> new Snapshot(PriceIndex.of(PRICES.clone(), false), 2));
+      journal.append(3, new OfferChange(9999, 1)).join();
+
+      assertThat(files(".rmpi")).containsExactly("snapshot-00000000000000000002.rmpi");
+      assertThat(files(".log")).hasSize(1);
+      assertThat(journal.snapshotDue()).isFalse();
+      Recovery recovery = reopen().recover().orElseThrow();
+      assertThat(recovery.snapshot().size()).isEqualTo(PRICES.length);
+      assertThat(recovery.snapshot().price(0)).isEqualTo(37400);
+      assertThat(recovery.baseVersion()).isEqualTo(2);
+      assertThat(recovery.changes()).containsExactly(new OfferChange(9999, 1));
+      assertThat(recovery.version()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("changes logged before snapshot into its segments are not applied twice")
+    void skipChangesCoveredBySnapshot() {
+      reopen().reset(1).join();
+      journal.snapshot(() -> {
+        journal.append(2, new OfferChange(15000, 1)).join();
+        return new Snapshot(PriceIndex.of(PRICES.clone(), false), 2);
+      });
+
+      Recovery recovery = reopen().recover().orElseThrow();
+      assertThat(recovery.baseVersion()).isEqualTo(2);
+      assertThat(recovery.changes()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("reset after snapshot takes the base from the clients resource")
+    void recoverResetAfterSnapshot() {
+      reopen().reset(1).join();
+      journal.snapshot(() -> new Snapshot(PriceIndex.of(PRICES.clone(), false), 1));
+      journal.append(2, new OfferChange(15000, 1)).join();
+      journal.reset(3).join();
+      journal.append(4, new OfferChange(9999, 1)).join();
+
+      Recovery recovery = reopen().recover().orElseThrow();
+      assertThat(recovery.snapshot()).isNull();
+      assertThat(recovery.baseVersion()).isEqualTo(3);
+      assertThat(recovery.changes()).containsExactly(new OfferChange(9999, 1));
+      assertThat(recovery.version()).isEqualTo(4);
+    }
+  }
+}
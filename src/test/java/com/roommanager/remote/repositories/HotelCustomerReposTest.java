@@ -0,0 +1,182 @@
+package com.roommanager.remote.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roommanager.remote.ClientsResourceParser;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+@ExtendWith(MockitoExtension.class)
+class HotelCustomerReposTest {
+
+  private static final String PATTERN = "classpath:hotels/%s.json";
+  private final Resource hotelA = new ByteArrayResource(new byte[]{'a'});
+  private final Resource hotelB = new ByteArrayResource(new byte[]{'b'});
+  @Mock
+  private PriceIndexLoader priceIndexLoader;
+  @Mock
+  private ResourceLoader resourceLoader;
+  private HotelCustomerRepos repos;
+
+  @AfterEach
+  void afterEach() {
+    repos.preDestroy();
+  }
+
+  private HotelCustomerRepos repos(Duration idleTimeout) {
+    when(priceIndexLoader.withoutExport()).thenReturn(priceIndexLoader);
+    repos = new HotelCustomerRepos(priceIndexLoader, resourceLoader, PATTERN, 4, idleTimeout, 65536);
+    return repos;
+  }
+
+  @Nested
+  class ForHotelTest {
+
+    @Test
+    @DisplayName("hotel dataset is loaded on first access only")
+    void loadOnFirstAccess() {
+      when(resourceLoader.getResource("classpath:hotels/a.json")).thenReturn(hotelA);
+      when(priceIndexLoader.load(hotelA)).thenReturn(PriceIndex.of(new long[]{10000, 2300}, false));
+      repos(Duration.ofMinutes(30));
+      assertThat(repos.loadedHotels()).isZero();
+
+      CustomerRepo customers = repos.forHotel("a");
+      assertThat(customers.findAll()).hasSize(2);
+      assertThat(repos.forHotel("a")).isSameAs(customers);
+      assertThat(repos.loadedHotels()).isEqualTo(1);
+      verify(priceIndexLoader, times(1)).load(hotelA);
+    }
+
+    @Test
+    @DisplayName("each hotel is served from its own dataset")
+    void isolateHotels() {
+      when(resourceLoader.getResource("classpath:hotels/a.json")).thenReturn(hotelA);
+      when(resourceLoader.getResource("classpath:hotels/b.json")).thenReturn(hotelB);
+      when(priceIndexLoader.load(hotelA)).thenReturn(PriceIndex.of(new long[]{10000, 2300}, false));
+      when(priceIndexLoader.load(hotelB)).thenReturn(PriceIndex.of(new long[]{50000}, false));
+      repos(Duration.ofMinutes(30));
+
+      assertThat(repos.forHotel("a").findAll()).hasSize(2);
+      assertThat(repos.forHotel("b").findAll()).singleElement()
+          .matches(customer -> customer.priceOffer().compareTo(BigDecimal.valueOf(500)) == 0);
+    }
+
+    @Test
+    @DisplayName("HotelNotFoundException is thrown, when hotel resource does not exist")
+    void throwWhenResourceMissing() {
+      when(resourceLoader.getResource("classpath:hotels/c.json")).thenReturn(new ByteArrayResource(new byte[0]) {
+        @Override
+        public boolean exists() {
+          return false;
+        }
+      });
+      repos(Duration.ofMinutes(30));
+      assertThatThrownBy(() -> repos.forHotel("c")).isInstanceOf(HotelNotFoundException.class);
+      assertThat(repos.loadedHotels()).isZero();
+    }
+
+    @Test
+    @DisplayName("HotelNotFoundException is thrown for invalid hotel id, without resource lookup")
+    void throwWhenHotelIdInvalid() {
+      repos(Duration.ofMinutes(30));
+      assertThatThrownBy(() -> repos.forHotel("../clients")).isInstanceOf(HotelNotFoundException.class);
+      verify(resourceLoader, never()).getResource(anyString());
+    }
+
+    @Test
+    @DisplayName("failed load is retried on next access")
+    void retryFailedLoad() {
+      when(resourceLoader.getResource("classpath:hotels/a.json")).thenReturn(hotelA);
+      when(priceIndexLoader.load(hotelA))
+          .thenThrow(new RuntimeException("File [a] reading failed"))
+          .thenReturn(PriceIndex.of(new long[]{10000}, false));
+      repos(Duration.ofMinutes(30));
+
+      assertThatThrownBy(() -> repos.forHotel("a")).hasMessage("File [a] reading failed");
+      assertThat(repos.forHotel("a").findAll()).hasSize(1);
+    }
+  }
+
+  @Nested
+  class EvictIdleTest {
+
+    @Test
+    @DisplayName("idle hotel is evicted and loaded again on next access")
+    void evictIdleHotel() throws InterruptedException {
+      when(resourceLoader.getResource("classpath:hotels/a.json")).thenReturn(hotelA);
+      when(priceIndexLoader.load(any(Resource.class))).thenReturn(PriceIndex.of(new long[]{10000}, false));
+      repos(Duration.ofMillis(50));
+
+      repos.forHotel("a");
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (repos.loadedHotels() > 0 && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(repos.loadedHotels()).isZero();
+
+      repos.forHotel("a");
+      verify(priceIndexLoader, times(2)).load(hotelA);
+    }
+  }
+
+  @Nested
+  class ReloadTest {
+
+    @Test
+    @DisplayName("reload publishes next version of the hotel dataset")
+    void reloadHotel() throws Exception {
+      when(resourceLoader.getResource("classpath:hotels/a.json")).thenReturn(hotelA);
+      when(priceIndexLoader.load(hotelA)).thenReturn(PriceIndex.of(new long[]{10000}, false));
+      repos(Duration.ofMinutes(30));
+
+      assertThat(repos.reload("a").get(10, TimeUnit.SECONDS)).isEqualTo(2);
+      assertThat(repos.forHotel("a").version()).isEqualTo(2);
+    }
+  }
+
+  @Nested
+  class ExportTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("hotel dataset is not exported over the clients snapshot")
+    void keepClientsSnapshot() throws IOException {
+      Path snapshotPath = directory.resolve("clients.rmpi");
+      var loader = new PriceIndexLoader(new ClientsResourceParser(new ObjectMapper()), false, snapshotPath.toString());
+      loader.load(new ByteArrayResource("[374, 209, 155]".getBytes()));
+      byte[] snapshot = Files.readAllBytes(snapshotPath);
+      when(resourceLoader.getResource("classpath:hotels/a.json"))
+          .thenReturn(new ByteArrayResource("[100, 23]".getBytes()));
+      repos = new HotelCustomerRepos(loader, resourceLoader, PATTERN, 4, Duration.ofMinutes(30), 65536);
+
+      assertThat(repos.forHotel("a").findAll()).hasSize(2);
+      assertThat(repos.reload("a").join()).isEqualTo(2);
+      assertThat(Files.readAllBytes(snapshotPath)).isEqualTo(snapshot);
+    }
+  }
+}
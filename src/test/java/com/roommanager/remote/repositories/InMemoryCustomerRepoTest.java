@@ -2,37 +2,59 @@ package com.roommanager.remote.repositories;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.roommanager.domain.model.Customer;
-import com.roommanager.remote.ClientsResourceParser;
+import com.roommanager.domain.model.CustomersAggregate;
+import com.roommanager.remote.repositories.OfferJournal.OfferChange;
+import com.roommanager.remote.repositories.OfferJournal.Recovery;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 
 @ExtendWith(MockitoExtension.class)
 class InMemoryCustomerRepoTest {
 
-  private static final List<Double> PRICES = List.of(23D, 45D, 155D, 374D, 22D, 99.99D, 100D, 101D, 115D, 209D);
+  private static final long[] PRICES = {2300, 4500, 15500, 37400, 2200, 9999, 10000, 10100, 11500, 20900};
+  private final Resource clientsResource = new ByteArrayResource(new byte[0]);
   private InMemoryCustomerRepo repo;
   @Mock
-  private ClientsResourceParser clientsResourceParser;
+  private PriceIndexLoader priceIndexLoader;
 
   @BeforeEach
   void beforeEach() {
-    repo = new InMemoryCustomerRepo(clientsResourceParser);
+    repo = new InMemoryCustomerRepo(priceIndexLoader, clientsResource, 65536);
   }
 
   private void initClientsStore() {
-    when(clientsResourceParser.getRecords()).thenReturn(PRICES);
+    when(priceIndexLoader.load(clientsResource)).thenReturn(PriceIndex.of(PRICES.clone(), false));
     repo.postConstruct();
   }
 
@@ -44,7 +66,7 @@ class InMemoryCustomerRepoTest {
     void customersListIsNullWhenPostConstructNotCalled() {
       List<Customer> customers = repo.findAll();
       assertThat(customers).isNull();
-      verify(clientsResourceParser, never()).getRecords();
+      verify(priceIndexLoader, never()).load(any(Resource.class));
     }
 
     @Test
@@ -74,7 +96,7 @@ class InMemoryCustomerRepoTest {
     void throwsNPEForNullCustomersList() {
       assertThatThrownBy(() -> repo.findByPriceOfferGTEOrderByPriceOfferDesc(BigDecimal.ONE, 2))
           .isInstanceOf(NullPointerException.class);
-      verify(clientsResourceParser, never()).getRecords();
+      verify(priceIndexLoader, never()).load(any(Resource.class));
     }
 
     @Test
@@ -122,7 +144,7 @@ class InMemoryCustomerRepoTest {
     void throwsNPEForNullCustomersList() {
       assertThatThrownBy(() -> repo.findByPriceOfferLTOrderByPriceOfferDesc(BigDecimal.ONE, 2))
           .isInstanceOf(NullPointerException.class);
-      verify(clientsResourceParser, never()).getRecords();
+      verify(priceIndexLoader, never()).load(any(Resource.class));
     }
 
     @Test
@@ -180,4 +202,479 @@ class InMemoryCustomerRepoTest {
       assertThat(result).allMatch(c -> c.priceOffer().compareTo(priceFilter) < 0);
     }
   }
-}
\ No newline at end of file
+
+  @Nested
+  class AggregateByPriceOfferTest {
+
+    @Test
+    @DisplayName("count and total of customers with price greater or equal to provided one returned")
+    void aggregateCustomersWithPriceGreaterThanOrEqualToGivenFilter() {
+      initClientsStore();
+      var result = repo.aggregateByPriceOfferGTE(10000);
+      assertThat(result).isEqualTo(new CustomersAggregate(6, 105400));
+    }
+
+    @Test
+    @DisplayName("count and total of customers with price less than provided one returned")
+    void aggregateCustomersWithPriceLessThanGivenFilter() {
+      initClientsStore();
+      var result = repo.aggregateByPriceOfferLT(10000);
+      assertThat(result).isEqualTo(new CustomersAggregate(4, 18999));
+    }
+
+    @Test
+    @DisplayName("aggregate of given rank range is returned for customers with price greater or equal to provided one")
+    void aggregateRankRangeOfCustomersWithPriceGreaterThanOrEqualToGivenFilter() {
+      initClientsStore();
+      var result = repo.aggregateByPriceOfferGTEOrderByPriceOfferDesc(10000, 1, 2);
+      assertThat(result).isEqualTo(new CustomersAggregate(2, 36400));
+    }
+
+    @Test
+    @DisplayName("aggregate of given rank range is returned for customers with price less than provided one")
+    void aggregateRankRangeOfCustomersWithPriceLessThanGivenFilter() {
+      initClientsStore();
+      var result = repo.aggregateByPriceOfferLTOrderByPriceOfferDesc(10000, 1, 2);
+      assertThat(result).isEqualTo(new CustomersAggregate(2, 6800));
+    }
+
+    @Test
+    @DisplayName("aggregate is limited by customers matching the filter")
+    void aggregateLimitedByMatchingCustomers() {
+      initClientsStore();
+      var result = repo.aggregateByPriceOfferLTOrderByPriceOfferDesc(10000, 3, Integer.MAX_VALUE);
+      assertThat(result).isEqualTo(new CustomersAggregate(1, 2200));
+    }
+
+    @Test
+    @DisplayName("empty aggregate returned if there is no price greater or equal to provided one")
+    void emptyAggregateOnMissingGreaterPrice() {
+      initClientsStore();
+      var result = repo.aggregateByPriceOfferGTEOrderByPriceOfferDesc(100000, 0, 2);
+      assertThat(result).isEqualTo(CustomersAggregate.EMPTY);
+    }
+
+    @Test
+    @DisplayName("count of customers with price greater or equal to provided one returned")
+    void countCustomersWithPriceGreaterThanOrEqualToGivenFilter() {
+      initClientsStore();
+      assertThat(repo.countByPriceOfferGTE(10000)).isEqualTo(6);
+      assertThat(repo.countByPriceOfferGTE(Long.MIN_VALUE)).isEqualTo(PRICES.length);
+    }
+
+    @Test
+    @DisplayName("total of given rank range is returned, limited by customers count")
+    void sumRankRangeOfCustomers() {
+      initClientsStore();
+      assertThat(repo.sumByPriceOfferOrderByPriceOfferDesc(1, 2)).isEqualTo(36400);
+      assertThat(repo.sumByPriceOfferOrderByPriceOfferDesc(8, Integer.MAX_VALUE)).isEqualTo(4500);
+      assertThat(repo.sumByPriceOfferOrderByPriceOfferDesc(12, 1)).isZero();
+    }
+  }
+
+  @Nested
+  class FindPriceOffersOrderByPriceOfferDescTest {
+
+    @Test
+    @DisplayName("price offers of given rank range are returned in descending order")
+    void returnPriceOffersOfRankRange() {
+      initClientsStore();
+      assertThat(repo.findPriceOffersOrderByPriceOfferDesc(2, 3)).containsExactly(15500, 11500, 10100);
+    }
+
+    @Test
+    @DisplayName("price offers are limited by customers count")
+    void returnPriceOffersLimitedByCustomersCount() {
+      initClientsStore();
+      assertThat(repo.findPriceOffersOrderByPriceOfferDesc(8, Integer.MAX_VALUE)).containsExactly(2300, 2200);
+      assertThat(repo.findPriceOffersOrderByPriceOfferDesc(12, 1)).isEmpty();
+    }
+  }
+
+  @Nested
+  class ReloadTest {
+
+    private static final long[] RELOADED_PRICES = {5000, 20000};
+
+    @Test
+    @DisplayName("reloaded dataset is published as next version")
+    void publishReloadedDataset() throws Exception {
+      when(priceIndexLoader.load(clientsResource))
+          .thenReturn(PriceIndex.of(PRICES.clone(), false), PriceIndex.of(RELOADED_PRICES.clone(), false));
+      repo.postConstruct();
+      assertThat(repo.version()).isEqualTo(1);
+
+      assertThat(repo.reload().get()).isEqualTo(2);
+      assertThat(repo.version()).isEqualTo(2);
+      assertThat(repo.findAll()).size().isEqualTo(RELOADED_PRICES.length);
+    }
+
+    @Test
+    @DisplayName("snapshot keeps serving its version after reload")
+    void snapshotNotAffectedByReload() throws Exception {
+      when(priceIndexLoader.load(clientsResource))
+          .thenReturn(PriceIndex.of(PRICES.clone(), false), PriceIndex.of(RELOADED_PRICES.clone(), false));
+      repo.postConstruct();
+      CustomerRepo snapshot = repo.snapshot();
+
+      repo.reload().get();
+      assertThat(snapshot.version()).isEqualTo(1);
+      assertThat(snapshot.findAll()).size().isEqualTo(PRICES.length);
+      assertThat(snapshot.aggregateByPriceOfferGTE(10000)).isEqualTo(new CustomersAggregate(6, 105400));
+    }
+
+    @Test
+    @DisplayName("current version is kept if reload fails")
+    void keepVersionOnFailedReload() {
+      when(priceIndexLoader.load(clientsResource))
+          .thenReturn(PriceIndex.of(PRICES.clone(), false))
+          .thenThrow(new RuntimeException("File [clients.json] parsing failed"));
+      repo.postConstruct();
+
+      assertThatThrownBy(() -> repo.reload().get()).isInstanceOf(ExecutionException.class);
+      assertThat(repo.version()).isEqualTo(1);
+      assertThat(repo.findAll()).size().isEqualTo(PRICES.length);
+    }
+  }
+
+  @Nested
+  class AsyncLoadTest {
+
+    @Test
+    @DisplayName("queries fail until the dataset is loaded in background")
+    void queriesFailUntilLoaded() throws Exception {
+      when(priceIndexLoader.load(clientsResource)).thenReturn(PriceIndex.of(PRICES.clone(), false));
+      CountDownLatch loadStarted = new CountDownLatch(1);
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      try {
+        executor.execute(() -> {
+          try {
+            loadStarted.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+        repo = new InMemoryCustomerRepo(priceIndexLoader, clientsResource, 65536, executor, true,
+            OfferJournal.DISABLED);
+        repo.postConstruct();
+
+        assertThatThrownBy(() -> repo.snapshot()).isInstanceOf(DatasetNotReadyException.class);
+        assertThatThrownBy(() -> repo.findAll()).isInstanceOf(DatasetNotReadyException.class);
+        assertThatThrownBy(() -> repo.insert(new Customer(BigDecimal.TEN)))
+            .isInstanceOf(DatasetNotReadyException.class);
+        assertThat(repo.initialLoad()).isNotDone();
+
+        loadStarted.countDown();
+        assertThat(repo.initialLoad().get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(repo.countByPriceOfferGTE(10000)).isEqualTo(6);
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+
+  @Nested
+  class JournalTest {
+
+    @TempDir
+    private Path directory;
+
+    private InMemoryCustomerRepo start(OfferJournal journal, ExecutorService executor) {
+      var journaled = new InMemoryCustomerRepo(priceIndexLoader, clientsResource, 65536, executor, false, journal);
+      journaled.postConstruct();
+      return journaled;
+    }
+
+    private void stop(ExecutorService executor) throws InterruptedException {
+      executor.shutdown();
+      assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("offer changes are recovered from snapshot and journal after restart")
+    void recoverChanges() throws Exception {
+      when(priceIndexLoader.load(clientsResource)).thenReturn(PriceIndex.of(PRICES.clone(), false));
+      when(priceIndexLoader.build(any(long[].class))).thenAnswer(invocation ->
+          PriceIndex.of(invocation.getArgument(0), false));
+      List<Customer> customers;
+      try (var journal = new FileOfferJournal(directory, 65536)) {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        repo = start(journal, executor);
+        repo.insert(new Customer(BigDecimal.valueOf(500)));
+        repo.update(new Customer(BigDecimal.valueOf(22)), new Customer(BigDecimal.valueOf(1.5)));
+        customers = repo.findAll();
+        stop(executor);
+      }
+
+      try (var journal = new FileOfferJournal(directory, 65536)) {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        repo = start(journal, executor);
+        assertThat(repo.version()).isEqualTo(3);
+        assertThat(repo.findAll()).isEqualTo(customers);
+        stop(executor);
+      }
+      verify(priceIndexLoader).load(clientsResource);
+    }
+
+    @Test
+    @DisplayName("writes concurrent with reloads are journaled in version order and recovered after restart")
+    void journalInVersionOrder() throws Exception {
+      when(priceIndexLoader.load(clientsResource)).thenAnswer(invocation -> PriceIndex.of(PRICES.clone(), false));
+      lenient().when(priceIndexLoader.build(any(long[].class))).thenAnswer(invocation ->
+          PriceIndex.of(invocation.getArgument(0), false));
+      List<Long> journaled = Collections.synchronizedList(new ArrayList<>());
+      List<Customer> customers;
+      long version;
+      try (var journal = new FileOfferJournal(directory, 65536)) {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        repo = start(new VersionRecordingJournal(journal, journaled), executor);
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        for (int writer = 0; writer < 4; writer++) {
+          writers.execute(() -> {
+            for (int write = 0; write < 200; write++) {
+              repo.insert(new Customer(BigDecimal.valueOf(write)));
+            }
+          });
+        }
+        for (int reload = 0; reload < 20; reload++) {
+          repo.reload().get(10, TimeUnit.SECONDS);
+        }
+        stop(writers);
+        customers = repo.findAll();
+        version = repo.version();
+        stop(executor);
+      }
+      assertThat(journaled).isSorted().doesNotHaveDuplicates().hasSize((int) version);
+
+      try (var journal = new FileOfferJournal(directory, 65536)) {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        repo = start(journal, executor);
+        assertThat(repo.version()).isEqualTo(version);
+        assertThat(repo.findAll()).isEqualTo(customers);
+        stop(executor);
+      }
+    }
+
+    @Test
+    @DisplayName("writes are rejected without being published, once the journal is unavailable")
+    void rejectWritesOnUnavailableJournal() throws Exception {
+      when(priceIndexLoader.load(clientsResource)).thenReturn(PriceIndex.of(PRICES.clone(), false));
+      OfferJournal journal = mock(OfferJournal.class);
+      when(journal.recover()).thenReturn(Optional.empty());
+      when(journal.writable()).thenReturn(true, false);
+      when(journal.reset(1)).thenReturn(CompletableFuture.completedFuture(null));
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      repo = start(journal, executor);
+
+      assertThatThrownBy(() -> repo.insert(new Customer(BigDecimal.TEN)))
+          .isInstanceOf(JournalUnavailableException.class);
+      assertThat(repo.version()).isEqualTo(1);
+      assertThat(repo.findAll()).size().isEqualTo(PRICES.length);
+      verify(journal, never()).append(anyLong(), any());
+      stop(executor);
+    }
+
+    @Test
+    @DisplayName("a write whose record failed is rejected, but stays visible")
+    void rejectWriteOnFailedRecord() throws Exception {
+      when(priceIndexLoader.load(clientsResource)).thenReturn(PriceIndex.of(PRICES.clone(), false));
+      OfferJournal journal = mock(OfferJournal.class);
+      when(journal.recover()).thenReturn(Optional.empty());
+      when(journal.writable()).thenReturn(true);
+      when(journal.reset(1)).thenReturn(CompletableFuture.completedFuture(null));
+      when(journal.append(anyLong(), any()))
+          .thenReturn(CompletableFuture.failedFuture(new UncheckedIOException(new IOException("disk full"))));
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      repo = start(journal, executor);
+
+      assertThatThrownBy(() -> repo.insert(new Customer(BigDecimal.TEN)))
+          .isInstanceOf(JournalUnavailableException.class)
+          .hasRootCauseInstanceOf(IOException.class);
+      assertThat(repo.version()).isEqualTo(2);
+      assertThat(repo.findAll()).size().isEqualTo(PRICES.length + 1);
+      stop(executor);
+    }
+
+    @Test
+    @DisplayName("a load whose record failed is rejected, but completes the initial load")
+    void rejectLoadOnFailedRecord() throws Exception {
+      when(priceIndexLoader.load(clientsResource)).thenReturn(PriceIndex.of(PRICES.clone(), false));
+      OfferJournal journal = mock(OfferJournal.class);
+      when(journal.recover()).thenReturn(Optional.empty());
+      when(journal.writable()).thenReturn(true);
+      when(journal.reset(1))
+          .thenReturn(CompletableFuture.failedFuture(new UncheckedIOException(new IOException("disk full"))));
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      repo = new InMemoryCustomerRepo(priceIndexLoader, clientsResource, 65536, executor, false, journal);
+
+      assertThatThrownBy(repo::postConstruct).isInstanceOf(JournalUnavailableException.class);
+      assertThat(repo.initialLoad()).isCompletedWithValue(1L);
+      assertThat(repo.findAll()).size().isEqualTo(PRICES.length);
+      stop(executor);
+    }
+  }
+
+  /**
+   * Journal recording versions of records in the order they are queued.
+   */
+  private record VersionRecordingJournal(OfferJournal journal, List<Long> versions) implements OfferJournal {
+
+    @Override
+    public Optional<Recovery> recover() {
+      return journal.recover();
+    }
+
+    @Override
+    public CompletableFuture<Void> append(long version, OfferChange... changes) {
+      versions.add(version);
+      return journal.append(version, changes);
+    }
+
+    @Override
+    public CompletableFuture<Void> reset(long version) {
+      versions.add(version);
+      return journal.reset(version);
+    }
+
+    @Override
+    public boolean writable() {
+      return journal.writable();
+    }
+
+    @Override
+    public boolean snapshotDue() {
+      return journal.snapshotDue();
+    }
+
+    @Override
+    public void snapshot(SnapshotSource source) {
+      journal.snapshot(source);
+    }
+
+    @Override
+    public void close() {
+      journal.close();
+    }
+  }
+
+  @Nested
+  class WriteTest {
+
+    @Test
+    @DisplayName("inserted customer is published as next version")
+    void publishInsertedCustomer() {
+      initClientsStore();
+
+      assertThat(repo.insert(new Customer(BigDecimal.valueOf(150)))).isEqualTo(2);
+      assertThat(repo.findAll()).size().isEqualTo(PRICES.length + 1);
+      assertThat(repo.aggregateByPriceOfferGTE(10000)).isEqualTo(new CustomersAggregate(7, 120400));
+      assertThat(repo.findAll().get(2).priceOffer()).isEqualByComparingTo(BigDecimal.valueOf(155));
+      assertThat(repo.findAll().get(3).priceOffer()).isEqualByComparingTo(BigDecimal.valueOf(150));
+    }
+
+    @Test
+    @DisplayName("removed customer is published as next version")
+    void publishRemovedCustomer() {
+      initClientsStore();
+
+      assertThat(repo.remove(new Customer(BigDecimal.valueOf(374)))).isEqualTo(2);
+      assertThat(repo.findAll()).size().isEqualTo(PRICES.length - 1);
+      assertThat(repo.aggregateByPriceOfferGTE(10000)).isEqualTo(new CustomersAggregate(5, 68000));
+    }
+
+    @Test
+    @DisplayName("updated customer price is published as next version")
+    void publishUpdatedCustomer() {
+      initClientsStore();
+
+      assertThat(repo.update(new Customer(BigDecimal.valueOf(22)), new Customer(BigDecimal.valueOf(400)))).isEqualTo(2);
+      assertThat(repo.findAll()).size().isEqualTo(PRICES.length);
+      assertThat(repo.findAll().get(0).priceOffer()).isEqualByComparingTo(BigDecimal.valueOf(400));
+      assertThat(repo.aggregateByPriceOfferLT(10000)).isEqualTo(new CustomersAggregate(3, 16799));
+    }
+
+    @Test
+    @DisplayName("CustomerNotFoundException thrown and version kept, when there is no customer with given price")
+    void throwOnMissingCustomer() {
+      initClientsStore();
+
+      assertThatThrownBy(() -> repo.remove(new Customer(BigDecimal.valueOf(1))))
+          .isInstanceOf(CustomerNotFoundException.class)
+          .hasMessage("Customer with price offer 1.00 not found.");
+      assertThatThrownBy(() -> repo.update(new Customer(BigDecimal.valueOf(1)), new Customer(BigDecimal.TEN)))
+          .isInstanceOf(CustomerNotFoundException.class);
+      assertThat(repo.version()).isEqualTo(1);
+      assertThat(repo.findAll()).size().isEqualTo(PRICES.length);
+    }
+
+    @Test
+    @DisplayName("snapshot keeps serving its version after write")
+    void snapshotNotAffectedByWrite() {
+      initClientsStore();
+      CustomerRepo snapshot = repo.snapshot();
+
+      repo.insert(new Customer(BigDecimal.valueOf(500)));
+      repo.remove(new Customer(BigDecimal.valueOf(22)));
+      assertThat(snapshot.version()).isEqualTo(1);
+      assertThat(snapshot.findAll()).size().isEqualTo(PRICES.length);
+      assertThat(snapshot.aggregateByPriceOfferGTE(10000)).isEqualTo(new CustomersAggregate(6, 105400));
+    }
+
+    @Test
+    @DisplayName("concurrent writes are all published")
+    void publishConcurrentWrites() throws Exception {
+      initClientsStore();
+      int writers = 4;
+      int writes = 1000;
+      ExecutorService executor = Executors.newFixedThreadPool(writers);
+      CountDownLatch start = new CountDownLatch(1);
+      try {
+        for (int writer = 0; writer < writers; writer++) {
+          executor.execute(() -> {
+            try {
+              start.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            for (int write = 0; write < writes; write++) {
+              repo.insert(new Customer(BigDecimal.valueOf(write)));
+            }
+          });
+        }
+        start.countDown();
+      } finally {
+        executor.shutdown();
+      }
+      assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+      assertThat(repo.version()).isEqualTo(1 + writers * writes);
+      assertThat(repo.findAll()).size().isEqualTo(PRICES.length + writers * writes);
+    }
+
+    @Test
+    @DisplayName("changes are compacted into a new price index, keeping version")
+    void compactChanges() throws Exception {
+      repo = new InMemoryCustomerRepo(priceIndexLoader, clientsResource, 2);
+      when(priceIndexLoader.build(any(long[].class))).thenAnswer(invocation ->
+          PriceIndex.of(invocation.getArgument(0), false));
+      initClientsStore();
+
+      repo.insert(new Customer(BigDecimal.valueOf(500)));
+      repo.remove(new Customer(BigDecimal.valueOf(22)));
+      PriceIndexRepo compacted = awaitCompaction();
+      assertThat(compacted.version()).isEqualTo(3);
+      assertThat(compacted.base().size()).isEqualTo(PRICES.length);
+      assertThat(compacted.findAll().get(0).priceOffer()).isEqualByComparingTo(BigDecimal.valueOf(500));
+      assertThat(compacted.aggregateByPriceOfferLT(10000)).isEqualTo(new CustomersAggregate(3, 16799));
+    }
+
+    private PriceIndexRepo awaitCompaction() throws InterruptedException {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      PriceIndexRepo current = (PriceIndexRepo) repo.snapshot();
+      while (!current.delta().isEmpty() && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+        current = (PriceIndexRepo) repo.snapshot();
+      }
+      return current;
+    }
+  }
+}
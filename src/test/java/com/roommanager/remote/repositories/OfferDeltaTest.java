@@ -0,0 +1,107 @@
+package com.roommanager.remote.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class OfferDeltaTest {
+
+  private static final long[] PRICES = {2300, 4500, 15500, 37400, 2200, 9999, 10000, 10100, 11500, 20900};
+
+  @Nested
+  class AddTest {
+
+    @Test
+    @DisplayName("counts and totals of changes are returned")
+    void countAndSumChanges() {
+      var delta = OfferDelta.EMPTY.add(10000, 2).add(2200, -1).add(50000, 1);
+      assertThat(delta.size()).isEqualTo(2);
+      assertThat(delta.entries()).isEqualTo(3);
+      assertThat(delta.countGreaterOrEqual(10000)).isEqualTo(3);
+      assertThat(delta.sumGreaterOrEqual(10000)).isEqualTo(70000);
+      assertThat(delta.sumGreaterOrEqual(0)).isEqualTo(67800);
+      assertThat(delta.minPrice()).isEqualTo(2200);
+      assertThat(delta.maxPrice()).isEqualTo(50000);
+    }
+
+    @Test
+    @DisplayName("price is dropped from delta, when its changes cancel out")
+    void dropCancelledPrice() {
+      var delta = OfferDelta.EMPTY.add(10000, 1).add(10000, -1);
+      assertThat(delta.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("previous delta is not affected by change")
+    void previousDeltaNotAffected() {
+      var delta = OfferDelta.EMPTY.add(10000, 1);
+      delta.add(20000, 1);
+      assertThat(delta.entries()).isEqualTo(1);
+      assertThat(delta.sumGreaterOrEqual(0)).isEqualTo(10000);
+    }
+
+    @Test
+    @DisplayName("changes of subtracted delta are reverted")
+    void subtractDelta() {
+      var source = OfferDelta.EMPTY.add(10000, 1).add(2200, -1);
+      var delta = source.add(50000, 1).subtract(source);
+      assertThat(delta.entries()).isEqualTo(1);
+      assertThat(delta.sumGreaterOrEqual(0)).isEqualTo(50000);
+    }
+  }
+
+  @Nested
+  class ApplyToTest {
+
+    @Test
+    @DisplayName("changes are merged into prices sorted descendent")
+    void mergeChanges() {
+      var delta = OfferDelta.EMPTY.add(10000, 2).add(2200, -1).add(37400, -1).add(50000, 1);
+      assertThat(delta.applyTo(PriceIndex.of(PRICES.clone(), false)))
+          .containsExactly(50000, 20900, 15500, 11500, 10100, 10000, 10000, 10000, 9999, 4500, 2300);
+    }
+
+    @Test
+    @DisplayName("random changes give the same prices and aggregates as sorted list")
+    void randomChangesMatchSortedList() {
+      var random = new Random(42);
+      for (int run = 0; run < 200; run++) {
+        long[] prices = random.longs(random.nextInt(100), 0, 50).toArray();
+        var base = PriceIndex.of(prices.clone(), false);
+        var delta = OfferDelta.EMPTY;
+        List<Long> expected = new ArrayList<>();
+        for (long price : prices) {
+          expected.add(price);
+        }
+        for (int change = 0; change < 50; change++) {
+          if (expected.isEmpty() || random.nextBoolean()) {
+            long price = random.nextInt(60);
+            delta = delta.add(price, 1);
+            expected.add(price);
+          } else {
+            Long price = expected.get(random.nextInt(expected.size()));
+            delta = delta.add(price, -1);
+            expected.remove(price);
+          }
+        }
+        expected.sort(Comparator.reverseOrder());
+
+        assertThat(delta.applyTo(base)).containsExactly(expected.stream().mapToLong(Long::longValue).toArray());
+        var updated = delta.isEmpty() ? base : new UpdatedPrices(base, delta);
+        long sum = 0;
+        for (int rank = 0; rank < expected.size(); rank++) {
+          assertThat(updated.price(rank)).isEqualTo(expected.get(rank));
+          assertThat(updated.sumOfTop(rank)).isEqualTo(sum);
+          sum += expected.get(rank);
+        }
+        assertThat(updated.sumOfTop(expected.size())).isEqualTo(sum);
+      }
+    }
+  }
+}
@@ -0,0 +1,202 @@
+package com.roommanager.remote.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.roommanager.domain.calculator.MinThresholdCalculator;
+import com.roommanager.domain.calculator.RankRangeCalculator;
+import com.roommanager.domain.model.Customer;
+import com.roommanager.domain.model.RoomsAvailabilityQuery;
+import com.roommanager.metrics.PipelineMetrics;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PartitionedCustomerRepoTest {
+
+  private static final int PARTITIONS = 3;
+  private static final long[] PRICES = new Random(42).longs(10_000, 1, 50_000).toArray();
+  private final PriceIndexRepo singleNode = new PriceIndexRepo(PriceIndex.of(PRICES.clone(), false), 1);
+  private final PartitionedCustomerRepo partitioned = new PartitionedCustomerRepo(IntStream.range(0, PARTITIONS)
+      .mapToObj(index -> (Partition) new LocalPartition(new PriceIndexRepo(PriceIndex.of(IntStream
+          .iterate(index, i -> i < PRICES.length, i -> i + PARTITIONS)
+          .mapToLong(i -> PRICES[i])
+          .toArray(), false), 1)))
+      .toList());
+
+  @Nested
+  class LookupTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = {Long.MIN_VALUE, 0, 1, 9999, 10000, 25000, 49999, 50000})
+    @DisplayName("aggregates of price ranks on both sides of a price are the same as of a single node")
+    void aggregateAsSingleNode(long price) {
+      for (int offset : new int[]{0, 1, 7, 100, 4999, 9999, 10000}) {
+        for (int limit : new int[]{0, 1, 2, 64, 1000, Integer.MAX_VALUE}) {
+          assertThat(partitioned.aggregateByPriceOfferGTEOrderByPriceOfferDesc(price, offset, limit))
+              .isEqualTo(singleNode.aggregateByPriceOfferGTEOrderByPriceOfferDesc(price, offset, limit));
+          assertThat(partitioned.aggregateByPriceOfferLTOrderByPriceOfferDesc(price, offset, limit))
+              .isEqualTo(singleNode.aggregateByPriceOfferLTOrderByPriceOfferDesc(price, offset, limit));
+        }
+      }
+      assertThat(partitioned.countByPriceOfferGTE(price)).isEqualTo(singleNode.countByPriceOfferGTE(price));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "0.01", "99.99", "100", "250.005", "500"})
+    @DisplayName("customers on both sides of a price are the same as of a single node")
+    void findAsSingleNode(String price) {
+      for (int limit : new int[]{0, 1, 3, 100, Integer.MAX_VALUE}) {
+        assertThat(partitioned.findByPriceOfferGTEOrderByPriceOfferDesc(new BigDecimal(price), limit))
+            .containsExactlyElementsOf(singleNode.findByPriceOfferGTEOrderByPriceOfferDesc(new BigDecimal(price), limit));
+        assertThat(partitioned.findByPriceOfferLTOrderByPriceOfferDesc(new BigDecimal(price), limit))
+            .containsExactlyElementsOf(singleNode.findByPriceOfferLTOrderByPriceOfferDesc(new BigDecimal(price), limit));
+      }
+    }
+
+    @Test
+    @DisplayName("price offers of rank ranges are the same as of a single node")
+    void findPriceOffersAsSingleNode() {
+      for (int offset : new int[]{0, 1, 500, 9990, 10000}) {
+        assertThat(partitioned.findPriceOffersOrderByPriceOfferDesc(offset, 20).toArray())
+            .containsExactly(singleNode.findPriceOffersOrderByPriceOfferDesc(offset, 20).toArray());
+      }
+    }
+
+    @Test
+    @DisplayName("all customers are listed as of a single node, up to the listing limit")
+    void findAllAsSingleNode() {
+      assertThat(partitioned.findAll()).containsExactlyElementsOf(singleNode.findAll());
+
+      var limited = new PartitionedCustomerRepo(List.of(
+          new LocalPartition(new PriceIndexRepo(PriceIndex.of(new long[]{500, 300}, false), 1)),
+          new LocalPartition(new PriceIndexRepo(PriceIndex.of(new long[]{200}, false), 1))), 2);
+      assertThatThrownBy(limited::findAll).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("prices repeated across partitions are ranked as on a single node")
+    void rankRepeatedPrices() {
+      var repeated = new PartitionedCustomerRepo(List.of(
+          new LocalPartition(new PriceIndexRepo(PriceIndex.of(new long[]{500, 300, 300, 100}, false), 1)),
+          new LocalPartition(new PriceIndexRepo(PriceIndex.of(new long[]{300, 300, 200}, false), 1))));
+
+      assertThat(repeated.findPriceOffersOrderByPriceOfferDesc(2, 3).toArray()).containsExactly(300, 300, 300);
+      assertThat(repeated.aggregateByPriceOfferGTEOrderByPriceOfferDesc(200, 1, 3).totalPriceOffer())
+          .isEqualTo(900);
+      assertThat(repeated.version()).isEqualTo(2);
+    }
+  }
+
+  @Nested
+  class ConcurrentChangeTest {
+
+    @Test
+    @DisplayName("prices are asked again, when a partition ships fewer of them than it counted")
+    void retryShrunkPrices() {
+      var repo = new PartitionedCustomerRepo(List.of(
+          new ShrinkingPartition(new long[]{500, 300, 100}, 1),
+          new LocalPartition(new PriceIndexRepo(PriceIndex.of(new long[]{400, 200}, false), 1))));
+
+      assertThat(repo.findPriceOffersOrderByPriceOfferDesc(0, 5).toArray()).containsExactly(500, 400, 300, 200, 100);
+    }
+
+    @Test
+    @DisplayName("prices shipped are returned, when a partition keeps shipping fewer of them than it counted")
+    void clampShrunkPrices() {
+      var repo = new PartitionedCustomerRepo(List.of(
+          new ShrinkingPartition(new long[]{500, 300, 100}, Integer.MAX_VALUE),
+          new LocalPartition(new PriceIndexRepo(PriceIndex.of(new long[]{400, 200}, false), 1))));
+
+      assertThat(repo.findPriceOffersOrderByPriceOfferDesc(0, 5).toArray()).containsExactly(500, 400, 300, 200);
+    }
+  }
+
+  /**
+   * Partition losing its lowest price between counting and shipping prices, given number of times.
+   */
+  private static final class ShrinkingPartition implements Partition {
+
+    private final LocalPartition partition;
+    private final AtomicInteger shrinks;
+
+    private ShrinkingPartition(long[] prices, int shrinks) {
+      this.partition = new LocalPartition(new PriceIndexRepo(PriceIndex.of(prices, false), 1));
+      this.shrinks = new AtomicInteger(shrinks);
+    }
+
+    @Override
+    public CompletableFuture<Long> version() {
+      return partition.version();
+    }
+
+    @Override
+    public CompletableFuture<PartitionSummary> summary(long from, long to) {
+      return partition.summary(from, to);
+    }
+
+    @Override
+    public CompletableFuture<int[]> counts(long[] prices, long to) {
+      return partition.counts(prices, to);
+    }
+
+    @Override
+    public CompletableFuture<long[]> prices(long from, long to, int limit) {
+      return partition.prices(from, to, limit).thenApply(prices -> prices.length > 0 && shrinks.getAndDecrement() > 0
+          ? Arrays.copyOf(prices, prices.length - 1) : prices);
+    }
+  }
+
+  @Nested
+  class WriteTest {
+
+    @Test
+    @DisplayName("offer changes and reloads are rejected, as they are made on partition nodes")
+    void rejectChanges() {
+      var customer = new Customer(BigDecimal.TEN);
+
+      assertThatThrownBy(() -> partitioned.insert(customer)).isInstanceOf(ReadOnlyDatasetException.class);
+      assertThatThrownBy(() -> partitioned.remove(customer)).isInstanceOf(ReadOnlyDatasetException.class);
+      assertThatThrownBy(() -> partitioned.update(customer, customer)).isInstanceOf(ReadOnlyDatasetException.class);
+      assertThatThrownBy(partitioned::reload).isInstanceOf(ReadOnlyDatasetException.class);
+    }
+  }
+
+  @Nested
+  class CalculatorTest {
+
+    @Test
+    @DisplayName("min threshold calculator results are the same as of a single node")
+    void minThresholdAsSingleNode() {
+      var calculator = new MinThresholdCalculator(BigDecimal.valueOf(100), singleNode, PipelineMetrics.DISABLED);
+      for (RoomsAvailabilityQuery query : queries()) {
+        assertThat(calculator.execute(query, partitioned)).isEqualTo(calculator.execute(query, singleNode));
+      }
+    }
+
+    @Test
+    @DisplayName("rank range calculator results are the same as of a single node")
+    void rankRangeAsSingleNode() {
+      var calculator = new RankRangeCalculator(BigDecimal.valueOf(100), singleNode, PipelineMetrics.DISABLED);
+      for (RoomsAvailabilityQuery query : queries()) {
+        assertThat(calculator.execute(query, partitioned)).isEqualTo(calculator.execute(query, singleNode));
+      }
+    }
+
+    private static List<RoomsAvailabilityQuery> queries() {
+      int[] rooms = {0, 1, 3, 100, 2500, 8000, 20000};
+      return IntStream.range(0, rooms.length * rooms.length)
+          .mapToObj(i -> new RoomsAvailabilityQuery(rooms[i / rooms.length], rooms[i % rooms.length]))
+          .toList();
+    }
+  }
+}
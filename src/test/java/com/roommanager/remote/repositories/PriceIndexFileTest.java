@@ -0,0 +1,95 @@
+package com.roommanager.remote.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PriceIndexFileTest {
+
+  private static final long[] PRICES = LongStream.range(0, 1000).map(i -> i * 37 % 1009).toArray();
+  @TempDir
+  private Path directory;
+
+  private Path writeSnapshot() throws IOException {
+    Path path = directory.resolve("clients.rmpi");
+    PriceIndexFile.write(PriceIndex.of(PRICES.clone(), false), path);
+    return path;
+  }
+
+  private static void assertSameIndex(PriceIndex actual) {
+    var expected = PriceIndex.of(PRICES.clone(), false);
+    assertThat(actual.size()).isEqualTo(expected.size());
+    for (int rank = 0; rank < expected.size(); rank++) {
+      assertThat(actual.price(rank)).isEqualTo(expected.price(rank));
+      assertThat(actual.sumOfTop(rank)).isEqualTo(expected.sumOfTop(rank));
+    }
+  }
+
+  @Nested
+  class MapTest {
+
+    @Test
+    @DisplayName("mapped snapshot holds written index")
+    void mapWrittenSnapshot() throws IOException {
+      assertSameIndex(PriceIndexFile.map(writeSnapshot()));
+    }
+
+    @Test
+    @DisplayName("exception is thrown for truncated snapshot")
+    void mapTruncatedSnapshot() throws IOException {
+      Path path = writeSnapshot();
+      byte[] content = Files.readAllBytes(path);
+      Files.write(path, Arrays.copyOf(content, content.length - Long.BYTES));
+      assertThatThrownBy(() -> PriceIndexFile.map(path)).isInstanceOf(IOException.class);
+    }
+  }
+
+  @Nested
+  class ReadTest {
+
+    @Test
+    @DisplayName("read snapshot holds written index")
+    void readWrittenSnapshot() throws IOException {
+      try (InputStream inputStream = Files.newInputStream(writeSnapshot())) {
+        assertSameIndex(PriceIndexFile.read(inputStream));
+      }
+    }
+
+    @Test
+    @DisplayName("exception is thrown for stream not holding a snapshot")
+    void readInvalidSnapshot() {
+      var inputStream = new ByteArrayInputStream("[23, 45]".getBytes());
+      assertThatThrownBy(() -> PriceIndexFile.read(inputStream)).isInstanceOf(IOException.class);
+    }
+  }
+
+  @Nested
+  class IsSnapshotTest {
+
+    @Test
+    @DisplayName("snapshot is recognized by its magic")
+    void recognizeSnapshot() throws IOException {
+      try (InputStream inputStream = Files.newInputStream(writeSnapshot())) {
+        assertThat(PriceIndexFile.isSnapshot(inputStream)).isTrue();
+      }
+    }
+
+    @Test
+    @DisplayName("JSON is not recognized as snapshot")
+    void doNotRecognizeJson() throws IOException {
+      assertThat(PriceIndexFile.isSnapshot(new ByteArrayInputStream("[23, 45]".getBytes()))).isFalse();
+      assertThat(PriceIndexFile.isSnapshot(new ByteArrayInputStream(new byte[0]))).isFalse();
+    }
+  }
+}
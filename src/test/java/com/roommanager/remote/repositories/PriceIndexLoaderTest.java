@@ -0,0 +1,92 @@
+package com.roommanager.remote.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roommanager.remote.ClientsResourceParser;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+
+class PriceIndexLoaderTest {
+
+  private static final String JSON = "[23, 45, 155, 374, 22, 99.99, 100, 101, 115, 209]";
+  private final ClientsResourceParser clientsResourceParser = new ClientsResourceParser(new ObjectMapper());
+  @TempDir
+  private Path directory;
+
+  @Nested
+  class LoadTest {
+
+    @Test
+    @DisplayName("JSON resource is parsed into index")
+    void loadJson() {
+      var loader = new PriceIndexLoader(clientsResourceParser, false, "");
+      var index = loader.load(new ByteArrayResource(JSON.getBytes()));
+      assertThat(index.size()).isEqualTo(10);
+      assertThat(index.price(0)).isEqualTo(37400);
+    }
+
+    @Test
+    @DisplayName("JSON resource is exported as snapshot, if export path is set")
+    void exportJsonAsSnapshot() {
+      Path snapshotPath = directory.resolve("clients.rmpi");
+      var loader = new PriceIndexLoader(clientsResourceParser, true, snapshotPath.toString());
+      loader.load(new ByteArrayResource(JSON.getBytes()));
+      assertThat(Files.exists(snapshotPath)).isTrue();
+    }
+
+    @Test
+    @DisplayName("snapshot resource is loaded with same content as source JSON")
+    void loadSnapshot() {
+      Path snapshotPath = directory.resolve("clients.rmpi");
+      var jsonIndex = new PriceIndexLoader(clientsResourceParser, false, snapshotPath.toString())
+          .load(new ByteArrayResource(JSON.getBytes()));
+      var loader = new PriceIndexLoader(clientsResourceParser, false, "");
+
+      var index = loader.load(new FileSystemResource(snapshotPath));
+      assertThat(index.size()).isEqualTo(jsonIndex.size());
+      assertThat(index.sumOfTop(index.size())).isEqualTo(jsonIndex.sumOfTop(jsonIndex.size()));
+      assertThat(index.countGreaterOrEqual(10000)).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("only prices of the partition are kept from JSON resource")
+    void loadJsonPartition() {
+      var loader = new PriceIndexLoader(clientsResourceParser, false, "", event -> {
+      }, 1, 3);
+      var index = loader.load(new ByteArrayResource(JSON.getBytes()));
+      assertThat(index.size()).isEqualTo(3);
+      assertThat(index.price(0)).isEqualTo(10100);
+      assertThat(index.sumOfTop(3)).isEqualTo(4500 + 2200 + 10100);
+    }
+
+    @Test
+    @DisplayName("only prices of the partition are kept from snapshot resource, partitions cover the whole snapshot")
+    void loadSnapshotPartition() {
+      Path snapshotPath = directory.resolve("clients.rmpi");
+      var whole = new PriceIndexLoader(clientsResourceParser, false, snapshotPath.toString())
+          .load(new ByteArrayResource(JSON.getBytes()));
+      int size = 0;
+      long sum = 0;
+      for (int partition = 0; partition < 3; partition++) {
+        var index = new PriceIndexLoader(clientsResourceParser, false, "", event -> {
+        }, partition, 3).load(new FileSystemResource(snapshotPath));
+        size += index.size();
+        sum += index.sumOfTop(index.size());
+        if (partition == 1) {
+          assertThat(index.size()).isEqualTo(3);
+          assertThat(index.price(0)).isEqualTo(20900);
+          assertThat(index.sumOfTop(3)).isEqualTo(20900 + 10100 + 4500);
+        }
+      }
+      assertThat(size).isEqualTo(whole.size());
+      assertThat(sum).isEqualTo(whole.sumOfTop(whole.size()));
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package com.roommanager.remote.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PriceIndexTest {
+
+  private static final long[] PRICES = {2300, 4500, 15500, 37400, 2200, 9999, 10000, 10100, 11500, 20900};
+
+  @Nested
+  class OfTest {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @DisplayName("prices are sorted descendent")
+    void pricesSortedDescendent(boolean offHeap) {
+      var index = PriceIndex.of(PRICES.clone(), offHeap);
+      assertThat(index.size()).isEqualTo(PRICES.length);
+      assertThat(index.price(0)).isEqualTo(37400);
+      assertThat(index.price(PRICES.length - 1)).isEqualTo(2200);
+    }
+
+    @Test
+    @DisplayName("large index built concurrently holds prices sorted descendent and their sums")
+    void largeIndexBuiltConcurrently() {
+      int size = 300_001;
+      long[] prices = LongStream.range(0, size).map(i -> i * 7919 % size).toArray();
+      var index = PriceIndex.of(prices, false);
+      long expected = 0;
+      for (int rank = 0; rank < size; rank++) {
+        assertThat(index.price(rank)).isEqualTo(size - 1 - rank);
+        expected += size - 1 - rank;
+        if (rank % 1009 == 0) {
+          assertThat(index.sumOfTop(rank + 1)).isEqualTo(expected);
+        }
+      }
+      assertThat(index.sumOfTop(size)).isEqualTo(expected);
+    }
+  }
+
+  @Nested
+  class CountGreaterOrEqualTest {
+
+    @Test
+    @DisplayName("prices equal to provided one are counted")
+    void countEqualPrices() {
+      var index = PriceIndex.of(PRICES.clone(), false);
+      assertThat(index.countGreaterOrEqual(10000)).isEqualTo(6);
+      assertThat(index.countGreaterOrEqual(10001)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("bounds are returned for prices out of index range")
+    void countOutOfRangePrices() {
+      var index = PriceIndex.of(PRICES.clone(), false);
+      assertThat(index.countGreaterOrEqual(100000)).isZero();
+      assertThat(index.countGreaterOrEqual(0)).isEqualTo(PRICES.length);
+    }
+  }
+
+  @Nested
+  class SumTest {
+
+    @Test
+    @DisplayName("sum of given rank range is returned")
+    void sumOfRankRange() {
+      var index = PriceIndex.of(PRICES.clone(), false);
+      assertThat(index.sumOfTop(0)).isZero();
+      assertThat(index.sumOfTop(2)).isEqualTo(58300);
+      assertThat(index.sum(6, 10)).isEqualTo(18999);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @DisplayName("sums spanning several blocks are equal to sums of prices")
+    void sumAcrossBlocks(boolean offHeap) {
+      int size = PriceIndex.SUM_BLOCK_SIZE * 3;
+      var index = PriceIndex.of(LongStream.rangeClosed(1, size).toArray(), offHeap);
+      for (int count = 0; count <= size; count++) {
+        long expected = LongStream.rangeClosed(size - count + 1, size).sum();
+        assertThat(index.sumOfTop(count)).isEqualTo(expected);
+      }
+    }
+  }
+}
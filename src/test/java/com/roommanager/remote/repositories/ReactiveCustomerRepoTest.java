@@ -0,0 +1,40 @@
+package com.roommanager.remote.repositories;
+
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveCustomerRepoTest {
+
+  @Mock
+  private CustomerRepo customerRepo;
+  private ReactiveCustomerRepo reactiveCustomerRepo;
+
+  @BeforeEach
+  void beforeEach() {
+    reactiveCustomerRepo = new ReactiveCustomerRepo(customerRepo);
+  }
+
+  @Nested
+  class SnapshotTest {
+
+    @Test
+    @DisplayName("snapshot is taken on subscription")
+    void takeSnapshotOnSubscription() {
+      var snapshot = reactiveCustomerRepo.snapshot();
+      when(customerRepo.snapshot()).thenReturn(customerRepo);
+
+      StepVerifier.create(snapshot)
+          .expectNext(customerRepo)
+          .verifyComplete();
+    }
+  }
+}
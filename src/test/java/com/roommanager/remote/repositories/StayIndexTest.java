@@ -0,0 +1,126 @@
+package com.roommanager.remote.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.roommanager.domain.model.Customer;
+import com.roommanager.domain.model.CustomersAggregate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class StayIndexTest {
+
+  private static final LocalDate FIRST_NIGHT = LocalDate.of(2024, 6, 1);
+  private static final long[] PRICES = {2300, 4500, 15500, 37400, 2200, 9999, 10000};
+  private static final long[] STAYS = {
+      stay(0, 3), stay(0, 1), stay(0, 2), stay(1, 4), stay(1, 2), stay(0, 4), stay(2, 3)};
+  private final StayIndex index = StayIndex.of(PRICES, STAYS);
+
+  private static long stay(int checkIn, int checkOut) {
+    return StayIndex.stay(FIRST_NIGHT.plusDays(checkIn).toEpochDay(), FIRST_NIGHT.plusDays(checkOut).toEpochDay());
+  }
+
+  private static List<BigDecimal> prices(List<Customer> customers) {
+    return customers.stream().map(customer -> customer.priceOffer().stripTrailingZeros()).toList();
+  }
+
+  @Nested
+  class CustomersFromTest {
+
+    @Test
+    @DisplayName("customers checked in at or before the night and checked out after it are staying")
+    void customersOfFirstNight() {
+      NightlyCustomers customers = index.customersFrom(FIRST_NIGHT);
+      assertThat(customers.night()).isEqualTo(FIRST_NIGHT);
+      assertThat(prices(customers.findAll())).containsExactly(new BigDecimal("155"), new BigDecimal("99.99"),
+          new BigDecimal("45"), new BigDecimal("23"));
+    }
+
+    @Test
+    @DisplayName("customers of a night in the middle of stays are found without moving night by night")
+    void customersOfMiddleNight() {
+      NightlyCustomers customers = index.customersFrom(FIRST_NIGHT.plusDays(2));
+      assertThat(prices(customers.findAll())).containsExactly(new BigDecimal("374"), new BigDecimal("100"),
+          new BigDecimal("99.99"), new BigDecimal("23"));
+    }
+
+    @Test
+    @DisplayName("no customers are staying before the first check-in or after the last check-out")
+    void noCustomersOutsideStays() {
+      assertThat(index.customersFrom(FIRST_NIGHT.minusDays(1)).findAll()).isEmpty();
+      assertThat(index.customersFrom(FIRST_NIGHT.plusDays(4)).findAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("empty index has no customers at any night")
+    void emptyIndex() {
+      NightlyCustomers customers = StayIndex.of(new long[0], new long[0]).customersFrom(FIRST_NIGHT);
+      assertThat(customers.findAll()).isEmpty();
+      assertThat(customers.aggregateByPriceOfferGTE(0)).isEqualTo(CustomersAggregate.EMPTY);
+    }
+  }
+
+  @Nested
+  class NextNightTest {
+
+    @Test
+    @DisplayName("check-ins and check-outs of the next night are applied")
+    void applyNextNightChanges() {
+      NightlyCustomers customers = index.customersFrom(FIRST_NIGHT);
+      customers.nextNight();
+      assertThat(customers.night()).isEqualTo(FIRST_NIGHT.plusDays(1));
+      assertThat(prices(customers.findAll())).containsExactly(new BigDecimal("374"), new BigDecimal("155"),
+          new BigDecimal("99.99"), new BigDecimal("23"), new BigDecimal("22"));
+    }
+
+    @Test
+    @DisplayName("moving night by night finds the same customers as starting at the night")
+    void matchCustomersFromNight() {
+      NightlyCustomers customers = index.customersFrom(FIRST_NIGHT.minusDays(1));
+      for (int night = -1; night < 5; night++) {
+        assertThat(customers.findAll()).isEqualTo(index.customersFrom(FIRST_NIGHT.plusDays(night)).findAll());
+        customers.nextNight();
+      }
+    }
+
+    @Test
+    @DisplayName("snapshot keeps customers of the night it was taken at")
+    void snapshotKeepsNight() {
+      NightlyCustomers customers = index.customersFrom(FIRST_NIGHT);
+      CustomerRepo snapshot = customers.snapshot();
+      customers.nextNight();
+      assertThat(snapshot.findAll()).hasSize(4);
+      assertThat(customers.findAll()).hasSize(5);
+    }
+  }
+
+  @Nested
+  class AggregateTest {
+
+    @Test
+    @DisplayName("customers are aggregated on both sides of given price, from given offset")
+    void aggregateRanks() {
+      NightlyCustomers customers = index.customersFrom(FIRST_NIGHT.plusDays(1));
+      assertThat(customers.aggregateByPriceOfferGTEOrderByPriceOfferDesc(10000, 0, 1))
+          .isEqualTo(new CustomersAggregate(1, 37400));
+      assertThat(customers.aggregateByPriceOfferGTE(10000)).isEqualTo(new CustomersAggregate(2, 52900));
+      assertThat(customers.aggregateByPriceOfferLTOrderByPriceOfferDesc(10000, 1, 5))
+          .isEqualTo(new CustomersAggregate(2, 4500));
+      assertThat(customers.aggregateByPriceOfferLT(10000)).isEqualTo(new CustomersAggregate(3, 14499));
+    }
+
+    @Test
+    @DisplayName("customers with equal prices are counted each")
+    void aggregateEqualPrices() {
+      long stay = stay(0, 1);
+      NightlyCustomers customers = StayIndex.of(new long[]{500, 500, 500, 100}, new long[]{stay, stay, stay, stay})
+          .customersFrom(FIRST_NIGHT);
+      assertThat(customers.aggregateByPriceOfferGTEOrderByPriceOfferDesc(500, 1, 1))
+          .isEqualTo(new CustomersAggregate(1, 500));
+      assertThat(customers.aggregateByPriceOfferGTE(0)).isEqualTo(new CustomersAggregate(4, 1600));
+    }
+  }
+}